@@ -3,16 +3,26 @@ package com.github.nsc.de.compiler;
 import com.github.nsc.de.compiler.generators.java.JavaGenerator;
 import com.github.nsc.de.compiler.lexer.Lexer;
 import com.github.nsc.de.compiler.lexer.characterinputstream.CharacterInputStream;
+import com.github.nsc.de.compiler.lexer.characterinputstream.MappedFileCharacterInputStream;
 import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
 import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
 import com.github.nsc.de.compiler.parser.Parser;
 import com.github.nsc.de.compiler.parser.node.Tree;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class JavaMain {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+
+        // run the given file (it is memory-mapped and lexed lazily, so big files can be used)
+        if(args.length > 0) {
+            System.out.println(runFile(Paths.get(args[0])));
+            return;
+        }
 
         Scanner s = new Scanner(System.in);
 
@@ -33,7 +43,7 @@ public class JavaMain {
 
     private static String run(String source, String code) {
         CharacterInputStream in = new StringCharacterInputStream(source, code);
-        Lexer lexer = new Lexer(in);
+        Lexer lexer = Lexer.create(in);
         TokenInputStream tokens = lexer.makeTokens();
         System.out.printf("[DEBUG] Lexer Tokens: %s%n", tokens.toString());
         Parser parser = new Parser(tokens);
@@ -41,4 +51,11 @@ public class JavaMain {
         System.out.printf("[DEBUG] Parser Tree: %s%n", tree.toString());
         return new JavaGenerator().visitTree(tree).toString("", "  ");
     }
+
+    private static String runFile(Path file) throws IOException {
+        CharacterInputStream in = new MappedFileCharacterInputStream(file);
+        Parser parser = new Parser(Lexer.create(in).makeLazyTokens());
+        Tree tree = parser.parse();
+        return new JavaGenerator().visitTree(tree).toString("", "  ");
+    }
 }
@@ -3,17 +3,27 @@ package com.github.nsc.de.compiler;
 import com.github.nsc.de.compiler.generators.json.JsonGenerator;
 import com.github.nsc.de.compiler.lexer.Lexer;
 import com.github.nsc.de.compiler.lexer.characterinputstream.CharacterInputStream;
+import com.github.nsc.de.compiler.lexer.characterinputstream.MappedFileCharacterInputStream;
 import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
 import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
 import com.github.nsc.de.compiler.parser.node.Tree;
 import com.github.nsc.de.compiler.parser.Parser;
 import org.json.JSONArray;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class JsonMain {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+
+        // run the given file (it is memory-mapped and lexed lazily, so big files can be used)
+        if(args.length > 0) {
+            System.out.println(runFile(Paths.get(args[0])).toString(2));
+            return;
+        }
 
         Scanner s = new Scanner(System.in);
 
@@ -34,7 +44,7 @@ public class JsonMain {
 
     private static JSONArray run(String source, String code) {
         CharacterInputStream in = new StringCharacterInputStream(source, code);
-        Lexer lexer = new Lexer(in);
+        Lexer lexer = Lexer.create(in);
         TokenInputStream tokens = lexer.makeTokens();
         System.out.printf("[DEBUG] Lexer Tokens: %s%n", tokens.toString());
         Parser parser = new Parser(tokens);
@@ -42,4 +52,11 @@ public class JsonMain {
         System.out.printf("[DEBUG] Parser Tree: %s%n", tree.toString());
         return new JsonGenerator().visitTree(tree);
     }
+
+    private static JSONArray runFile(Path file) throws IOException {
+        CharacterInputStream in = new MappedFileCharacterInputStream(file);
+        Parser parser = new Parser(Lexer.create(in).makeLazyTokens());
+        Tree tree = parser.parse();
+        return new JsonGenerator().visitTree(tree);
+    }
 }
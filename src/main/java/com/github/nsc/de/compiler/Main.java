@@ -1,19 +1,54 @@
 package com.github.nsc.de.compiler;
 
+import com.github.nsc.de.compiler.generators.binary.BinaryGenerator;
+import com.github.nsc.de.compiler.generators.binary.BinaryLoader;
 import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.interpreter.Resolver;
 import com.github.nsc.de.compiler.lexer.Lexer;
 import com.github.nsc.de.compiler.lexer.characterinputstream.CharacterInputStream;
+import com.github.nsc.de.compiler.lexer.characterinputstream.MappedFileCharacterInputStream;
 import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
 import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
 import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.flat.FlatTreeBuilder;
 import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.vm.VirtualMachine;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class Main {
     static Interpreter interpreter = new Interpreter();
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+
+        // compile the given file into a binary file (--compile <file> [<output>])
+        if(args.length > 1 && args[0].equals("--compile")) {
+            Path output = args.length > 2 ? Paths.get(args[2]) : Paths.get(args[1].replaceFirst("\\.shake$", "") + BinaryGenerator.EXTENSION);
+            compileFile(Paths.get(args[1]), output);
+            return;
+        }
+
+        // compile the given file to bytecode and run it in the virtual machine (--vm <file>)
+        if(args.length > 1 && args[0].equals("--vm")) {
+            System.out.println(" >> " + runFileInVm(Paths.get(args[1])));
+            return;
+        }
+
+        // parse the given file into a flat tree and run it (--flat <file>)
+        if(args.length > 1 && args[0].equals("--flat")) {
+            System.out.println(" >> " + runFileFlat(Paths.get(args[1])));
+            return;
+        }
+
+        // run the given file (it is memory-mapped, lexed lazily and run while it is parsed, so big files can be used)
+        if(args.length > 0) {
+            System.out.println(" >> " + runFile(Paths.get(args[0])));
+            return;
+        }
 
         Scanner s = new Scanner(System.in);
 
@@ -34,12 +69,40 @@ public class Main {
 
     private static Object run(String source, String code) {
         CharacterInputStream in = new StringCharacterInputStream(source, code);
-        Lexer lexer = new Lexer(in);
+        Lexer lexer = Lexer.create(in);
         TokenInputStream tokens = lexer.makeTokens();
         System.out.printf("[DEBUG] Lexer Tokens: %s%n", tokens.toString());
         Parser parser = new Parser(tokens);
         Node tree = parser.parse();
         System.out.printf("[DEBUG] Parser Tree: %s%n", tree.toString());
-        return interpreter.visit(tree);
+        return interpreter.visit(new Resolver().resolve(tree));
+    }
+
+    private static Object runFile(Path file) throws IOException {
+        // binary files are not lexed and parsed again
+        if(file.toString().endsWith(BinaryGenerator.EXTENSION)) return BinaryLoader.open(file).run(interpreter);
+        // each statement is resolved and run as soon as it is parsed
+        CharacterInputStream in = new MappedFileCharacterInputStream(file);
+        Parser parser = new Parser(Lexer.create(in).makeLazyTokens());
+        return interpreter.run(new Resolver().resolve(parser.statements()));
+    }
+
+    private static Object runFileInVm(Path file) throws IOException {
+        CharacterInputStream in = new MappedFileCharacterInputStream(file);
+        Tree tree = new Parser(Lexer.create(in).makeLazyTokens()).parse();
+        return new VirtualMachine().run(tree);
+    }
+
+    private static Object runFileFlat(Path file) throws IOException {
+        // the tokens are lexed eagerly, so the arena of the flat tree can be sized from their number
+        CharacterInputStream in = new MappedFileCharacterInputStream(file);
+        TokenInputStream tokens = Lexer.create(in).makeTokens();
+        return interpreter.visit(new Parser(tokens).parse(new FlatTreeBuilder(tokens)));
+    }
+
+    private static void compileFile(Path file, Path output) throws IOException {
+        CharacterInputStream in = new MappedFileCharacterInputStream(file);
+        Tree tree = new Parser(Lexer.create(in).makeLazyTokens()).parse();
+        new BinaryGenerator().write(tree, output);
     }
 }
@@ -0,0 +1,331 @@
+package com.github.nsc.de.compiler.cache;
+
+import com.github.nsc.de.compiler.generators.binary.BinaryGenerator;
+import com.github.nsc.de.compiler.generators.binary.BinaryLoader;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.node.Tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+
+/**
+ * A cache for parsed {@link Tree}s in front of the {@link Lexer} and the {@link Parser}. The {@link Tree}s are stored
+ * as binary files (written by the {@link BinaryGenerator} and read by the {@link BinaryLoader}) in a cache directory,
+ * named by the SHA-256 hash of the source content. So an unchanged source is
+ * only lexed and parsed once, later it is just loaded from the cache directory (also by later runs).
+ *
+ * The size of the cache directory is limited: if it gets too big, the least recently used entries are removed (the
+ * modification time of the entries is updated on each hit, so the order is kept across runs). Entries that were written
+ * in another version of the binary format (or that can't be read) are treated as a miss and written again.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class TreeCache {
+
+    /**
+     * The file-extension of the entries
+     */
+    private static final String EXTENSION = BinaryGenerator.EXTENSION;
+
+    /**
+     * The directory to store the entries in
+     */
+    private final Path directory;
+
+    /**
+     * The maximum size of all entries in bytes
+     */
+    private final long maxSize;
+
+    /**
+     * The sizes of the entries by their hash (in access order, the least recently used entry is the first one)
+     */
+    private final LinkedHashMap<String, Long> entries;
+
+    /**
+     * The size of all entries in bytes
+     */
+    private long size;
+
+    /**
+     * The number of {@link Tree}s that were loaded from the cache
+     */
+    private long hits;
+
+    /**
+     * The number of {@link Tree}s that had to be parsed
+     */
+    private long misses;
+
+    /**
+     * Constructor for {@link TreeCache}. The existing entries of the directory are used.
+     *
+     * @param directory the directory to store the entries in (it is created if it does not exist)
+     * @param maxSize the maximum size of all entries in bytes
+     * @throws IOException if the directory can't be created or read
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public TreeCache(Path directory, long maxSize) throws IOException {
+        if(maxSize < 0) throw new Error("The maximum size must not be negative");
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.size = 0;
+        this.hits = 0;
+        this.misses = 0;
+
+        Files.createDirectories(directory);
+
+        // add the existing entries, the least recently used first
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(f -> f.getFileName().toString().endsWith(EXTENSION)).forEach(files::add);
+        }
+        files.sort(Comparator.comparing(TreeCache::lastModified));
+        for(Path file : files) {
+            String name = file.getFileName().toString();
+            long size = Files.size(file);
+            this.entries.put(name.substring(0, name.length() - EXTENSION.length()), size);
+            this.size += size;
+        }
+        this.evict();
+    }
+
+
+    // ****************************************************************************
+    // Getters
+
+    /**
+     * Returns the number of {@link Tree}s that were loaded from the cache
+     *
+     * @return the number of hits
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of {@link Tree}s that had to be lexed and parsed
+     *
+     * @return the number of misses
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the size of all entries in bytes
+     *
+     * @return the size of all entries
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries
+     *
+     * @return the number of entries
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+
+    // ****************************************************************************
+    // Loading
+
+    /**
+     * Returns the {@link Tree} of a file (loaded from the cache or lexed and parsed)
+     *
+     * @param file the (UTF-8) file
+     * @return the {@link Tree} of the file
+     * @throws IOException if the file can't be read
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree get(Path file) throws IOException {
+        return this.get(file.toString(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the {@link Tree} of the given content (loaded from the cache or lexed and parsed). If the content can't be
+     * lexed or parsed the error is thrown and nothing is cached.
+     *
+     * @param source the source (mostly filename) of the content (only used for errors)
+     * @param content the content
+     * @return the {@link Tree} of the content
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree get(String source, String content) {
+
+        String hash = hash(content);
+        Path file = this.directory.resolve(hash + EXTENSION);
+
+        // hit
+        if(this.contains(hash)) {
+            Tree tree = this.load(file);
+            if(tree != null) {
+                synchronized (this) {
+                    this.hits++;
+                }
+                return tree;
+            }
+
+            // the entry can't be used (e.g. another version), so it is written again
+            this.remove(hash);
+        }
+
+        // miss
+        synchronized (this) {
+            this.misses++;
+        }
+        Tree tree = new Parser(Lexer.create(new StringCharacterInputStream(source, content)).makeTokens()).parse();
+        this.store(hash, file, tree);
+        return tree;
+
+    }
+
+    /**
+     * Removes all entries
+     *
+     * @throws IOException if an entry can't be removed
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public synchronized void clear() throws IOException {
+        for(String hash : this.entries.keySet()) Files.deleteIfExists(this.directory.resolve(hash + EXTENSION));
+        this.entries.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Loads an entry
+     *
+     * @param file the file of the entry
+     * @return the loaded {@link Tree} or null if the entry can't be used
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Tree load(Path file) {
+        try {
+            // not BinaryLoader.open(), a mapped entry could not be removed while the mapping exists on some systems
+            Tree tree = new BinaryLoader(ByteBuffer.wrap(Files.readAllBytes(file))).load();
+
+            // keep the order of the entries for later runs
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return tree;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores an entry. Errors are ignored (the {@link Tree} is just not cached then).
+     *
+     * @param hash the hash of the content
+     * @param file the file of the entry
+     * @param tree the {@link Tree} to store
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void store(String hash, Path file, Tree tree) {
+        try {
+            // the file is written to a temporary file first, so other processes never read a half-written entry
+            byte[] bytes = new BinaryGenerator().generate(tree);
+            BinaryGenerator.write(bytes, file);
+
+            synchronized (this) {
+                Long old = this.entries.put(hash, (long) bytes.length);
+                this.size += bytes.length - (old != null ? old : 0);
+                this.evict();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+
+    // ****************************************************************************
+    // Entries
+
+    private synchronized boolean contains(String hash) {
+        return this.entries.get(hash) != null;
+    }
+
+    private synchronized void remove(String hash) {
+        Long size = this.entries.remove(hash);
+        if(size != null) this.size -= size;
+    }
+
+    /**
+     * Removes the least recently used entries until the size of the entries is not bigger than the maximum size
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = this.entries.entrySet().iterator();
+        while(this.size > this.maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            try {
+                Files.deleteIfExists(this.directory.resolve(entry.getKey() + EXTENSION));
+            } catch (IOException ignored) {
+                // it is removed from the entries anyway, so it is overwritten when it is stored again
+            }
+            this.size -= entry.getValue();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Creates the hash of a content (used as name of its entry)
+     *
+     * @param content the content
+     * @return the SHA-256 hash of the content (hex)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static String hash(String content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(hash.length * 2);
+            for(byte b : hash) builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform has to support SHA-256
+            throw new Error(e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -12,47 +12,54 @@ import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
 import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
 import com.github.nsc.de.compiler.parser.node.variables.*;
 
+import static com.github.nsc.de.compiler.parser.node.NodeKind.*;
+
 public abstract class Generator<T> {
     
     public T visit(Node n) {
 
-        if(n instanceof Tree) return visitTree((Tree) n);
-        if(n instanceof DoubleNode) return visitDoubleNode((DoubleNode) n);
-        if(n instanceof IntegerNode) return visitIntegerNode((IntegerNode) n);
-        if(n instanceof AddNode) return visitAddNode((AddNode) n);
-        if(n instanceof SubNode) return visitSubNode((SubNode) n);
-        if(n instanceof MulNode) return visitMulNode((MulNode) n);
-        if(n instanceof DivNode) return visitDivNode((DivNode) n);
-        if(n instanceof PowNode) return visitPowNode((PowNode) n);
-        if(n instanceof VariableDeclarationNode) return visitVariableDeclarationNode((VariableDeclarationNode) n);
-        if(n instanceof VariableAddAssignmentNode) return visitVariableAddAssignmentNode((VariableAddAssignmentNode) n);
-        if(n instanceof VariableSubAssignmentNode) return visitVariableSubAssignmentNode((VariableSubAssignmentNode) n);
-        if(n instanceof VariableMulAssignmentNode) return visitVariableMulAssignmentNode((VariableMulAssignmentNode) n);
-        if(n instanceof VariableDivAssignmentNode) return visitVariableDivAssignmentNode((VariableDivAssignmentNode) n);
-        if(n instanceof VariablePowAssignmentNode) return visitVariablePowAssignmentNode((VariablePowAssignmentNode) n);
-        if(n instanceof VariableIncreaseNode) return visitVariableIncreaseNode((VariableIncreaseNode) n);
-        if(n instanceof VariableDecreaseNode) return visitVariableDecreaseNode((VariableDecreaseNode) n);
-        if(n instanceof VariableAssignmentNode) return visitVariableAssignmentNode((VariableAssignmentNode) n);
-        if(n instanceof VariableUsageNode) return visitVariableUsageNode((VariableUsageNode) n);
-        if(n instanceof LogicalEqEqualsNode) return visitEqEqualsNode((LogicalEqEqualsNode) n);
-        if(n instanceof LogicalBiggerEqualsNode) return visitBiggerEqualsNode((LogicalBiggerEqualsNode) n);
-        if(n instanceof LogicalSmallerEqualsNode) return visitSmallerEqualsNode((LogicalSmallerEqualsNode) n);
-        if(n instanceof LogicalBiggerNode) return visitBiggerNode((LogicalBiggerNode) n);
-        if(n instanceof LogicalSmallerNode) return visitSmallerNode((LogicalSmallerNode) n);
-        if(n instanceof LogicalAndNode) return visitLogicalAndNode((LogicalAndNode) n);
-        if(n instanceof LogicalOrNode) return visitLogicalOrNode((LogicalOrNode) n);
-        if(n instanceof WhileNode) return visitWhileNode((WhileNode) n);
-        if(n instanceof DoWhileNode) return visitDoWhileNode((DoWhileNode) n);
-        if(n instanceof ForNode) return visitForNode((ForNode) n);
-        if(n instanceof IfNode) return visitIfNode((IfNode) n);
-        if(n instanceof FunctionDeclarationNode) return visitFunctionDeclarationNode((FunctionDeclarationNode) n);
-        if(n instanceof ClassConstructionNode) return visitClassConstruction((ClassConstructionNode) n);
-        if(n instanceof FunctionCallNode) return visitFunctionCallNode((FunctionCallNode) n);
-        if(n instanceof IdentifierNode) return visitIdentifierNode((IdentifierNode) n);
-        if(n instanceof ClassDeclarationNode) return visitClassDeclarationNode((ClassDeclarationNode) n);
-        if(n instanceof LogicalTrueNode) return visitLogicalTrueNode((LogicalTrueNode) n);
-        if(n instanceof LogicalFalseNode) return visitLogicalFalseNode((LogicalFalseNode) n);
-        throw new Error(String.format("It looks like that node is not implemented in the Interpreter: %s", n.getClass().toString()));
+        switch(n.getKind()) {
+            case TREE: return visitTree((Tree) n);
+            case DOUBLE: return visitDoubleNode((DoubleNode) n);
+            case INTEGER: return visitIntegerNode((IntegerNode) n);
+            case ADD: return visitAddNode((AddNode) n);
+            case SUB: return visitSubNode((SubNode) n);
+            case MUL: return visitMulNode((MulNode) n);
+            case DIV: return visitDivNode((DivNode) n);
+            case MOD: return visitModNode((ModNode) n);
+            case POW: return visitPowNode((PowNode) n);
+            case PRIORITY: return visitPriorityNode((PriorityNode) n);
+            case VARIABLE_DECLARATION: return visitVariableDeclarationNode((VariableDeclarationNode) n);
+            case VARIABLE_ADD_ASSIGNMENT: return visitVariableAddAssignmentNode((VariableAddAssignmentNode) n);
+            case VARIABLE_SUB_ASSIGNMENT: return visitVariableSubAssignmentNode((VariableSubAssignmentNode) n);
+            case VARIABLE_MUL_ASSIGNMENT: return visitVariableMulAssignmentNode((VariableMulAssignmentNode) n);
+            case VARIABLE_DIV_ASSIGNMENT: return visitVariableDivAssignmentNode((VariableDivAssignmentNode) n);
+            case VARIABLE_MOD_ASSIGNMENT: return visitVariableModAssignmentNode((VariableModAssignmentNode) n);
+            case VARIABLE_POW_ASSIGNMENT: return visitVariablePowAssignmentNode((VariablePowAssignmentNode) n);
+            case VARIABLE_INCREASE: return visitVariableIncreaseNode((VariableIncreaseNode) n);
+            case VARIABLE_DECREASE: return visitVariableDecreaseNode((VariableDecreaseNode) n);
+            case VARIABLE_ASSIGNMENT: return visitVariableAssignmentNode((VariableAssignmentNode) n);
+            case VARIABLE_USAGE: return visitVariableUsageNode((VariableUsageNode) n);
+            case EQ_EQUALS: return visitEqEqualsNode((LogicalEqEqualsNode) n);
+            case BIGGER_EQUALS: return visitBiggerEqualsNode((LogicalBiggerEqualsNode) n);
+            case SMALLER_EQUALS: return visitSmallerEqualsNode((LogicalSmallerEqualsNode) n);
+            case BIGGER: return visitBiggerNode((LogicalBiggerNode) n);
+            case SMALLER: return visitSmallerNode((LogicalSmallerNode) n);
+            case LOGICAL_AND: return visitLogicalAndNode((LogicalAndNode) n);
+            case LOGICAL_OR: return visitLogicalOrNode((LogicalOrNode) n);
+            case WHILE: return visitWhileNode((WhileNode) n);
+            case DO_WHILE: return visitDoWhileNode((DoWhileNode) n);
+            case FOR: return visitForNode((ForNode) n);
+            case IF: return visitIfNode((IfNode) n);
+            case FUNCTION_DECLARATION: return visitFunctionDeclarationNode((FunctionDeclarationNode) n);
+            case CLASS_CONSTRUCTION: return visitClassConstruction((ClassConstructionNode) n);
+            case FUNCTION_CALL: return visitFunctionCallNode((FunctionCallNode) n);
+            case IDENTIFIER: return visitIdentifierNode((IdentifierNode) n);
+            case CLASS_DECLARATION: return visitClassDeclarationNode((ClassDeclarationNode) n);
+            case TRUE: return visitLogicalTrueNode((LogicalTrueNode) n);
+            case FALSE: return visitLogicalFalseNode((LogicalFalseNode) n);
+            default: throw new Error(String.format("It looks like that node is not implemented in the Interpreter: %s", n.getClass().toString()));
+        }
 
     }
 
@@ -92,4 +99,13 @@ public abstract class Generator<T> {
     public abstract T visitIdentifierNode(IdentifierNode n);
     public abstract T visitLogicalTrueNode(LogicalTrueNode n);
     public abstract T visitLogicalFalseNode(LogicalFalseNode n);
+
+    // nodes that not all generators support yet
+    public T visitModNode(ModNode n) { throw notImplemented(n); }
+    public T visitPriorityNode(PriorityNode n) { throw notImplemented(n); }
+    public T visitVariableModAssignmentNode(VariableModAssignmentNode n) { throw notImplemented(n); }
+
+    private Error notImplemented(Node n) {
+        return new Error(String.format("It looks like that node is not implemented in the %s: %s", getClass().getSimpleName(), n.getClass().toString()));
+    }
 }
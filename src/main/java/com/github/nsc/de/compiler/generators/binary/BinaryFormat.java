@@ -0,0 +1,84 @@
+package com.github.nsc.de.compiler.generators.binary;
+
+
+/**
+ * The constants of the binary format written by the {@link BinaryGenerator} and read by the {@link BinaryLoader}.
+ *
+ * A file starts with a header of four big-endian ints: the {@link #MAGIC} number, the {@link #VERSION} of the format,
+ * the number of symbols and the length of the node stream in bytes. The symbol table follows, each symbol is written
+ * as its length in bytes and its UTF-8 bytes. All names of the nodes are written as indices into the symbol table.
+ * The node stream contains the root {@link com.github.nsc.de.compiler.parser.node.Tree}. Each node is written as a
+ * tag (one byte) followed by its fields, the children are written recursively in front of the fields that follow
+ * them. Lengths, indices and integers are written with a variable number of bytes (7 bits per byte), as they are
+ * mostly small.
+ *
+ * Changes of this format have to increase the {@link #VERSION}, so files of an older format are not read anymore.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+final class BinaryFormat {
+
+    /**
+     * The first four bytes of each file ("SHKB")
+     */
+    static final int MAGIC = 0x53484B42;
+
+    /**
+     * The version of the format
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes
+     */
+    static final int HEADER_SIZE = 16;
+
+    // tags of the nodes
+    static final int TAG_NULL = 0;
+    static final int TAG_TREE = 1;
+    static final int TAG_DOUBLE = 2;
+    static final int TAG_INTEGER = 3;
+    static final int TAG_ADD = 4;
+    static final int TAG_SUB = 5;
+    static final int TAG_MUL = 6;
+    static final int TAG_DIV = 7;
+    static final int TAG_MOD = 8;
+    static final int TAG_POW = 9;
+    static final int TAG_PRIORITY = 10;
+    static final int TAG_VARIABLE_DECLARATION = 11;
+    static final int TAG_VARIABLE_ASSIGNMENT = 12;
+    static final int TAG_VARIABLE_ADD_ASSIGNMENT = 13;
+    static final int TAG_VARIABLE_SUB_ASSIGNMENT = 14;
+    static final int TAG_VARIABLE_MUL_ASSIGNMENT = 15;
+    static final int TAG_VARIABLE_DIV_ASSIGNMENT = 16;
+    static final int TAG_VARIABLE_MOD_ASSIGNMENT = 17;
+    static final int TAG_VARIABLE_POW_ASSIGNMENT = 18;
+    static final int TAG_VARIABLE_INCREASE = 19;
+    static final int TAG_VARIABLE_DECREASE = 20;
+    static final int TAG_VARIABLE_USAGE = 21;
+    static final int TAG_EQ_EQUALS = 22;
+    static final int TAG_BIGGER_EQUALS = 23;
+    static final int TAG_SMALLER_EQUALS = 24;
+    static final int TAG_BIGGER = 25;
+    static final int TAG_SMALLER = 26;
+    static final int TAG_LOGICAL_AND = 27;
+    static final int TAG_LOGICAL_OR = 28;
+    static final int TAG_TRUE = 29;
+    static final int TAG_FALSE = 30;
+    static final int TAG_WHILE = 31;
+    static final int TAG_DO_WHILE = 32;
+    static final int TAG_FOR = 33;
+    static final int TAG_IF = 34;
+    static final int TAG_FUNCTION_DECLARATION = 35;
+    static final int TAG_FUNCTION_CALL = 36;
+    static final int TAG_CLASS_DECLARATION = 37;
+    static final int TAG_CLASS_CONSTRUCTION = 38;
+    static final int TAG_IDENTIFIER = 39;
+
+    // flags of the modifiers of declarations
+    static final int FLAG_IN_CLASS = 1;
+    static final int FLAG_STATIC = 2;
+    static final int FLAG_FINAL = 4;
+
+    private BinaryFormat() {}
+}
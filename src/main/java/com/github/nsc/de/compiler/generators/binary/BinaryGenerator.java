@@ -0,0 +1,455 @@
+package com.github.nsc.de.compiler.generators.binary;
+
+import com.github.nsc.de.compiler.generators.Generator;
+import com.github.nsc.de.compiler.parser.node.*;
+import com.github.nsc.de.compiler.parser.node.expression.*;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.logical.*;
+import com.github.nsc.de.compiler.parser.node.loops.DoWhileNode;
+import com.github.nsc.de.compiler.parser.node.loops.ForNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.variables.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.nsc.de.compiler.generators.binary.BinaryFormat.*;
+
+
+/**
+ * Writes a {@link Tree} in a compact binary format (see {@link BinaryFormat}), that can be loaded again by the
+ * {@link BinaryLoader} without lexing and parsing the source again. The visit functions append the nodes to the node
+ * stream, the symbol table is put in front of it when the {@link Tree} is complete.
+ *
+ * A {@link BinaryGenerator} can only be used for one {@link Tree}.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class BinaryGenerator extends Generator<Void> {
+
+    /**
+     * The file extension of binary files
+     */
+    public static final String EXTENSION = ".shakeb";
+
+    /**
+     * The indices of the symbols in the symbol table
+     */
+    private final Map<String, Integer> symbolIndices = new HashMap<>();
+
+    /**
+     * The symbols in the order of their indices
+     */
+    private final List<String> symbols = new ArrayList<>();
+
+    /**
+     * The written bytes (the node stream while visiting the nodes, the whole file when generating it)
+     */
+    private byte[] buffer = new byte[256];
+
+    /**
+     * The number of bytes in {@link #buffer}
+     */
+    private int size = 0;
+
+
+    // ****************************************************************************
+    // Output
+
+    /**
+     * Creates the binary file of a {@link Tree}
+     *
+     * @param tree the {@link Tree} to write
+     * @return the bytes of the file
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public byte[] generate(Tree tree) {
+
+        if(this.size != 0) throw new Error("The BinaryGenerator was already used");
+        this.visit(tree);
+        byte[] stream = Arrays.copyOf(this.buffer, this.size);
+
+        // header and symbol table (the node stream is appended behind them)
+        this.buffer = new byte[HEADER_SIZE + stream.length + this.symbols.size() * 8];
+        this.size = 0;
+        writeInt(MAGIC);
+        writeInt(VERSION);
+        writeInt(this.symbols.size());
+        writeInt(stream.length);
+        for(String symbol : this.symbols) {
+            byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes, bytes.length);
+        }
+        writeBytes(stream, stream.length);
+        return Arrays.copyOf(this.buffer, this.size);
+
+    }
+
+    /**
+     * Writes the binary file of a {@link Tree}. The file is written to a temporary file first and moved to the given
+     * path then, so a reader never sees a half-written file.
+     *
+     * @param tree the {@link Tree} to write
+     * @param file the file to write to
+     * @throws IOException if writing the file fails
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public void write(Tree tree, Path file) throws IOException {
+        write(this.generate(tree), file);
+    }
+
+    /**
+     * Writes a binary file created by {@link #generate(Tree)}. The file is written to a temporary file first and
+     * moved to the given path then, so a reader never sees a half-written file.
+     *
+     * @param bytes the bytes of the file
+     * @param file the file to write to
+     * @throws IOException if writing the file fails
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static void write(byte[] bytes, Path file) throws IOException {
+        // the temporary file gets a unique name, so concurrent writers of the same file don't share it
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+
+            // a temporary file is only readable by its owner, but the file is shipped to other users
+            if(Files.getFileAttributeView(temp, PosixFileAttributeView.class) != null)
+                Files.setPosixFilePermissions(temp, Files.exists(file)
+                        ? Files.getPosixFilePermissions(file) : PosixFilePermissions.fromString("rw-r--r--"));
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+
+    // ****************************************************************************
+    // Nodes
+
+    @Override
+    public Void visit(Node n) {
+        if(n == null) writeByte(TAG_NULL);
+        else super.visit(n);
+        return null;
+    }
+
+    @Override
+    public Void visitTree(Tree t) {
+        writeByte(TAG_TREE);
+        writeNodes(t.getChildren());
+        return null;
+    }
+
+    @Override
+    public Void visitDoubleNode(DoubleNode n) {
+        writeByte(TAG_DOUBLE);
+        writeLong(Double.doubleToRawLongBits(n.getNumber()));
+        return null;
+    }
+
+    @Override
+    public Void visitIntegerNode(IntegerNode n) {
+        writeByte(TAG_INTEGER);
+        // small negative numbers should need few bytes as well
+        writeVarInt((n.getNumber() << 1) ^ (n.getNumber() >> 31));
+        return null;
+    }
+
+    @Override
+    public Void visitAddNode(AddNode n) {
+        return writeNodes(TAG_ADD, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitSubNode(SubNode n) {
+        return writeNodes(TAG_SUB, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitMulNode(MulNode n) {
+        return writeNodes(TAG_MUL, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitDivNode(DivNode n) {
+        return writeNodes(TAG_DIV, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitModNode(ModNode n) {
+        return writeNodes(TAG_MOD, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitPowNode(PowNode n) {
+        return writeNodes(TAG_POW, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitPriorityNode(PriorityNode n) {
+        return writeNodes(TAG_PRIORITY, n.getValue());
+    }
+
+    @Override
+    public Void visitVariableDeclarationNode(VariableDeclarationNode n) {
+        writeByte(TAG_VARIABLE_DECLARATION);
+        writeSymbol(n.getName());
+        writeType(n.getType());
+        visit(n.getAssignment());
+        writeModifiers(n.getAccess(), n.isInClass(), n.isStatic(), n.isFinal());
+        return null;
+    }
+
+    @Override
+    public Void visitVariableAssignmentNode(VariableAssignmentNode n) {
+        return writeNodes(TAG_VARIABLE_ASSIGNMENT, n.getVariable(), n.getValue());
+    }
+
+    @Override
+    public Void visitVariableAddAssignmentNode(VariableAddAssignmentNode n) {
+        return writeNodes(TAG_VARIABLE_ADD_ASSIGNMENT, n.getVariable(), n.getValue());
+    }
+
+    @Override
+    public Void visitVariableSubAssignmentNode(VariableSubAssignmentNode n) {
+        return writeNodes(TAG_VARIABLE_SUB_ASSIGNMENT, n.getVariable(), n.getValue());
+    }
+
+    @Override
+    public Void visitVariableMulAssignmentNode(VariableMulAssignmentNode n) {
+        return writeNodes(TAG_VARIABLE_MUL_ASSIGNMENT, n.getVariable(), n.getValue());
+    }
+
+    @Override
+    public Void visitVariableDivAssignmentNode(VariableDivAssignmentNode n) {
+        return writeNodes(TAG_VARIABLE_DIV_ASSIGNMENT, n.getVariable(), n.getValue());
+    }
+
+    @Override
+    public Void visitVariableModAssignmentNode(VariableModAssignmentNode n) {
+        return writeNodes(TAG_VARIABLE_MOD_ASSIGNMENT, n.getVariable(), n.getValue());
+    }
+
+    @Override
+    public Void visitVariablePowAssignmentNode(VariablePowAssignmentNode n) {
+        return writeNodes(TAG_VARIABLE_POW_ASSIGNMENT, n.getVariable(), n.getValue());
+    }
+
+    @Override
+    public Void visitVariableIncreaseNode(VariableIncreaseNode n) {
+        return writeNodes(TAG_VARIABLE_INCREASE, n.getVariable());
+    }
+
+    @Override
+    public Void visitVariableDecreaseNode(VariableDecreaseNode n) {
+        return writeNodes(TAG_VARIABLE_DECREASE, n.getVariable());
+    }
+
+    @Override
+    public Void visitVariableUsageNode(VariableUsageNode n) {
+        return writeNodes(TAG_VARIABLE_USAGE, n.getVariable());
+    }
+
+    @Override
+    public Void visitEqEqualsNode(LogicalEqEqualsNode n) {
+        return writeNodes(TAG_EQ_EQUALS, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitBiggerEqualsNode(LogicalBiggerEqualsNode n) {
+        return writeNodes(TAG_BIGGER_EQUALS, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitSmallerEqualsNode(LogicalSmallerEqualsNode n) {
+        return writeNodes(TAG_SMALLER_EQUALS, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitBiggerNode(LogicalBiggerNode n) {
+        return writeNodes(TAG_BIGGER, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitSmallerNode(LogicalSmallerNode n) {
+        return writeNodes(TAG_SMALLER, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitLogicalAndNode(LogicalAndNode n) {
+        return writeNodes(TAG_LOGICAL_AND, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitLogicalOrNode(LogicalOrNode n) {
+        return writeNodes(TAG_LOGICAL_OR, n.getLeft(), n.getRight());
+    }
+
+    @Override
+    public Void visitWhileNode(WhileNode n) {
+        return writeNodes(TAG_WHILE, n.getBody(), n.getCondition());
+    }
+
+    @Override
+    public Void visitDoWhileNode(DoWhileNode n) {
+        return writeNodes(TAG_DO_WHILE, n.getBody(), n.getCondition());
+    }
+
+    @Override
+    public Void visitForNode(ForNode n) {
+        return writeNodes(TAG_FOR, n.getBody(), n.getDeclaration(), n.getCondition(), n.getRound());
+    }
+
+    @Override
+    public Void visitIfNode(IfNode n) {
+        return writeNodes(TAG_IF, n.getBody(), n.getElseBody(), n.getCondition());
+    }
+
+    @Override
+    public Void visitFunctionDeclarationNode(FunctionDeclarationNode n) {
+        writeByte(TAG_FUNCTION_DECLARATION);
+        writeSymbol(n.getName());
+        visit(n.getBody());
+        writeVarInt(n.getArgs().length);
+        for(FunctionArgumentNode argument : n.getArgs()) writeSymbol(argument.getName());
+        writeType(n.getType());
+        writeModifiers(n.getAccess(), n.isInClass(), n.isStatic(), n.isFinal());
+        return null;
+    }
+
+    @Override
+    public Void visitClassDeclarationNode(ClassDeclarationNode n) {
+        writeByte(TAG_CLASS_DECLARATION);
+        writeSymbol(n.getName());
+        writeNodes(n.getFields());
+        writeNodes(n.getMethods());
+        writeNodes(n.getClasses());
+        writeModifiers(n.getAccess(), n.isInClass(), n.isStatic(), n.isFinal());
+        return null;
+    }
+
+    @Override
+    public Void visitClassConstruction(ClassConstructionNode n) {
+        writeByte(TAG_CLASS_CONSTRUCTION);
+        visit(n.getType());
+        writeNodes(n.getArgs());
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionCallNode(FunctionCallNode n) {
+        writeByte(TAG_FUNCTION_CALL);
+        visit(n.getFunction());
+        writeNodes(n.getArgs());
+        return null;
+    }
+
+    @Override
+    public Void visitIdentifierNode(IdentifierNode n) {
+        writeByte(TAG_IDENTIFIER);
+        visit(n.getParent());
+        writeSymbol(n.getName());
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalTrueNode(LogicalTrueNode n) {
+        writeByte(TAG_TRUE);
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalFalseNode(LogicalFalseNode n) {
+        writeByte(TAG_FALSE);
+        return null;
+    }
+
+
+    // ****************************************************************************
+    // Utils
+
+    private Void writeNodes(int tag, Node... children) {
+        writeByte(tag);
+        for(Node child : children) visit(child);
+        return null;
+    }
+
+    private void writeNodes(Node[] nodes) {
+        writeVarInt(nodes.length);
+        for(Node node : nodes) visit(node);
+    }
+
+    private void writeSymbol(String name) {
+        Integer index = this.symbolIndices.get(name);
+        if(index == null) {
+            index = this.symbols.size();
+            this.symbolIndices.put(name, index);
+            this.symbols.add(name);
+        }
+        writeVarInt(index);
+    }
+
+    private void writeType(VariableType type) {
+        // the ordinal of the type + 1 if the type has a subtype
+        writeByte(type.getType().ordinal() << 1 | (type.getSubtype() != null ? 1 : 0));
+        if(type.getSubtype() != null) writeSymbol(type.getSubtype());
+    }
+
+    private void writeModifiers(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+        writeByte(access.ordinal());
+        writeByte((isInClass ? FLAG_IN_CLASS : 0) | (isStatic ? FLAG_STATIC : 0) | (isFinal ? FLAG_FINAL : 0));
+    }
+
+    private void writeVarInt(int value) {
+        // 7 bits per byte, the highest bit is set if more bytes follow
+        while((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    private void writeInt(int value) {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void writeByte(int value) {
+        if(this.size == this.buffer.length) this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        this.buffer[this.size++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes, int length) {
+        if(this.size + length > this.buffer.length)
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.size + length));
+        System.arraycopy(bytes, 0, this.buffer, this.size, length);
+        this.size += length;
+    }
+}
@@ -0,0 +1,302 @@
+package com.github.nsc.de.compiler.generators.binary;
+
+import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+import com.github.nsc.de.compiler.interpreter.values.NullValue;
+import com.github.nsc.de.compiler.parser.node.*;
+import com.github.nsc.de.compiler.parser.node.expression.*;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.logical.*;
+import com.github.nsc.de.compiler.parser.node.loops.DoWhileNode;
+import com.github.nsc.de.compiler.parser.node.loops.ForNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.variables.*;
+import com.github.nsc.de.compiler.util.Symbol;
+import com.github.nsc.de.compiler.util.SymbolTable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.github.nsc.de.compiler.generators.binary.BinaryFormat.*;
+
+
+/**
+ * Loads the files written by the {@link BinaryGenerator}. The file is memory-mapped and the nodes are decoded
+ * directly from the mapped bytes, either into a {@link Tree} ({@link #load()}) or one top-level statement after the
+ * other into an {@link Interpreter} ({@link #run(Interpreter)}), so the whole {@link Tree} never has to be held in
+ * memory.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class BinaryLoader {
+
+    private static final AccessDescriber[] ACCESS = AccessDescriber.values();
+    private static final VariableType.Type[] TYPES = VariableType.Type.values();
+
+    // the predefined variable-types by the ordinal of their type (used for types without subtype)
+    private static final VariableType[] DEFAULT_TYPES = {
+            VariableType.DYNAMIC, VariableType.BYTE, VariableType.SHORT, VariableType.INTEGER, VariableType.LONG,
+            VariableType.FLOAT, VariableType.DOUBLE, VariableType.BOOLEAN, VariableType.CHAR, VariableType.ARRAY,
+            VariableType.OBJECT
+    };
+
+    /**
+     * The bytes of the file (positioned at the next node to read)
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The symbol table of the file
+     */
+    private final Symbol[] symbols;
+
+    /**
+     * Constructor for {@link BinaryLoader}. Reads the header and the symbol table.
+     *
+     * @param buffer the bytes of the file (starting at the position of the buffer)
+     * @throws IOException if the bytes are no binary file of the actual version
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public BinaryLoader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.slice();
+        try {
+            if(this.buffer.remaining() < HEADER_SIZE || this.buffer.getInt() != MAGIC) throw new IOException("Not a binary shake file");
+            int version = this.buffer.getInt();
+            if(version != VERSION) throw new IOException(String.format("Unsupported version %d (expected %d)", version, VERSION));
+            int symbolCount = this.buffer.getInt();
+            int streamLength = this.buffer.getInt();
+            if(symbolCount < 0 || streamLength < 0) throw new IOException("Invalid header");
+
+            this.symbols = new Symbol[symbolCount];
+            for(int i = 0; i < symbolCount; i++) {
+                byte[] bytes = new byte[readLength()];
+                this.buffer.get(bytes);
+                this.symbols[i] = SymbolTable.intern(new String(bytes, StandardCharsets.UTF_8));
+            }
+            if(this.buffer.remaining() != streamLength) throw new IOException("Invalid length of the node stream");
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of the file", e);
+        }
+    }
+
+    /**
+     * Opens a binary file (the file is memory-mapped)
+     *
+     * @param file the file to open
+     * @return the {@link BinaryLoader} for the file
+     * @throws IOException if the file can't be mapped or is no binary file of the actual version
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static BinaryLoader open(Path file) throws IOException {
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) throw new Error("Files bigger than 2GB are not supported");
+            return new BinaryLoader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+
+    // ****************************************************************************
+    // Loading
+
+    /**
+     * Reads the {@link Tree} of the file
+     *
+     * @return the {@link Tree}
+     * @throws IOException if the node stream is invalid
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree load() throws IOException {
+        Tree tree;
+        try {
+            tree = read(Tree.class);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of the file", e);
+        }
+        if(tree == null) throw new IOException("Expected a tree");
+        if(this.buffer.hasRemaining()) throw new IOException("Unexpected bytes behind the tree");
+        return tree;
+    }
+
+    /**
+     * Runs the file in an {@link Interpreter}. The top-level statements are decoded one after the other and each is
+     * visited before the next one is decoded (the same way {@link Interpreter#visitTree(Tree, com.github.nsc.de.compiler.interpreter.Scope)}
+     * visits the statements of a {@link Tree}).
+     *
+     * @param interpreter the {@link Interpreter} to run the file in (using its global scope)
+     * @return the value of the last top-level statement
+     * @throws IOException if the node stream is invalid
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public InterpreterValue run(Interpreter interpreter) throws IOException {
+        try {
+            if(readByte() != TAG_TREE) throw new IOException("Expected a tree");
+            InterpreterValue value = NullValue.NULL;
+            for(int i = readLength(); i > 0; i--) value = interpreter.visit(read());
+            if(this.buffer.hasRemaining()) throw new IOException("Unexpected bytes behind the tree");
+            return value;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of the file", e);
+        }
+    }
+
+
+    // ****************************************************************************
+    // Nodes
+
+    private Node read() throws IOException {
+
+        int tag = readByte();
+        switch (tag) {
+            case TAG_NULL: return null;
+            case TAG_TREE: return new Tree(readNodes(Node.class));
+            case TAG_DOUBLE: return new DoubleNode(Double.longBitsToDouble(this.buffer.getLong()));
+            case TAG_INTEGER: {
+                int value = readVarInt();
+                return new IntegerNode((value >>> 1) ^ -(value & 1));
+            }
+            case TAG_ADD: return new AddNode(readValued(), readValued());
+            case TAG_SUB: return new SubNode(readValued(), readValued());
+            case TAG_MUL: return new MulNode(readValued(), readValued());
+            case TAG_DIV: return new DivNode(readValued(), readValued());
+            case TAG_MOD: return new ModNode(readValued(), readValued());
+            case TAG_POW: return new PowNode(readValued(), readValued());
+            case TAG_PRIORITY: return new PriorityNode(readValued());
+            case TAG_VARIABLE_DECLARATION: {
+                Symbol name = readSymbol();
+                VariableType type = readType();
+                VariableAssignmentNode assignment = read(VariableAssignmentNode.class);
+                AccessDescriber access = readAccess();
+                int modifiers = readByte();
+                return new VariableDeclarationNode(name, type, assignment, access,
+                        (modifiers & FLAG_IN_CLASS) != 0, (modifiers & FLAG_STATIC) != 0, (modifiers & FLAG_FINAL) != 0);
+            }
+            case TAG_VARIABLE_ASSIGNMENT: return new VariableAssignmentNode(readValued(), read());
+            case TAG_VARIABLE_ADD_ASSIGNMENT: return new VariableAddAssignmentNode(readValued(), read());
+            case TAG_VARIABLE_SUB_ASSIGNMENT: return new VariableSubAssignmentNode(readValued(), read());
+            case TAG_VARIABLE_MUL_ASSIGNMENT: return new VariableMulAssignmentNode(readValued(), read());
+            case TAG_VARIABLE_DIV_ASSIGNMENT: return new VariableDivAssignmentNode(readValued(), read());
+            case TAG_VARIABLE_MOD_ASSIGNMENT: return new VariableModAssignmentNode(readValued(), read());
+            case TAG_VARIABLE_POW_ASSIGNMENT: return new VariablePowAssignmentNode(readValued(), read());
+            case TAG_VARIABLE_INCREASE: return new VariableIncreaseNode(readValued());
+            case TAG_VARIABLE_DECREASE: return new VariableDecreaseNode(readValued());
+            case TAG_VARIABLE_USAGE: return new VariableUsageNode(read(IdentifierNode.class));
+            case TAG_EQ_EQUALS: return new LogicalEqEqualsNode(readValued(), readValued());
+            case TAG_BIGGER_EQUALS: return new LogicalBiggerEqualsNode(readValued(), readValued());
+            case TAG_SMALLER_EQUALS: return new LogicalSmallerEqualsNode(readValued(), readValued());
+            case TAG_BIGGER: return new LogicalBiggerNode(readValued(), readValued());
+            case TAG_SMALLER: return new LogicalSmallerNode(readValued(), readValued());
+            case TAG_LOGICAL_AND: return new LogicalAndNode(readValued(), readValued());
+            case TAG_LOGICAL_OR: return new LogicalOrNode(readValued(), readValued());
+            case TAG_TRUE: return new LogicalTrueNode();
+            case TAG_FALSE: return new LogicalFalseNode();
+            case TAG_WHILE: return new WhileNode(read(Tree.class), readValued());
+            case TAG_DO_WHILE: return new DoWhileNode(read(Tree.class), readValued());
+            case TAG_FOR: return new ForNode(read(Tree.class), read(), readValued(), read());
+            case TAG_IF: return new IfNode(read(Tree.class), read(Tree.class), readValued());
+            case TAG_FUNCTION_DECLARATION: {
+                String name = readSymbol().getName();
+                Tree body = read(Tree.class);
+                FunctionArgumentNode[] args = new FunctionArgumentNode[readLength()];
+                for(int i = 0; i < args.length; i++) args[i] = new FunctionArgumentNode(readSymbol().getName());
+                VariableType type = readType();
+                AccessDescriber access = readAccess();
+                int modifiers = readByte();
+                return new FunctionDeclarationNode(name, body, args, type, access,
+                        (modifiers & FLAG_IN_CLASS) != 0, (modifiers & FLAG_STATIC) != 0, (modifiers & FLAG_FINAL) != 0);
+            }
+            case TAG_FUNCTION_CALL: return new FunctionCallNode(readValued(), readNodes(ValuedNode.class));
+            case TAG_CLASS_DECLARATION: {
+                String name = readSymbol().getName();
+                VariableDeclarationNode[] fields = readNodes(VariableDeclarationNode.class);
+                FunctionDeclarationNode[] methods = readNodes(FunctionDeclarationNode.class);
+                ClassDeclarationNode[] classes = readNodes(ClassDeclarationNode.class);
+                AccessDescriber access = readAccess();
+                int modifiers = readByte();
+                return new ClassDeclarationNode(name, fields, methods, classes, access,
+                        (modifiers & FLAG_IN_CLASS) != 0, (modifiers & FLAG_STATIC) != 0, (modifiers & FLAG_FINAL) != 0);
+            }
+            case TAG_CLASS_CONSTRUCTION: return new ClassConstructionNode(readValued(), readNodes(ValuedNode.class));
+            case TAG_IDENTIFIER: {
+                ValuedNode parent = readValued();
+                return new IdentifierNode(parent, readSymbol());
+            }
+            default: throw new IOException("Unknown tag " + tag);
+        }
+
+    }
+
+    private <T extends Node> T read(Class<T> type) throws IOException {
+        Node node = read();
+        if(node != null && !type.isInstance(node))
+            throw new IOException(String.format("Expected %s, but got %s", type.getSimpleName(), node.getClass().getSimpleName()));
+        return type.cast(node);
+    }
+
+    private ValuedNode readValued() throws IOException {
+        return read(ValuedNode.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Node> T[] readNodes(Class<T> type) throws IOException {
+        T[] nodes = (T[]) java.lang.reflect.Array.newInstance(type, readLength());
+        for(int i = 0; i < nodes.length; i++) nodes[i] = read(type);
+        return nodes;
+    }
+
+
+    // ****************************************************************************
+    // Utils
+
+    private int readByte() {
+        return this.buffer.get() & 0xFF;
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Invalid number");
+    }
+
+    private int readLength() throws IOException {
+        int length = readVarInt();
+        // each element needs at least one byte
+        if(length < 0 || length > this.buffer.remaining()) throw new IOException("Invalid length " + length);
+        return length;
+    }
+
+    private Symbol readSymbol() throws IOException {
+        int index = readVarInt();
+        if(index < 0 || index >= this.symbols.length) throw new IOException("Unknown symbol " + index);
+        return this.symbols[index];
+    }
+
+    private VariableType readType() throws IOException {
+        int type = readByte();
+        if(type >> 1 >= TYPES.length) throw new IOException("Unknown type " + (type >> 1));
+        return (type & 1) != 0 ? new VariableType(TYPES[type >> 1], readSymbol().getName()) : DEFAULT_TYPES[type >> 1];
+    }
+
+    private AccessDescriber readAccess() throws IOException {
+        int access = readByte();
+        if(access >= ACCESS.length) throw new IOException("Unknown access " + access);
+        return ACCESS[access];
+    }
+}
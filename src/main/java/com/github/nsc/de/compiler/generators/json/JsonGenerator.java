@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.generators.json;
 
 import com.github.nsc.de.compiler.generators.Generator;
+import com.github.nsc.de.compiler.parser.flat.FlatTree;
 import com.github.nsc.de.compiler.parser.node.*;
 import com.github.nsc.de.compiler.parser.node.expression.*;
 import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
@@ -33,6 +34,8 @@ import com.github.nsc.de.compiler.parser.node.variables.VariableUsageNode;
 import org.json.JSONObject;
 import org.json.JSONArray;
 
+import static com.github.nsc.de.compiler.parser.node.NodeKind.*;
+
 public class JsonGenerator extends Generator<Object> {
 
     public JSONArray visitTree(Tree t) {
@@ -278,4 +281,149 @@ public class JsonGenerator extends Generator<Object> {
     public Boolean visitLogicalFalseNode(LogicalFalseNode n) {
         return false;
     }
+
+
+    // ****************************************************************************
+    // Flat trees
+
+    /**
+     * Creates the json of a {@link FlatTree} (the same json as for the {@link Tree} of object-nodes)
+     *
+     * @param tree the {@link FlatTree}
+     * @return the created json
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Object visit(FlatTree tree) {
+        return visit(tree.cursor());
+    }
+
+    /**
+     * Creates the json of the node a {@link FlatTree.Cursor} points at. The cursor is at the same node again when
+     * this returns.
+     *
+     * @param c the {@link FlatTree.Cursor}
+     * @return the created json
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Object visit(FlatTree.Cursor c) {
+
+        switch(c.getKind()) {
+
+            case TREE: {
+                JSONArray array = new JSONArray();
+                if(c.enter()) do array.put(visit(c)); while(c.next());
+                c.exit();
+                return array;
+            }
+            case NULL: return JSONObject.NULL;
+
+            case INTEGER: return c.getInteger();
+            case DOUBLE: return c.getDouble();
+            case TRUE: return true;
+            case FALSE: return false;
+
+            case ADD: return children(c, "add", "left", "right");
+            case SUB: return children(c, "sub", "left", "right");
+            case MUL: return children(c, "mul", "left", "right");
+            case DIV: return children(c, "div", "left", "right");
+            case MOD: return children(c, "mod", "left", "right");
+            case POW: return children(c, "pow", "left", "right");
+            case EQ_EQUALS: return children(c, "eq_eq", "left", "right");
+            case BIGGER_EQUALS: return children(c, "bigger_eq", "left", "right");
+            case SMALLER_EQUALS: return children(c, "smaller_eq", "left", "right");
+            case BIGGER: return children(c, "bigger", "left", "right");
+            case SMALLER: return children(c, "smaller", "left", "right");
+            case LOGICAL_AND: return children(c, "logical_and", "left", "right");
+            case LOGICAL_OR: return children(c, "logical_or", "left", "right");
+
+            case IDENTIFIER: return children(c, "identifier", "parent").put("name", c.getSymbol().getName());
+            case VARIABLE_USAGE: return children(c, "variable_usage", "variable");
+            case VARIABLE_ASSIGNMENT: return children(c, "variable_assignment", "variable", "value");
+            case VARIABLE_ADD_ASSIGNMENT: return children(c, "variable_add_assignment", "variable", "value");
+            case VARIABLE_SUB_ASSIGNMENT: return children(c, "variable_sub_assignment", "variable", "value");
+            case VARIABLE_MUL_ASSIGNMENT: return children(c, "variable_mul_assignment", "variable", "value");
+            case VARIABLE_DIV_ASSIGNMENT: return children(c, "variable_div_assignment", "variable", "value");
+            case VARIABLE_MOD_ASSIGNMENT: return children(c, "variable_mod_assignment", "variable", "value");
+            case VARIABLE_POW_ASSIGNMENT: return children(c, "variable_pow_assignment", "variable", "value");
+            case VARIABLE_INCREASE: return children(c, "variable_incr", "variable");
+            case VARIABLE_DECREASE: return children(c, "variable_decr", "variable");
+            case VARIABLE_DECLARATION:
+                return children(c, "variable_declaration", "assignment")
+                        .put("name", c.getSymbol().getName())
+                        .put("access", c.getAccess().toString())
+                        .put("in_class", c.isInClass())
+                        .put("static", c.isStatic())
+                        .put("final", c.isFinal())
+                        .put("type", c.getVariableType().getType().toString());
+
+            case WHILE: return children(c, "while", "condition", "body");
+            case DO_WHILE: return children(c, "do_while", "condition", "body");
+            case FOR: return children(c, "for", "declaration", "condition", "round", "body");
+            case IF: return children(c, "if", "condition", "body", "else_body");
+
+            case FUNCTION_DECLARATION: {
+                JSONObject obj = new JSONObject()
+                        .put("name", c.getSymbol().getName())
+                        .put("access", c.getAccess().toString())
+                        .put("in_class", c.isInClass())
+                        .put("static", c.isStatic())
+                        .put("final", c.isFinal())
+                        .put("type", c.getVariableType().getType().toString());
+                JSONArray args = new JSONArray();
+                c.enter();
+                for(; c.getKind() == FUNCTION_ARGUMENT; c.next()) args.put(new JSONObject().put("name", c.getSymbol().getName()));
+                obj.put("args", args).put("body", visit(c));
+                c.exit();
+                return obj;
+            }
+            case CLASS_DECLARATION: {
+                JSONObject obj = new JSONObject().put("type", "class_declaration")
+                        .put("name", c.getSymbol().getName())
+                        .put("access", c.getAccess().toString())
+                        .put("in_class", c.isInClass())
+                        .put("static", c.isStatic())
+                        .put("final", c.isFinal());
+                JSONArray methods = new JSONArray();
+                JSONArray classes = new JSONArray();
+                JSONArray fields = new JSONArray();
+                if(c.enter()) do {
+                    if(c.getKind() == FUNCTION_DECLARATION) methods.put(visit(c));
+                    else if(c.getKind() == CLASS_DECLARATION) classes.put(visit(c));
+                    else fields.put(visit(c));
+                } while(c.next());
+                c.exit();
+                return obj.put("methods", methods).put("classes", classes).put("fields", fields);
+            }
+            case CLASS_CONSTRUCTION: return call(c, "class_construction", "class");
+            case FUNCTION_CALL: return call(c, "function_call", "function");
+
+            default: throw new Error(String.format("It looks like that node is not implemented in the JsonGenerator: %d", c.getKind()));
+        }
+
+    }
+
+    /**
+     * Creates a {@link JSONObject} containing the json of the children of the node (a missing child is left out)
+     */
+    private JSONObject children(FlatTree.Cursor c, String type, String... names) {
+        JSONObject obj = new JSONObject().put("type", type);
+        boolean valid = c.enter();
+        for(int i = 0; i < names.length && valid; i++) {
+            obj.put(names[i], visit(c));
+            valid = c.next();
+        }
+        c.exit();
+        return obj;
+    }
+
+    private JSONObject call(FlatTree.Cursor c, String type, String target) {
+        c.enter();
+        JSONObject obj = new JSONObject().put("type", type).put(target, visit(c));
+        JSONArray args = new JSONArray();
+        while(c.next()) args.put(visit(c));
+        c.exit();
+        return obj.put("args", args);
+    }
 }
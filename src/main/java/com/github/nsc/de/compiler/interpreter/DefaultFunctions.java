@@ -4,6 +4,7 @@ import com.github.nsc.de.compiler.interpreter.values.*;
 import com.github.nsc.de.compiler.parser.node.AccessDescriber;
 import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
 import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
+import com.github.nsc.de.compiler.util.Symbol;
 
 import java.util.HashMap;
 
@@ -15,11 +16,11 @@ public class DefaultFunctions {
      * @return the default functions
      */
     public static VariableList getFunctions(Interpreter interpreter) {
-        HashMap<String, Variable> functions = new HashMap<>();
+        HashMap<Symbol, Variable> functions = new HashMap<>();
 
-        functions.put("print", new Variable<Function>("print", new Print(interpreter)));
-        functions.put("println", new Variable<Function>("println", new Println(interpreter)));
-        functions.put("exit", new Variable<Function>("println", new Exit(interpreter)));
+        functions.put(Symbol.of("print"), new Variable<Function>("print", new Print(interpreter)));
+        functions.put(Symbol.of("println"), new Variable<Function>("println", new Println(interpreter)));
+        functions.put(Symbol.of("exit"), new Variable<Function>("println", new Exit(interpreter)));
 
         return new VariableList(functions);
     }
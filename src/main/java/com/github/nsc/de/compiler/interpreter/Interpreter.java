@@ -2,6 +2,7 @@ package com.github.nsc.de.compiler.interpreter;
 
 import com.github.nsc.de.compiler.interpreter.values.*;
 import com.github.nsc.de.compiler.interpreter.values.Class;
+import com.github.nsc.de.compiler.parser.flat.FlatTree;
 import com.github.nsc.de.compiler.parser.node.*;
 import com.github.nsc.de.compiler.parser.node.expression.*;
 import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
@@ -17,8 +18,11 @@ import com.github.nsc.de.compiler.parser.node.variables.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
+import static com.github.nsc.de.compiler.parser.node.NodeKind.*;
+
 
 
 /**
@@ -93,58 +97,78 @@ public class Interpreter {
      */
     public InterpreterValue visit(Node n, Scope scope) {
 
-        // Check all the node-types and call the function to process it
-        if(n instanceof Tree) return visitTree((Tree) n, scope);
-        if(n instanceof DoubleNode) return visitDoubleNode((DoubleNode) n);
-        if(n instanceof IntegerNode) return visitIntegerNode((IntegerNode) n);
-        if(n instanceof AddNode) return visitAddNode((AddNode) n, scope);
-        if(n instanceof SubNode) return visitSubNode((SubNode) n, scope);
-        if(n instanceof MulNode) return visitMulNode((MulNode) n, scope);
-        if(n instanceof DivNode) return visitDivNode((DivNode) n, scope);
-        if(n instanceof ModNode) return visitModNode((ModNode) n, scope);
-        if(n instanceof PowNode) return visitPowNode((PowNode) n, scope);
-        if(n instanceof VariableDeclarationNode) return visitVariableDeclarationNode((VariableDeclarationNode) n, scope);
-        if(n instanceof VariableAddAssignmentNode) return visitVariableAddAssignmentNode((VariableAddAssignmentNode) n, scope);
-        if(n instanceof VariableSubAssignmentNode) return visitVariableSubAssignmentNode((VariableSubAssignmentNode) n, scope);
-        if(n instanceof VariableMulAssignmentNode) return visitVariableMulAssignmentNode((VariableMulAssignmentNode) n, scope);
-        if(n instanceof VariableDivAssignmentNode) return visitVariableDivAssignmentNode((VariableDivAssignmentNode) n, scope);
-        if(n instanceof VariableModAssignmentNode) return visitVariableModAssignmentNode((VariableModAssignmentNode) n, scope);
-        if(n instanceof VariablePowAssignmentNode) return visitVariablePowAssignmentNode((VariablePowAssignmentNode) n, scope);
-        if(n instanceof VariableIncreaseNode) return visitVariableIncreaseNode((VariableIncreaseNode) n, scope);
-        if(n instanceof VariableDecreaseNode) return visitVariableDecreaseNode((VariableDecreaseNode) n, scope);
-        if(n instanceof VariableAssignmentNode) return visitVariableAssignmentNode((VariableAssignmentNode) n, scope);
-        if(n instanceof VariableUsageNode) return visitVariableUsageNode((VariableUsageNode) n, scope);
-        if(n instanceof LogicalEqEqualsNode) return visitEqEqualsNode((LogicalEqEqualsNode) n, scope);
-        if(n instanceof LogicalBiggerEqualsNode) return visitBiggerEqualsNode((LogicalBiggerEqualsNode) n, scope);
-        if(n instanceof LogicalSmallerEqualsNode) return visitSmallerEqualsNode((LogicalSmallerEqualsNode) n, scope);
-        if(n instanceof LogicalBiggerNode) return visitBiggerNode((LogicalBiggerNode) n, scope);
-        if(n instanceof LogicalSmallerNode) return visitSmallerNode((LogicalSmallerNode) n, scope);
-        if(n instanceof LogicalAndNode) return visitLogicalAndNode((LogicalAndNode) n, scope);
-        if(n instanceof LogicalOrNode) return visitLogicalOrNode((LogicalOrNode) n, scope);
-        if(n instanceof WhileNode) return visitWhileNode((WhileNode) n, scope);
-        if(n instanceof DoWhileNode) return visitDoWhileNode((DoWhileNode) n, scope);
-        if(n instanceof ForNode) return visitForNode((ForNode) n, scope);
-        if(n instanceof IfNode) return visitIfNode((IfNode) n, scope);
-        if(n instanceof FunctionDeclarationNode) return visitFunctionDeclarationNode((FunctionDeclarationNode) n, scope);
-        if(n instanceof FunctionCallNode) return visitFunctionCallNode((FunctionCallNode) n, scope);
-        if(n instanceof IdentifierNode) return visitIdentifier((IdentifierNode) n, scope);
-        if(n instanceof ClassConstructionNode) return visitClassConstruction((ClassConstructionNode) n, scope);
-        if(n instanceof ClassDeclarationNode) return visitClassDeclarationNode((ClassDeclarationNode) n, scope);
-
-        // if the node a LogicalTrueNode return TRUE, if it is a LogicalFalseNode return false
-        if(n instanceof LogicalTrueNode) return BooleanValue.TRUE;
-        if(n instanceof LogicalFalseNode) return BooleanValue.FALSE;
-
         // if the node is null return NullValue.NULL
         if(n == null) return NullValue.NULL;
 
-        // Throw an error if the node could not be processed
-        throw new Error("It looks like that Node is not implemented in the Interpreter");
+        // Dispatch the node by its kind and call the function to process it
+        switch(n.getKind()) {
+            case TREE: return visitTree((Tree) n, scope);
+            case DOUBLE: return visitDoubleNode((DoubleNode) n);
+            case INTEGER: return visitIntegerNode((IntegerNode) n);
+            case ADD: return visitAddNode((AddNode) n, scope);
+            case SUB: return visitSubNode((SubNode) n, scope);
+            case MUL: return visitMulNode((MulNode) n, scope);
+            case DIV: return visitDivNode((DivNode) n, scope);
+            case MOD: return visitModNode((ModNode) n, scope);
+            case POW: return visitPowNode((PowNode) n, scope);
+            case VARIABLE_DECLARATION: return visitVariableDeclarationNode((VariableDeclarationNode) n, scope);
+            case VARIABLE_ADD_ASSIGNMENT: return visitVariableAddAssignmentNode((VariableAddAssignmentNode) n, scope);
+            case VARIABLE_SUB_ASSIGNMENT: return visitVariableSubAssignmentNode((VariableSubAssignmentNode) n, scope);
+            case VARIABLE_MUL_ASSIGNMENT: return visitVariableMulAssignmentNode((VariableMulAssignmentNode) n, scope);
+            case VARIABLE_DIV_ASSIGNMENT: return visitVariableDivAssignmentNode((VariableDivAssignmentNode) n, scope);
+            case VARIABLE_MOD_ASSIGNMENT: return visitVariableModAssignmentNode((VariableModAssignmentNode) n, scope);
+            case VARIABLE_POW_ASSIGNMENT: return visitVariablePowAssignmentNode((VariablePowAssignmentNode) n, scope);
+            case VARIABLE_INCREASE: return visitVariableIncreaseNode((VariableIncreaseNode) n, scope);
+            case VARIABLE_DECREASE: return visitVariableDecreaseNode((VariableDecreaseNode) n, scope);
+            case VARIABLE_ASSIGNMENT: return visitVariableAssignmentNode((VariableAssignmentNode) n, scope);
+            case VARIABLE_USAGE: return visitVariableUsageNode((VariableUsageNode) n, scope);
+            case EQ_EQUALS: return visitEqEqualsNode((LogicalEqEqualsNode) n, scope);
+            case BIGGER_EQUALS: return visitBiggerEqualsNode((LogicalBiggerEqualsNode) n, scope);
+            case SMALLER_EQUALS: return visitSmallerEqualsNode((LogicalSmallerEqualsNode) n, scope);
+            case BIGGER: return visitBiggerNode((LogicalBiggerNode) n, scope);
+            case SMALLER: return visitSmallerNode((LogicalSmallerNode) n, scope);
+            case LOGICAL_AND: return visitLogicalAndNode((LogicalAndNode) n, scope);
+            case LOGICAL_OR: return visitLogicalOrNode((LogicalOrNode) n, scope);
+            case WHILE: return visitWhileNode((WhileNode) n, scope);
+            case DO_WHILE: return visitDoWhileNode((DoWhileNode) n, scope);
+            case FOR: return visitForNode((ForNode) n, scope);
+            case IF: return visitIfNode((IfNode) n, scope);
+            case FUNCTION_DECLARATION: return visitFunctionDeclarationNode((FunctionDeclarationNode) n, scope);
+            case FUNCTION_CALL: return visitFunctionCallNode((FunctionCallNode) n, scope);
+            case IDENTIFIER: return visitIdentifier((IdentifierNode) n, scope);
+            case CLASS_CONSTRUCTION: return visitClassConstruction((ClassConstructionNode) n, scope);
+            case CLASS_DECLARATION: return visitClassDeclarationNode((ClassDeclarationNode) n, scope);
+
+            // if the node a LogicalTrueNode return TRUE, if it is a LogicalFalseNode return false
+            case TRUE: return BooleanValue.TRUE;
+            case FALSE: return BooleanValue.FALSE;
+
+            // Throw an error if the node could not be processed
+            default: throw new Error("It looks like that Node is not implemented in the Interpreter");
+        }
 
     }
 
 
 
+    /**
+     * Runs top-level statements one after the other (using the {@link #global} {@link Scope}). Each statement is
+     * executed as soon as it is returned by the {@link Iterator}, so the statements can be parsed while running them
+     * (see {@link com.github.nsc.de.compiler.parser.Parser#statements()}).
+     *
+     * @param statements the statements to run
+     * @return the resulting {@link InterpreterValue} of the last statement
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public InterpreterValue run(Iterator<? extends Node> statements) {
+        InterpreterValue value = NullValue.NULL;
+        while(statements.hasNext()) value = visit(statements.next(), this.global);
+        return value;
+    }
+
+
+
     // *******************************
     // visit function
 
@@ -318,7 +342,8 @@ public class Interpreter {
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public InterpreterValue visitVariableDeclarationNode(VariableDeclarationNode n, Scope scope) {
-        if(!scope.getScopeVariables().declare(Variable.valueOf(n.getName(), n.getType()))) throw new Error("Variable is already defined");
+        Variable variable = Variable.valueOf(n.getSymbol(), n.getType());
+        if(!scope.declare(variable, n.getSlot(), n.isByName())) throw new Error("Variable is already defined");
         if(n.getAssignment() != null) return visitVariableAssignmentNode(n.getAssignment(), scope);
         else return NullValue.NULL;
     }
@@ -612,19 +637,17 @@ public class Interpreter {
      */
     public InterpreterValue visitWhileNode(WhileNode n, Scope scope) {
 
+        // Check once if the body declares something (so it needs an own scope in each round)
+        boolean declares = declares(n.getBody());
+
         // Visit the condition. As long as it is true we will execute this while-loop
         while(BooleanValue.from(visit(n.getCondition(), scope)).getValue()) {
 
-            // Copy the scope for inside the while loop
-            // When we don't create a copy of the scope for
-            // each round it would not be possible to declare
-            // variables inside of the scope because there
-            // would be an error thrown in the second run of
-            // the loop
-            Scope whileScope = scope.copy();
-
-            // Visit the body using the copied scope
-            visit(n.getBody(), whileScope);
+            // Visit the body using a new block scope for each round, when it declares something
+            // (it would not be possible to declare variables inside of the body in the second
+            // round of the loop otherwise). The variables of the scope stay visible and can be
+            // changed, as the block scope has the scope as parent
+            visit(n.getBody(), declares ? new Scope(scope) : scope);
 
         }
 
@@ -644,19 +667,15 @@ public class Interpreter {
      */
     public InterpreterValue visitDoWhileNode(DoWhileNode n, Scope scope) {
 
+        // Check once if the body declares something (so it needs an own scope in each round)
+        boolean declares = declares(n.getBody());
+
         // Visit the condition. As long as it is true we will execute this do-while-loop
         do {
 
-            // Copy the scope for inside the while loop
-            // When we don't create a copy of the scope for
-            // each round it would not be possible to declare
-            // variables inside of the scope because there
-            // would be an error thrown in the second run of
-            // the loop
-            Scope doWhileScope = scope.copy();
-
-            // Visit the body using the copied scope
-            visit(n.getBody(), doWhileScope);
+            // Visit the body using a new block scope for each round, when it declares something
+            // (see visitWhileNode)
+            visit(n.getBody(), declares ? new Scope(scope) : scope);
 
         } while(BooleanValue.from(visit(n.getCondition(), scope)).getValue());
 
@@ -675,10 +694,13 @@ public class Interpreter {
      */
     public InterpreterValue visitForNode(ForNode n, Scope scope) {
 
-        // copy the scope as outer scope, so the
+        // create a new outer scope, so the
         // counter-variable is deleted after the
         // for-loop-execution
-        Scope forOuterScope = scope.copy();
+        Scope forOuterScope = new Scope(scope);
+
+        // Check once if the body declares something (so it needs an own scope in each round)
+        boolean declares = declares(n.getBody());
 
         // visit the declaration (first statement) of the for-loop
         visit(n.getDeclaration(), forOuterScope);
@@ -687,16 +709,9 @@ public class Interpreter {
         while(BooleanValue.from(visit(n.getCondition(), forOuterScope)).getValue()) {
 
 
-            // Copy the outer-scope for inside the while loop
-            // When we don't create a copy of the scope for
-            // each round it would not be possible to declare
-            // variables inside of the scope because there
-            // would be an error thrown in the second run of
-            // the loop
-            Scope forInnerScope = forOuterScope.copy();
-
-            // Visit the body using the copied scope
-            visit(n.getBody(), forInnerScope);
+            // Visit the body using a new block scope for each round, when it declares something
+            // (see visitWhileNode)
+            visit(n.getBody(), declares ? new Scope(forOuterScope) : forOuterScope);
 
             // Execute the round statement (the third statement inside the for-loop)
             // We are using the forOuterScope as scope argument here
@@ -724,14 +739,14 @@ public class Interpreter {
      */
     public InterpreterValue visitIfNode(IfNode n, Scope scope) {
 
-        // Create a copy of the scope for executing the if-block
-        // so the variables declared inside of the if-block do
-        // not exist outside of it
-        Scope ifScope = scope.copy();
-
         // Visit the condition. If it is true then visit the body, if not visit the else-body
-        if(BooleanValue.from(visit(n.getCondition(), ifScope)).getValue()) return visit(n.getBody(), ifScope);
-        else if(n.getElseBody() != null) return visit(n.getElseBody(), ifScope);
+        //
+        // A block that declares something is visited in a new block scope, so the variables
+        // declared inside of the if-block do not exist outside of it
+        if(BooleanValue.from(visit(n.getCondition(), scope)).getValue())
+            return visit(n.getBody(), declares(n.getBody()) ? new Scope(scope) : scope);
+        else if(n.getElseBody() != null)
+            return visit(n.getElseBody(), declares(n.getElseBody()) ? new Scope(scope) : scope);
 
         // If we had nothing to return then we will just return NullValue.NULL
         return NullValue.NULL;
@@ -740,6 +755,26 @@ public class Interpreter {
 
 
 
+    /**
+     * Checks if a block declares something (a variable, a function or a class) directly inside of it. Only the
+     * blocks that declare something need an own scope, all others can be visited in the scope around them (the
+     * blocks nested into it create their own scopes).
+     *
+     * @param block the block to check
+     * @return does the block declare something?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static boolean declares(Tree block) {
+        if(block == null) return false;
+        for(Node node : block.getChildren())
+            if(node instanceof VariableDeclarationNode || node instanceof FunctionDeclarationNode
+                    || node instanceof ClassDeclarationNode) return true;
+        return false;
+    }
+
+
+
     // *******************************
     // functions
 
@@ -755,14 +790,15 @@ public class Interpreter {
     public Function visitFunctionDeclarationNode(FunctionDeclarationNode node, Scope scope) {
 
         // Declare the variable that contains the function
-        if(!scope.getVariables().declare(new Variable<Function>(node.getName())))
+        Variable<Function> variable = new Variable<>(node.getName());
+        if(!scope.declare(variable, node.getSlot(), node.isByName()))
             throw new Error("'" + node.getName() + "' is already declared!");
 
         // Create the function
         Function f = createFunctionDeclaration(node, scope);
 
         // Apply the function as value to the variable
-        scope.getVariables().get(node.getName()).setValue(f);
+        variable.setValue(f);
 
         // return the function
         return f;
@@ -801,8 +837,8 @@ public class Interpreter {
         // Create a variable to contain the function
         Function f;
 
-        // get the function
-        InterpreterValue v = visit(node.getFunction());
+        // get the function (from the scope of the call, so functions declared in inner scopes can be called)
+        InterpreterValue v = visit(node.getFunction(), scope);
 
         // set the value of f to v (if v is a function)
         if(v instanceof Function) f = (Function) v;
@@ -839,14 +875,15 @@ public class Interpreter {
     public Class visitClassDeclarationNode(ClassDeclarationNode node, Scope scope) {
 
         // Declare the variable that contains the class
-        if(!scope.getVariables().declare(new Variable<Function>(node.getName())))
+        Variable<Class> variable = new Variable<>(node.getName());
+        if(!scope.declare(variable, node.getSlot(), node.isByName()))
             throw new Error("'" + node.getName() + "' is already declared!");
 
         // Create the class
         Class c = createClassDeclaration(node, scope);
 
         // Set the variable value to the class
-        scope.getVariables().get(node.getName()).setValue(c);
+        variable.setValue(c);
 
         // return the class
         return c;
@@ -1013,8 +1050,8 @@ public class Interpreter {
         }
         else {
 
-            // get the variable from the scope
-            Variable v = scope.getVariables().get(node.getName());
+            // get the variable from the scope (from the frame of its scope if the Resolver gave it an address)
+            Variable v = node.getSlot() != -1 ? scope.get(node.getHops(), node.getSlot()) : scope.get(node.getSymbol());
 
             // if the variable is not declared throw an error
             if(v == null) throw new Error(String.format("Variable with name \"%s\" is not declared", node.getName()));
@@ -1025,4 +1062,204 @@ public class Interpreter {
         }
 
     }
+
+
+
+    // *******************************
+    // flat trees
+
+    /**
+     * Visit a {@link FlatTree} (using the {@link #global} {@link Scope})
+     *
+     * @param tree the {@link FlatTree} to visit
+     * @return the resulting {@link InterpreterValue} of the {@link FlatTree}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public InterpreterValue visit(FlatTree tree) {
+        return visit(tree, tree.getRoot(), this.global);
+    }
+
+    /**
+     * Visits a node of a {@link FlatTree} using the specified {@link Scope}. This works like
+     * {@link #visit(Node, Scope)}, but reads the nodes directly from the arena of the {@link FlatTree}. Only functions,
+     * classes and their calls and constructions are visited as object-nodes (see {@link FlatTree#getNode(int)}),
+     * because the {@link Function}s and {@link Class}es keep the nodes of their bodies.
+     *
+     * @param tree the {@link FlatTree} containing the node
+     * @param node the index of the node to visit
+     * @param scope the {@link Scope} to use
+     * @return the resulting {@link InterpreterValue} of the operation
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public InterpreterValue visit(FlatTree tree, int node, Scope scope) {
+
+        int first = tree.getFirstChild(node);
+
+        switch(tree.getKind(node)) {
+
+            case TREE: {
+                // visit all the children and return the result of the last one
+                InterpreterValue result = NullValue.NULL;
+                for(int child = first; child != -1; child = tree.getNextSibling(child)) result = visit(tree, child, scope);
+                return result;
+            }
+            case NULL: return NullValue.NULL;
+
+            case INTEGER: return new IntegerValue(tree.getInteger(node));
+            case DOUBLE: return new DoubleValue(tree.getDouble(node));
+            case TRUE: return BooleanValue.TRUE;
+            case FALSE: return BooleanValue.FALSE;
+
+            case ADD: return visit(tree, first, scope).add(visit(tree, tree.getNextSibling(first), scope));
+            case SUB: return visit(tree, first, scope).sub(visit(tree, tree.getNextSibling(first), scope));
+            case MUL: return visit(tree, first, scope).mul(visit(tree, tree.getNextSibling(first), scope));
+            case DIV: return visit(tree, first, scope).div(visit(tree, tree.getNextSibling(first), scope));
+            case MOD: return visit(tree, first, scope).mod(visit(tree, tree.getNextSibling(first), scope));
+            case POW: return visit(tree, first, scope).pow(visit(tree, tree.getNextSibling(first), scope));
+            case EQ_EQUALS: return visit(tree, first, scope).equals(visit(tree, tree.getNextSibling(first), scope));
+            case BIGGER_EQUALS: return visit(tree, first, scope).bigger_equals(visit(tree, tree.getNextSibling(first), scope));
+            case SMALLER_EQUALS: return visit(tree, first, scope).smaller_equals(visit(tree, tree.getNextSibling(first), scope));
+            case BIGGER: return visit(tree, first, scope).bigger(visit(tree, tree.getNextSibling(first), scope));
+            case SMALLER: return visit(tree, first, scope).smaller(visit(tree, tree.getNextSibling(first), scope));
+            case LOGICAL_AND: return visit(tree, first, scope).and(visit(tree, tree.getNextSibling(first), scope));
+            case LOGICAL_OR: return visit(tree, first, scope).or(visit(tree, tree.getNextSibling(first), scope));
+
+            case IDENTIFIER: return visitIdentifier(tree, node, scope);
+            case VARIABLE_USAGE: return visitIdentifier(tree, first, scope).getValue();
+            case VARIABLE_ASSIGNMENT: {
+                Variable variable = (Variable) visit(tree, first, scope);
+                InterpreterValue value = visit(tree, tree.getNextSibling(first), scope);
+                variable.setValue(value);
+                return value;
+            }
+            case VARIABLE_ADD_ASSIGNMENT:
+            case VARIABLE_SUB_ASSIGNMENT:
+            case VARIABLE_MUL_ASSIGNMENT:
+            case VARIABLE_DIV_ASSIGNMENT:
+            case VARIABLE_MOD_ASSIGNMENT:
+            case VARIABLE_POW_ASSIGNMENT: {
+                Variable variable = (Variable) visit(tree, first, scope);
+                InterpreterValue value = visit(tree, tree.getNextSibling(first), scope);
+                switch(tree.getKind(node)) {
+                    case VARIABLE_ADD_ASSIGNMENT: variable.setValue(variable.getValue().add(value)); break;
+                    case VARIABLE_SUB_ASSIGNMENT: variable.setValue(variable.getValue().sub(value)); break;
+                    case VARIABLE_MUL_ASSIGNMENT: variable.setValue(variable.getValue().mul(value)); break;
+                    case VARIABLE_DIV_ASSIGNMENT: variable.setValue(variable.getValue().div(value)); break;
+                    case VARIABLE_MOD_ASSIGNMENT: variable.setValue(variable.getValue().mod(value)); break;
+                    default: variable.setValue(variable.getValue().pow(value)); break;
+                }
+                return variable.getValue();
+            }
+            case VARIABLE_INCREASE: {
+                Variable variable = (Variable) visit(tree, first, scope);
+                InterpreterValue v = variable.getValue();
+                variable.setValue(v.add(IntegerValue.ONE));
+                return v;
+            }
+            case VARIABLE_DECREASE: {
+                Variable variable = (Variable) visit(tree, first, scope);
+                InterpreterValue v = variable.getValue();
+                variable.setValue(v.sub(IntegerValue.ONE));
+                return v;
+            }
+            case VARIABLE_DECLARATION: {
+                if(!scope.getScopeVariables().declare(Variable.valueOf(tree.getSymbol(node), tree.getVariableType(node))))
+                    throw new Error("Variable is already defined");
+                if(first != -1) return visit(tree, first, scope);
+                else return NullValue.NULL;
+            }
+
+            // the loops and ifs create block scopes like their visit-methods for object-nodes
+            case WHILE: {
+                int body = tree.getNextSibling(first);
+                boolean declares = declares(tree, body);
+                while(BooleanValue.from(visit(tree, first, scope)).getValue()) visit(tree, body, declares ? new Scope(scope) : scope);
+                return NullValue.NULL;
+            }
+            case DO_WHILE: {
+                int body = tree.getNextSibling(first);
+                boolean declares = declares(tree, body);
+                do visit(tree, body, declares ? new Scope(scope) : scope);
+                while(BooleanValue.from(visit(tree, first, scope)).getValue());
+                return NullValue.NULL;
+            }
+            case FOR: {
+                int condition = tree.getNextSibling(first);
+                int round = tree.getNextSibling(condition);
+                int body = tree.getNextSibling(round);
+                boolean declares = declares(tree, body);
+                Scope forOuterScope = new Scope(scope);
+                visit(tree, first, forOuterScope);
+                while(BooleanValue.from(visit(tree, condition, forOuterScope)).getValue()) {
+                    visit(tree, body, declares ? new Scope(forOuterScope) : forOuterScope);
+                    visit(tree, round, forOuterScope);
+                }
+                return NullValue.NULL;
+            }
+            case IF: {
+                int body = tree.getNextSibling(first);
+                int elseBody = tree.getNextSibling(body);
+                if(BooleanValue.from(visit(tree, first, scope)).getValue())
+                    return visit(tree, body, declares(tree, body) ? new Scope(scope) : scope);
+                else if(elseBody != -1) return visit(tree, elseBody, declares(tree, elseBody) ? new Scope(scope) : scope);
+                return NullValue.NULL;
+            }
+
+            // functions and classes keep object-nodes
+            case FUNCTION_DECLARATION:
+            case FUNCTION_CALL:
+            case CLASS_DECLARATION:
+            case CLASS_CONSTRUCTION:
+                return visit(tree.getNode(node), scope);
+
+            default: throw new Error("It looks like that Node is not implemented in the Interpreter");
+        }
+
+    }
+
+    /**
+     * Visit an {@link NodeKind#IDENTIFIER} of a {@link FlatTree} (see {@link #visitIdentifier(IdentifierNode, Scope)})
+     *
+     * @param tree the {@link FlatTree} containing the node
+     * @param node the index of the {@link NodeKind#IDENTIFIER}
+     * @param scope the {@link Scope} to visit the identifier
+     * @return the {@link Variable} of the identifier
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Variable visitIdentifier(FlatTree tree, int node, Scope scope) {
+
+        int parentNode = tree.getFirstChild(node);
+        Variable v;
+
+        if(parentNode != -1) {
+            v = visit(tree, parentNode, scope).getChild(tree.getSymbol(node).getName());
+            if(v == null) throw new Error(String.format("Child \"%s\" is not defined", tree.getSymbol(node).getName()));
+        }
+        else {
+            v = scope.get(tree.getSymbol(node));
+            if(v == null) throw new Error(String.format("Variable with name \"%s\" is not declared", tree.getSymbol(node).getName()));
+        }
+        return v;
+
+    }
+
+    /**
+     * Checks if a block of a {@link FlatTree} declares something directly inside of it (see {@link #declares(Tree)})
+     *
+     * @param tree the {@link FlatTree} containing the block
+     * @param block the index of the block
+     * @return does the block declare something?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static boolean declares(FlatTree tree, int block) {
+        for(int child = tree.getFirstChild(block); child != -1; child = tree.getNextSibling(child)) {
+            int kind = tree.getKind(child);
+            if(kind == VARIABLE_DECLARATION || kind == FUNCTION_DECLARATION || kind == CLASS_DECLARATION) return true;
+        }
+        return false;
+    }
 }
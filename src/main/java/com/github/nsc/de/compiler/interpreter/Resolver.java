@@ -0,0 +1,525 @@
+package com.github.nsc.de.compiler.interpreter;
+
+import com.github.nsc.de.compiler.generators.Generator;
+import com.github.nsc.de.compiler.parser.node.*;
+import com.github.nsc.de.compiler.parser.node.expression.*;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.logical.*;
+import com.github.nsc.de.compiler.parser.node.loops.DoWhileNode;
+import com.github.nsc.de.compiler.parser.node.loops.ForNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.variables.*;
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Resolves the variables of a tree before it is interpreted: each declaration inside of a function or a block gets a
+ * slot in the frame of its {@link Scope} and each use of such a variable gets its address (the number of scopes to go
+ * up and the slot), so the {@link Interpreter} can take the {@link Variable} from the frame instead of looking it up
+ * by its name.
+ *
+ * The resolver creates a frame for each {@link Scope} the {@link Interpreter} creates: one for each function call,
+ * one around each for loop and one for each block (the body of a loop or an if) that declares something. All
+ * variables that can't be resolved exactly are left to the lookup by name: the global variables (so a tree can be
+ * interpreted after other trees declared variables in the global scope), everything inside of classes and the
+ * variables of functions whose name is declared later in a scope around the function (the function could be called
+ * before or after that declaration).
+ *
+ * The addresses are stored in the nodes, each top-level statement can be resolved on its own. A declaration with a
+ * slot is only put into the frame of its {@link Scope} unless its name could be looked up by name from inside of its
+ * frame (see {@link #lookedUpByName(Symbol)}), so the {@link Interpreter} only fills the {@link VariableList}s with the
+ * variables that are needed there.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class Resolver extends Generator<Void> {
+
+    /**
+     * The frames around the current node (the innermost one is the last one, empty on the global level)
+     */
+    private final List<Frame> frames = new ArrayList<>();
+
+    /**
+     * Resolves a tree (or a single top-level statement)
+     *
+     * @param node the node to resolve
+     * @param <N> the type of the node
+     * @return the given node
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public <N extends Node> N resolve(N node) {
+        this.frames.clear();
+        this.visit(node);
+        return node;
+    }
+
+    /**
+     * Resolves each top-level statement when it is taken from the returned {@link Iterator}
+     *
+     * @param statements the top-level statements to resolve
+     * @return the resolved statements
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     *
+     * @see com.github.nsc.de.compiler.parser.Parser#statements()
+     */
+    public Iterator<Node> resolve(Iterator<? extends Node> statements) {
+        return new Iterator<Node>() {
+
+            @Override
+            public boolean hasNext() {
+                return statements.hasNext();
+            }
+
+            @Override
+            public Node next() {
+                return resolve(statements.next());
+            }
+        };
+    }
+
+    @Override
+    public Void visit(Node n) {
+        if(n != null) super.visit(n);
+        return null;
+    }
+
+
+
+    // ****************************************************************************
+    // Frames
+
+    /**
+     * The frame of a {@link Scope}
+     */
+    private static class Frame {
+
+        /**
+         * Is this the frame of a function call?
+         */
+        final boolean function;
+
+        /**
+         * All names declared in the frame
+         */
+        final Set<Symbol> names = new HashSet<>();
+
+        /**
+         * The slots of the names that are declared up to the current node
+         */
+        final Map<Symbol, Integer> slots = new HashMap<>();
+
+        /**
+         * The declarations with a slot in the frame
+         */
+        final List<Node> declarations = new ArrayList<>();
+
+        /**
+         * The names that are looked up by their names inside of the frame
+         */
+        final Set<Symbol> byName = new HashSet<>();
+
+        /**
+         * Can all names of the frame be looked up by their names? (there is a class inside of the frame)
+         */
+        boolean allByName = false;
+
+        Frame(boolean function) {
+            this.function = function;
+        }
+
+        /**
+         * Adds the names declared directly inside of a block to the names of the frame
+         */
+        void addNames(Tree block) {
+            if(block == null) return;
+            for(Node node : block.getChildren()) {
+                if(node instanceof VariableDeclarationNode) this.names.add(((VariableDeclarationNode) node).getSymbol());
+                else if(node instanceof FunctionDeclarationNode) this.names.add(Symbol.of(((FunctionDeclarationNode) node).getName()));
+                else if(node instanceof ClassDeclarationNode) this.names.add(Symbol.of(((ClassDeclarationNode) node).getName()));
+            }
+        }
+
+        /**
+         * Declares a name in the frame
+         *
+         * @return the slot of the name (the slot of the first declaration if the name is declared again)
+         */
+        int declare(Symbol name) {
+            Integer slot = this.slots.get(name);
+            if(slot != null) return slot;
+            this.names.add(name);
+            this.slots.put(name, this.slots.size());
+            return this.slots.size() - 1;
+        }
+    }
+
+    /**
+     * Declares a name in the current frame
+     *
+     * @param declaration the node declaring the name
+     * @return the slot of the name, -1 on the global level
+     */
+    private int declare(Node declaration, Symbol name) {
+        if(this.frames.isEmpty()) return -1;
+        Frame frame = this.frames.get(this.frames.size() - 1);
+        frame.declarations.add(declaration);
+        return frame.declare(name);
+    }
+
+    /**
+     * Removes the innermost frame and tells its declarations if they can be looked up by their names
+     */
+    private void close() {
+        Frame frame = this.frames.remove(this.frames.size() - 1);
+        for(Node node : frame.declarations) {
+            if(node instanceof VariableDeclarationNode) {
+                VariableDeclarationNode n = (VariableDeclarationNode) node;
+                n.setByName(frame.allByName || frame.byName.contains(n.getSymbol()));
+            }
+            else if(node instanceof FunctionDeclarationNode) {
+                FunctionDeclarationNode n = (FunctionDeclarationNode) node;
+                n.setByName(frame.allByName || frame.byName.contains(Symbol.of(n.getName())));
+            }
+            else if(node instanceof ClassDeclarationNode) {
+                ClassDeclarationNode n = (ClassDeclarationNode) node;
+                n.setByName(frame.allByName || frame.byName.contains(Symbol.of(n.getName())));
+            }
+            else if(node instanceof FunctionArgumentNode) {
+                FunctionArgumentNode n = (FunctionArgumentNode) node;
+                n.setByName(frame.allByName || frame.byName.contains(Symbol.of(n.getName())));
+            }
+        }
+    }
+
+    /**
+     * An identifier is looked up by its name. The lookup searches all scopes around the identifier, so the name has
+     * to be found by its name in all frames (the declarations in the frames can't know if the lookup reaches them:
+     * a frame can declare the name later, when the lookup runs in a function that is called after the declaration).
+     *
+     * @param name the name that is looked up
+     */
+    private void lookedUpByName(Symbol name) {
+        for(Frame frame : this.frames) frame.byName.add(name);
+    }
+
+    /**
+     * Visits a block, in a new frame if the {@link Interpreter} creates a {@link Scope} for it
+     */
+    private void block(Tree block) {
+        if(!Interpreter.declares(block)) {
+            this.visit(block);
+            return;
+        }
+        Frame frame = new Frame(false);
+        frame.addNames(block);
+        this.frames.add(frame);
+        this.visit(block);
+        this.close();
+    }
+
+
+
+    // ****************************************************************************
+    // Declarations and identifiers
+
+    @Override
+    public Void visitVariableDeclarationNode(VariableDeclarationNode n) {
+        n.setSlot(this.declare(n, n.getSymbol()));
+        return this.visit(n.getAssignment());
+    }
+
+    @Override
+    public Void visitFunctionDeclarationNode(FunctionDeclarationNode n) {
+
+        // the function can call itself, so its name is declared before the body is resolved
+        n.setSlot(this.declare(n, Symbol.of(n.getName())));
+
+        Frame frame = new Frame(true);
+        for(FunctionArgumentNode arg : n.getArgs()) {
+            frame.declarations.add(arg);
+            arg.setSlot(frame.declare(Symbol.of(arg.getName())));
+        }
+        frame.addNames(n.getBody());
+        this.frames.add(frame);
+        this.visit(n.getBody());
+        this.close();
+        return null;
+
+    }
+
+    @Override
+    public Void visitClassDeclarationNode(ClassDeclarationNode n) {
+        // the members of classes are always looked up by their names, their methods can look up all names of the
+        // frames around the class
+        n.setSlot(this.declare(n, Symbol.of(n.getName())));
+        for(Frame frame : this.frames) frame.allByName = true;
+        return null;
+    }
+
+    @Override
+    public Void visitIdentifierNode(IdentifierNode n) {
+
+        // children are looked up by their names
+        if(n.getParent() != null) {
+            n.resolve(-1, -1);
+            return this.visit(n.getParent());
+        }
+
+        boolean crossedFunction = false;
+        for(int i = this.frames.size() - 1; i >= 0; i--) {
+            Frame frame = this.frames.get(i);
+            Integer slot = frame.slots.get(n.getSymbol());
+            if(slot != null) {
+                n.resolve(this.frames.size() - 1 - i, slot);
+                return null;
+            }
+
+            // the name is declared later in this frame: code in the frame itself runs before the declaration, but a
+            // function can be called after it, so its variables are looked up by their names
+            if(crossedFunction && frame.names.contains(n.getSymbol())) break;
+            if(frame.function) crossedFunction = true;
+        }
+
+        n.resolve(-1, -1);
+        this.lookedUpByName(n.getSymbol());
+        return null;
+
+    }
+
+
+
+    // ****************************************************************************
+    // Blocks
+
+    @Override
+    public Void visitTree(Tree t) {
+        for(Node node : t.getChildren()) this.visit(node);
+        return null;
+    }
+
+    @Override
+    public Void visitWhileNode(WhileNode n) {
+        this.visit(n.getCondition());
+        this.block(n.getBody());
+        return null;
+    }
+
+    @Override
+    public Void visitDoWhileNode(DoWhileNode n) {
+        this.block(n.getBody());
+        this.visit(n.getCondition());
+        return null;
+    }
+
+    @Override
+    public Void visitForNode(ForNode n) {
+        this.frames.add(new Frame(false));
+        this.visit(n.getDeclaration());
+        this.visit(n.getCondition());
+        this.block(n.getBody());
+        this.visit(n.getRound());
+        this.close();
+        return null;
+    }
+
+    @Override
+    public Void visitIfNode(IfNode n) {
+        this.visit(n.getCondition());
+        this.block(n.getBody());
+        this.block(n.getElseBody());
+        return null;
+    }
+
+
+
+    // ****************************************************************************
+    // All other nodes (just visit their children)
+
+    @Override
+    public Void visitDoubleNode(DoubleNode n) {
+        return null;
+    }
+
+    @Override
+    public Void visitIntegerNode(IntegerNode n) {
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalTrueNode(LogicalTrueNode n) {
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalFalseNode(LogicalFalseNode n) {
+        return null;
+    }
+
+    @Override
+    public Void visitAddNode(AddNode n) {
+        return this.expression(n);
+    }
+
+    @Override
+    public Void visitSubNode(SubNode n) {
+        return this.expression(n);
+    }
+
+    @Override
+    public Void visitMulNode(MulNode n) {
+        return this.expression(n);
+    }
+
+    @Override
+    public Void visitDivNode(DivNode n) {
+        return this.expression(n);
+    }
+
+    @Override
+    public Void visitModNode(ModNode n) {
+        return this.expression(n);
+    }
+
+    @Override
+    public Void visitPowNode(PowNode n) {
+        return this.expression(n);
+    }
+
+    @Override
+    public Void visitPriorityNode(PriorityNode n) {
+        return this.visit(n.getValue());
+    }
+
+    private Void expression(ExpressionNode n) {
+        this.visit(n.getLeft());
+        return this.visit(n.getRight());
+    }
+
+    @Override
+    public Void visitVariableAssignmentNode(VariableAssignmentNode n) {
+        this.visit(n.getVariable());
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitVariableAddAssignmentNode(VariableAddAssignmentNode n) {
+        this.visit(n.getVariable());
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitVariableSubAssignmentNode(VariableSubAssignmentNode n) {
+        this.visit(n.getVariable());
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitVariableMulAssignmentNode(VariableMulAssignmentNode n) {
+        this.visit(n.getVariable());
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitVariableDivAssignmentNode(VariableDivAssignmentNode n) {
+        this.visit(n.getVariable());
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitVariableModAssignmentNode(VariableModAssignmentNode n) {
+        this.visit(n.getVariable());
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitVariablePowAssignmentNode(VariablePowAssignmentNode n) {
+        this.visit(n.getVariable());
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitVariableIncreaseNode(VariableIncreaseNode n) {
+        return this.visit(n.getVariable());
+    }
+
+    @Override
+    public Void visitVariableDecreaseNode(VariableDecreaseNode n) {
+        return this.visit(n.getVariable());
+    }
+
+    @Override
+    public Void visitVariableUsageNode(VariableUsageNode n) {
+        return this.visit(n.getVariable());
+    }
+
+    @Override
+    public Void visitEqEqualsNode(LogicalEqEqualsNode n) {
+        return this.compare(n);
+    }
+
+    @Override
+    public Void visitBiggerEqualsNode(LogicalBiggerEqualsNode n) {
+        return this.compare(n);
+    }
+
+    @Override
+    public Void visitSmallerEqualsNode(LogicalSmallerEqualsNode n) {
+        return this.compare(n);
+    }
+
+    @Override
+    public Void visitBiggerNode(LogicalBiggerNode n) {
+        return this.compare(n);
+    }
+
+    @Override
+    public Void visitSmallerNode(LogicalSmallerNode n) {
+        return this.compare(n);
+    }
+
+    private Void compare(LogicalCompareNode n) {
+        this.visit(n.getLeft());
+        return this.visit(n.getRight());
+    }
+
+    @Override
+    public Void visitLogicalAndNode(LogicalAndNode n) {
+        this.visit(n.getLeft());
+        return this.visit(n.getRight());
+    }
+
+    @Override
+    public Void visitLogicalOrNode(LogicalOrNode n) {
+        this.visit(n.getLeft());
+        return this.visit(n.getRight());
+    }
+
+    @Override
+    public Void visitFunctionCallNode(FunctionCallNode n) {
+        this.visit(n.getFunction());
+        for(ValuedNode arg : n.getArgs()) this.visit(arg);
+        return null;
+    }
+
+    @Override
+    public Void visitClassConstruction(ClassConstructionNode n) {
+        this.visit(n.getType());
+        for(ValuedNode arg : n.getArgs()) this.visit(arg);
+        return null;
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.github.nsc.de.compiler.interpreter;
 
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.Arrays;
+
 /**
  * A scope to keep all the variables inside
  *
@@ -24,6 +28,12 @@ public class Scope {
      */
     private final Scope parent;
 
+    /**
+     * The frame of the {@link Scope}: the variables of the declarations that got a slot from the {@link Resolver},
+     * indexed by their slot (null as long as no such variable is declared)
+     */
+    private Variable[] frame;
+
 
 
     // *******************************
@@ -83,7 +93,8 @@ public class Scope {
     }
 
     /**
-     * Getter for all scope variables (including all the variables of the parents)
+     * Getter for all scope variables (including all the variables of the parents). This copies the variables of all
+     * the parents into a new {@link VariableList}, use {@link #get(Symbol)} to look up a single variable.
      *
      * @return the scope's variables (this.{@link #variables})
      *
@@ -93,8 +104,104 @@ public class Scope {
         return this.parent != null ? this.parent.getVariables().concat(variables) : variables;
     }
 
+
+
+    // *******************************
+    // lookup
+
+    /**
+     * Get a variable from the {@link Scope} or one of its parents. The scopes are searched from this one up to the
+     * global scope without copying any variables, so the variables declared in the scopes don't influence the cost
+     * of a lookup. The result is the same as the one of {@link #getVariables()}.get(name).
+     *
+     * @param name the name of the {@link Variable} to get
+     * @return the {@link Variable} (or null if the {@link Variable} is not declared)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Variable get(Symbol name) {
+
+        // search the variables of the scope itself and all its parents (the nearest declaration hides the others)
+        for(Scope scope = this; scope != null; scope = scope.parent) {
+            Variable variable = scope.variables.getDeclared(name);
+            if(variable != null) return variable;
+        }
+
+        // only the parent-list of this scope's variables is searched, like the parent-lists of the parents are
+        // ignored by getVariables()
+        return this.variables.getParentList() != null ? this.variables.getParentList().get(name) : null;
+
+    }
+
+    /**
+     * Get a variable by its address from the {@link Resolver}: the variable is taken from the frame of the scope
+     * the given number of scopes above this one, so no names have to be compared.
+     *
+     * @param hops the number of scopes to go up
+     * @param slot the slot of the variable in the frame of that scope
+     * @return the {@link Variable}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Variable get(int hops, int slot) {
+        Scope scope = this;
+        for(int i = 0; i < hops; i++) scope = scope.parent;
+        return scope.frame[slot];
+    }
+
+    /**
+     * Declares a variable in this {@link Scope}. A variable without a slot is declared in the {@link #variables}, a
+     * variable with a slot is put into the frame and only declared in the {@link #variables} as well if it can be
+     * looked up by its name (see {@link Resolver}).
+     *
+     * @param variable the variable to declare
+     * @param slot the slot of the variable (-1 if it is only declared by its name)
+     * @param byName can the variable be looked up by its name?
+     * @return false if the variable is already declared in this scope
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public boolean declare(Variable variable, int slot, boolean byName) {
+        if(slot == -1) return this.variables.declare(variable);
+
+        // a name that is declared again gets the same slot from the Resolver
+        if(byName ? !this.variables.declare(variable)
+                : this.frame != null && slot < this.frame.length && this.frame[slot] != null) return false;
+        this.setSlot(slot, variable);
+        return true;
+    }
+
+    /**
+     * Puts a declared variable into a slot of the frame of this {@link Scope} (the variable has to be declared in
+     * the {@link #variables} as well if it can be looked up by its name)
+     *
+     * @param slot the slot of the variable
+     * @param variable the variable
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public void setSlot(int slot, Variable variable) {
+        if(this.frame == null) this.frame = new Variable[Math.max(4, slot + 1)];
+        else if(slot >= this.frame.length) this.frame = Arrays.copyOf(this.frame, Math.max(this.frame.length * 2, slot + 1));
+        this.frame[slot] = variable;
+    }
+
+    /**
+     * Get a variable from the {@link Scope} or one of its parents by its name
+     *
+     * @param name the name of the {@link Variable} to get
+     * @return the {@link Variable} (or null if the {@link Variable} is not declared)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     *
+     * @see #get(Symbol)
+     */
+    public Variable get(String name) {
+        return this.get(Symbol.of(name));
+    }
+
     /**
-     * Copies the scope
+     * Copies the scope (without its frame, the copied variables are only available by their names)
      *
      * @return the copy of the scope
      *
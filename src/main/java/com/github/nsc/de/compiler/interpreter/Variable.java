@@ -3,6 +3,7 @@ package com.github.nsc.de.compiler.interpreter;
 import com.github.nsc.de.compiler.interpreter.values.*;
 import com.github.nsc.de.compiler.parser.node.AccessDescriber;
 import com.github.nsc.de.compiler.parser.node.VariableType;
+import com.github.nsc.de.compiler.util.Symbol;
 
 import java.lang.Class;
 import java.lang.reflect.ParameterizedType;
@@ -24,7 +25,7 @@ public class Variable<V extends InterpreterValue> implements InterpreterValue {
     /**
      * The {@link Variable} identifier
      */
-    private final String identifier;
+    private final Symbol identifier;
 
     /**
      * The access of the variable
@@ -61,13 +62,27 @@ public class Variable<V extends InterpreterValue> implements InterpreterValue {
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
-    public Variable(String identifier, AccessDescriber access, V value) {
+    public Variable(Symbol identifier, AccessDescriber access, V value) {
         // apply the given values
         this.identifier = identifier;
         this.access = access;
         this.value = value;
     }
 
+    /**
+     * Constructor for {@link Variable}
+     *
+     * @param identifier the identifier of the variable
+     * @param access the access type of the variable
+     * @param value the value of the variable
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Variable(String identifier, AccessDescriber access, V value) {
+        // call other constructor using the symbol of the identifier
+        this(Symbol.of(identifier), access, value);
+    }
+
     /**
      * Constructor for {@link Variable}
      *
@@ -106,6 +121,18 @@ public class Variable<V extends InterpreterValue> implements InterpreterValue {
         this(identifier, AccessDescriber.PACKAGE);
     }
 
+    /**
+     * Constructor for {@link Variable}
+     *
+     * @param identifier the identifier of the variable
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Variable(Symbol identifier) {
+        // call other constructor using default AccessDescriber: PACKAGE and default value: null
+        this(identifier, AccessDescriber.PACKAGE, null);
+    }
+
 
 
     // *******************************
@@ -131,6 +158,18 @@ public class Variable<V extends InterpreterValue> implements InterpreterValue {
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public String getIdentifier() {
+        // return the name of the identifier field
+        return identifier.getName();
+    }
+
+    /**
+     * Getter for {@link #identifier} (the variable identifier) as {@link Symbol}
+     *
+     * @return the symbol of the variable identifier (this.{@link #identifier})
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Symbol getSymbol() {
         // return the identifier field
         return identifier;
     }
@@ -529,6 +568,19 @@ public class Variable<V extends InterpreterValue> implements InterpreterValue {
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public static Variable<?> valueOf(String name, VariableType type) {
+        return valueOf(Symbol.of(name), type);
+    }
+
+    /**
+     * This function just converts a {@link VariableType} into a {@link Variable}
+     *
+     * @param name the symbol of the name of the variable
+     * @param type the type to convert
+     * @return the converted type
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static Variable<?> valueOf(Symbol name, VariableType type) {
         switch (type.getType()) {
 
             // Return for all number-value types without decimal places the IntegerValue class
@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.interpreter;
 
 import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+import com.github.nsc.de.compiler.util.Symbol;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -18,7 +19,7 @@ public class VariableList implements InterpreterValue {
     /**
      * The variables
      */
-    private final Map<String, Variable> variables;
+    private final Map<Symbol, Variable> variables;
 
     /**
      * The parent list (or null, if the list hast no parent list)
@@ -38,7 +39,7 @@ public class VariableList implements InterpreterValue {
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
-    public VariableList(Map<String, Variable> variables, VariableList parentList) {
+    public VariableList(Map<Symbol, Variable> variables, VariableList parentList) {
         // apply values to fields
         this.variables = variables;
         this.parentList = parentList;
@@ -64,7 +65,7 @@ public class VariableList implements InterpreterValue {
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
-    public VariableList(HashMap<String, Variable> variables) {
+    public VariableList(HashMap<Symbol, Variable> variables) {
         // apply given values to fields
         this.variables = variables;
         this.parentList = null;
@@ -93,7 +94,7 @@ public class VariableList implements InterpreterValue {
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
-    public Map<String, Variable> getVariables() {
+    public Map<Symbol, Variable> getVariables() {
         // just return the variables field
         return variables;
     }
@@ -126,8 +127,8 @@ public class VariableList implements InterpreterValue {
     public boolean declare(Variable v) {
         // Check if the variable-map already contains a Variable with this name (if so return false).
         // In other case put the variable into the map using the identifier as key and return true
-        if (this.variables.containsKey(v.getIdentifier())) return false;
-        this.variables.put(v.getIdentifier(), v);
+        if (this.variables.containsKey(v.getSymbol())) return false;
+        this.variables.put(v.getSymbol(), v);
         return true;
     }
 
@@ -139,10 +140,12 @@ public class VariableList implements InterpreterValue {
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
-    public Variable get(String name) {
+    public Variable get(Symbol name) {
 
         // If the variable map contains the variable then return it.
-        if(variables.containsKey(name)) return variables.get(name);
+        // (the map never contains null values, so we don't have to call containsKey() first)
+        Variable variable = variables.get(name);
+        if(variable != null) return variable;
 
         // In other case if the VariableList has a parent-list try to get the Variable from the parentList.s
         else if (this.getParentList() != null) return this.getParentList().get(name);
@@ -152,6 +155,31 @@ public class VariableList implements InterpreterValue {
 
     }
 
+    /**
+     * Get a variable that is declared in this {@link VariableList} itself (without searching the parent-list)
+     *
+     * @param name the name of the {@link Variable} to get
+     * @return the {@link Variable} (or null if the {@link Variable} is not declared in this list)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    Variable getDeclared(Symbol name) {
+        return this.variables.get(name);
+    }
+
+    /**
+     * Get a variable from the {@link VariableList} by its name
+     *
+     * @param name the name of the {@link Variable} to get
+     * @return the {@link Variable} (or null if the {@link Variable} is not declared)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Variable get(String name) {
+        // get the variable using the symbol of the name
+        return this.get(Symbol.of(name));
+    }
+
     /**
      * Puts together this {@link VariableList} with another given one (ignores the {@link #parentList} of the
      * {@link VariableList} that is given as argument)
@@ -164,7 +192,7 @@ public class VariableList implements InterpreterValue {
     VariableList concat(VariableList list) {
 
         // Create a new HashMap from the variables of the VariableList
-        HashMap<String, Variable> variables = new HashMap<>(this.variables);
+        HashMap<Symbol, Variable> variables = new HashMap<>(this.variables);
 
         // Loop over the given list and put the variables into the variables map
         list.getVariables().forEach(variables::put);
@@ -183,7 +211,7 @@ public class VariableList implements InterpreterValue {
     public VariableList copy() {
 
         // Create a new HashMap for the variables
-        Map<String, Variable> vars = new HashMap<>();
+        Map<Symbol, Variable> vars = new HashMap<>();
 
         // Loop over the variables and put a copy of the variable into the vars Map
         this.variables.forEach((k, v) -> vars.put(k, v.copy()));
@@ -286,7 +314,7 @@ public class VariableList implements InterpreterValue {
          *
          * @see VariableList#VariableList(Map, VariableList)
          */
-        public ScopeVariableList(Map<String, Variable> variables, VariableList parentList, Scope scope) {
+        public ScopeVariableList(Map<Symbol, Variable> variables, VariableList parentList, Scope scope) {
 
             // call super constructor with specified arguments
             super(variables, parentList);
@@ -305,11 +333,25 @@ public class VariableList implements InterpreterValue {
          * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
          */
         @Override
-        public Variable get(String name) {
+        public Variable get(Symbol name) {
             // Get the Variable from the parent and call the withScope function on it
             return super.get(name).withScope(this.scope);
         }
 
+        /**
+         * Get a variable that is declared in this {@link VariableList} itself (using the {@link #scope})
+         *
+         * @param name the name of the {@link Variable} to get
+         * @return the {@link Variable} (or null if the {@link Variable} is not declared in this list)
+         *
+         * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+         */
+        @Override
+        Variable getDeclared(Symbol name) {
+            Variable variable = super.getDeclared(name);
+            return variable != null ? variable.withScope(this.scope) : null;
+        }
+
         /**
          * Getter for {@link #variables} (the variable map)
          *
@@ -318,12 +360,12 @@ public class VariableList implements InterpreterValue {
          * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
          */
         @Override
-        public Map<String, Variable> getVariables() {
+        public Map<Symbol, Variable> getVariables() {
             // Create a new map
-            Map<String, Variable> variableMap = new HashMap<>();
+            Map<Symbol, Variable> variableMap = new HashMap<>();
 
             // Copy all the variables to the variable-map, but always calling the #withScope function on them
-            super.getVariables().forEach((String key, Variable variable) -> variableMap.put(key, variable.withScope(this.scope)));
+            super.getVariables().forEach((Symbol key, Variable variable) -> variableMap.put(key, variable.withScope(this.scope)));
 
             // return the variable-map
             return variableMap;
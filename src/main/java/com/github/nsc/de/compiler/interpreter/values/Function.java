@@ -201,13 +201,21 @@ public class Function implements InterpreterValue {
             // [Example]
             // >> function( i ) { ... } // will work
             //
-            function_scope.getScopeVariables().declare(new Variable(this.getArgs()[i].getName()));
+            // (only into the frame of the function scope if the Resolver gave it a slot and it is never looked
+            // up by its name)
+            FunctionArgumentNode arg = this.getArgs()[i];
+            Variable argument = new Variable(arg.getName());
+
+            // an argument that is declared twice uses the variable of the first declaration
+            if(!function_scope.declare(argument, arg.getSlot(), arg.isByName()))
+                argument = arg.getSlot() != -1 ? function_scope.get(0, arg.getSlot())
+                        : function_scope.getScopeVariables().get(arg.getName());
 
             // Set the variable to the value that is given (we use the interpreter to visit the given argument)
             //
             // also we use the scope argument here as scope because we want to use variables at the location of
             // the function call and not at the location of the function declaration
-            function_scope.getScopeVariables().get(this.getArgs()[i].getName()).setValue(interpreter.visit(node.getArgs()[i], scope));
+            argument.setValue(interpreter.visit(node.getArgs()[i], scope));
 
         }
 
@@ -74,7 +74,7 @@ public class ObjectValue implements InterpreterValue {
         for(VariableDeclarationNode node : parent.getFields()) {
 
             // declare the field inside of the this_object
-            this.this_object.declare(Variable.valueOf(node.getName(), node.getType()));
+            this.this_object.declare(Variable.valueOf(node.getSymbol(), node.getType()));
 
             // set the field value (if given)
             if(node.getAssignment() != null)
@@ -0,0 +1,279 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.PackedTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Keeps the tokens of an input up to date while the input is edited (e.g. by an editor), without lexing the whole
+ * input again on each edit.
+ *
+ * A {@link Lexer} has no state between two tokens, so lexing can be restarted directly after any token that is not
+ * affected by the edit. The new tokens are lexed from there until one of them is the same as an old token (same type,
+ * value and shifted position) behind the edited region. From there on the {@link Lexer} would create the same tokens as
+ * before, so the following old tokens are just shifted (see {@link PackedTokenInputStream#replace}).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class IncrementalLexer {
+
+    /**
+     * The number of characters the {@link Lexer} looks at behind the end of a token to decide where the token ends
+     * (e.g. "**=" when lexing "*")
+     */
+    private static final int MAX_LOOKAHEAD = 2;
+
+    /**
+     * The source (mostly filename) of the input
+     */
+    private final String source;
+
+    /**
+     * The {@link Lexer.Implementation} to lex with
+     */
+    private final Lexer.Implementation implementation;
+
+    /**
+     * The actual content of the input
+     */
+    private char[] content;
+
+    /**
+     * The tokens of the actual {@link #content} (null if the content can't be lexed)
+     */
+    private PackedTokenInputStream tokens;
+
+    /**
+     * The number of tokens that were lexed by the last edit
+     */
+    private int lexedTokens;
+
+    /**
+     * The change of the tokens by the last edit (null if all tokens were lexed again)
+     */
+    private TokenChange lastChange;
+
+    /**
+     * Constructor for {@link IncrementalLexer} using the default {@link Lexer.Implementation}. The content is lexed
+     * completely.
+     *
+     * @param source the source (mostly filename) of the input
+     * @param content the content of the input
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public IncrementalLexer(String source, String content) {
+        this(source, content, Lexer.Implementation.TABLE_DRIVEN);
+    }
+
+    /**
+     * Constructor for {@link IncrementalLexer}. The content is lexed completely.
+     *
+     * @param source the source (mostly filename) of the input
+     * @param content the content of the input
+     * @param implementation the {@link Lexer.Implementation} to lex with
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public IncrementalLexer(String source, String content, Lexer.Implementation implementation) {
+        this.source = source;
+        this.implementation = implementation;
+        this.content = StringCharacterInputStream.normalizeLineSeparators(content).toCharArray();
+        this.tokens = this.lexAll();
+        this.lexedTokens = this.tokens.size();
+    }
+
+    /**
+     * Constructor for {@link IncrementalLexer} starting with tokens that are already lexed
+     *
+     * @param source the source (mostly filename) of the input
+     * @param content the content of the input (with "\n" as line-separators)
+     * @param tokens the tokens of the content (created by {@link Lexer#makePackedTokens()})
+     * @param implementation the {@link Lexer.Implementation} to lex with
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public IncrementalLexer(String source, String content, PackedTokenInputStream tokens, Lexer.Implementation implementation) {
+        this.source = source;
+        this.implementation = implementation;
+        this.content = content.toCharArray();
+        this.tokens = tokens;
+        this.lexedTokens = 0;
+    }
+
+
+    // ****************************************************************************
+    // Getters
+
+    /**
+     * Returns the tokens of the actual content
+     *
+     * @return the tokens of the actual content (null if the last edit created an input that can't be lexed)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public PackedTokenInputStream getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Returns the actual content
+     *
+     * @return the actual content
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public String getContent() {
+        return new String(content);
+    }
+
+    /**
+     * Returns the number of tokens that were lexed by the last edit
+     *
+     * @return the number of tokens that were lexed by the last edit
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getLexedTokens() {
+        return lexedTokens;
+    }
+
+    /**
+     * Returns how the last edit changed the tokens (e.g. to update a parsed tree using an
+     * {@link com.github.nsc.de.compiler.parser.IncrementalParser})
+     *
+     * @return the change of the tokens by the last edit (null if the last edit lexed the whole content again or
+     *         created an input that can't be lexed)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public TokenChange getLastChange() {
+        return lastChange;
+    }
+
+
+    // ****************************************************************************
+    // Editing
+
+    /**
+     * Applies an edit to the content and updates the tokens
+     *
+     * @param offset the index of the first changed character
+     * @param removed the number of removed characters
+     * @param inserted the inserted text
+     * @return the new tokens
+     * @throws Lexer.LexerError if the new content can't be lexed (the edit is still applied, the next edit
+     *                          lexes the whole content again)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public PackedTokenInputStream edit(int offset, int removed, String inserted) {
+
+        if(offset < 0 || removed < 0 || offset + removed > this.content.length)
+            throw new Error(String.format("Invalid edit: %d characters at %d (content length %d)", removed, offset, this.content.length));
+
+        inserted = StringCharacterInputStream.normalizeLineSeparators(inserted);
+
+        // apply the edit to the content
+        char[] content = new char[this.content.length - removed + inserted.length()];
+        System.arraycopy(this.content, 0, content, 0, offset);
+        inserted.getChars(0, inserted.length(), content, offset);
+        System.arraycopy(this.content, offset + removed, content, offset + inserted.length(),
+                this.content.length - offset - removed);
+        this.content = content;
+
+        this.lastChange = null;
+
+        // the last edit created an input that can't be lexed, so we have no old tokens to start from
+        if(this.tokens == null) {
+            this.tokens = this.lexAll();
+            this.lexedTokens = this.tokens.size();
+            return this.tokens;
+        }
+
+        PackedTokenInputStream tokens = this.tokens;
+        this.tokens = null;
+
+        int shift = inserted.length() - removed;
+        int editEnd = offset + inserted.length();
+        SourceFile file = new SourceFile(this.source, () -> new String(content));
+
+        // the first token to lex again (all tokens before it were lexed without looking at the edited region)
+        int first = this.firstAffected(tokens, offset);
+        int start = first == 0 ? 0 : tokens.getEnd(first - 1) + 1;
+
+        Lexer lexer = Lexer.create(new StringCharacterInputStream(file, content, start, content.length), this.implementation);
+        List<Token> lexed = new ArrayList<>();
+
+        // the position of the old token to synchronize with (all old tokens if the lexer doesn't synchronize)
+        int sync = tokens.size();
+        int old = first;
+        Token token;
+        while((token = lexer.makeToken()) != null) {
+
+            // tokens behind the edited region can be the same as the old ones
+            int tokenStart = token.getStart().getIndex();
+            if(tokenStart >= editEnd) {
+                int oldStart = tokenStart - shift;
+                while(old < tokens.size() && tokens.getStart(old) < oldStart) old++;
+                if(old < tokens.size() && tokens.getStart(old) == oldStart
+                        && tokens.getEnd(old) == token.getEnd().getIndex() - shift
+                        && tokens.getType(old) == token.getType()
+                        && Objects.equals(tokens.getValue(old), token.getValue())) {
+                    sync = old;
+                    break;
+                }
+            }
+            lexed.add(token);
+
+        }
+
+        this.tokens = tokens.replace(first, sync, lexed, shift, file);
+        this.lexedTokens = lexed.size() + (sync < tokens.size() ? 1 : 0);
+        this.lastChange = new TokenChange(first, sync - first, lexed.size());
+        return this.tokens;
+
+    }
+
+    /**
+     * Finds the first token that could be changed by an edit at the given offset. All tokens before it end (including
+     * the characters the {@link Lexer} looked at behind them) before the offset.
+     *
+     * @param tokens the tokens before the edit
+     * @param offset the offset of the edit
+     * @return the position of the first token that could be changed
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int firstAffected(PackedTokenInputStream tokens, int offset) {
+
+        // binary search for the first token ending too close to the offset (the end indices are ascending)
+        int low = 0;
+        int high = tokens.size();
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(tokens.getEnd(middle) + MAX_LOOKAHEAD < offset) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+
+    }
+
+    /**
+     * Lexes the whole content
+     *
+     * @return the tokens of the content
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private PackedTokenInputStream lexAll() {
+        SourceFile file = new SourceFile(this.source, new String(this.content));
+        return Lexer.create(new StringCharacterInputStream(file, this.content, 0, this.content.length), this.implementation)
+                .makePackedTokens();
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+
+/**
+ * Recognizes the keywords of the language directly from the characters of an identifier (before any string is
+ * created). The keywords are created from the {@link TokenType}s: the keyword of a {@link TokenType} named
+ * KEYWORD_[NAME] is the lowercase [name], so new keywords only have to be added to {@link TokenType}.
+ *
+ * The keywords are dispatched on their length and their first character, so for most identifiers the lookup is a
+ * single array access. The (mostly single) keyword with the same length and first character is then compared
+ * character by character.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class Keywords {
+
+    /**
+     * The prefix of the names of the keyword {@link TokenType}s
+     */
+    private static final String PREFIX = "KEYWORD_";
+
+    /**
+     * The first characters a keyword can start with (lower than this number)
+     */
+    private static final int FIRST_CHARACTERS = 128;
+
+    /**
+     * The length of the longest keyword
+     */
+    private static final int MAX_LENGTH;
+
+    /**
+     * The keywords (as characters) by their length and first character (index: length * 128 + first character)
+     */
+    private static final char[][][] KEYWORDS;
+
+    /**
+     * The {@link TokenType}s of the {@link #KEYWORDS} (same indices)
+     */
+    private static final TokenType[][] TYPES;
+
+    static {
+
+        // collect the keywords from the TokenTypes and add the aliases
+        String[] keywords = new String[TokenType.values().length + 1];
+        TokenType[] types = new TokenType[keywords.length];
+        int count = 0;
+        for(TokenType type : TokenType.values()) {
+            if(!type.name().startsWith(PREFIX)) continue;
+            keywords[count] = type.name().substring(PREFIX.length()).toLowerCase(Locale.ROOT);
+            types[count++] = type;
+        }
+
+        // "let" is another keyword for "var"
+        keywords[count] = "let";
+        types[count++] = TokenType.KEYWORD_VAR;
+
+        int maxLength = 0;
+        for(int i = 0; i < count; i++) maxLength = Math.max(maxLength, keywords[i].length());
+        MAX_LENGTH = maxLength;
+
+        // put the keywords into the buckets
+        KEYWORDS = new char[(MAX_LENGTH + 1) * FIRST_CHARACTERS][][];
+        TYPES = new TokenType[KEYWORDS.length][];
+        for(int i = 0; i < count; i++) {
+            int bucket = keywords[i].length() * FIRST_CHARACTERS + keywords[i].charAt(0);
+            int size = KEYWORDS[bucket] == null ? 0 : KEYWORDS[bucket].length;
+            KEYWORDS[bucket] = KEYWORDS[bucket] == null ? new char[1][] : Arrays.copyOf(KEYWORDS[bucket], size + 1);
+            TYPES[bucket] = TYPES[bucket] == null ? new TokenType[1] : Arrays.copyOf(TYPES[bucket], size + 1);
+            KEYWORDS[bucket][size] = keywords[i].toCharArray();
+            TYPES[bucket][size] = types[i];
+        }
+
+    }
+
+    private Keywords() {}
+
+    /**
+     * Returns the {@link TokenType} of the keyword given as a range of characters
+     *
+     * @param chars the characters containing the identifier
+     * @param offset the index of the first character of the identifier
+     * @param length the length of the identifier
+     * @return the {@link TokenType} of the keyword or null if the identifier is not a keyword
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static TokenType lookup(char[] chars, int offset, int length) {
+
+        // dispatch on the length and the first character
+        if(length < 1 || length > MAX_LENGTH || chars[offset] >= FIRST_CHARACTERS) return null;
+        int bucket = length * FIRST_CHARACTERS + chars[offset];
+        char[][] keywords = KEYWORDS[bucket];
+        if(keywords == null) return null;
+
+        // compare the rest of the characters (the first character is already known to match)
+        candidates: for(int k = 0; k < keywords.length; k++) {
+            char[] keyword = keywords[k];
+            for(int i = 1; i < length; i++) if(keyword[i] != chars[offset + i]) continue candidates;
+            return TYPES[bucket][k];
+        }
+        return null;
+
+    }
+
+    /**
+     * Returns the {@link TokenType} of the given keyword
+     *
+     * @param identifier the identifier
+     * @return the {@link TokenType} of the keyword or null if the identifier is not a keyword
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static TokenType lookup(String identifier) {
+        return lookup(identifier.toCharArray(), 0, identifier.length());
+    }
+}
@@ -3,11 +3,16 @@ package com.github.nsc.de.compiler.lexer;
 import static com.github.nsc.de.compiler.util.HelpFunctions.asList;
 import com.github.nsc.de.compiler.lexer.characterinputstream.CharacterInputStream;
 import com.github.nsc.de.compiler.lexer.token.Token;
-import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.ArrayTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.LazyTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.PackedTokenInputStream;
 import com.github.nsc.de.compiler.lexer.token.TokenType;
 import com.github.nsc.de.compiler.util.CompilerError;
+import com.github.nsc.de.compiler.util.Symbol;
+import com.github.nsc.de.compiler.util.SymbolTable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Lexer {
@@ -19,91 +24,170 @@ public class Lexer {
     private static final List<Character> IDENTIFIER_START = asList("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ_");
     private static final List<Character> HEX_CHARS = asList("0123456789ABCDEFabcdef");
 
-    private final CharacterInputStream in;
+    protected final CharacterInputStream in;
+
+    /**
+     * The characters of the actual identifier (reused for all identifiers, so they can be interned
+     * without creating a string)
+     */
+    private char[] identifier;
 
     public Lexer(CharacterInputStream in) {
         this.in = in;
+        this.identifier = new char[32];
+    }
+
+    /**
+     * The available implementations of the {@link Lexer}
+     */
+    public enum Implementation {
+        /**
+         * The original {@link Lexer} classifying characters using lists and a chain of comparisons
+         */
+        LIST_BASED,
+
+        /**
+         * The {@link TableLexer} classifying characters using a character-class-table and a state-machine for
+         * the operators
+         */
+        TABLE_DRIVEN
+    }
+
+    public static Lexer create(CharacterInputStream in) {
+        return create(in, Implementation.TABLE_DRIVEN);
+    }
+
+    public static Lexer create(CharacterInputStream in, Implementation implementation) {
+        switch (implementation) {
+            case LIST_BASED: return new Lexer(in);
+            case TABLE_DRIVEN: return new TableLexer(in);
+            default: throw new Error("Unknown lexer implementation: " + implementation);
+        }
     }
 
-    public TokenInputStream makeTokens() {
+    public ArrayTokenInputStream makeTokens() {
         List<Token> tokens = new ArrayList<>();
+        Token token;
+        while((token = this.makeToken()) != null) tokens.add(token);
+        return new ArrayTokenInputStream(this.in.getSource(), tokens);
+    }
+
+    public PackedTokenInputStream makePackedTokens() {
+        PackedTokenInputStream tokens = new PackedTokenInputStream(this.in.getSource());
+        Token token;
+        while((token = this.makeToken()) != null) tokens.add(token);
+        return tokens.finish();
+    }
+
+    public LazyTokenInputStream makeLazyTokens() {
+        return new LazyTokenInputStream(this.in.getSource(), this);
+    }
+
+    /**
+     * Lexes the next {@link Token} of the input
+     *
+     * @return the next {@link Token} or null if the input is finished
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Token makeToken() {
         while(this.in.hasNext()) {
             char next = this.in.next();
-            Position start = in.getPosition().copy();
+            Position start = in.getPosition();
 
             // Whitespace
             if(WHITESPACE.contains(next)) continue;
 
             // Linebreaks
-            if(next == '\n') tokens.add(new Token(TokenType.LINE_SEPARATOR, start));
+            if(next == '\n') return new Token(TokenType.LINE_SEPARATOR, start);
 
             // Punctuation
-            else if(next == ';') tokens.add(new Token(TokenType.SEMICOLON, start));
-            else if(next == ',') tokens.add(new Token(TokenType.COMMA, start));
-            else if(next == '.') tokens.add(new Token(TokenType.DOT, start));
+            else if(next == ';') return new Token(TokenType.SEMICOLON, start);
+            else if(next == ',') return new Token(TokenType.COMMA, start);
+            else if(next == '.') return new Token(TokenType.DOT, start);
 
             // Numbers
-            else if(NUMBERS.contains(next)) tokens.add(makeNumber(start));
+            else if(isNumber(next)) return makeNumber(start);
 
             // Identifiers
-            else if(IDENTIFIER_START.contains(next)) tokens.add(makeIdentifier(start));
+            else if(isIdentifierStart(next)) return makeIdentifier(start);
 
-            else if(next == '"') tokens.add(makeString(start));
+            else if(next == '"') return makeString(start);
 
             // Comments
-            else if (this.in.peek(0,1).equals("//")) this.singleLineComment();
-            else if (this.in.peek(0,1).equals("/*")) this.multiLineComment();
+            else if (this.in.matches(0, "//")) this.singleLineComment();
+            else if (this.in.matches(0, "/*")) this.multiLineComment();
 
             // Operator assign
-            else if (this.in.peek(0,2).equals("**=")) { in.skip(2);  tokens.add(new Token(TokenType.POW_ASSIGN, "**=", start, in.getPosition().copy())); }
-            else if (this.in.peek(0,1).equals("^=")) { in.skip(); tokens.add(new Token(TokenType.POW_ASSIGN, "^=", start, in.getPosition().copy())); }
-            else if (this.in.peek(0,1).equals("%=")) { in.skip(); tokens.add(new Token(TokenType.MOD_ASSIGN, start, in.getPosition().copy())); }
-            else if (this.in.peek(0,1).equals("/=")) { in.skip(); tokens.add(new Token(TokenType.DIV_ASSIGN, start, in.getPosition().copy())); }
-            else if (this.in.peek(0,1).equals("*=")) { in.skip(); tokens.add(new Token(TokenType.MUL_ASSIGN, start, in.getPosition().copy())); }
-            else if (this.in.peek(0,1).equals("-=")) { in.skip(); tokens.add(new Token(TokenType.SUB_ASSIGN, start, in.getPosition().copy())); }
-            else if (this.in.peek(0,1).equals("+=")) { in.skip(); tokens.add(new Token(TokenType.ADD_ASSIGN, start, in.getPosition().copy())); }
+            else if (this.in.matches(0, "**=")) { in.skip(2);  return new Token(TokenType.POW_ASSIGN, "**=", start, in.getPosition()); }
+            else if (this.in.matches(0, "^=")) { in.skip(); return new Token(TokenType.POW_ASSIGN, "^=", start, in.getPosition()); }
+            else if (this.in.matches(0, "%=")) { in.skip(); return new Token(TokenType.MOD_ASSIGN, start, in.getPosition()); }
+            else if (this.in.matches(0, "/=")) { in.skip(); return new Token(TokenType.DIV_ASSIGN, start, in.getPosition()); }
+            else if (this.in.matches(0, "*=")) { in.skip(); return new Token(TokenType.MUL_ASSIGN, start, in.getPosition()); }
+            else if (this.in.matches(0, "-=")) { in.skip(); return new Token(TokenType.SUB_ASSIGN, start, in.getPosition()); }
+            else if (this.in.matches(0, "+=")) { in.skip(); return new Token(TokenType.ADD_ASSIGN, start, in.getPosition()); }
 
-            else if (this.in.peek(0,1).equals("++")) { in.skip(); tokens.add(new Token(TokenType.INCR, in.getPosition().copy())); }
-            else if (this.in.peek(0,1).equals("--")) { in.skip(); tokens.add(new Token(TokenType.DECR, in.getPosition().copy())); }
+            else if (this.in.matches(0, "++")) { in.skip(); return new Token(TokenType.INCR, in.getPosition()); }
+            else if (this.in.matches(0, "--")) { in.skip(); return new Token(TokenType.DECR, in.getPosition()); }
 
             // Math operators
-            else if (next == '*' && this.in.hasNext() && in.peek() == '*') { in.skip(); tokens.add(new Token(TokenType.POW, "**", in.getPosition().copy())); }
-            else if (next == '^') tokens.add(new Token(TokenType.POW, start));
-            else if (next == '%') tokens.add(new Token(TokenType.MOD, start));
-            else if (next == '/') tokens.add(new Token(TokenType.DIV, start));
-            else if (next == '*') tokens.add(new Token(TokenType.MUL, start));
-            else if (next == '-') tokens.add(new Token(TokenType.SUB, start));
-            else if (next == '+') tokens.add(new Token(TokenType.ADD, start));
+            else if (next == '*' && this.in.hasNext() && in.peek() == '*') { in.skip(); return new Token(TokenType.POW, "**", in.getPosition()); }
+            else if (next == '^') return new Token(TokenType.POW, start);
+            else if (next == '%') return new Token(TokenType.MOD, start);
+            else if (next == '/') return new Token(TokenType.DIV, start);
+            else if (next == '*') return new Token(TokenType.MUL, start);
+            else if (next == '-') return new Token(TokenType.SUB, start);
+            else if (next == '+') return new Token(TokenType.ADD, start);
 
             // Logical operators
-            else if (next == '|' && this.in.hasNext() && in.peek() == '|') { in.skip(); tokens.add(new Token(TokenType.LOGICAL_OR, start, in.getPosition().copy())); }
-            else if (next == '&' && this.in.hasNext() && in.peek() == '&') { in.skip(); tokens.add(new Token(TokenType.LOGICAL_AND, start, in.getPosition().copy())); }
+            else if (next == '|' && this.in.hasNext() && in.peek() == '|') { in.skip(); return new Token(TokenType.LOGICAL_OR, start, in.getPosition()); }
+            else if (next == '&' && this.in.hasNext() && in.peek() == '&') { in.skip(); return new Token(TokenType.LOGICAL_AND, start, in.getPosition()); }
 
-            else if (next == '=' && this.in.hasNext() && in.peek() == '=') { in.skip(); tokens.add(new Token(TokenType.EQ_EQUALS, start, in.getPosition().copy())); }
-            else if (next == '>' && this.in.hasNext() && in.peek() == '=') { in.skip(); tokens.add(new Token(TokenType.BIGGER_EQUALS, start, in.getPosition().copy())); }
-            else if (next == '<' && this.in.hasNext() && in.peek() == '=') { in.skip(); tokens.add(new Token(TokenType.SMALLER_EQUALS, start, in.getPosition().copy())); }
-            else if (next == '>') tokens.add(new Token(TokenType.BIGGER, start));
-            else if (next == '<') tokens.add(new Token(TokenType.SMALLER, start));
+            else if (next == '=' && this.in.hasNext() && in.peek() == '=') { in.skip(); return new Token(TokenType.EQ_EQUALS, start, in.getPosition()); }
+            else if (next == '>' && this.in.hasNext() && in.peek() == '=') { in.skip(); return new Token(TokenType.BIGGER_EQUALS, start, in.getPosition()); }
+            else if (next == '<' && this.in.hasNext() && in.peek() == '=') { in.skip(); return new Token(TokenType.SMALLER_EQUALS, start, in.getPosition()); }
+            else if (next == '>') return new Token(TokenType.BIGGER, start);
+            else if (next == '<') return new Token(TokenType.SMALLER, start);
 
             // Assign
-            else if (next == '=') tokens.add(new Token(TokenType.ASSIGN, start));
+            else if (next == '=') return new Token(TokenType.ASSIGN, start);
 
             // Brackets
-            else if (next == '(') tokens.add(new Token(TokenType.LPAREN, start));
-            else if (next == ')') tokens.add(new Token(TokenType.RPAREN, start));
+            else if (next == '(') return new Token(TokenType.LPAREN, start);
+            else if (next == ')') return new Token(TokenType.RPAREN, start);
 
-            else if (next == '{') tokens.add(new Token(TokenType.LCURL, start));
-            else if (next == '}') tokens.add(new Token(TokenType.RCURL, start));
+            else if (next == '{') return new Token(TokenType.LCURL, start);
+            else if (next == '}') return new Token(TokenType.RCURL, start);
             else throw new LexerError("UnexpectedTokenError", "Unrecognised Token: '" + next + '\'');
         }
-        return new TokenInputStream(this.in.getSource(), tokens);
+        return null;
     }
 
-    private Token makeNumber(Position start) {
+    protected boolean isNumber(char c) {
+        return NUMBERS.contains(c);
+    }
+
+    protected boolean isNumberOrDot(char c) {
+        return NUMBERS_DOT.contains(c);
+    }
+
+    protected boolean isIdentifierStart(char c) {
+        return IDENTIFIER_START.contains(c);
+    }
+
+    protected boolean isIdentifier(char c) {
+        return IDENTIFIER.contains(c);
+    }
+
+    protected boolean isHexChar(char c) {
+        return HEX_CHARS.contains(c);
+    }
+
+    protected Token makeNumber(Position start) {
         StringBuilder numStr = new StringBuilder();
         boolean dot = false;
         numStr.append(in.actual());
-        while(in.hasNext() && NUMBERS_DOT.contains(in.peek())) {
+        while(in.hasNext() && isNumberOrDot(in.peek())) {
             if(in.peek() == '.') {
                 if(dot) break;
                 dot = true;
@@ -111,86 +195,32 @@ public class Lexer {
             numStr.append(in.next());
         }
         return dot ?
-                new Token(TokenType.DOUBLE, numStr.toString(), start, in.getPosition().copy()) :
-                new Token(TokenType.INTEGER, numStr.toString(), start, in.getPosition().copy());
+                new Token(TokenType.DOUBLE, numStr.toString(), start, in.getPosition()) :
+                new Token(TokenType.INTEGER, numStr.toString(), start, in.getPosition());
 
     }
 
-    private Token makeIdentifier(Position start) {
-        StringBuilder identifier = new StringBuilder();
-        identifier.append(in.actual());
-        while(in.hasNext() && IDENTIFIER.contains(in.peek())) {
-            identifier.append(in.next());
+    protected Token makeIdentifier(Position start) {
+        int length = 0;
+        this.identifier[length++] = in.actual();
+        while(in.hasNext() && isIdentifier(in.peek())) {
+            if(length == this.identifier.length) this.identifier = Arrays.copyOf(this.identifier, length * 2);
+            this.identifier[length++] = in.next();
         }
 
-        String result = identifier.toString();
-        Position end = in.getPosition().copy();
-
-        // Keywords
-        switch (result) {
-            case "var":
-            case "let":
-                return new Token(TokenType.KEYWORD_VAR, start, end);
-            case "const":
-                return new Token(TokenType.KEYWORD_CONST, start, end);
-            case "dynamic":
-                return new Token(TokenType.KEYWORD_DYNAMIC, start, end);
-            case "byte":
-                return new Token(TokenType.KEYWORD_BYTE, start, end);
-            case "short":
-                return new Token(TokenType.KEYWORD_SHORT, start, end);
-            case "int":
-                return new Token(TokenType.KEYWORD_INT, start, end);
-            case "long":
-                return new Token(TokenType.KEYWORD_LONG, start, end);
-            case "float":
-                return new Token(TokenType.KEYWORD_FLOAT, start, end);
-            case "double":
-                return new Token(TokenType.KEYWORD_DOUBLE, start, end);
-            case "char":
-                return new Token(TokenType.KEYWORD_CHAR, start, end);
-            case "boolean":
-                return new Token(TokenType.KEYWORD_BOOLEAN, start, end);
-            case "function":
-                return new Token(TokenType.KEYWORD_FUNCTION, start, end);
-            case "true":
-                return new Token(TokenType.KEYWORD_TRUE, start, end);
-            case "false":
-                return new Token(TokenType.KEYWORD_FALSE, start, end);
-            case "do":
-                return new Token(TokenType.KEYWORD_DO, start, end);
-            case "while":
-                return new Token(TokenType.KEYWORD_WHILE, start, end);
-            case "for":
-                return new Token(TokenType.KEYWORD_FOR, start, end);
-            case "if":
-                return new Token(TokenType.KEYWORD_IF, start, end);
-            case "else":
-                return new Token(TokenType.KEYWORD_ELSE, start, end);
-            case "class":
-                return new Token(TokenType.KEYWORD_CLASS, start, end);
-            case "extends":
-                return new Token(TokenType.KEYWORD_EXTENDS, start, end);
-            case "implements":
-                return new Token(TokenType.KEYWORD_IMPLEMENTS, start, end);
-            case "static":
-                return new Token(TokenType.KEYWORD_STATIC, start, end);
-            case "final":
-                return new Token(TokenType.KEYWORD_FINAL, start, end);
-            case "public":
-                return new Token(TokenType.KEYWORD_PUBLIC, start, end);
-            case "protected":
-                return new Token(TokenType.KEYWORD_PROTECTED, start, end);
-            case "private":
-                return new Token(TokenType.KEYWORD_PRIVATE, start, end);
-            case "new":
-                return new Token(TokenType.KEYWORD_NEW, start, end);
-        }
-        return new Token(TokenType.IDENTIFIER, identifier.toString(), start, end);
+        Position end = in.getPosition();
+
+        // Keywords (recognized from the characters, so no string is created for them)
+        TokenType keyword = Keywords.lookup(this.identifier, 0, length);
+        if(keyword != null) return new Token(keyword, start, end);
+
+        // intern the identifier directly from the characters (no string is created for known identifiers)
+        Symbol symbol = SymbolTable.intern(this.identifier, 0, length);
+        return new Token(TokenType.IDENTIFIER, symbol, start, end);
 
     }
 
-    private Token makeString(Position start) {
+    protected Token makeString(Position start) {
         StringBuilder string = new StringBuilder();
         if(in.actual() == '"') {
             while(in.hasNext() && in.next() != '"') {
@@ -208,8 +238,8 @@ public class Lexer {
                             StringBuilder s = new StringBuilder();
                             for(int i = 0; i < 4; i++) {
                                 char c = in.next();
-                                if(!HEX_CHARS.contains(c)) throw new LexerError("Expecting hex char");
-                                s.append(HEX_CHARS);
+                                if(!isHexChar(c)) throw new LexerError("Expecting hex char");
+                                s.append(c);
                             }
                             string.append((char) Integer.parseInt(s.toString(), 16));
                             break;
@@ -222,20 +252,21 @@ public class Lexer {
             }
             if(in.actual() != '"') throw new LexerError("String must end with a '\"'");
         }
-        return new Token(TokenType.STRING, string.toString(), start, in.getPosition().copy());
+        return new Token(TokenType.STRING, string.toString(), start, in.getPosition());
     }
 
     public void singleLineComment() {
 
-        this.in.skip(2);
+        // the actual character is the first '/', so skip the second one
+        this.in.skip();
         while(this.in.hasNext() && this.in.peek() != '\n') this.in.skip();
 
     }
 
     public void multiLineComment() {
 
-        this.in.skip(2);
-        while(this.in.hasNext() && this.in.peek() != '*' && this.in.peek(2) != '/') this.in.skip();
+        this.in.skip();
+        while(this.in.hasNext() && !this.in.matches(1, "*/")) this.in.skip();
         if(!this.in.hasNext()) throw new LexerError("Multi-Line-Comment did not end");
         this.in.skip(2);
 
@@ -0,0 +1,230 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.ArrayTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.Token;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+
+/**
+ * Lexes big inputs in parallel. The input is split into chunks after line-separators that are not inside of a string
+ * or a comment (found by a fast pre-scan of the input). A token never contains such a line-separator, so the chunks
+ * can be lexed independently by normal {@link Lexer}s on a {@link ForkJoinPool}. All the chunks share the
+ * {@link SourceFile} of the input and use the indices of the whole input, so the tokens of the chunks can just be put
+ * together and are the same as the tokens of the sequential {@link Lexer}.
+ *
+ * If lexing any of the chunks fails, the whole input is lexed again by the sequential {@link Lexer}, so errors are
+ * the same as the errors of the sequential {@link Lexer} as well.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class ParallelLexer {
+
+    /**
+     * The minimum size of a chunk (smaller inputs are lexed sequentially)
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The number of chunks per thread of the {@link ForkJoinPool} (more chunks than threads, so a thread that
+     * finished its chunk early can take another one)
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // states of the pre-scan
+    private static final int STATE_CODE = 0;
+    private static final int STATE_STRING = 1;
+    private static final int STATE_SINGLE_LINE_COMMENT = 2;
+    private static final int STATE_MULTI_LINE_COMMENT = 3;
+
+    /**
+     * The input of the {@link ParallelLexer}
+     */
+    private final StringCharacterInputStream in;
+
+    /**
+     * The {@link Lexer.Implementation} to lex the chunks with
+     */
+    private final Lexer.Implementation implementation;
+
+    /**
+     * The {@link ForkJoinPool} to lex the chunks on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor for {@link ParallelLexer} using the default {@link Lexer.Implementation} and the common
+     * {@link ForkJoinPool}
+     *
+     * @param in the input
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ParallelLexer(StringCharacterInputStream in) {
+        this(in, Lexer.Implementation.TABLE_DRIVEN, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for {@link ParallelLexer}
+     *
+     * @param in the input
+     * @param implementation the {@link Lexer.Implementation} to lex the chunks with
+     * @param pool the {@link ForkJoinPool} to lex the chunks on
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ParallelLexer(StringCharacterInputStream in, Lexer.Implementation implementation, ForkJoinPool pool) {
+        this.in = in;
+        this.implementation = implementation;
+        this.pool = pool;
+    }
+
+    /**
+     * Lexes the input in parallel
+     *
+     * @return the tokens (the same as {@link Lexer#makeTokens()} would create)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ArrayTokenInputStream makeTokens() {
+
+        char[] content = this.in.getContent();
+        SourceFile file = this.in.getPosition().getFile();
+        int start = this.in.getPosition().getIndex() + 1;
+
+        // split the input (small inputs are not split)
+        int chunks = Math.min(this.pool.getParallelism() * CHUNKS_PER_THREAD, (content.length - start) / MIN_CHUNK_SIZE);
+        int[] splits = split(content, start, content.length, chunks);
+        if(splits.length <= 2) return Lexer.create(this.in, this.implementation).makeTokens();
+
+        // lex the chunks
+        List<ForkJoinTask<Token[]>> tasks = new ArrayList<>(splits.length - 1);
+        for(int i = 0; i + 1 < splits.length; i++) {
+            final int from = splits[i];
+            final int to = splits[i + 1];
+            tasks.add(this.pool.submit(() -> this.lexChunk(file, content, from, to)));
+        }
+
+        Token[][] results = new Token[tasks.size()][];
+        try {
+            for(int i = 0; i < results.length; i++) results[i] = tasks.get(i).join();
+        } catch (RuntimeException | Error e) {
+
+            // lex the input sequentially to get the same error as the sequential lexer
+            for(ForkJoinTask<Token[]> task : tasks) task.cancel(false);
+            return Lexer.create(this.in, this.implementation).makeTokens();
+
+        }
+
+        // put the tokens of the chunks together
+        int size = 0;
+        for(Token[] result : results) size += result.length;
+        Token[] tokens = new Token[size];
+        int position = 0;
+        for(Token[] result : results) {
+            System.arraycopy(result, 0, tokens, position, result.length);
+            position += result.length;
+        }
+        return new ArrayTokenInputStream(this.in.getSource(), tokens);
+
+    }
+
+    /**
+     * Lexes a chunk of the input
+     *
+     * @param file the {@link SourceFile} of the input
+     * @param content the characters of the input
+     * @param from the index of the first character of the chunk
+     * @param to the index after the last character of the chunk
+     * @return the tokens of the chunk
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Token[] lexChunk(SourceFile file, char[] content, int from, int to) {
+        Lexer lexer = Lexer.create(new StringCharacterInputStream(file, content, from, to), this.implementation);
+        List<Token> tokens = new ArrayList<>();
+        Token token;
+        while((token = lexer.makeToken()) != null) tokens.add(token);
+        return tokens.toArray(new Token[0]);
+    }
+
+    /**
+     * Finds the indices to split the input at. The input is only split after line-separators that are not inside of
+     * a string or a comment (the strings and comments are recognized the same way the {@link Lexer} does).
+     *
+     * @param content the characters of the input
+     * @param from the index of the first character to lex
+     * @param to the index after the last character to lex
+     * @param chunks the number of chunks to split the input into
+     * @return the indices of the chunks (starting with from and ending with to)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    static int[] split(char[] content, int from, int to, int chunks) {
+
+        if(chunks < 2) return new int[] { from, to };
+
+        int[] splits = new int[chunks + 1];
+        int count = 0;
+        splits[count++] = from;
+
+        int size = (to - from) / chunks;
+        int next = from + size;
+        int state = STATE_CODE;
+
+        for(int i = from; i < to && count < chunks; i++) {
+            char c = content[i];
+            switch (state) {
+
+                case STATE_CODE:
+                    if(c == '"') state = STATE_STRING;
+                    else if(c == '/' && i + 1 < to && content[i + 1] == '/') {
+                        state = STATE_SINGLE_LINE_COMMENT;
+                        i++;
+                    }
+                    else if(c == '/' && i + 1 < to && content[i + 1] == '*') {
+                        // the end of the comment ("*/") can start directly after the "/*"
+                        state = STATE_MULTI_LINE_COMMENT;
+                        i++;
+                    }
+                    else if(c == '\n' && i + 1 >= next && i + 1 < to) {
+                        splits[count++] = i + 1;
+                        next = i + 1 + size;
+                    }
+                    break;
+
+                case STATE_STRING:
+                    // skip the escaped character
+                    if(c == '\\') i++;
+                    else if(c == '"') state = STATE_CODE;
+                    break;
+
+                case STATE_SINGLE_LINE_COMMENT:
+                    // the line-separator is not part of the comment, so check it again as code
+                    if(c == '\n') {
+                        state = STATE_CODE;
+                        i--;
+                    }
+                    break;
+
+                case STATE_MULTI_LINE_COMMENT:
+                    if(c == '*' && i + 1 < to && content[i + 1] == '/') {
+                        state = STATE_CODE;
+                        i++;
+                    }
+                    break;
+
+            }
+        }
+
+        splits = Arrays.copyOf(splits, count + 1);
+        splits[count] = to;
+        return splits;
+
+    }
+}
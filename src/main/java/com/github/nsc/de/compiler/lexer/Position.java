@@ -1,67 +1,106 @@
 package com.github.nsc.de.compiler.lexer;
 
 /**
- * The {@link Position} marks a position in the source-code.
+ * The {@link Position} marks a position in the source-code. It is just an offset into a {@link SourceFile}, the line
+ * and the column are only calculated (using the line-index of the {@link SourceFile}) when they are requested.
+ * Positions are immutable.
  *
  * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
  */
 public class Position {
 
     /**
-     * The source (mostly file) of the content
+     * The {@link SourceFile} (source and content) of the position
      */
-    private String source;
+    private final SourceFile file;
 
     /**
-     * The source content
+     * The index of the position
      */
-    private String content;
+    private final int index;
 
     /**
-     * The index of the position
+     * The column of the position (only set if it was given explicitly, otherwise it is calculated from the
+     * {@link Position#index})
      */
-    private int index;
+    private final int column;
 
     /**
-     * The column of the position
+     * The line of the position (only set if it was given explicitly, 0 means it is calculated from the
+     * {@link Position#index})
      */
-    private int column;
+    private final int line;
 
     /**
-     * The line of the position
+     * Constructor for the position with explicit column and line
+     *
+     * @param source The source (mostly file) of the content
+     * @param content The content of the position
+     * @param index The {@link Position#index} of the position
+     * @param column The {@link Position#column} of the position
+     * @param line The {@link Position#line} of the position
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
-    private int line;
+    public Position(String source, String content, int index, int column, int line) {
+        this(new SourceFile(source, content), index, column, line);
+    }
 
     /**
-     * Constructor for the position
+     * Constructor for the position with explicit column and line
      *
-     * @param source The {@link Position#source} (mostly file) of the content
-     * @param content The {@link Position#content} of the position
+     * @param file The {@link Position#file} of the position
      * @param index The {@link Position#index} of the position
      * @param column The {@link Position#column} of the position
      * @param line The {@link Position#line} of the position
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
-    public Position(String source, String content, int index, int column, int line) {
-        this.source = source;
-        this.content = content;
+    public Position(SourceFile file, int index, int column, int line) {
+        if(line < 1) throw new Error("The line must not be smaller than 1");
+        this.file = file;
         this.index = index;
         this.column = column;
         this.line = line;
     }
 
+    /**
+     * Constructor for the position (line and column are calculated from the index when they are requested)
+     *
+     * @param file The {@link Position#file} of the position
+     * @param index The {@link Position#index} of the position
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Position(SourceFile file, int index) {
+        this.file = file;
+        this.index = index;
+        this.column = 0;
+        this.line = 0;
+    }
 
     /**
-     * Constructor for the position
+     * Constructor for the position (before the first character of the file)
      *
-     * @param source The {@link Position#source} (mostly file) of the content
-     * @param content The {@link Position#content} of the position
+     * @param file The {@link Position#file} of the position
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Position(SourceFile file) {
+        this(file, -1);
+    }
+
+
+    /**
+     * Constructor for the position (before the first character of the content)
+     *
+     * @param source The source (mostly file) of the content
+     * @param content The content of the position
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public Position(String source, String content) {
-        this(source, content, -1, 0, 1);
+        this(new SourceFile(source, content));
     }
 
 
@@ -69,25 +108,36 @@ public class Position {
     // Getters
 
     /**
-     * Getter for {@link Position#source}
+     * Getter for the source of the {@link Position#file}
      *
-     * @return The {@link Position#source} (mostly file) of the content
+     * @return The source (mostly file) of the content
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public String getSource() {
-        return source;
+        return file.getSource();
     }
 
     /**
-     * Getter for {@link Position#content}
+     * Getter for the content of the {@link Position#file}
      *
-     * @return The {@link Position#content} of the position
+     * @return The content of the position
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public String getContent() {
-        return content;
+        return file.getContent();
+    }
+
+    /**
+     * Getter for {@link Position#file}
+     *
+     * @return The {@link Position#file} of the position
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public SourceFile getFile() {
+        return file;
     }
 
     /**
@@ -102,25 +152,25 @@ public class Position {
     }
 
     /**
-     * Getter for {@link Position#column}
+     * Getter for {@link Position#column} (calculated by the {@link SourceFile} if it was not given explicitly)
      *
      * @return The {@link Position#column} of the position
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public int getColumn() {
-        return column;
+        return line != 0 ? column : file.getColumn(index);
     }
 
     /**
-     * Getter for {@link Position#line}
+     * Getter for {@link Position#line} (calculated by the {@link SourceFile} if it was not given explicitly)
      *
      * @return The {@link Position#line} of the position
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public int getLine() {
-        return line;
+        return line != 0 ? line : file.getLine(index);
     }
 
 
@@ -129,41 +179,14 @@ public class Position {
     // Others
 
     /**
-     * Increases the {@link Position#index} and {@link Position#column}
-     *
-     * @return The position itself, so you can chain these expressions
-     *
-     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
-     */
-    public Position nextColumn() {
-        this.index++;
-        this.column++;
-        return this;
-    }
-
-    /**
-     * Increases the {@link Position#index} and {@link Position#line} and sets the {@link Position#column} to 1
-     *
-     * @return The position itself, so you can chain these expressions
-     *
-     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
-     */
-    public Position nextLine() {
-        this.index++;
-        this.line++;
-        this.column = 1;
-        return this;
-    }
-
-    /**
-     * Copies the position
+     * Copies the position (positions are immutable, so this just returns the position itself)
      *
      * @return a copy of the position
      *
      * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
      */
     public Position copy() {
-        return new Position(this.getSource(), this.getContent(), this.getIndex(), this.getColumn(), this.getLine());
+        return this;
     }
 
     /**
@@ -175,6 +198,6 @@ public class Position {
      */
     @Override
     public String toString() {
-        return source  + ":" + line + ":" + column;
+        return getSource()  + ":" + getLine() + ":" + getColumn();
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.github.nsc.de.compiler.lexer;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+
+/**
+ * A {@link SourceFile} describes the source (mostly file) that is lexed and provides its content. The content is only
+ * created when it is requested (e.g. to create the marker of a {@link com.github.nsc.de.compiler.util.CompilerError}),
+ * so {@link com.github.nsc.de.compiler.lexer.characterinputstream.CharacterInputStream}s that don't hold the content
+ * as a string (e.g. memory-mapped files) don't have to create it while lexing.
+ *
+ * The {@link SourceFile} also calculates the line and the column of an index (for {@link Position}s). For that it
+ * creates an index of the line-separators the first time a line or a column is requested.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class SourceFile {
+
+    /**
+     * The source (mostly filename) of the {@link SourceFile}
+     */
+    private final String source;
+
+    /**
+     * Creates the content of the {@link SourceFile} (null as soon as the content is created)
+     */
+    private Supplier<String> contentSupplier;
+
+    /**
+     * The content of the {@link SourceFile} (null until it is requested)
+     */
+    private String content;
+
+    /**
+     * The (sorted) indices of all line-separators of the content (null until a line or column is requested)
+     */
+    private int[] lineSeparators;
+
+    /**
+     * Constructor for {@link SourceFile} with the content already known
+     *
+     * @param source the source (mostly file)
+     * @param content the content
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public SourceFile(String source, String content) {
+        this.source = source;
+        this.content = content;
+        this.contentSupplier = null;
+    }
+
+    /**
+     * Constructor for {@link SourceFile} that creates the content only when it is requested
+     *
+     * @param source the source (mostly file)
+     * @param contentSupplier creates the content
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public SourceFile(String source, Supplier<String> contentSupplier) {
+        this.source = source;
+        this.content = null;
+        this.contentSupplier = contentSupplier;
+    }
+
+    /**
+     * Getter for {@link SourceFile#source}
+     *
+     * @return the source (mostly file)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the content of the {@link SourceFile} (creates it if it is not created yet)
+     *
+     * @return the content
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public synchronized String getContent() {
+        if(this.content == null) {
+            this.content = this.contentSupplier.get();
+            this.contentSupplier = null;
+        }
+        return this.content;
+    }
+
+    /**
+     * Returns the line of the given index. A line-separator belongs to the line it starts.
+     *
+     * @param index the index to get the line for
+     * @return the line (starting with 1)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getLine(int index) {
+        return this.separatorsUntil(index) + 1;
+    }
+
+    /**
+     * Returns the column of the given index. A line-separator is the first column of the line it starts.
+     *
+     * @param index the index to get the column for
+     * @return the column (starting with 1)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getColumn(int index) {
+        int separators = this.separatorsUntil(index);
+        return separators == 0 ? index + 1 : index - this.getLineSeparators()[separators - 1] + 1;
+    }
+
+    /**
+     * Returns the number of line-separators until the given index (including the index itself)
+     *
+     * @param index the index
+     * @return the number of line-separators
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int separatorsUntil(int index) {
+        int[] separators = this.getLineSeparators();
+
+        // binarySearch returns (-(insertion point) - 1) if the index is not a line-separator
+        int found = Arrays.binarySearch(separators, index);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    /**
+     * Returns the indices of the line-separators of the content (creates them the first time)
+     *
+     * @return the indices of the line-separators
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private synchronized int[] getLineSeparators() {
+        if(this.lineSeparators == null) {
+            String content = this.getContent();
+            int[] separators = new int[16];
+            int count = 0;
+            for(int i = content.indexOf('\n'); i != -1; i = content.indexOf('\n', i + 1)) {
+                if(count == separators.length) separators = Arrays.copyOf(separators, count * 2);
+                separators[count++] = i;
+            }
+            this.lineSeparators = Arrays.copyOf(separators, count);
+        }
+        return this.lineSeparators;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,283 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.CharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.Token;
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A {@link Lexer} that classifies the characters using a 128-entry character-class-table and recognizes operators,
+ * punctuation and brackets using a state-machine (longest match). It produces the same {@link Token}s as the
+ * {@link Lexer}
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class TableLexer extends Lexer {
+
+    // ****************************************************************************
+    // character classes
+
+    private static final byte CLASS_INVALID = 0;
+    private static final byte CLASS_WHITESPACE = 1;
+    private static final byte CLASS_LINE_SEPARATOR = 2;
+    private static final byte CLASS_NUMBER = 3;
+    private static final byte CLASS_IDENTIFIER_START = 4;
+    private static final byte CLASS_STRING = 5;
+    private static final byte CLASS_OPERATOR = 6;
+
+    /**
+     * The character-class of each ascii character (all other characters are {@link #CLASS_INVALID})
+     */
+    private static final byte[] CHARACTER_CLASSES = new byte[128];
+
+    /**
+     * Which ascii characters are hex characters
+     */
+    private static final boolean[] HEX_CHARS = new boolean[128];
+
+
+    // ****************************************************************************
+    // operators
+
+    /**
+     * Creates a simple token from the matched operator (position is the start and the end of the operator)
+     */
+    private static final byte KIND_TOKEN = 0;
+
+    /**
+     * Creates a token positioned at the end of the operator (the {@link Lexer} does that for '++', '--' and '**')
+     */
+    private static final byte KIND_TOKEN_AT_END = 1;
+
+    /**
+     * The operator starts a single-line-comment
+     */
+    private static final byte KIND_SINGLE_LINE_COMMENT = 2;
+
+    /**
+     * The operator starts a multi-line-comment
+     */
+    private static final byte KIND_MULTI_LINE_COMMENT = 3;
+
+    /**
+     * All operators, punctuation and brackets the {@link TableLexer} recognizes
+     * (literal, kind, type and value of the token)
+     */
+    private static final Operator[] OPERATORS = {
+            new Operator("//", KIND_SINGLE_LINE_COMMENT, null, null),
+            new Operator("/*", KIND_MULTI_LINE_COMMENT, null, null),
+
+            new Operator("**=", KIND_TOKEN, TokenType.POW_ASSIGN, "**="),
+            new Operator("^=", KIND_TOKEN, TokenType.POW_ASSIGN, "^="),
+            new Operator("%=", KIND_TOKEN, TokenType.MOD_ASSIGN, null),
+            new Operator("/=", KIND_TOKEN, TokenType.DIV_ASSIGN, null),
+            new Operator("*=", KIND_TOKEN, TokenType.MUL_ASSIGN, null),
+            new Operator("-=", KIND_TOKEN, TokenType.SUB_ASSIGN, null),
+            new Operator("+=", KIND_TOKEN, TokenType.ADD_ASSIGN, null),
+
+            new Operator("++", KIND_TOKEN_AT_END, TokenType.INCR, null),
+            new Operator("--", KIND_TOKEN_AT_END, TokenType.DECR, null),
+
+            new Operator("**", KIND_TOKEN_AT_END, TokenType.POW, "**"),
+            new Operator("^", KIND_TOKEN, TokenType.POW, null),
+            new Operator("%", KIND_TOKEN, TokenType.MOD, null),
+            new Operator("/", KIND_TOKEN, TokenType.DIV, null),
+            new Operator("*", KIND_TOKEN, TokenType.MUL, null),
+            new Operator("-", KIND_TOKEN, TokenType.SUB, null),
+            new Operator("+", KIND_TOKEN, TokenType.ADD, null),
+
+            new Operator("||", KIND_TOKEN, TokenType.LOGICAL_OR, null),
+            new Operator("&&", KIND_TOKEN, TokenType.LOGICAL_AND, null),
+
+            new Operator("==", KIND_TOKEN, TokenType.EQ_EQUALS, null),
+            new Operator(">=", KIND_TOKEN, TokenType.BIGGER_EQUALS, null),
+            new Operator("<=", KIND_TOKEN, TokenType.SMALLER_EQUALS, null),
+            new Operator(">", KIND_TOKEN, TokenType.BIGGER, null),
+            new Operator("<", KIND_TOKEN, TokenType.SMALLER, null),
+            new Operator("=", KIND_TOKEN, TokenType.ASSIGN, null),
+
+            new Operator(";", KIND_TOKEN, TokenType.SEMICOLON, null),
+            new Operator(",", KIND_TOKEN, TokenType.COMMA, null),
+            new Operator(".", KIND_TOKEN, TokenType.DOT, null),
+
+            new Operator("(", KIND_TOKEN, TokenType.LPAREN, null),
+            new Operator(")", KIND_TOKEN, TokenType.RPAREN, null),
+            new Operator("{", KIND_TOKEN, TokenType.LCURL, null),
+            new Operator("}", KIND_TOKEN, TokenType.RCURL, null),
+    };
+
+    /**
+     * An operator recognized by the state-machine
+     */
+    private static class Operator {
+        private final String literal;
+        private final byte kind;
+        private final TokenType type;
+        private final String value;
+
+        private Operator(String literal, byte kind, TokenType type, String value) {
+            this.literal = literal;
+            this.kind = kind;
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The transition-table of the operator state-machine. TRANSITIONS[state][character] is the following state,
+     * 0 means that there is no transition. State 0 is the start state.
+     */
+    private static final int[][] TRANSITIONS;
+
+    /**
+     * The operator accepted by each state of the state-machine (index into {@link #OPERATORS}, -1 if the state is
+     * not accepting)
+     */
+    private static final int[] ACCEPTS;
+
+    static {
+
+        // fill the character-class-table
+        for(char c = 'a'; c <= 'z'; c++) CHARACTER_CLASSES[c] = CLASS_IDENTIFIER_START;
+        for(char c = 'A'; c <= 'Z'; c++) CHARACTER_CLASSES[c] = CLASS_IDENTIFIER_START;
+        CHARACTER_CLASSES['_'] = CLASS_IDENTIFIER_START;
+        for(char c = '0'; c <= '9'; c++) CHARACTER_CLASSES[c] = CLASS_NUMBER;
+        CHARACTER_CLASSES[' '] = CLASS_WHITESPACE;
+        CHARACTER_CLASSES['\t'] = CLASS_WHITESPACE;
+        CHARACTER_CLASSES['\n'] = CLASS_LINE_SEPARATOR;
+        CHARACTER_CLASSES['"'] = CLASS_STRING;
+
+        // fill the hex-table
+        for(char c = '0'; c <= '9'; c++) HEX_CHARS[c] = true;
+        for(char c = 'a'; c <= 'f'; c++) HEX_CHARS[c] = true;
+        for(char c = 'A'; c <= 'F'; c++) HEX_CHARS[c] = true;
+
+        // build the state-machine from the operators (a trie, each prefix of an operator is one state)
+        List<int[]> transitions = new ArrayList<>();
+        List<Integer> accepts = new ArrayList<>();
+        transitions.add(new int[128]);
+        accepts.add(-1);
+
+        for(int i = 0; i < OPERATORS.length; i++) {
+            String literal = OPERATORS[i].literal;
+            int state = 0;
+            for(int j = 0; j < literal.length(); j++) {
+                char c = literal.charAt(j);
+                CHARACTER_CLASSES[c] = CLASS_OPERATOR;
+                if(transitions.get(state)[c] == 0) {
+                    transitions.add(new int[128]);
+                    accepts.add(-1);
+                    transitions.get(state)[c] = transitions.size() - 1;
+                }
+                state = transitions.get(state)[c];
+            }
+            accepts.set(state, i);
+        }
+
+        TRANSITIONS = transitions.toArray(new int[0][]);
+        ACCEPTS = new int[accepts.size()];
+        for(int i = 0; i < ACCEPTS.length; i++) ACCEPTS[i] = accepts.get(i);
+
+    }
+
+    public TableLexer(CharacterInputStream in) {
+        super(in);
+    }
+
+    @Override
+    public Token makeToken() {
+        while(this.in.hasNext()) {
+            char next = this.in.next();
+            Position start = in.getPosition();
+
+            switch (next < 128 ? CHARACTER_CLASSES[next] : CLASS_INVALID) {
+                case CLASS_WHITESPACE: break;
+                case CLASS_LINE_SEPARATOR: return new Token(TokenType.LINE_SEPARATOR, start);
+                case CLASS_NUMBER: return makeNumber(start);
+                case CLASS_IDENTIFIER_START: return makeIdentifier(start);
+                case CLASS_STRING: return makeString(start);
+                case CLASS_OPERATOR:
+                    Token operator = makeOperator(next, start);
+                    if(operator != null) return operator;
+                    break;
+                default: throw new LexerError("UnexpectedTokenError", "Unrecognised Token: '" + next + '\'');
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs the operator state-machine starting at the actual character and creates the {@link Token} of the longest
+     * matching operator
+     *
+     * @param next the actual character
+     * @param start the position of the actual character
+     * @return the created {@link Token} or null if the operator started a comment
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Token makeOperator(char next, Position start) {
+
+        // run the state-machine and remember the last accepting state
+        int state = TRANSITIONS[0][next];
+        int accepted = ACCEPTS[state];
+        int length = 1;
+        for(int i = 1; in.has(i); i++) {
+            char c = in.peek(i);
+            if(c >= 128 || TRANSITIONS[state][c] == 0) break;
+            state = TRANSITIONS[state][c];
+            if(ACCEPTS[state] != -1) {
+                accepted = ACCEPTS[state];
+                length = i + 1;
+            }
+        }
+
+        // no operator matches (e.g. a single '|')
+        if(accepted == -1) throw new LexerError("UnexpectedTokenError", "Unrecognised Token: '" + next + '\'');
+
+        Operator operator = OPERATORS[accepted];
+        switch (operator.kind) {
+            case KIND_SINGLE_LINE_COMMENT:
+                this.singleLineComment();
+                return null;
+            case KIND_MULTI_LINE_COMMENT:
+                this.multiLineComment();
+                return null;
+            case KIND_TOKEN_AT_END:
+                in.skip(length - 1);
+                return new Token(operator.type, operator.value, in.getPosition());
+            default:
+                if(length == 1) return new Token(operator.type, operator.value, start);
+                in.skip(length - 1);
+                return new Token(operator.type, operator.value, start, in.getPosition());
+        }
+    }
+
+    @Override
+    protected boolean isNumber(char c) {
+        return c < 128 && CHARACTER_CLASSES[c] == CLASS_NUMBER;
+    }
+
+    @Override
+    protected boolean isNumberOrDot(char c) {
+        return c == '.' || isNumber(c);
+    }
+
+    @Override
+    protected boolean isIdentifierStart(char c) {
+        return c < 128 && CHARACTER_CLASSES[c] == CLASS_IDENTIFIER_START;
+    }
+
+    @Override
+    protected boolean isIdentifier(char c) {
+        return c < 128 && (CHARACTER_CLASSES[c] == CLASS_IDENTIFIER_START || CHARACTER_CLASSES[c] == CLASS_NUMBER);
+    }
+
+    @Override
+    protected boolean isHexChar(char c) {
+        return c < 128 && HEX_CHARS[c];
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.nsc.de.compiler.lexer;
+
+
+/**
+ * Describes how an edit changed the tokens of an input: the tokens from {@link #getFrom()} on were replaced, the
+ * removed tokens are counted in the old tokens and the inserted ones in the new tokens. All tokens in front of the
+ * change are the same as before, all tokens behind it are the same, but shifted by {@link #getShift()} positions.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class TokenChange {
+
+    /**
+     * The position of the first changed token
+     */
+    private final int from;
+
+    /**
+     * The number of replaced old tokens
+     */
+    private final int removed;
+
+    /**
+     * The number of new tokens replacing them
+     */
+    private final int inserted;
+
+    /**
+     * Constructor for {@link TokenChange}
+     *
+     * @param from the position of the first changed token
+     * @param removed the number of replaced old tokens
+     * @param inserted the number of new tokens replacing them
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public TokenChange(int from, int removed, int inserted) {
+        if(from < 0 || removed < 0 || inserted < 0)
+            throw new Error(String.format("Invalid token change: %d tokens replaced by %d at %d", removed, inserted, from));
+        this.from = from;
+        this.removed = removed;
+        this.inserted = inserted;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    /**
+     * Returns the position behind the change in the old tokens
+     */
+    public int getOldEnd() {
+        return from + removed;
+    }
+
+    /**
+     * Returns the position behind the change in the new tokens
+     */
+    public int getNewEnd() {
+        return from + inserted;
+    }
+
+    /**
+     * Returns the number of positions the tokens behind the change are shifted by
+     */
+    public int getShift() {
+        return inserted - removed;
+    }
+
+    /**
+     * Combines this change with a change that was applied after it (the positions of the next change are positions in
+     * the tokens created by this change). The result covers both changes (and all tokens between them).
+     *
+     * @param next the change applied after this one
+     * @return the change from the tokens before this change to the tokens after the next change
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public TokenChange then(TokenChange next) {
+
+        // the covered region in the positions between both changes
+        int start = Math.min(this.from, next.from);
+        int end = Math.max(this.getNewEnd(), next.getOldEnd());
+        return new TokenChange(start, end - this.getShift() - start, end + next.getShift() - start);
+
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TokenChange(%d tokens replaced by %d at %d)", removed, inserted, from);
+    }
+}
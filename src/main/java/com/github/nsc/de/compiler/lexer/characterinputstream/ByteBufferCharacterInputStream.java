@@ -0,0 +1,307 @@
+package com.github.nsc.de.compiler.lexer.characterinputstream;
+
+import com.github.nsc.de.compiler.lexer.Position;
+import com.github.nsc.de.compiler.lexer.SourceFile;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+/**
+ * An implementation of {@link CharacterInputStream} reading UTF-8 directly from a {@link ByteBuffer} (heap or direct).
+ * All the syntax of the language is ASCII, so ASCII bytes are just used as characters. Only runs of non-ASCII bytes
+ * (e.g. inside of strings or comments) are decoded. Windows line-separators are replaced while reading.
+ *
+ * The bytes are read in chunks into a small window of characters, so the input is never held as characters on the
+ * heap while lexing. The content of the {@link SourceFile} is only decoded if it is requested
+ * (e.g. to create the marker of a {@link com.github.nsc.de.compiler.util.CompilerError}).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class ByteBufferCharacterInputStream implements CharacterInputStream {
+
+    /**
+     * The number of bytes that are read into the window at once
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * The {@link SourceFile} of the {@link ByteBufferCharacterInputStream}
+     */
+    private final SourceFile file;
+
+    /**
+     * The bytes to read
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * The number of bytes to read
+     */
+    private final int limit;
+
+    /**
+     * The decoder for runs of non-ASCII bytes
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * The buffer the {@link #decoder} decodes into
+     */
+    private CharBuffer decoded;
+
+    /**
+     * The characters around the actual position
+     */
+    private char[] window;
+
+    /**
+     * The index of the first character in the {@link #window}
+     */
+    private int windowStart;
+
+    /**
+     * The index after the last character in the {@link #window}
+     */
+    private int windowEnd;
+
+    /**
+     * The index of the next byte to read
+     */
+    private int bytePosition;
+
+    /**
+     * The index of the actual character of the {@link ByteBufferCharacterInputStream}
+     */
+    private int index;
+
+
+    /**
+     * Constructor for {@link ByteBufferCharacterInputStream}. The bytes from the position to the limit of the buffer
+     * are read (the position of the given buffer is not changed).
+     *
+     * @param source the source (mostly file) of the characters
+     * @param bytes the UTF-8 encoded bytes
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ByteBufferCharacterInputStream(String source, ByteBuffer bytes) {
+        this.bytes = bytes.slice();
+        this.limit = this.bytes.limit();
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.decoded = CharBuffer.allocate(64);
+        this.window = new char[CHUNK_SIZE * 2];
+        this.windowStart = 0;
+        this.windowEnd = 0;
+        this.bytePosition = 0;
+        this.index = -1;
+
+        // the content is only decoded as a whole if it is requested
+        final ByteBuffer content = this.bytes.duplicate();
+        this.file = new SourceFile(source, () ->
+                StringCharacterInputStream.normalizeLineSeparators(StandardCharsets.UTF_8.decode(content.duplicate()).toString()));
+    }
+
+
+    @Override
+    public String getSource() {
+        return this.file.getSource();
+    }
+
+    /**
+     * Returns the chars of the {@link CharacterInputStream}. Be careful: this decodes the whole input.
+     *
+     * @return the chars of the {@link CharacterInputStream}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    @Override
+    public char[] getContent() {
+        return this.file.getContent().toCharArray();
+    }
+
+    @Override
+    public Position getPosition() {
+        return new Position(this.file, this.index);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.index + 1 < this.windowEnd || this.available(this.index + 1);
+    }
+
+    @Override
+    public boolean has(int number) {
+        // throw an error, if the given number is smaller than 1
+        if(number < 1) throw new Error("The given number must be 1 or bigger");
+        return this.available(this.index + number);
+    }
+
+    @Override
+    public char next() {
+        // Skip and return the actual character
+        skip();
+        return actual();
+    }
+
+    @Override
+    public void skip(int number) {
+        // Skip as many times, as required
+        for(int i = 0; i < number; i++) skip();
+    }
+
+    @Override
+    public void skip() {
+        // lines and columns are calculated by the SourceFile, so we only have to increase the index
+        if(!this.hasNext()) throw new Error("Not enough characters left");
+        this.index++;
+    }
+
+    @Override
+    public char actual() {
+        return this.window[this.index - this.windowStart];
+    }
+
+    @Override
+    public char peek() {
+        if(!this.hasNext()) throw new Error("Not enough characters left");
+        return this.window[this.index + 1 - this.windowStart];
+    }
+
+    @Override
+    public char peek(int num) {
+        if(!this.has(num)) throw new Error("Not enough characters left");
+        return this.window[this.index + num - this.windowStart];
+    }
+
+    @Override
+    public String peek(int from, int to) {
+        if(from < 0) throw new Error("Peek argument must not be smaller than 0");
+        if(to <= from) throw new Error("To-argument must be bigger than from-argument");
+        return this.available(this.index + to) ?
+                new String(this.window, this.index + from - this.windowStart, to - from + 1) : "";
+    }
+
+    @Override
+    public boolean matches(int offset, String literal) {
+        if(offset < 0) throw new Error("Offset argument must not be smaller than 0");
+
+        // the index of the first character to compare
+        int start = this.index + offset;
+
+        // if the input is not long enough the literal can't match
+        if(!this.available(start + literal.length() - 1)) return false;
+
+        // compare the characters one by one
+        for(int i = 0; i < literal.length(); i++)
+            if(this.window[start + i - this.windowStart] != literal.charAt(i)) return false;
+        return true;
+    }
+
+
+    // ****************************************************************************
+    // Reading
+
+    /**
+     * Reads the input until the character at the given index is in the window
+     *
+     * @param index the index of the character
+     * @return if the character exists
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private boolean available(int index) {
+        while(index >= this.windowEnd) {
+            if(this.bytePosition >= this.limit) return false;
+            this.readChunk();
+        }
+        return true;
+    }
+
+    /**
+     * Drops the characters before the actual position from the window and reads the next chunk of the input into it.
+     * ASCII bytes are just copied ("\r\n" is replaced with "\n"), only runs of non-ASCII bytes are decoded.
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void readChunk() {
+
+        // move the characters from the actual position on to the start of the window
+        int keep = Math.max(this.index, this.windowStart);
+        System.arraycopy(this.window, keep - this.windowStart, this.window, 0, this.windowEnd - keep);
+        this.windowStart = keep;
+        int end = this.windowEnd - this.windowStart;
+
+        // make sure there is enough space for another chunk (only needed when looking ahead very far)
+        if(this.window.length - end < CHUNK_SIZE) this.window = Arrays.copyOf(this.window, this.window.length * 2);
+
+        char[] window = this.window;
+        int position = this.bytePosition;
+        int chunkEnd = Math.min(this.limit, position + CHUNK_SIZE);
+        while(position < chunkEnd) {
+            byte b = this.bytes.get(position);
+
+            // ASCII (most characters): just use the byte
+            if(b >= 0) {
+                // "\r\n" is replaced with "\n" (the "\n" is read as the next byte)
+                if(b != '\r' || position + 1 >= this.limit || this.bytes.get(position + 1) != '\n') window[end++] = (char) b;
+                position++;
+            }
+
+            // decode the run of non-ASCII bytes
+            else {
+                this.windowEnd = this.windowStart + end;
+                position = this.decodeRun(position);
+                window = this.window;
+                end = this.windowEnd - this.windowStart;
+            }
+        }
+        this.bytePosition = position;
+        this.windowEnd = this.windowStart + end;
+    }
+
+    /**
+     * Decodes the run of non-ASCII bytes at the given position to the end of the window. An ASCII byte is never part
+     * of a multi-byte character in UTF-8, so decoding the runs on their own gives the same characters as decoding
+     * the whole input.
+     *
+     * @param position the index of the first byte of the run
+     * @return the index after the run
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int decodeRun(int position) {
+
+        // find the end of the run
+        int end = position;
+        while(end < this.limit && this.bytes.get(end) < 0) end++;
+
+        // a run of n bytes is decoded into at most n characters
+        if(this.decoded.capacity() < end - position)
+            this.decoded = CharBuffer.allocate(Integer.highestOneBit(end - position) * 2);
+
+        ByteBuffer run = this.bytes.duplicate();
+        run.limit(end).position(position);
+        this.decoded.clear();
+        this.decoder.reset();
+        this.decoder.decode(run, this.decoded, true);
+        this.decoder.flush(this.decoded);
+        this.decoded.flip();
+
+        // copy the characters to the end of the window
+        int length = this.windowEnd - this.windowStart;
+        if(this.window.length - length < this.decoded.remaining() + CHUNK_SIZE)
+            this.window = Arrays.copyOf(this.window, Integer.highestOneBit(length + this.decoded.remaining() + CHUNK_SIZE) * 2);
+        int count = this.decoded.remaining();
+        this.decoded.get(this.window, length, count);
+        this.windowEnd += count;
+        return end;
+
+    }
+}
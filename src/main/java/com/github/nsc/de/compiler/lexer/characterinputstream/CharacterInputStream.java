@@ -123,4 +123,16 @@ public interface CharacterInputStream {
      */
     String peek(int from, int to);
 
+    /**
+     * Checks if the {@link CharacterInputStream} contains the given literal at the given offset
+     * (relative to the actual position) without creating a string from the content
+     *
+     * @param offset the position to start comparing at (0 is the actual character)
+     * @param literal the literal to compare with
+     * @return if the characters starting at the offset are equal to the literal
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    boolean matches(int offset, String literal);
+
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.github.nsc.de.compiler.lexer.characterinputstream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * An implementation of {@link CharacterInputStream} reading a memory-mapped (UTF-8) file. The bytes of the file are
+ * read directly (see {@link ByteBufferCharacterInputStream}), so the content of the file is never held on the heap
+ * while lexing. (The content is only created if it is requested, e.g. to create the marker of a
+ * {@link com.github.nsc.de.compiler.util.CompilerError})
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class MappedFileCharacterInputStream extends ByteBufferCharacterInputStream {
+
+    /**
+     * Constructor for {@link MappedFileCharacterInputStream} using the path as source
+     *
+     * @param path the file to read
+     * @throws IOException if the file can't be mapped
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public MappedFileCharacterInputStream(Path path) throws IOException {
+        this(path.toString(), path);
+    }
+
+    /**
+     * Constructor for {@link MappedFileCharacterInputStream}
+     *
+     * @param source the source (mostly file) of the characters
+     * @param path the file to read
+     * @throws IOException if the file can't be mapped
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public MappedFileCharacterInputStream(String source, Path path) throws IOException {
+        super(source, map(path));
+    }
+
+    /**
+     * Maps a file into memory
+     *
+     * @param path the file to map
+     * @return the mapped bytes of the file
+     * @throws IOException if the file can't be mapped
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static ByteBuffer map(Path path) throws IOException {
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) throw new Error("Files bigger than 2GB are not supported");
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.lexer.characterinputstream;
 
 import com.github.nsc.de.compiler.lexer.Position;
+import com.github.nsc.de.compiler.lexer.SourceFile;
 
 
 /**
@@ -21,9 +22,20 @@ public class StringCharacterInputStream implements CharacterInputStream {
     private final char[] content;
 
     /**
-     * The actual position of the {@link StringCharacterInputStream}
+     * The {@link SourceFile} of the {@link StringCharacterInputStream} (the {@link Position}s point into it)
      */
-    private final Position position;
+    private final SourceFile file;
+
+    /**
+     * The index after the last character the {@link StringCharacterInputStream} reads (the length of the content,
+     * if the {@link StringCharacterInputStream} reads the whole content)
+     */
+    private final int end;
+
+    /**
+     * The index of the actual character of the {@link StringCharacterInputStream}
+     */
+    private int index;
 
 
     /**
@@ -39,7 +51,9 @@ public class StringCharacterInputStream implements CharacterInputStream {
         // Set fields
         this.source = source;
         this.content = content.toCharArray();
-        this.position = position;
+        this.file = position.getFile();
+        this.end = this.content.length;
+        this.index = position.getIndex();
 
         // Throw an error if the input content contains a dos-style line-separator
         if(content.contains("\r\n")) throw new Error("Using this constructor you must not give a string that contains \"\\r\\n\" as line-separator");
@@ -60,12 +74,61 @@ public class StringCharacterInputStream implements CharacterInputStream {
     public StringCharacterInputStream(String source, String content) {
 
         // Replace windows line-separators with linux line-separators
-        content = content.replaceAll("\r\n", "\n");
+        content = normalizeLineSeparators(content);
 
         // Set fields
         this.source = source;
         this.content = content.toCharArray();
-        this.position = new Position(this.source, content);
+        this.file = new SourceFile(this.source, content);
+        this.end = this.content.length;
+        this.index = -1;
+    }
+
+    /**
+     * Constructor for {@link StringCharacterInputStream} reading only a part of the content of a {@link SourceFile}.
+     * The content is not copied and the indices of the {@link Position}s are the indices in the whole content
+     * (used to lex parts of a {@link SourceFile} independently, see
+     * {@link com.github.nsc.de.compiler.lexer.ParallelLexer})
+     *
+     * @param file the {@link SourceFile} the characters belong to
+     * @param content the characters of the whole {@link SourceFile}
+     * @param start the index of the first character to read
+     * @param end the index after the last character to read
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public StringCharacterInputStream(SourceFile file, char[] content, int start, int end) {
+
+        // Throw an error if the range is not inside of the content
+        if(start < 0 || end > content.length || start > end) throw new Error(String.format("Invalid range %d-%d", start, end));
+
+        // Set fields
+        this.source = file.getSource();
+        this.content = content;
+        this.file = file;
+        this.end = end;
+        this.index = start - 1;
+    }
+
+
+    /**
+     * Replaces all windows line-separators ("\r\n") with linux line-separators ("\n") without using a regex
+     *
+     * @param content the content to replace the line-separators in
+     * @return the content with linux line-separators
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static String normalizeLineSeparators(String content) {
+        // nothing to replace (most common case, so we don't have to copy the content)
+        if(content.indexOf('\r') == -1) return content;
+
+        StringBuilder builder = new StringBuilder(content.length());
+        for(int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if(c != '\r' || i + 1 >= content.length() || content.charAt(i + 1) != '\n') builder.append(c);
+        }
+        return builder.toString();
     }
 
 
@@ -118,8 +181,8 @@ public class StringCharacterInputStream implements CharacterInputStream {
      */
     @Override
     public Position getPosition() {
-        // Return the actual position of the StringCharacterInputStream
-        return this.position.copy();
+        // Create the actual position of the StringCharacterInputStream
+        return new Position(this.file, this.index);
     }
 
 
@@ -136,7 +199,7 @@ public class StringCharacterInputStream implements CharacterInputStream {
     @Override
     public boolean hasNext() {
         // We could also use has(1) here, but for performance reasons that should be better
-        return this.position.getIndex() + 1 < this.content.length;
+        return this.index + 1 < this.end;
     }
 
 
@@ -155,7 +218,7 @@ public class StringCharacterInputStream implements CharacterInputStream {
     public boolean has(int number) {
         // throw an error, if the given number is smaller than 1
         if(number < 1) throw new Error("The given number must be 1 or bigger");
-        return this.position.getIndex() + number < this.content.length;
+        return this.index + number < this.end;
     }
 
 
@@ -203,9 +266,9 @@ public class StringCharacterInputStream implements CharacterInputStream {
      */
     @Override
     public void skip() {
-        // if the actual position is a line-separator go to next line, if not then to next column
-        if(this.peek() == '\n') this.position.nextLine();
-        else this.position.nextColumn();
+        // lines and columns are calculated by the SourceFile, so we only have to increase the index
+        if(!this.hasNext()) throw new Error("Not enough characters left");
+        this.index++;
     }
 
 
@@ -221,7 +284,7 @@ public class StringCharacterInputStream implements CharacterInputStream {
     @Override
     public char actual() {
         // return the character at the actual position
-        return this.content[this.position.getIndex()];
+        return this.content[this.index];
     }
 
 
@@ -243,7 +306,7 @@ public class StringCharacterInputStream implements CharacterInputStream {
         if(!this.hasNext()) throw new Error("Not enough characters left");
 
         // return the content at the required position
-        return this.content[this.position.getIndex() + 1];
+        return this.content[this.index + 1];
     }
 
 
@@ -267,7 +330,7 @@ public class StringCharacterInputStream implements CharacterInputStream {
         if(!this.has(num)) throw new Error("Not enough characters left");
 
         // return the content at the required position
-        return this.content[this.position.getIndex() + num];
+        return this.content[this.index + num];
     }
 
 
@@ -291,7 +354,38 @@ public class StringCharacterInputStream implements CharacterInputStream {
         if(to <= from) throw new Error("To-argument must be bigger than from-argument");
         //if(!this.has(from)) throw new Error("Not enough characters left");
 
-        return this.position.getIndex() + from < this.content.length && this.position.getIndex() + to < this.content.length ?
-                new String(this.content).substring(this.position.getIndex() + from, this.position.getIndex() + to + 1) : "";
+        // only copy the requested part of the content (copying the whole content for each call would make the
+        // lexer quadratic)
+        return this.index + from < this.end && this.index + to < this.end ?
+                new String(this.content, this.index + from, to - from + 1) : "";
+    }
+
+
+    /**
+     * Checks if the {@link CharacterInputStream} contains the given literal at the given offset
+     * (relative to the actual position) without creating a string from the content
+     *
+     * @param offset the position to start comparing at (0 is the actual character)
+     * @param literal the literal to compare with
+     * @return if the characters starting at the offset are equal to the literal
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     *
+     * @see CharacterInputStream#matches(int offset, String literal)
+     * @see StringCharacterInputStream#peek(int from, int to)
+     */
+    @Override
+    public boolean matches(int offset, String literal) {
+        if(offset < 0) throw new Error("Offset argument must not be smaller than 0");
+
+        // the index of the first character to compare
+        int start = this.index + offset;
+
+        // if the content is not long enough the literal can't match
+        if(start + literal.length() > this.end) return false;
+
+        // compare the characters one by one
+        for(int i = 0; i < literal.length(); i++) if(this.content[start + i] != literal.charAt(i)) return false;
+        return true;
     }
 }
\ No newline at end of file
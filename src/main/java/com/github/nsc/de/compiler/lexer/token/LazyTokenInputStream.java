@@ -0,0 +1,194 @@
+package com.github.nsc.de.compiler.lexer.token;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+
+
+/**
+ * A {@link TokenInputStream} that lexes the {@link Token}s on demand using {@link Lexer#makeToken()}. Only the
+ * actual token and the tokens looked ahead at are kept in a small ring-buffer, so the memory does not depend on the
+ * size of the input and parsing can start before the whole input is lexed.
+ *
+ * Positions are absolute (like in {@link ArrayTokenInputStream}), but tokens that were dropped out of the
+ * ring-buffer can not be accessed anymore.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class LazyTokenInputStream implements TokenInputStream {
+
+    /**
+     * The default size of the ring-buffer (must be a power of 2)
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 16;
+
+    /**
+     * The source (mostly filename) of the {@link LazyTokenInputStream}
+     */
+    private final String source;
+
+    /**
+     * The {@link Lexer} to create the tokens with
+     */
+    private final Lexer lexer;
+
+    /**
+     * The ring-buffer containing the last lexed tokens (the token at position i is at index i &amp; (length - 1))
+     */
+    private Token[] buffer;
+
+    /**
+     * The number of tokens that were lexed until now
+     */
+    private int lexed;
+
+    /**
+     * Is the {@link Lexer} finished?
+     */
+    private boolean finished;
+
+    /**
+     * The position that the {@link LazyTokenInputStream} is actually at
+     */
+    private int position;
+
+    /**
+     * Create a {@link LazyTokenInputStream} giving the {@link LazyTokenInputStream#source} and the {@link Lexer}
+     *
+     * @param source value for field {@link LazyTokenInputStream#source} (The source (mostly file) of the tokens)
+     * @param lexer value for field {@link LazyTokenInputStream#lexer} (The lexer to create the tokens with)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public LazyTokenInputStream(String source, Lexer lexer) {
+        this.source = source;
+        this.lexer = lexer;
+        this.buffer = new Token[DEFAULT_BUFFER_SIZE];
+        this.lexed = 0;
+        this.finished = false;
+        this.position = -1;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public void setPosition(int position) {
+        // test the position (throw error if a wrong position is provided)
+        // and set the position if no error is thrown
+        testPosition(position);
+        this.position = position;
+    }
+
+    @Override
+    public Token get(int position) {
+        testPosition(position);
+        return this.buffer[position & (this.buffer.length - 1)];
+    }
+
+    @Override
+    public boolean has(int num) {
+        if(num < 1) throw new Error("You should only give positive numbers to this function");
+        return this.fill(this.position + num);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.fill(this.position + 1);
+    }
+
+    @Override
+    public Token next() {
+        // skip to next token and then return the actual token
+        skip();
+        return actual();
+    }
+
+    @Override
+    public TokenInputStream skip() {
+        // Check if the input has a next token. If so then increase the position. If not throw an error
+        if (hasNext()) this.position++;
+        else throw new Error("Input already finished");
+        return this;
+    }
+
+    @Override
+    public Token actual() {
+        return this.buffer[this.position & (this.buffer.length - 1)];
+    }
+
+    @Override
+    public Token peek(int num) {
+        // Throw an error, if the number is smaller than 1
+        // Return the asked position if it exists, if not throw an error
+        if(num < 1) throw new Error("The argument for the peek function should be a number that is bigger than 0.");
+        if(this.fill(this.position + num)) return this.buffer[(this.position + num) & (this.buffer.length - 1)];
+        else throw new Error("Not enough tokens left");
+    }
+
+    @Override
+    public String toString() {
+        return "LazyTokenInputStream{" +
+                "source='" + source + '\'' +
+                ", lexed=" + lexed +
+                ", position=" + position +
+                '}';
+    }
+
+    /**
+     * Lexes tokens until the token at the given position is available
+     *
+     * @param position the position of the token that is needed
+     * @return if the token exists (false if the input finished before)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private boolean fill(int position) {
+        while(this.lexed <= position) {
+            if(this.finished) return false;
+            Token token = this.lexer.makeToken();
+            if(token == null) {
+                this.finished = true;
+                return false;
+            }
+
+            // grow the buffer if the new token would overwrite the actual token (this only happens when
+            // looking ahead more than the buffer size)
+            if(this.lexed - this.buffer.length >= Math.max(this.position, 0)) this.grow();
+            this.buffer[this.lexed & (this.buffer.length - 1)] = token;
+            this.lexed++;
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the size of the ring-buffer
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void grow() {
+        Token[] buffer = new Token[this.buffer.length * 2];
+        for(int i = Math.max(0, this.lexed - this.buffer.length); i < this.lexed; i++)
+            buffer[i & (buffer.length - 1)] = this.buffer[i & (this.buffer.length - 1)];
+        this.buffer = buffer;
+    }
+
+    /**
+     * This function checks if the given position is a valid position for the {@link LazyTokenInputStream}
+     * (lexes until the position if needed), throws an error if the position is a wrong one
+     *
+     * @param position the position to check
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void testPosition(int position) {
+        if(position < 0) throw new Error("Position mustn't be smaller than 0.");
+        if(!this.fill(position)) throw new Error(String.format("The given position is to high. The maximum value is %d, but given was %d", this.lexed - 1, position));
+        if(position < this.lexed - this.buffer.length) throw new Error(String.format("The token at position %d was already dropped from the buffer", position));
+    }
+}
@@ -0,0 +1,507 @@
+package com.github.nsc.de.compiler.lexer.token;
+
+import com.github.nsc.de.compiler.lexer.Position;
+import com.github.nsc.de.compiler.lexer.SourceFile;
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A {@link TokenInputStream} that stores the tokens in parallel arrays (type, value, start and end) instead of
+ * {@link Token} objects. Equal token values are only stored once. {@link Token} objects are only created when
+ * they are requested (e.g. by {@link #next()}).
+ *
+ * It is created by {@link com.github.nsc.de.compiler.lexer.Lexer#makePackedTokens()}
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class PackedTokenInputStream implements TokenInputStream {
+
+    /**
+     * All the {@link TokenType}s (so we don't have to create a new array each time we need one by it's ordinal)
+     */
+    private static final TokenType[] TYPES = TokenType.values();
+
+    /**
+     * The source (mostly filename) of the {@link PackedTokenInputStream}
+     */
+    private final String source;
+
+    /**
+     * The {@link SourceFile} of the tokens (null as long as there are no tokens)
+     */
+    private SourceFile file;
+
+    /**
+     * The number of tokens in the {@link PackedTokenInputStream}
+     */
+    private int size;
+
+    /**
+     * The ordinals of the {@link TokenType}s of the tokens
+     */
+    private byte[] types;
+
+    /**
+     * The indices of the token values in {@link #values} (-1 if the token has no value)
+     */
+    private int[] valueIds;
+
+    /**
+     * The start indices of the tokens
+     */
+    private int[] starts;
+
+    /**
+     * The end indices of the tokens
+     */
+    private int[] ends;
+
+    /**
+     * The values of the tokens (each value is only contained once)
+     */
+    private String[] values;
+
+    /**
+     * The {@link Symbol}s of the values (null for values that are not used by identifiers)
+     */
+    private Symbol[] symbols;
+
+    /**
+     * The number of values in {@link #values}
+     */
+    private int valueCount;
+
+    /**
+     * The ids of the values (null when the {@link PackedTokenInputStream} is finished)
+     */
+    private Map<String, Integer> valueIndex;
+
+    /**
+     * The position that the {@link PackedTokenInputStream} is actually at
+     */
+    private int position;
+
+    /**
+     * Create an (empty) {@link PackedTokenInputStream}. Tokens can be added using {@link #add(Token)}
+     *
+     * @param source value for field {@link PackedTokenInputStream#source} (The source (mostly file) of the tokens)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public PackedTokenInputStream(String source) {
+        this.source = source;
+        this.file = null;
+        this.size = 0;
+        this.types = new byte[64];
+        this.valueIds = new int[64];
+        this.starts = new int[64];
+        this.ends = new int[64];
+        this.values = new String[16];
+        this.symbols = new Symbol[16];
+        this.valueCount = 0;
+        this.valueIndex = new HashMap<>();
+        this.position = -1;
+    }
+
+
+    // ****************************************************************************
+    // Building
+
+    /**
+     * Adds a {@link Token} to the end of the {@link PackedTokenInputStream}
+     *
+     * @param token the {@link Token} to add
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public void add(Token token) {
+        if(this.valueIndex == null) throw new Error("The PackedTokenInputStream is already finished");
+        if(this.file == null) this.file = token.getStart().getFile();
+
+        if(this.size == this.types.length) this.grow();
+
+        int i = this.size++;
+        this.types[i] = (byte) token.getType().ordinal();
+        this.valueIds[i] = this.valueId(token.getValue());
+
+        // keep the symbols of the identifiers, so we don't have to intern them again when creating the tokens
+        if(token.getType() == TokenType.IDENTIFIER && this.symbols[this.valueIds[i]] == null)
+            this.symbols[this.valueIds[i]] = token.getSymbol();
+        this.starts[i] = token.getStart().getIndex();
+        this.ends[i] = token.getEnd().getIndex();
+    }
+
+    /**
+     * Finishes the {@link PackedTokenInputStream}: trims the arrays to the number of tokens and drops the data that is
+     * only needed to add tokens
+     *
+     * @return the {@link PackedTokenInputStream} itself
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public PackedTokenInputStream finish() {
+        this.types = Arrays.copyOf(this.types, this.size);
+        this.valueIds = Arrays.copyOf(this.valueIds, this.size);
+        this.starts = Arrays.copyOf(this.starts, this.size);
+        this.ends = Arrays.copyOf(this.ends, this.size);
+        this.values = Arrays.copyOf(this.values, this.valueCount);
+        this.symbols = Arrays.copyOf(this.symbols, this.valueCount);
+        this.valueIndex = null;
+        return this;
+    }
+
+    /**
+     * Returns the id of the given value (adds the value to {@link #values} if it is not contained yet)
+     *
+     * @param value the value
+     * @return the index of the value in {@link #values} or -1 if the value is null
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int valueId(String value) {
+        if(value == null) return -1;
+        Integer id = this.valueIndex.get(value);
+        if(id != null) return id;
+        if(this.valueCount == this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.values.length * 2);
+            this.symbols = Arrays.copyOf(this.symbols, this.values.length);
+        }
+        this.values[this.valueCount] = value;
+        this.valueIndex.put(value, this.valueCount);
+        return this.valueCount++;
+    }
+
+    /**
+     * Doubles the size of the token arrays
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void grow() {
+        int length = this.types.length * 2;
+        this.types = Arrays.copyOf(this.types, length);
+        this.valueIds = Arrays.copyOf(this.valueIds, length);
+        this.starts = Arrays.copyOf(this.starts, length);
+        this.ends = Arrays.copyOf(this.ends, length);
+    }
+
+
+    /**
+     * Creates a new {@link PackedTokenInputStream} with the tokens from {@code from} to {@code to} (exclusive) replaced
+     * by the given tokens. The indices of the tokens after the replaced ones are shifted by the given amount (used by
+     * {@link com.github.nsc.de.compiler.lexer.IncrementalLexer} after an edit). The {@link PackedTokenInputStream}
+     * itself is not changed, so it can still be used (e.g. by a parser).
+     *
+     * @param from the position of the first token to replace
+     * @param to the position after the last token to replace
+     * @param tokens the new tokens
+     * @param shift the amount to shift the indices of the following tokens by
+     * @param file the {@link SourceFile} of all the tokens of the new {@link PackedTokenInputStream}
+     * @return the new {@link PackedTokenInputStream}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public PackedTokenInputStream replace(int from, int to, List<Token> tokens, int shift, SourceFile file) {
+        if(this.valueIndex != null) throw new Error("The PackedTokenInputStream is not finished yet");
+        if(from < 0 || to > this.size || from > to) throw new Error(String.format("Invalid range %d-%d", from, to));
+
+        PackedTokenInputStream replaced = new PackedTokenInputStream(this.source);
+        replaced.file = file;
+
+        // the values of the old tokens are kept (the values of the new tokens are just added, see below)
+        replaced.values = Arrays.copyOf(this.values, this.valueCount + tokens.size());
+        replaced.symbols = Arrays.copyOf(this.symbols, this.valueCount + tokens.size());
+        replaced.valueCount = this.valueCount;
+
+        int size = this.size - (to - from) + tokens.size();
+        replaced.size = size;
+        replaced.types = new byte[size];
+        replaced.valueIds = new int[size];
+        replaced.starts = new int[size];
+        replaced.ends = new int[size];
+
+        // the tokens before the replaced ones stay the same
+        System.arraycopy(this.types, 0, replaced.types, 0, from);
+        System.arraycopy(this.valueIds, 0, replaced.valueIds, 0, from);
+        System.arraycopy(this.starts, 0, replaced.starts, 0, from);
+        System.arraycopy(this.ends, 0, replaced.ends, 0, from);
+
+        // the new tokens (their values are not de-duplicated against the old values, as we don't keep the index of
+        // the values after finishing)
+        int i = from;
+        for(Token token : tokens) {
+            replaced.types[i] = (byte) token.getType().ordinal();
+            if(token.getValue() == null) replaced.valueIds[i] = -1;
+            else {
+                replaced.valueIds[i] = replaced.valueCount;
+                replaced.values[replaced.valueCount] = token.getValue();
+                if(token.getType() == TokenType.IDENTIFIER) replaced.symbols[replaced.valueCount] = token.getSymbol();
+                replaced.valueCount++;
+            }
+            replaced.starts[i] = token.getStart().getIndex();
+            replaced.ends[i] = token.getEnd().getIndex();
+            i++;
+        }
+
+        // the tokens after the replaced ones are only shifted
+        int count = this.size - to;
+        System.arraycopy(this.types, to, replaced.types, i, count);
+        System.arraycopy(this.valueIds, to, replaced.valueIds, i, count);
+        for(int j = 0; j < count; j++) {
+            replaced.starts[i + j] = this.starts[to + j] + shift;
+            replaced.ends[i + j] = this.ends[to + j] + shift;
+        }
+
+        // remove the values that are not used anymore, if there are too many of them (after a lot of edits)
+        if(replaced.valueCount > 2 * replaced.size + 64) replaced.compactValues();
+
+        replaced.values = Arrays.copyOf(replaced.values, replaced.valueCount);
+        replaced.symbols = Arrays.copyOf(replaced.symbols, replaced.valueCount);
+        replaced.valueIndex = null;
+        return replaced;
+    }
+
+    /**
+     * Removes the values that are not used by any token from {@link #values} (and de-duplicates them)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void compactValues() {
+        String[] values = this.values;
+        Symbol[] symbols = this.symbols;
+        this.values = new String[16];
+        this.symbols = new Symbol[16];
+        this.valueCount = 0;
+        this.valueIndex = new HashMap<>();
+        for(int i = 0; i < this.size; i++) {
+            int id = this.valueIds[i];
+            if(id == -1) continue;
+            this.valueIds[i] = this.valueId(values[id]);
+            if(this.symbols[this.valueIds[i]] == null) this.symbols[this.valueIds[i]] = symbols[id];
+        }
+    }
+
+    /**
+     * Creates a new {@link PackedTokenInputStream} on the same tokens with its own position (starting at -1). The
+     * tokens of a finished {@link PackedTokenInputStream} are never changed, so the arrays are shared and both
+     * {@link PackedTokenInputStream}s can be read by different threads at the same time.
+     *
+     * @return the new {@link PackedTokenInputStream}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public PackedTokenInputStream copy() {
+        if(this.valueIndex != null) throw new Error("The PackedTokenInputStream is not finished yet");
+        PackedTokenInputStream copy = new PackedTokenInputStream(this.source);
+        copy.file = this.file;
+        copy.size = this.size;
+        copy.types = this.types;
+        copy.valueIds = this.valueIds;
+        copy.starts = this.starts;
+        copy.ends = this.ends;
+        copy.values = this.values;
+        copy.symbols = this.symbols;
+        copy.valueCount = this.valueCount;
+        copy.valueIndex = null;
+        return copy;
+    }
+
+
+    // ****************************************************************************
+    // Direct access (without creating tokens)
+
+    /**
+     * Returns the number of tokens in the {@link PackedTokenInputStream}
+     *
+     * @return the number of tokens
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the {@link TokenType} of the token at the given position without creating the {@link Token}
+     *
+     * @param position the position of the token
+     * @return the {@link TokenType} of the token
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public TokenType getType(int position) {
+        testPosition(position);
+        return TYPES[this.types[position]];
+    }
+
+    /**
+     * Returns the value of the token at the given position without creating the {@link Token}
+     *
+     * @param position the position of the token
+     * @return the value of the token
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public String getValue(int position) {
+        testPosition(position);
+        return this.valueIds[position] == -1 ? null : this.values[this.valueIds[position]];
+    }
+
+
+    /**
+     * Returns the index of the first character of the token at the given position without creating the {@link Token}
+     *
+     * @param position the position of the token
+     * @return the start index of the token
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getStart(int position) {
+        testPosition(position);
+        return this.starts[position];
+    }
+
+    /**
+     * Returns the index of the last character of the token at the given position without creating the {@link Token}
+     *
+     * @param position the position of the token
+     * @return the end index of the token
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getEnd(int position) {
+        testPosition(position);
+        return this.ends[position];
+    }
+
+
+    // ****************************************************************************
+    // TokenInputStream
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public void setPosition(int position) {
+        testPosition(position);
+        this.position = position;
+    }
+
+    @Override
+    public Token get(int position) {
+        testPosition(position);
+        return this.createToken(position);
+    }
+
+    @Override
+    public boolean has(int num) {
+        if(num < 1) throw new Error("You should only give positive numbers to this function");
+        return this.position + num < this.size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.position + 1 < this.size;
+    }
+
+    @Override
+    public int remaining() {
+        return this.size - this.position - 1;
+    }
+
+    @Override
+    public Token next() {
+        skip();
+        return actual();
+    }
+
+    @Override
+    public TokenInputStream skip() {
+        if (hasNext()) this.position++;
+        else throw new Error("Input already finished");
+        return this;
+    }
+
+    @Override
+    public TokenInputStream skipIgnorable() {
+        // we can check the types directly, so we don't have to create the tokens
+        while(this.position + 1 < this.size && this.types[this.position + 1] == TokenType.LINE_SEPARATOR.ordinal())
+            this.position++;
+        return this;
+    }
+
+    @Override
+    public Token actual() {
+        return this.createToken(this.position);
+    }
+
+    @Override
+    public Token peek() {
+        if (this.position + 1 < this.size) return this.createToken(this.position + 1);
+        else throw new Error("Not enough tokens left");
+    }
+
+    @Override
+    public Token peek(int num) {
+        if(num < 1) throw new Error("The argument for the peek function should be a number that is bigger than 0.");
+        if (this.position + num < this.size) return this.createToken(this.position + num);
+        else throw new Error("Not enough tokens left");
+    }
+
+    @Override
+    public String toString() {
+        return "PackedTokenInputStream{" +
+                "source='" + source + '\'' +
+                ", size=" + size +
+                ", values=" + valueCount +
+                ", position=" + position +
+                '}';
+    }
+
+    /**
+     * Creates the {@link Token} at the given position
+     *
+     * @param position the position of the token
+     * @return the created {@link Token}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Token createToken(int position) {
+        if(this.types[position] == TokenType.IDENTIFIER.ordinal() && this.symbols[this.valueIds[position]] != null)
+            return new Token(
+                    TokenType.IDENTIFIER,
+                    this.symbols[this.valueIds[position]],
+                    new Position(this.file, this.starts[position]),
+                    new Position(this.file, this.ends[position]));
+        return new Token(
+                TYPES[this.types[position]],
+                this.valueIds[position] == -1 ? null : this.values[this.valueIds[position]],
+                new Position(this.file, this.starts[position]),
+                new Position(this.file, this.ends[position]));
+    }
+
+    /**
+     * This function checks if the given position is a valid position for the {@link PackedTokenInputStream}
+     * throws an error if the position is a wrong one
+     *
+     * @param position the position to check
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void testPosition(int position) {
+        if(position < 0) throw new Error("Position mustn't be smaller than 0.");
+        if(position >= this.size)
+            throw new Error(String.format("The given position is to high. The maximum value is %d, but given was %d", this.size - 1, position));
+    }
+}
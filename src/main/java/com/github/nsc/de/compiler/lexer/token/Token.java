@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.lexer.token;
 
 import com.github.nsc.de.compiler.lexer.Position;
+import com.github.nsc.de.compiler.util.Symbol;
 
 import java.util.Objects;
 
@@ -43,6 +44,15 @@ public class Token {
      */
     private final Position end;
 
+    /**
+     * The {@link Symbol} of the {@link Token} (only for identifiers created by the
+     * {@link com.github.nsc.de.compiler.lexer.Lexer}, in other case null)
+     *
+     * @see Token
+     * @see Symbol
+     */
+    private final Symbol symbol;
+
     /**
      * Constructor for {@link Token}
      *
@@ -64,6 +74,31 @@ public class Token {
         this.value = value;
         this.start = start;
         this.end = end;
+        this.symbol = null;
+    }
+
+    /**
+     * Constructor for {@link Token} with a {@link Symbol} (the {@link Token#value} is the name of the {@link Symbol})
+     *
+     * @param type the {@link Token#type} of the {@link Token}
+     * @param symbol the {@link Token#symbol} of the {@link Token}
+     * @param start the {@link Token#start} of the {@link Token}
+     * @param end the {@link Token#end} of the {@link Token}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     *
+     * @see Token
+     * @see Token#type
+     * @see Token#symbol
+     * @see Token#start
+     * @see Token#end
+     */
+    public Token(TokenType type, Symbol symbol, Position start, Position end) {
+        this.type = type;
+        this.value = symbol.getName();
+        this.start = start;
+        this.end = end;
+        this.symbol = symbol;
     }
 
     /**
@@ -97,7 +132,7 @@ public class Token {
      * @see Token#start
      * @see Token#end
      */
-    public Token(TokenType type, Position start, Position end) { this(type, null, start, end); }
+    public Token(TokenType type, Position start, Position end) { this(type, (String) null, start, end); }
 
     /**
      * Constructor for {@link Token}
@@ -112,7 +147,7 @@ public class Token {
      * @see Token#start
      * @see Token#end
      */
-    public Token(TokenType type, Position position) { this(type, null, position, position); }
+    public Token(TokenType type, Position position) { this(type, (String) null, position, position); }
 
     /**
      * Returns the {@link Token#type} of the {@link Token}
@@ -140,6 +175,20 @@ public class Token {
      */
     public String getValue() { return value; }
 
+    /**
+     * Returns the {@link Token#symbol} of the {@link Token}. If the {@link Token} was not created with a {@link Symbol}
+     * the {@link Symbol} of the {@link Token#value} is returned (null if the {@link Token} has no value)
+     *
+     * @return the {@link Token#symbol} of the {@link Token}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     *
+     * @see Token
+     * @see Token#symbol
+     * @see Symbol
+     */
+    public Symbol getSymbol() { return symbol != null ? symbol : value != null ? Symbol.of(value) : null; }
+
     /**
      * Returns the {@link Token#start} of the {@link Token}
      *
@@ -0,0 +1,182 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.parser.node.ValuedNode;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/**
+ * A {@link NodeFactory} sharing structurally identical constants: each literal and each arithmetic expression whose
+ * operands are both constants is only created once, all further requests for the same structure return that
+ * instance. Expressions with other operands (e.g. variables) are created each time, so only subtrees that always
+ * give the same value are shared.
+ *
+ * The structural hash of each shared node is computed once, so later passes can use {@link #isConstant(ValuedNode)}
+ * and {@link #getStructuralHash(ValuedNode)} to cache results per node. The nodes can be shared across multiple
+ * {@link Parser}s using the same factory, but a factory must not be used by multiple threads at once.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class HashConsingNodeFactory extends NodeFactory {
+
+    // kinds of the keys (the arithmetic expressions use their operator as kind)
+    private static final int INTEGER = 0;
+    private static final int DOUBLE = 1;
+    private static final int TRUE = 2;
+    private static final int FALSE = 3;
+
+    /**
+     * The shared nodes by their structure
+     */
+    private final Map<Key, ValuedNode> nodes = new HashMap<>();
+
+    /**
+     * The structure of each shared node
+     */
+    private final Map<ValuedNode, Key> keys = new IdentityHashMap<>();
+
+    @Override
+    public ValuedNode createInteger(int number) {
+        return this.share(new Key(INTEGER, number, null, null), () -> super.createInteger(number));
+    }
+
+    @Override
+    public ValuedNode createDouble(double number) {
+        return this.share(new Key(DOUBLE, Double.doubleToLongBits(number), null, null), () -> super.createDouble(number));
+    }
+
+    @Override
+    public ValuedNode createTrue() {
+        return this.share(new Key(TRUE, 0, null, null), super::createTrue);
+    }
+
+    @Override
+    public ValuedNode createFalse() {
+        return this.share(new Key(FALSE, 0, null, null), super::createFalse);
+    }
+
+    @Override
+    public ValuedNode createAdd(ValuedNode left, ValuedNode right) {
+        return this.share('+', left, right, () -> super.createAdd(left, right));
+    }
+
+    @Override
+    public ValuedNode createSub(ValuedNode left, ValuedNode right) {
+        return this.share('-', left, right, () -> super.createSub(left, right));
+    }
+
+    @Override
+    public ValuedNode createMul(ValuedNode left, ValuedNode right) {
+        return this.share('*', left, right, () -> super.createMul(left, right));
+    }
+
+    @Override
+    public ValuedNode createDiv(ValuedNode left, ValuedNode right) {
+        return this.share('/', left, right, () -> super.createDiv(left, right));
+    }
+
+    @Override
+    public ValuedNode createMod(ValuedNode left, ValuedNode right) {
+        return this.share('%', left, right, () -> super.createMod(left, right));
+    }
+
+    @Override
+    public ValuedNode createPow(ValuedNode left, ValuedNode right) {
+        return this.share('^', left, right, () -> super.createPow(left, right));
+    }
+
+    /**
+     * Checks if a node is a constant shared by this factory
+     *
+     * @param node the node to check
+     * @return is the node shared by this factory?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public boolean isConstant(ValuedNode node) {
+        return this.keys.containsKey(node);
+    }
+
+    /**
+     * Returns the structural hash of a constant shared by this factory: structurally identical nodes (of all
+     * factories) have the same hash.
+     *
+     * @param node the shared node to get the hash of
+     * @return the structural hash of the node
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getStructuralHash(ValuedNode node) {
+        Key key = this.keys.get(node);
+        if(key == null) throw new Error("The node is not shared by this factory: " + node);
+        return key.hash;
+    }
+
+    /**
+     * @return the number of shared nodes
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    private ValuedNode share(char operator, ValuedNode left, ValuedNode right, Supplier<ValuedNode> create) {
+        Key leftKey = this.keys.get(left);
+        Key rightKey = leftKey == null ? null : this.keys.get(right);
+        if(rightKey == null) return create.get();
+        return this.share(new Key(operator, 0, leftKey, rightKey), create);
+    }
+
+    private ValuedNode share(Key key, Supplier<ValuedNode> create) {
+        ValuedNode node = this.nodes.get(key);
+        if(node == null) {
+            node = create.get();
+            this.nodes.put(key, node);
+            this.keys.put(node, key);
+        }
+        return node;
+    }
+
+
+    // ****************************************************************************
+    // Keys
+
+    /**
+     * The structure of a shared node. The operands are the keys of shared nodes, so they can be compared by identity.
+     */
+    private static final class Key {
+
+        private final int kind;
+        private final long value;
+        private final Key left;
+        private final Key right;
+        private final int hash;
+
+        private Key(int kind, long value, Key left, Key right) {
+            this.kind = kind;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            int hash = 31 * kind + Long.hashCode(value);
+            if(left != null) hash = 31 * (31 * hash + left.hash) + right.hash;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) return true;
+            if(!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return this.hash == key.hash && this.kind == key.kind && this.value == key.value
+                    && this.left == key.left && this.right == key.right;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+}
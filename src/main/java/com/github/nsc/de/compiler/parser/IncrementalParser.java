@@ -0,0 +1,247 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.lexer.IncrementalLexer;
+import com.github.nsc.de.compiler.lexer.TokenChange;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Keeps the {@link Tree} of an input up to date while its tokens change (e.g. using an {@link IncrementalLexer}),
+ * without parsing all tokens again on each change.
+ *
+ * The {@link Parser} has no state between two top-level statements and looks at most at one token behind a statement,
+ * so all statements ending in front of the changed tokens stay the same. Parsing is restarted behind the last of them
+ * and runs until a new statement starts at the (shifted) start of an old statement behind the changed tokens. From
+ * there on the {@link Parser} would create the same statements as before, so the old ones are reused (the same
+ * {@link Node} objects, so results cached per node stay valid).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class IncrementalParser {
+
+    /**
+     * The {@link Parser.Implementation} to parse with
+     */
+    private final Parser.Implementation implementation;
+
+    /**
+     * The actual {@link Tree} (null if nothing is parsed yet or the last change created input that can't be parsed)
+     */
+    private Tree tree;
+
+    /**
+     * The position of the first token of each top-level statement of the {@link #tree}
+     */
+    private int[] starts;
+
+    /**
+     * The position behind the last token of each top-level statement of the {@link #tree}
+     */
+    private int[] ends;
+
+    /**
+     * The number of top-level statements parsed by the last update
+     */
+    private int parsedStatements;
+
+    /**
+     * Constructor for {@link IncrementalParser} using the default {@link Parser.Implementation}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public IncrementalParser() {
+        this(Parser.Implementation.RECURSIVE);
+    }
+
+    /**
+     * Constructor for {@link IncrementalParser}
+     *
+     * @param implementation the {@link Parser.Implementation} to parse with
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public IncrementalParser(Parser.Implementation implementation) {
+        this.implementation = implementation;
+    }
+
+
+    // ****************************************************************************
+    // Getters
+
+    /**
+     * Returns the actual {@link Tree}
+     *
+     * @return the actual {@link Tree} (null if the last update failed)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree getTree() {
+        return tree;
+    }
+
+    /**
+     * Returns the number of top-level statements parsed by the last update (the other ones were reused)
+     *
+     * @return the number of parsed top-level statements
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getParsedStatements() {
+        return parsedStatements;
+    }
+
+
+    // ****************************************************************************
+    // Parsing
+
+    /**
+     * Parses all tokens
+     *
+     * @param tokens the tokens to parse
+     * @return the created {@link Tree}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree parse(TokenInputStream tokens) {
+        this.tree = null;
+        return this.parse(tokens, new Node[0], new int[0], new int[0], 0, 0, null);
+    }
+
+    /**
+     * Updates the {@link Tree} after the tokens were changed
+     *
+     * @param tokens the new tokens
+     * @param changes the changes from the tokens of the actual {@link Tree} to the new tokens, in the order they were
+     *                applied (e.g. the {@link IncrementalLexer#getLastChange()} of each edit, a null change means that
+     *                the tokens were lexed again completely)
+     * @return the updated {@link Tree}
+     * @throws Parser.ParserError if the new tokens can't be parsed (the next update parses all tokens again)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree update(TokenInputStream tokens, List<TokenChange> changes) {
+
+        if(changes.isEmpty() && this.tree != null) {
+            this.parsedStatements = 0;
+            return this.tree;
+        }
+
+        TokenChange change = null;
+        for(TokenChange next : changes) {
+            if(next == null) return this.parse(tokens);
+            change = change == null ? next : change.then(next);
+        }
+        if(this.tree == null) return this.parse(tokens);
+
+        Node[] old = this.tree.getChildren();
+        this.tree = null;
+
+        // the first statement that looked at a changed token (the token behind a statement is looked at to see that it ends)
+        int first = 0;
+        int high = old.length;
+        while(first < high) {
+            int middle = (first + high) >>> 1;
+            if(this.ends[middle] < change.getFrom()) first = middle + 1;
+            else high = middle;
+        }
+
+        return this.parse(tokens, old, this.starts, this.ends, first, first == 0 ? 0 : this.ends[first - 1], change);
+
+    }
+
+    /**
+     * Parses top-level statements, reusing the old statements in front of the first one and the ones behind the change
+     * that the new statements synchronize with
+     *
+     * @param tokens the tokens to parse
+     * @param old the old statements
+     * @param starts the start positions of the old statements
+     * @param ends the end positions of the old statements
+     * @param first the first old statement that has to be parsed again
+     * @param position the position to start parsing at
+     * @param change the change of the tokens (null to not reuse any old statements behind the start)
+     * @return the created {@link Tree}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Tree parse(TokenInputStream tokens, Node[] old, int[] starts, int[] ends, int first, int position, TokenChange change) {
+
+        Parser parser = Parser.create(tokens, this.implementation);
+        if(position > 0) tokens.setPosition(position - 1);
+        else if(tokens.getPosition() != -1) throw new Error("The tokens to parse from the start must not be read yet");
+
+        int capacity = Math.max(old.length, 16);
+        Node[] nodes = Arrays.copyOf(old, capacity);
+        int[] newStarts = Arrays.copyOf(starts, capacity);
+        int[] newEnds = Arrays.copyOf(ends, capacity);
+        int size = first;
+        int parsed = 0;
+
+        // the old statement to synchronize with
+        int sync = first;
+
+        parser.skipSeparators();
+        while(tokens.hasNext()) {
+
+            int start = tokens.getPosition() + 1;
+
+            // behind the change the old statements can be reused, if a new one starts where an old one started
+            if(change != null && start >= change.getNewEnd()) {
+                int oldStart = start - change.getShift();
+                while(sync < old.length && starts[sync] < oldStart) sync++;
+                if(sync < old.length && starts[sync] == oldStart) {
+                    int reused = old.length - sync;
+                    if(size + reused > nodes.length) {
+                        nodes = Arrays.copyOf(nodes, size + reused);
+                        newStarts = Arrays.copyOf(newStarts, size + reused);
+                        newEnds = Arrays.copyOf(newEnds, size + reused);
+                    }
+                    System.arraycopy(old, sync, nodes, size, reused);
+                    for(int i = 0; i < reused; i++) {
+                        newStarts[size + i] = starts[sync + i] + change.getShift();
+                        newEnds[size + i] = ends[sync + i] + change.getShift();
+                    }
+                    size += reused;
+                    return this.finish(nodes, newStarts, newEnds, size, parsed);
+                }
+            }
+
+            Node node = parser.parseOperation();
+            int end = tokens.getPosition() + 1;
+            if(end == start) break;
+
+            if(node != null) {
+                if(size == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, size * 2);
+                    newStarts = Arrays.copyOf(newStarts, size * 2);
+                    newEnds = Arrays.copyOf(newEnds, size * 2);
+                }
+                nodes[size] = node;
+                newStarts[size] = start;
+                newEnds[size] = end;
+                size++;
+                parsed++;
+            }
+
+            parser.skipSeparators();
+
+        }
+
+        if(tokens.hasNext()) throw parser.new ParserError("Input did not end");
+        return this.finish(nodes, newStarts, newEnds, size, parsed);
+
+    }
+
+    private Tree finish(Node[] nodes, int[] starts, int[] ends, int size, int parsed) {
+        this.tree = new Tree(size == nodes.length ? nodes : Arrays.copyOf(nodes, size));
+        this.starts = starts;
+        this.ends = ends;
+        this.parsedStatements = parsed;
+        return this.tree;
+    }
+}
@@ -0,0 +1,389 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+import com.github.nsc.de.compiler.parser.node.*;
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+
+/**
+ * A {@link Parser} that parses expressions, blocks and the bodies of loops, ifs and functions using explicit stacks on
+ * the heap instead of recursion, so deeply nested input (e.g. machine-generated code) does not overflow the stack of
+ * the jvm. It emits the same nodes to the {@link TreeBuilder} as the {@link Parser}.
+ *
+ * Only constructs that are rarely nested deeply are still parsed recursively (class bodies, declarations with
+ * modifiers, arguments of function calls and the values of assignments).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class IterativeParser extends Parser {
+
+    // ****************************************************************************
+    // markers on the operator stack (binary operators are stored as the ordinal of their TokenType)
+
+    private static final int PARENTHESIS = -1;
+    private static final int UNARY_ADD = -2;
+    private static final int UNARY_SUB = -3;
+
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    /**
+     * The number of frames pushed on the stacks of frames and the highest stack of frames (each block and each
+     * statement with a body is pushed once, so both grow linearly with the nesting of the input)
+     */
+    long framePushes;
+    int maxFrames;
+
+    /**
+     * The number of operators pushed on the operator stacks and the highest operator stack
+     */
+    long operatorPushes;
+    int maxOperators;
+
+    public IterativeParser(TokenInputStream in) {
+        super(in);
+    }
+
+    public IterativeParser(TokenInputStream in, NodeFactory factory) {
+        super(in, factory);
+    }
+
+
+    // ****************************************************************************
+    // Blocks
+
+    @Override
+    protected void prog() {
+        this.statements(new Block(Block.PROGRAM, this.getBuilder().mark()));
+    }
+
+    @Override
+    protected boolean operation() {
+        Block block = new Block(Block.SINGLE, this.getBuilder().mark());
+        this.statements(block);
+        return this.getBuilder().mark() > block.mark;
+    }
+
+    /**
+     * Parses statements until the given {@link Block} ends. Statements with a body push themselves and their body on
+     * the stack of frames; they are completed when their body ends. A {@link Block#SINGLE} root is not put into a
+     * block (it is a single operation, that may also be missing).
+     *
+     * @param root the outermost {@link Block}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void statements(Block root) {
+
+        TreeBuilder<?> builder = this.getBuilder();
+        Deque<Object> frames = new ArrayDeque<>();
+        this.open(frames, root);
+
+        while(true) {
+
+            Block block = (Block) frames.peek();
+
+            if(block.kind == Block.SINGLE || (this.getInput().hasNext() && block.position < this.getInput().getPosition())) {
+
+                // the next operation of the block
+                block.position = this.getInput().getPosition();
+                Statement statement = this.statement();
+                if(statement != null) {
+                    this.push(frames, statement);
+                    this.openBody(frames);
+                    continue;
+                }
+
+                boolean emitted = super.operation();
+                if(block.kind != Block.SINGLE) {
+                    this.skipSeparators();
+                    continue;
+                }
+                if(!emitted && block != root) builder.nothing();
+
+            }
+            else if(block.kind == Block.CURLY) {
+                if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RCURL) throw new ParserError("Expecting '}'", getInput().getPosition());
+            }
+
+            // the block ended, so it completes the statements waiting for it
+            frames.pop();
+            if(block == root) {
+                if(block.kind != Block.SINGLE) builder.block(block.mark);
+                return;
+            }
+            builder.block(block.mark);
+
+            while(true) {
+                Statement statement = (Statement) frames.peek();
+                if(statement.type == TokenType.KEYWORD_IF && !statement.hasElse && this.elseFollows()) {
+                    statement.hasElse = true;
+                    this.openBody(frames);
+                    break;
+                }
+                frames.pop();
+                statement.complete();
+
+                Block parent = (Block) frames.peek();
+                if(parent.kind != Block.SINGLE) {
+                    this.skipSeparators();
+                    break;
+                }
+                frames.pop();
+                if(parent == root) return;
+                builder.block(parent.mark);
+            }
+
+        }
+
+    }
+
+    /**
+     * Parses the head of a statement with a body (everything in front of the body)
+     *
+     * @return the {@link Statement} waiting for its body (or null if the next operation has no body)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Statement statement() {
+
+        TokenType type = this.getInput().peek().getType();
+        switch(type) {
+
+            case KEYWORD_WHILE:
+            case KEYWORD_IF: {
+                this.getInput().skip();
+                Statement statement = new Statement(type, this.getBuilder().mark());
+                this.parseConditionStatement();
+                return statement;
+            }
+
+            case KEYWORD_DO:
+                this.getInput().skip();
+                return new Statement(type, this.getBuilder().mark());
+
+            case KEYWORD_FOR: {
+                this.getInput().skip();
+                Statement statement = new Statement(type, this.getBuilder().mark());
+                if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.LPAREN) throw new ParserError("Expecting '('");
+                this.optionalOperation();
+                this.awaitSemicolon();
+                this.expression();
+                this.awaitSemicolon();
+                this.optionalOperation();
+                if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RPAREN) throw new ParserError("Expecting ')'");
+                return statement;
+            }
+
+            case KEYWORD_FUNCTION: {
+                this.getInput().skip();
+                if(!this.getInput().hasNext() || this.getInput().peek().getType() != TokenType.IDENTIFIER) throw new ParserError("Expecting identifier");
+                Statement statement = new Statement(type, this.getBuilder().mark());
+                statement.name = this.getInput().next().getSymbol();
+                this.functionArguments();
+                return statement;
+            }
+
+            default:
+                return null;
+        }
+
+    }
+
+    /**
+     * Opens the body of a statement: a block in curly brackets or a single operation
+     *
+     * @param frames the stack of frames to push the body on
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void openBody(Deque<Object> frames) {
+        this.skipSeparators();
+        if(this.getInput().peek().getType() == TokenType.LCURL) {
+            this.getInput().skip();
+            this.open(frames, new Block(Block.CURLY, this.getBuilder().mark()));
+        }
+        else this.open(frames, new Block(Block.SINGLE, this.getBuilder().mark()));
+    }
+
+    private void open(Deque<Object> frames, Block block) {
+        this.push(frames, block);
+        if(block.kind != Block.SINGLE) this.skipSeparators();
+    }
+
+    private void push(Deque<Object> frames, Object frame) {
+        frames.push(frame);
+        this.framePushes++;
+        if(frames.size() > this.maxFrames) this.maxFrames = frames.size();
+    }
+
+    private boolean elseFollows() {
+        boolean separator = skipSeparators() > 0;
+        if(this.getInput().hasNext() && this.getInput().peek().getType() == TokenType.KEYWORD_ELSE) {
+            if(!separator) throw new ParserError("Awaited separator at this point");
+            this.getInput().skip();
+            return true;
+        }
+        return false;
+    }
+
+
+    // ****************************************************************************
+    // Expressions
+
+    /**
+     * Parses an expression using an operator stack (the operands are on the stack of the {@link TreeBuilder}). The
+     * opening parentheses and the prefix operators are kept on the operator stack as markers until their operand is
+     * complete.
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    @Override
+    protected void expression() {
+
+        TreeBuilder<?> builder = this.getBuilder();
+        int[] operators = new int[16];
+        int operatorCount = 0;
+        int parentheses = 0;
+
+        while(true) {
+
+            // prefixes of the operand (the prefix operators take 0 as their left operand)
+            TokenType type = this.getInput().peek().getType();
+            if(type == TokenType.LPAREN || type == TokenType.ADD || type == TokenType.SUB) {
+                this.getInput().skip();
+                if(operatorCount == operators.length) operators = Arrays.copyOf(operators, operatorCount * 2);
+                operators[operatorCount++] = type == TokenType.LPAREN ? PARENTHESIS : type == TokenType.ADD ? UNARY_ADD : UNARY_SUB;
+                this.operatorPushes++;
+                if(operatorCount > this.maxOperators) this.maxOperators = operatorCount;
+                if(type == TokenType.LPAREN) parentheses++;
+                else builder.integer(0);
+                continue;
+            }
+
+            // no prefix left, so it is a literal or an identifier
+            this.factor();
+
+            while(true) {
+
+                // the prefix operators bind stronger than all binary operators
+                while(operatorCount > 0 && operators[operatorCount - 1] <= UNARY_ADD)
+                    builder.operation(operators[--operatorCount] == UNARY_ADD ? NodeKind.ADD : NodeKind.SUB);
+
+                // complete the operators that bind at least as strong as the next one (all are left-associative)
+                int bindingPower = this.getInput().hasNext() ? BINDING_POWER[this.getInput().peek().getType().ordinal()] : 0;
+                while(operatorCount > 0 && operators[operatorCount - 1] >= 0 && BINDING_POWER[operators[operatorCount - 1]] >= bindingPower)
+                    this.binaryOperation(TOKEN_TYPES[operators[--operatorCount]]);
+
+                if(bindingPower > 0) {
+                    if(operatorCount == operators.length) operators = Arrays.copyOf(operators, operatorCount * 2);
+                    operators[operatorCount++] = this.getInput().next().getType().ordinal();
+                    this.operatorPushes++;
+                    if(operatorCount > this.maxOperators) this.maxOperators = operatorCount;
+                    break;
+                }
+
+                if(parentheses == 0) return;
+                if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RPAREN) throw new ParserError("Expecting ')'", getInput().getPosition());
+
+                // the parenthesis is now on top of the operator stack
+                operatorCount--;
+                parentheses--;
+
+            }
+        }
+
+    }
+
+
+    // ****************************************************************************
+    // Frames
+
+    /**
+     * A block of operations that is still parsed
+     */
+    private static class Block {
+
+        /**
+         * The whole program (ends at the end of the input or at a token that does not start an operation)
+         */
+        static final int PROGRAM = 0;
+
+        /**
+         * A block in curly brackets
+         */
+        static final int CURLY = 1;
+
+        /**
+         * A body that is a single operation
+         */
+        static final int SINGLE = 2;
+
+        final int kind;
+
+        /**
+         * The height of the stack of the {@link TreeBuilder} in front of the first node of the block
+         */
+        final int mark;
+
+        /**
+         * The position of the last operation (a block ends if an operation does not consume any token)
+         */
+        int position = -2;
+
+        Block(int kind, int mark) {
+            this.kind = kind;
+            this.mark = mark;
+        }
+    }
+
+    /**
+     * A statement waiting for its body (the parts in front of the body are already emitted)
+     */
+    private class Statement {
+
+        final TokenType type;
+
+        /**
+         * The height of the stack of the {@link TreeBuilder} in front of the statement
+         */
+        final int mark;
+
+        /**
+         * The name of a function
+         */
+        Symbol name;
+
+        /**
+         * Is the else-body of an if parsed (so the body is already emitted)?
+         */
+        boolean hasElse;
+
+        Statement(TokenType type, int mark) {
+            this.type = type;
+            this.mark = mark;
+        }
+
+        void complete() {
+            TreeBuilder<?> builder = getBuilder();
+            switch(this.type) {
+                case KEYWORD_WHILE: builder.whileLoop(); return;
+                case KEYWORD_FOR: builder.forLoop(); return;
+                case KEYWORD_IF: builder.ifStatement(hasElse); return;
+                case KEYWORD_FUNCTION: builder.function(name, mark, AccessDescriber.PACKAGE, false, false, false); return;
+                case KEYWORD_DO: {
+                    skipSeparators();
+                    if(!getInput().hasNext() || getInput().next().getType() != TokenType.KEYWORD_WHILE) throw new ParserError("Expecting while keyword");
+                    parseConditionStatement();
+                    builder.doWhileLoop();
+                    return;
+                }
+                default: throw new Error("Not a statement with a body: " + type);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.parser.node.ValuedNode;
+import com.github.nsc.de.compiler.parser.node.expression.*;
+import com.github.nsc.de.compiler.parser.node.logical.LogicalFalseNode;
+import com.github.nsc.de.compiler.parser.node.logical.LogicalTrueNode;
+
+
+/**
+ * Creates the literals and the arithmetic nodes for the {@link Parser}. This factory creates a new node each time,
+ * the {@link HashConsingNodeFactory} shares structurally identical constant nodes instead.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class NodeFactory {
+
+    public ValuedNode createInteger(int number) {
+        return new IntegerNode(number);
+    }
+
+    public ValuedNode createDouble(double number) {
+        return new DoubleNode(number);
+    }
+
+    public ValuedNode createTrue() {
+        return new LogicalTrueNode();
+    }
+
+    public ValuedNode createFalse() {
+        return new LogicalFalseNode();
+    }
+
+    public ValuedNode createAdd(ValuedNode left, ValuedNode right) {
+        return new AddNode(left, right);
+    }
+
+    public ValuedNode createSub(ValuedNode left, ValuedNode right) {
+        return new SubNode(left, right);
+    }
+
+    public ValuedNode createMul(ValuedNode left, ValuedNode right) {
+        return new MulNode(left, right);
+    }
+
+    public ValuedNode createDiv(ValuedNode left, ValuedNode right) {
+        return new DivNode(left, right);
+    }
+
+    public ValuedNode createMod(ValuedNode left, ValuedNode right) {
+        return new ModNode(left, right);
+    }
+
+    public ValuedNode createPow(ValuedNode left, ValuedNode right) {
+        return new PowNode(left, right);
+    }
+
+}
@@ -0,0 +1,291 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.parser.node.*;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.logical.*;
+import com.github.nsc.de.compiler.parser.node.loops.DoWhileNode;
+import com.github.nsc.de.compiler.parser.node.loops.ForNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.variables.*;
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * The {@link TreeBuilder} creating a {@link Tree} of object-nodes (the default of the {@link Parser}). The literals
+ * and the arithmetic nodes are created by a {@link NodeFactory}, so a {@link HashConsingNodeFactory} can share them.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class ObjectTreeBuilder implements TreeBuilder<Tree> {
+
+    /**
+     * The {@link NodeFactory} creating the literals and the arithmetic nodes
+     */
+    private final NodeFactory factory;
+
+    /**
+     * The stack of the nodes that are not part of another node yet
+     */
+    private Node[] stack;
+
+    /**
+     * The height of the {@link #stack}
+     */
+    private int size;
+
+    /**
+     * Constructor for {@link ObjectTreeBuilder}
+     *
+     * @param factory the {@link NodeFactory} creating the literals and the arithmetic nodes
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ObjectTreeBuilder(NodeFactory factory) {
+        this.factory = factory;
+        this.stack = new Node[64];
+        this.size = 0;
+    }
+
+    /**
+     * Constructor for {@link ObjectTreeBuilder} creating new nodes for all literals
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ObjectTreeBuilder() {
+        this(new NodeFactory());
+    }
+
+
+    // ****************************************************************************
+    // Stack
+
+    private void push(Node node) {
+        if(size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+        stack[size++] = node;
+    }
+
+    /**
+     * Removes the node on top of the stack
+     *
+     * @return the removed node
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Node pop() {
+        if(size == 0) throw new Error("The stack of the tree builder is empty");
+        Node node = stack[--size];
+        stack[size] = null;
+        return node;
+    }
+
+    private ValuedNode valued() {
+        return (ValuedNode) this.pop();
+    }
+
+    private Tree tree() {
+        return (Tree) this.pop();
+    }
+
+    /**
+     * Removes all nodes above the given mark from the stack
+     *
+     * @param mark the height of the stack in front of the first node to remove
+     * @param type the type of the array to return the nodes in
+     * @return the removed nodes (in the order they were added)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private <N> N[] popAll(int mark, Class<? extends N[]> type) {
+        N[] nodes = Arrays.copyOfRange(stack, mark, size, type);
+        Arrays.fill(stack, mark, size, null);
+        size = mark;
+        return nodes;
+    }
+
+
+    // ****************************************************************************
+    // Literals
+
+    @Override
+    public void integer(int value) {
+        this.push(factory.createInteger(value));
+    }
+
+    @Override
+    public void number(double value) {
+        this.push(factory.createDouble(value));
+    }
+
+    @Override
+    public void bool(boolean value) {
+        this.push(value ? factory.createTrue() : factory.createFalse());
+    }
+
+    @Override
+    public void nothing() {
+        this.push(null);
+    }
+
+
+    // ****************************************************************************
+    // Operations & Variables
+
+    @Override
+    public void operation(int kind) {
+
+        switch(kind) {
+            case NodeKind.VARIABLE_USAGE: this.push(new VariableUsageNode((IdentifierNode) this.pop())); return;
+            case NodeKind.VARIABLE_INCREASE: this.push(new VariableIncreaseNode(this.valued())); return;
+            case NodeKind.VARIABLE_DECREASE: this.push(new VariableDecreaseNode(this.valued())); return;
+        }
+
+        Node right = this.pop();
+        ValuedNode left = this.valued();
+
+        switch(kind) {
+            case NodeKind.ADD: this.push(factory.createAdd(left, (ValuedNode) right)); break;
+            case NodeKind.SUB: this.push(factory.createSub(left, (ValuedNode) right)); break;
+            case NodeKind.MUL: this.push(factory.createMul(left, (ValuedNode) right)); break;
+            case NodeKind.DIV: this.push(factory.createDiv(left, (ValuedNode) right)); break;
+            case NodeKind.MOD: this.push(factory.createMod(left, (ValuedNode) right)); break;
+            case NodeKind.POW: this.push(factory.createPow(left, (ValuedNode) right)); break;
+            case NodeKind.EQ_EQUALS: this.push(new LogicalEqEqualsNode(left, (ValuedNode) right)); break;
+            case NodeKind.BIGGER_EQUALS: this.push(new LogicalBiggerEqualsNode(left, (ValuedNode) right)); break;
+            case NodeKind.SMALLER_EQUALS: this.push(new LogicalSmallerEqualsNode(left, (ValuedNode) right)); break;
+            case NodeKind.BIGGER: this.push(new LogicalBiggerNode(left, (ValuedNode) right)); break;
+            case NodeKind.SMALLER: this.push(new LogicalSmallerNode(left, (ValuedNode) right)); break;
+            case NodeKind.LOGICAL_AND: this.push(new LogicalAndNode(left, (ValuedNode) right)); break;
+            case NodeKind.LOGICAL_OR: this.push(new LogicalOrNode(left, (ValuedNode) right)); break;
+            case NodeKind.VARIABLE_ASSIGNMENT: this.push(new VariableAssignmentNode(left, right)); break;
+            case NodeKind.VARIABLE_ADD_ASSIGNMENT: this.push(new VariableAddAssignmentNode(left, right)); break;
+            case NodeKind.VARIABLE_SUB_ASSIGNMENT: this.push(new VariableSubAssignmentNode(left, right)); break;
+            case NodeKind.VARIABLE_MUL_ASSIGNMENT: this.push(new VariableMulAssignmentNode(left, right)); break;
+            case NodeKind.VARIABLE_DIV_ASSIGNMENT: this.push(new VariableDivAssignmentNode(left, right)); break;
+            case NodeKind.VARIABLE_MOD_ASSIGNMENT: this.push(new VariableModAssignmentNode(left, right)); break;
+            case NodeKind.VARIABLE_POW_ASSIGNMENT: this.push(new VariablePowAssignmentNode(left, right)); break;
+            default: throw new Error("Not an operation: " + kind);
+        }
+
+    }
+
+    @Override
+    public void identifier(Symbol name, boolean hasParent) {
+        this.push(new IdentifierNode(hasParent ? this.valued() : null, name));
+    }
+
+    @Override
+    public void declaration(Symbol name, VariableType type, boolean hasAssignment, AccessDescriber access,
+                            boolean isInClass, boolean isStatic, boolean isFinal) {
+        VariableAssignmentNode assignment = hasAssignment ? (VariableAssignmentNode) this.pop() : null;
+        this.push(new VariableDeclarationNode(name, type, assignment, access, isInClass, isStatic, isFinal));
+    }
+
+
+    // ****************************************************************************
+    // Blocks, Loops & If
+
+    @Override
+    public int mark() {
+        return size;
+    }
+
+    @Override
+    public void block(int mark) {
+        this.push(new Tree(this.popAll(mark, Node[].class)));
+    }
+
+    @Override
+    public void whileLoop() {
+        Tree body = this.tree();
+        this.push(new WhileNode(body, this.valued()));
+    }
+
+    @Override
+    public void doWhileLoop() {
+        ValuedNode condition = this.valued();
+        this.push(new DoWhileNode(this.tree(), condition));
+    }
+
+    @Override
+    public void forLoop() {
+        Tree body = this.tree();
+        Node round = this.pop();
+        ValuedNode condition = this.valued();
+        this.push(new ForNode(body, this.pop(), condition, round));
+    }
+
+    @Override
+    public void ifStatement(boolean hasElse) {
+        Tree elseBody = hasElse ? this.tree() : null;
+        Tree body = this.tree();
+        this.push(hasElse ? new IfNode(body, elseBody, this.valued()) : new IfNode(body, this.valued()));
+    }
+
+
+    // ****************************************************************************
+    // Functions & Classes
+
+    @Override
+    public void argument(Symbol name) {
+        this.push(new FunctionArgumentNode(name.getName()));
+    }
+
+    @Override
+    public void function(Symbol name, int mark, AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+        Tree body = this.tree();
+        this.push(new FunctionDeclarationNode(name.getName(), body, this.popAll(mark, FunctionArgumentNode[].class),
+                access, isInClass, isStatic, isFinal));
+    }
+
+    @Override
+    public void call(int mark) {
+        ValuedNode[] args = this.popAll(mark + 1, ValuedNode[].class);
+        this.push(new FunctionCallNode(this.valued(), args));
+    }
+
+    @Override
+    public void construction() {
+        FunctionCallNode call = (FunctionCallNode) this.pop();
+        this.push(new ClassConstructionNode(call.getFunction(), call.getArgs()));
+    }
+
+    @Override
+    public void classDeclaration(Symbol name, int mark, AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+
+        List<VariableDeclarationNode> fields = new ArrayList<>();
+        List<FunctionDeclarationNode> methods = new ArrayList<>();
+        List<ClassDeclarationNode> classes = new ArrayList<>();
+
+        for(Node node : this.popAll(mark, Node[].class)) {
+            if(node instanceof ClassDeclarationNode) classes.add((ClassDeclarationNode) node);
+            else if(node instanceof FunctionDeclarationNode) methods.add((FunctionDeclarationNode) node);
+            else if(node instanceof VariableDeclarationNode) fields.add((VariableDeclarationNode) node);
+        }
+
+        this.push(new ClassDeclarationNode(name.getName(), fields, methods, classes, access, isInClass, isStatic, isFinal));
+
+    }
+
+
+    // ****************************************************************************
+    // Result
+
+    @Override
+    public int getKind() {
+        Node node = stack[size - 1];
+        return node != null ? node.getKind() : NodeKind.NULL;
+    }
+
+    @Override
+    public Tree build() {
+        return this.tree();
+    }
+}
@@ -0,0 +1,283 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.lexer.ParallelLexer;
+import com.github.nsc.de.compiler.lexer.token.ArrayTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.PackedTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+
+/**
+ * Parses big inputs in parallel. The tokens are split into chunks in front of top-level class and function
+ * declarations (found by a fast pre-scan matching the braces and parentheses of the tokens). The chunks are parsed by
+ * normal {@link Parser}s on a {@link ForkJoinPool} and the top-level statements of the chunks are put together in
+ * source order.
+ *
+ * The {@link Parser} has no state between two top-level statements, so a chunk is parsed the same way as by the
+ * sequential {@link Parser}, as long as its last statement ends at the end of the chunk. The chunks are parsed on the
+ * whole tokens (so the {@link Parser} looks at the same tokens behind a statement) and it is checked that no statement
+ * runs over the end of its chunk. If that fails or parsing any chunk fails, all tokens are parsed again by the
+ * sequential {@link Parser}, so the result and the errors are always the same as the ones of the sequential
+ * {@link Parser}.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ *
+ * @see ParallelLexer
+ */
+public class ParallelParser {
+
+    /**
+     * The minimum number of tokens of a chunk (smaller inputs are parsed sequentially)
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 12;
+
+    /**
+     * The number of chunks per thread of the {@link ForkJoinPool} (more chunks than threads, so a thread that
+     * finished its chunk early can take another one)
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The tokens to parse
+     */
+    private final TokenInputStream in;
+
+    /**
+     * The {@link Parser.Implementation} to parse the chunks with
+     */
+    private final Parser.Implementation implementation;
+
+    /**
+     * The {@link ForkJoinPool} to parse the chunks on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor for {@link ParallelParser} using the default {@link Parser.Implementation} and the common
+     * {@link ForkJoinPool}
+     *
+     * @param in the tokens to parse
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ParallelParser(TokenInputStream in) {
+        this(in, Parser.Implementation.RECURSIVE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for {@link ParallelParser}
+     *
+     * @param in the tokens to parse (only an {@link ArrayTokenInputStream} or a finished
+     *           {@link PackedTokenInputStream} is parsed in parallel, other inputs are parsed sequentially)
+     * @param implementation the {@link Parser.Implementation} to parse the chunks with
+     * @param pool the {@link ForkJoinPool} to parse the chunks on
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public ParallelParser(TokenInputStream in, Parser.Implementation implementation, ForkJoinPool pool) {
+        this.in = in;
+        this.implementation = implementation;
+        this.pool = pool;
+    }
+
+    /**
+     * Parses the tokens in parallel
+     *
+     * @return the {@link Tree} (the same as {@link Parser#parse()} would create)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree parse() {
+
+        // the tokens are only split if every chunk can get its own stream on them
+        int size;
+        IntFunction<TokenType> types;
+        if(this.in instanceof ArrayTokenInputStream && this.in.getPosition() == -1) {
+            ArrayTokenInputStream tokens = (ArrayTokenInputStream) this.in;
+            size = tokens.getTokens().length;
+            types = i -> tokens.getTokens()[i].getType();
+        }
+        else if(this.in instanceof PackedTokenInputStream && this.in.getPosition() == -1) {
+            PackedTokenInputStream tokens = (PackedTokenInputStream) this.in;
+            size = tokens.size();
+            types = tokens::getType;
+        }
+        else return Parser.create(this.in, this.implementation).parse();
+
+        // split the tokens (small inputs are not split)
+        int chunks = Math.min(this.pool.getParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_SIZE);
+        int[] splits = split(types, size, chunks);
+        if(splits.length <= 2) return Parser.create(this.in, this.implementation).parse();
+
+        // parse the chunks
+        List<ForkJoinTask<Node[]>> tasks = new ArrayList<>(splits.length - 1);
+        for(int i = 0; i + 1 < splits.length; i++) {
+            final int from = splits[i];
+            final int to = splits[i + 1];
+            tasks.add(this.pool.submit(() -> this.parseChunk(from, to)));
+        }
+
+        Node[][] results = new Node[tasks.size()][];
+        try {
+            for(int i = 0; i < results.length; i++) results[i] = tasks.get(i).join();
+        } catch (RuntimeException | Error e) {
+            results = null;
+        }
+
+        if(results == null || Arrays.asList(results).contains(null)) {
+
+            // parse the tokens sequentially to get the same tree (or error) as the sequential parser
+            for(ForkJoinTask<Node[]> task : tasks) task.cancel(false);
+            return Parser.create(this.in, this.implementation).parse();
+
+        }
+
+        // put the statements of the chunks together
+        int count = 0;
+        for(Node[] result : results) count += result.length;
+        Node[] nodes = new Node[count];
+        int position = 0;
+        for(Node[] result : results) {
+            System.arraycopy(result, 0, nodes, position, result.length);
+            position += result.length;
+        }
+        this.in.setPosition(size - 1);
+        return new Tree(nodes);
+
+    }
+
+    /**
+     * Parses the top-level statements of a chunk (the same way {@link Parser#prog()} does)
+     *
+     * @param from the position of the first token of the chunk
+     * @param to the position after the last token of the chunk
+     * @return the statements of the chunk or null if a statement did not end at the end of the chunk
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Node[] parseChunk(int from, int to) {
+
+        TokenInputStream tokens = this.in instanceof PackedTokenInputStream
+                ? ((PackedTokenInputStream) this.in).copy()
+                : new ArrayTokenInputStream(this.in.getSource(), ((ArrayTokenInputStream) this.in).getTokens());
+        if(from > 0) tokens.setPosition(from - 1);
+
+        Parser parser = Parser.create(tokens, this.implementation);
+        List<Node> nodes = new ArrayList<>();
+        parser.skipSeparators();
+
+        while(tokens.hasNext() && tokens.getPosition() + 1 < to) {
+            int position = tokens.getPosition();
+            Node result = parser.parseOperation();
+            if(result != null) nodes.add(result);
+            if(tokens.getPosition() == position) return null;
+            parser.skipSeparators();
+        }
+
+        return tokens.getPosition() + 1 == to ? nodes.toArray(new Node[0]) : null;
+
+    }
+
+    /**
+     * Finds the positions to split the tokens at. The tokens are only split in front of a class or function
+     * declaration (including its modifiers) outside of any braces or parentheses that follows a separator behind a
+     * closing brace, so the statement in front of it can't continue into the declaration.
+     *
+     * @param types the {@link TokenType}s of the tokens by their position
+     * @param size the number of tokens
+     * @param chunks the number of chunks to split the tokens into
+     * @return the positions of the chunks (starting with 0 and ending with size)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    static int[] split(IntFunction<TokenType> types, int size, int chunks) {
+
+        if(chunks < 2) return new int[] { 0, size };
+
+        int[] splits = new int[chunks + 1];
+        int count = 0;
+        splits[count++] = 0;
+
+        int chunkSize = size / chunks;
+        int next = chunkSize;
+        int depth = 0;
+
+        // the type of the last token that is no separator and if there was a separator behind it
+        TokenType last = null;
+        boolean separator = false;
+
+        for(int i = 0; i < size && count < chunks; i++) {
+            TokenType type = types.apply(i);
+            switch (type) {
+
+                case LCURL:
+                case LPAREN:
+                    depth++;
+                    break;
+
+                case RCURL:
+                case RPAREN:
+                    depth--;
+                    break;
+
+                case LINE_SEPARATOR:
+                case SEMICOLON:
+                    separator = true;
+                    continue;
+
+                case KEYWORD_CLASS:
+                case KEYWORD_FUNCTION:
+                case KEYWORD_PUBLIC:
+                case KEYWORD_PROTECTED:
+                case KEYWORD_PRIVATE:
+                case KEYWORD_STATIC:
+                case KEYWORD_FINAL:
+                    if(depth == 0 && i >= next && last == TokenType.RCURL && separator && isDeclaration(types, i, size)) {
+                        splits[count++] = i;
+                        next = i + chunkSize;
+                    }
+                    break;
+
+                default:
+                    break;
+
+            }
+            last = type;
+            separator = false;
+        }
+
+        splits = Arrays.copyOf(splits, count + 1);
+        splits[count] = size;
+        return splits;
+
+    }
+
+    /**
+     * Checks if a class or function declaration starts at the given position (skipping its modifiers)
+     *
+     * @param types the {@link TokenType}s of the tokens by their position
+     * @param position the position of the first token
+     * @param size the number of tokens
+     * @return does a class or function declaration start at the position?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static boolean isDeclaration(IntFunction<TokenType> types, int position, int size) {
+        for(int i = position; i < size; i++) {
+            TokenType type = types.apply(i);
+            if(type == TokenType.KEYWORD_CLASS || type == TokenType.KEYWORD_FUNCTION) return true;
+            if(type != TokenType.KEYWORD_PUBLIC && type != TokenType.KEYWORD_PROTECTED && type != TokenType.KEYWORD_PRIVATE
+                    && type != TokenType.KEYWORD_STATIC && type != TokenType.KEYWORD_FINAL) return false;
+        }
+        return false;
+    }
+}
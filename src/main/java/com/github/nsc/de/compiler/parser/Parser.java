@@ -5,38 +5,164 @@ import com.github.nsc.de.compiler.lexer.token.Token;
 import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
 import com.github.nsc.de.compiler.lexer.token.TokenType;
 import com.github.nsc.de.compiler.parser.node.*;
-import com.github.nsc.de.compiler.parser.node.expression.*;
-import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
-import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
-import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
-import com.github.nsc.de.compiler.parser.node.logical.*;
-import com.github.nsc.de.compiler.parser.node.loops.DoWhileNode;
-import com.github.nsc.de.compiler.parser.node.loops.ForNode;
-import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
-import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
-import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
-import com.github.nsc.de.compiler.parser.node.variables.*;
 import com.github.nsc.de.compiler.util.CompilerError;
+import com.github.nsc.de.compiler.util.Symbol;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public class Parser {
 
     private final TokenInputStream in;
+    private final NodeFactory factory;
+
+    /**
+     * The {@link TreeBuilder} creating the {@link Tree}s of {@link #parse()} and {@link #statements()}
+     */
+    private final ObjectTreeBuilder objects;
+
+    /**
+     * The {@link TreeBuilder} the nodes are actually emitted to
+     */
+    private TreeBuilder<?> builder;
 
     public Parser(TokenInputStream in) {
+        this(in, new NodeFactory());
+    }
+
+    public Parser(TokenInputStream in, NodeFactory factory) {
         this.in = in;
+        this.factory = factory;
+        this.objects = new ObjectTreeBuilder(factory);
+        this.builder = this.objects;
+    }
+
+    /**
+     * The available implementations of the {@link Parser}
+     */
+    public enum Implementation {
+        /**
+         * The original recursive descent {@link Parser}
+         */
+        RECURSIVE,
+
+        /**
+         * The {@link IterativeParser} parsing expressions and blocks using explicit stacks, so deeply nested input
+         * does not overflow the stack of the jvm
+         */
+        ITERATIVE
+    }
+
+    public static Parser create(TokenInputStream in) {
+        return create(in, Implementation.RECURSIVE);
+    }
+
+    public static Parser create(TokenInputStream in, Implementation implementation) {
+        return create(in, implementation, new NodeFactory());
+    }
+
+    public static Parser create(TokenInputStream in, Implementation implementation, NodeFactory factory) {
+        switch (implementation) {
+            case RECURSIVE: return new Parser(in, factory);
+            case ITERATIVE: return new IterativeParser(in, factory);
+            default: throw new Error("Unknown parser implementation: " + implementation);
+        }
     }
 
     public Tree parse() {
+        return this.parse(this.objects);
+    }
+
+    /**
+     * Parses the input emitting the nodes to the given {@link TreeBuilder}, so the same grammar creates the
+     * {@link Tree} of object-nodes ({@link ObjectTreeBuilder}) and the
+     * {@link com.github.nsc.de.compiler.parser.flat.FlatTree} ({@link com.github.nsc.de.compiler.parser.flat.FlatTreeBuilder})
+     *
+     * @param builder the {@link TreeBuilder} to create the tree
+     * @param <T> the type of the created tree
+     * @return the created tree (null if the input is empty)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public <T> T parse(TreeBuilder<T> builder) {
         if(this.in.peek() == null) return null;
 
-        Tree result = this.prog();
+        this.builder = builder;
+        this.prog();
 
         if(this.in.hasNext()) throw new ParserError("Input did not end");
-        return result;
+        return builder.build();
+    }
+
+    /**
+     * Parses a single operation into an object-node (used to parse the top-level statements one by one)
+     *
+     * @return the parsed operation (null if the next tokens are no operation)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    Node parseOperation() {
+        this.builder = this.objects;
+        return this.operation() ? this.objects.pop() : null;
+    }
+
+    /**
+     * Parses the top-level statements one after the other: each statement is only parsed when it is requested, so
+     * it can be executed before the rest of the input is parsed (and, using a
+     * {@link com.github.nsc.de.compiler.lexer.token.LazyTokenInputStream}, before the rest of the input is lexed).
+     * The statements are the children of the {@link Tree} that {@link #parse()} would create, an error is thrown by
+     * {@link Iterator#hasNext()} when the statement that can't be parsed is reached.
+     *
+     * @return an {@link Iterator} over the top-level statements
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Iterator<Node> statements() {
+        return new Iterator<Node>() {
+
+            private boolean started = false;
+            private int position = -2;
+            private Node next = null;
+
+            @Override
+            public boolean hasNext() {
+                if(this.next == null) this.next = this.parseNext();
+                return this.next != null;
+            }
+
+            @Override
+            public Node next() {
+                if(!this.hasNext()) throw new NoSuchElementException();
+                Node node = this.next;
+                this.next = null;
+                return node;
+            }
+
+            /**
+             * Parses the next statement (the same way {@link Parser#prog()} does)
+             *
+             * @return the next statement (null if there is none)
+             */
+            private Node parseNext() {
+
+                if(!this.started) {
+                    this.started = true;
+                    skipSeparators();
+                }
+
+                while(getInput().hasNext()) {
+                    if(this.position >= getInput().getPosition()) break;
+                    this.position = getInput().getPosition();
+                    Node result = parseOperation();
+                    skipSeparators();
+                    if(result != null) return result;
+                }
+
+                if(getInput().hasNext()) throw new ParserError("Input did not end");
+                return null;
+
+            }
+        };
     }
 
 
@@ -45,8 +171,8 @@ public class Parser {
     // Basic Program
 
 
-    private Tree prog() {
-        List<Node> nodes = new ArrayList<>();
+    protected void prog() {
+        int mark = this.builder.mark();
         int position = -2;
         skipSeparators();
         // TODO Require Separator
@@ -59,30 +185,43 @@ public class Parser {
             if(position >= this.getInput().getPosition()) break;
             position = this.getInput().getPosition();
 
-            if(this.getInput().hasNext()) {
-                Node result = operation();
-                if(result != null) nodes.add(result);
-            }
+            if(this.getInput().hasNext()) operation();
 
             // if(this.skipSeparators() > 0) separator = true;
             skipSeparators();
 
         }
-        return new Tree(nodes);
+        this.builder.block(mark);
     }
 
-    private Node operation() {
+    /**
+     * Parses an operation
+     *
+     * @return was a node emitted (false if the next tokens are no operation)?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    protected boolean operation() {
 
         Token token = this.getInput().peek();
-        if(token.getType() == TokenType.KEYWORD_WHILE) return this.whileLoop();
-        if(token.getType() == TokenType.KEYWORD_DO) return this.doWhileLoop();
-        if(token.getType() == TokenType.KEYWORD_FOR) return this.forLoop();
-        if(token.getType() == TokenType.KEYWORD_IF) return this.ifStatement();
+        if(token.getType() == TokenType.KEYWORD_WHILE) { this.whileLoop(); return true; }
+        if(token.getType() == TokenType.KEYWORD_DO) { this.doWhileLoop(); return true; }
+        if(token.getType() == TokenType.KEYWORD_FOR) { this.forLoop(); return true; }
+        if(token.getType() == TokenType.KEYWORD_IF) { this.ifStatement(); return true; }
 
         return this.valuedOperation();
     }
 
-    private ValuedNode valuedOperation() {
+    /**
+     * Parses an operation that may be missing (a missing node is emitted instead)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    protected void optionalOperation() {
+        if(!this.operation()) this.builder.nothing();
+    }
+
+    private boolean valuedOperation() {
 
         Token token = this.getInput().peek();
 
@@ -103,22 +242,24 @@ public class Parser {
                 || token.getType() == TokenType.KEYWORD_FLOAT
                 || token.getType() == TokenType.KEYWORD_DOUBLE
                 || token.getType() == TokenType.KEYWORD_BOOLEAN
-                || token.getType() == TokenType.KEYWORD_CHAR) return parseDeclaration();
-
-        // Identifier
-        if(token.getType() == TokenType.IDENTIFIER) return parseIdentifier(null);
-        if(token.getType() == TokenType.KEYWORD_NEW) return parseClassConstruction();
+                || token.getType() == TokenType.KEYWORD_CHAR) { parseDeclaration(); return true; }
 
-        // FIXME fix statements starting with identifier! (critical)
+        if(token.getType() == TokenType.KEYWORD_NEW) { parseClassConstruction(); return true; }
 
-        // Expression
-        if(token.getType() == TokenType.INTEGER ||
+        // Expression (also identifiers, the assignments are parsed as their operand)
+        if(token.getType() == TokenType.IDENTIFIER ||
+                token.getType() == TokenType.INTEGER ||
                 token.getType() == TokenType.DOUBLE ||
                 token.getType() == TokenType.KEYWORD_TRUE ||
-                token.getType() == TokenType.KEYWORD_FALSE)
-            return this.statement();
+                token.getType() == TokenType.KEYWORD_FALSE ||
+                token.getType() == TokenType.LPAREN ||
+                token.getType() == TokenType.ADD ||
+                token.getType() == TokenType.SUB) {
+            this.expression();
+            return true;
+        }
 
-        return null;
+        return false;
 
     }
 
@@ -126,7 +267,7 @@ public class Parser {
 
     // ****************************************************************************
     // Utils
-    private int skipSeparators() {
+    protected int skipSeparators() {
 
         int number = 0;
         while(this.getInput().hasNext() && (this.getInput().peek().getType() == TokenType.SEMICOLON || this.getInput().peek().getType() == TokenType.LINE_SEPARATOR)) {
@@ -137,30 +278,32 @@ public class Parser {
 
     }
 
-    private void awaitSemicolon() {
+    protected void awaitSemicolon() {
 
         if(this.getInput().skipIgnorable().next().getType() != TokenType.SEMICOLON) throw new ParserError("Expecting semicolon at this point", this.getInput().getPosition());
 
     }
 
-    private ValuedNode parseDeclaration(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+    private void parseDeclaration(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
 
         TokenInputStream input = getInput();
 
         switch(input.peek().getType()) {
-            case KEYWORD_PUBLIC: input.skip(); return parseDeclaration(AccessDescriber.PUBLIC, isInClass, isStatic, isFinal);
-            case KEYWORD_PROTECTED: input.skip(); return parseDeclaration(AccessDescriber.PROTECTED, isInClass, isStatic, isFinal);
-            case KEYWORD_PRIVATE: input.skip(); return parseDeclaration(AccessDescriber.PRIVATE, isInClass, isStatic, isFinal);
+            case KEYWORD_PUBLIC: input.skip(); parseDeclaration(AccessDescriber.PUBLIC, isInClass, isStatic, isFinal); return;
+            case KEYWORD_PROTECTED: input.skip(); parseDeclaration(AccessDescriber.PROTECTED, isInClass, isStatic, isFinal); return;
+            case KEYWORD_PRIVATE: input.skip(); parseDeclaration(AccessDescriber.PRIVATE, isInClass, isStatic, isFinal); return;
             case KEYWORD_STATIC:
                 if(!isInClass) throw new ParserError("Static keyword is only for objects in classes");
                 input.skip();
-                return parseDeclaration(access, true, true, isFinal);
-            case KEYWORD_FINAL: input.skip(); return parseDeclaration(access, isInClass, isStatic, true);
-            case KEYWORD_FUNCTION: return functionDeclaration(access, isInClass, isStatic, isFinal);
-            case KEYWORD_CLASS: return classDeclaration(access, isInClass, isStatic, isFinal);
+                parseDeclaration(access, true, true, isFinal);
+                return;
+            case KEYWORD_FINAL: input.skip(); parseDeclaration(access, isInClass, isStatic, true); return;
+            case KEYWORD_FUNCTION: functionDeclaration(access, isInClass, isStatic, isFinal); return;
+            case KEYWORD_CLASS: classDeclaration(access, isInClass, isStatic, isFinal); return;
             case KEYWORD_CONST:
             case KEYWORD_VAR:
-                return varDeclaration1(access, isInClass, isStatic, isFinal);
+                varDeclaration1(access, isInClass, isStatic, isFinal);
+                return;
             case KEYWORD_DYNAMIC:
             case KEYWORD_BOOLEAN:
             case KEYWORD_CHAR:
@@ -170,61 +313,74 @@ public class Parser {
             case KEYWORD_LONG:
             case KEYWORD_FLOAT:
             case KEYWORD_DOUBLE:
-                return varDeclaration2(access, isInClass, isStatic, isFinal);
+                varDeclaration2(access, isInClass, isStatic, isFinal);
+                return;
             default:
                 throw new ParserError("Unexpected token (" + input.peek().getType() + ')');
         }
 
     }
 
-    private ValuedNode parseDeclaration(boolean isInClass) {
-        return parseDeclaration(AccessDescriber.PACKAGE, isInClass, false, false);
+    private void parseDeclaration(boolean isInClass) {
+        parseDeclaration(AccessDescriber.PACKAGE, isInClass, false, false);
     }
 
-    private ValuedNode parseDeclaration() {
-        return parseDeclaration(false);
+    private void parseDeclaration() {
+        parseDeclaration(false);
     }
 
-    private ValuedNode parseIdentifier(ValuedNode parent) {
+    /**
+     * Parses an identifier and the operation it is part of (a call, an assignment, ...)
+     *
+     * @param hasParent is the parent of the identifier (the object it is taken from) already emitted?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    protected void parseIdentifier(boolean hasParent) {
         Token identifier = getInput().next();
         if(identifier.getType() != TokenType.IDENTIFIER) throw new ParserError("Expecting identifier");
 
-        IdentifierNode identifierNode = new IdentifierNode(parent, identifier.getValue());
-        ValuedNode ret = null;
+        this.builder.identifier(identifier.getSymbol(), hasParent);
+        boolean operation = false;
 
         // Assignments
         if(this.getInput().hasNext()) {
 
             Token token2 = getInput().skipIgnorable().peek();
-            if(token2.getType() == TokenType.LPAREN) ret = this.functionCall(identifierNode);
-            if(token2.getType() == TokenType.ASSIGN) ret = this.varAssignment(identifierNode);
-            if(token2.getType() == TokenType.ADD_ASSIGN) ret = this.varAddAssignment(identifierNode);
-            if(token2.getType() == TokenType.SUB_ASSIGN) ret = this.varSubAssignment(identifierNode);
-            if(token2.getType() == TokenType.MUL_ASSIGN) ret = this.varMulAssignment(identifierNode);
-            if(token2.getType() == TokenType.DIV_ASSIGN) ret = this.varDivAssignment(identifierNode);
-            if(token2.getType() == TokenType.MOD_ASSIGN) ret = this.varModAssignment(identifierNode);
-            if(token2.getType() == TokenType.POW_ASSIGN) ret = this.varPowAssignment(identifierNode);
-            if(token2.getType() == TokenType.INCR) ret = this.varIncrease(identifierNode);
-            if(token2.getType() == TokenType.DECR) ret = this.varDecrease(identifierNode);
+            operation = true;
+            switch(token2.getType()) {
+                case LPAREN: this.functionCall(); break;
+                case ASSIGN: this.varAssignment(TokenType.ASSIGN, NodeKind.VARIABLE_ASSIGNMENT, "'='"); break;
+                case ADD_ASSIGN: this.varAssignment(TokenType.ADD_ASSIGN, NodeKind.VARIABLE_ADD_ASSIGNMENT, "'+='"); break;
+                case SUB_ASSIGN: this.varAssignment(TokenType.SUB_ASSIGN, NodeKind.VARIABLE_SUB_ASSIGNMENT, "'-='"); break;
+                case MUL_ASSIGN: this.varAssignment(TokenType.MUL_ASSIGN, NodeKind.VARIABLE_MUL_ASSIGNMENT, "'*='"); break;
+                case DIV_ASSIGN: this.varAssignment(TokenType.DIV_ASSIGN, NodeKind.VARIABLE_DIV_ASSIGNMENT, "'/='"); break;
+                case MOD_ASSIGN: this.varAssignment(TokenType.MOD_ASSIGN, NodeKind.VARIABLE_MOD_ASSIGNMENT, "'%='"); break;
+                case POW_ASSIGN: this.varAssignment(TokenType.POW_ASSIGN, NodeKind.VARIABLE_POW_ASSIGNMENT, "'^='"); break;
+                case INCR: this.varIncrement(TokenType.INCR, NodeKind.VARIABLE_INCREASE, "'++'"); break;
+                case DECR: this.varIncrement(TokenType.DECR, NodeKind.VARIABLE_DECREASE, "'--'"); break;
+                default: operation = false;
+            }
             if(getInput().skipIgnorable().hasNext() && getInput().peek().getType() == TokenType.DOT) {
                 getInput().skip().skipIgnorable();
-                return this.parseIdentifier(ret != null ? ret : new VariableUsageNode(identifierNode));
+                if(!operation) this.builder.operation(NodeKind.VARIABLE_USAGE);
+                this.parseIdentifier(true);
+                return;
             }
-            if(ret != null) return ret;
 
         }
-        return new VariableUsageNode(identifierNode);
+        if(!operation) this.builder.operation(NodeKind.VARIABLE_USAGE);
 
     }
 
-    private ClassConstructionNode parseClassConstruction() {
+    private void parseClassConstruction() {
         this.getInput().skip().skipIgnorable();
         Position start = getInput().actual().getStart();
-        ValuedNode node = parseIdentifier(null);
-        if(!(node instanceof FunctionCallNode))
+        parseIdentifier(false);
+        if(this.builder.getKind() != NodeKind.FUNCTION_CALL)
             throw new ParserError("Expecting a call after keyword new",
                     start, getInput().actual().getEnd());
-        return new ClassConstructionNode(((FunctionCallNode) node).getFunction(), ((FunctionCallNode) node).getArgs());
+        this.builder.construction();
     }
 
 
@@ -233,14 +389,11 @@ public class Parser {
     // Classes
 
 
-    private ClassDeclarationNode classDeclaration(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+    private void classDeclaration(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.KEYWORD_CLASS) throw new ParserError("Expecting class keyword");
         if(!this.getInput().hasNext() || this.getInput().peek().getType() != TokenType.IDENTIFIER) throw new ParserError("Expecting identifier");
-        String name = this.getInput().next().getValue();
-
-        List<VariableDeclarationNode> fields = new ArrayList<>();
-        List<FunctionDeclarationNode> methods = new ArrayList<>();
-        List<ClassDeclarationNode> classes = new ArrayList<>();
+        Symbol name = this.getInput().next().getSymbol();
+        int mark = this.builder.mark();
 
         // TODO: extends, implements
         if(this.getInput().next().getType() != TokenType.LCURL) throw new ParserError("Expecting class-body");
@@ -248,19 +401,14 @@ public class Parser {
         while(this.getInput().hasNext() && this.getInput().peek().getType() != TokenType.RCURL) {
 
             skipSeparators();
-
-            ValuedNode node = parseDeclaration(true);
-            if(node instanceof ClassDeclarationNode) classes.add((ClassDeclarationNode) node);
-            else if(node instanceof FunctionDeclarationNode) methods.add((FunctionDeclarationNode) node);
-            else if(node instanceof VariableDeclarationNode) fields.add((VariableDeclarationNode) node);
-
+            parseDeclaration(true);
             skipSeparators();
 
         }
 
         if(this.getInput().next().getType() != TokenType.RCURL) throw new ParserError("Expecting class-body to end");
 
-        return new ClassDeclarationNode(name, fields, methods, classes, access, isInClass, isStatic, isFinal);
+        this.builder.classDeclaration(name, mark, access, isInClass, isStatic, isFinal);
     }
 
 
@@ -269,49 +417,51 @@ public class Parser {
     // Functions
 
 
-    private FunctionDeclarationNode functionDeclaration(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+    private void functionDeclaration(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
 
-        List<FunctionArgumentNode> args = new ArrayList<>();
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.KEYWORD_FUNCTION) throw new ParserError("Expecting function keyword");
         if(!this.getInput().hasNext() || this.getInput().peek().getType() != TokenType.IDENTIFIER) throw new ParserError("Expecting identifier");
-        String name = this.getInput().next().getValue();
+        Symbol name = this.getInput().next().getSymbol();
+        int mark = this.builder.mark();
+        this.functionArguments();
+
+        this.parseBodyStatement();
+        this.builder.function(name, mark, access, isInClass, isStatic, isFinal);
+    }
+
+    protected void functionArguments() {
 
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.LPAREN) throw new ParserError("Expecting '('");
 
         if(this.checkArgument()) {
-            args.add(this.parseArgument());
+            this.parseArgument();
             while(this.getInput().hasNext() && this.getInput().peek().getType() == TokenType.COMMA) {
                 this.getInput().skip();
-                if(this.checkArgument()) args.add(this.parseArgument());
+                if(this.checkArgument()) this.parseArgument();
                 else break;
             }
         }
 
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RPAREN) throw new ParserError("Expecting ')'");
-
-        Tree body = this.parseBodyStatement();
-        return new FunctionDeclarationNode(name, body, args.toArray(new FunctionArgumentNode[0]), access, isInClass, isStatic, isFinal);
     }
 
-    private FunctionCallNode functionCall(ValuedNode function) {
-        List<ValuedNode> args = new ArrayList<>();
+    private void functionCall() {
+        int mark = this.builder.mark() - 1;
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.LPAREN) throw new ParserError("Expecting '('");
         if(this.getInput().peek().getType() != TokenType.RPAREN) {
-            args.add(this.valuedOperation());
+            if(!this.valuedOperation()) this.builder.nothing();
             while(this.getInput().hasNext() && this.getInput().peek().getType() == TokenType.COMMA) {
                 this.getInput().skip();
-                ValuedNode operation = this.valuedOperation();
-                if(operation != null) args.add(operation);
-                else break;
+                if(!this.valuedOperation()) break;
             }
         }
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RPAREN) throw new ParserError("Expecting ')'");
-        return new FunctionCallNode(function, args.toArray(new ValuedNode[0]));
+        this.builder.call(mark);
     }
 
-    private FunctionArgumentNode parseArgument() {
+    private void parseArgument() {
         if(this.getInput().peek().getType() == TokenType.IDENTIFIER) {
-            return new FunctionArgumentNode(this.getInput().next().getValue());
+            this.builder.argument(this.getInput().next().getSymbol());
         }
         else throw new ParserError("Expecting identifier");
     }
@@ -326,59 +476,18 @@ public class Parser {
     // Variables
 
 
-    private VariableAssignmentNode varAssignment(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.ASSIGN) throw new ParserError("Expecting '='");
-        Node value = operation();
-        return new VariableAssignmentNode(variable, value);
-    }
-
-    private VariableAddAssignmentNode varAddAssignment(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.ADD_ASSIGN) throw new ParserError("Expecting '+='");
-        Node value = operation();
-        return new VariableAddAssignmentNode(variable, value);
+    private void varAssignment(TokenType operator, int kind, String name) {
+        if(!this.getInput().hasNext() || this.getInput().next().getType() != operator) throw new ParserError("Expecting " + name);
+        this.optionalOperation();
+        this.builder.operation(kind);
     }
 
-    private VariableSubAssignmentNode varSubAssignment(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.SUB_ASSIGN) throw new ParserError("Expecting '-='");
-        Node value = operation();
-        return new VariableSubAssignmentNode(variable, value);
+    private void varIncrement(TokenType operator, int kind, String name) {
+        if(!this.getInput().hasNext() || this.getInput().next().getType() != operator) throw new ParserError("Expecting " + name);
+        this.builder.operation(kind);
     }
 
-    private VariableMulAssignmentNode varMulAssignment(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.MUL_ASSIGN) throw new ParserError("Expecting '*='");
-        Node value = operation();
-        return new VariableMulAssignmentNode(variable, value);
-    }
-
-    private VariableDivAssignmentNode varDivAssignment(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.DIV_ASSIGN) throw new ParserError("Expecting '/='");
-        Node value = operation();
-        return new VariableDivAssignmentNode(variable, value);
-    }
-
-    private VariableModAssignmentNode varModAssignment(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.MOD_ASSIGN) throw new ParserError("Expecting '%='");
-        Node value = operation();
-        return new VariableModAssignmentNode(variable, value);
-    }
-
-    private VariablePowAssignmentNode varPowAssignment(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.POW_ASSIGN) throw new ParserError("Expecting '^='");
-        Node value = operation();
-        return new VariablePowAssignmentNode(variable, value);
-    }
-
-    private VariableIncreaseNode varIncrease(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.INCR) throw new ParserError("Expecting '++'");
-        return new VariableIncreaseNode(variable);
-    }
-
-    private VariableDecreaseNode varDecrease(ValuedNode variable) {
-        if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.DECR) throw new ParserError("Expecting '--'");
-        return new VariableDecreaseNode(variable);
-    }
-
-    private VariableDeclarationNode varDeclaration1(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+    private void varDeclaration1(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
 
         if(!getInput().hasNext()) throw new ParserError("Expecting var or const keyword");
         if(this.getInput().next().getType() == TokenType.KEYWORD_CONST) {
@@ -388,17 +497,11 @@ public class Parser {
         else if(this.getInput().actual().getType() != TokenType.KEYWORD_VAR) throw new ParserError("Expecting var or const keyword");
         if(!this.getInput().skipIgnorable().hasNext() || this.getInput().peek().getType() != TokenType.IDENTIFIER) throw new ParserError("Expecting identifier");
 
-        String identifier = this.getInput().next().getValue();
-
-        if(this.getInput().skipIgnorable().hasNext() && this.getInput().peek().getType() == TokenType.ASSIGN) {
-            return new VariableDeclarationNode(identifier, VariableType.DYNAMIC, this.varAssignment(new IdentifierNode(identifier)), access, isInClass, isStatic, isFinal);
-        } else {
-            return new VariableDeclarationNode(this.getInput().actual().getValue(), VariableType.DYNAMIC, null, access, isInClass, isStatic, isFinal);
-        }
+        this.varDeclaration(VariableType.DYNAMIC, access, isInClass, isStatic, isFinal);
 
     }
 
-    private VariableDeclarationNode varDeclaration2(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+    private void varDeclaration2(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
 
         Token t = this.getInput().next();
         VariableType declarationNode =
@@ -414,13 +517,22 @@ public class Parser {
 
         if(!this.getInput().skipIgnorable().hasNext() || this.getInput().peek().getType() != TokenType.IDENTIFIER) throw new ParserError("Expecting identifier");
 
-        String identifier = this.getInput().next().getValue();
+        this.varDeclaration(declarationNode, access, isInClass, isStatic, isFinal);
+    }
+
+    private void varDeclaration(VariableType type, AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+
+        Symbol identifier = this.getInput().next().getSymbol();
 
         if(this.getInput().skipIgnorable().hasNext() && this.getInput().peek().getType() == TokenType.ASSIGN) {
-            return new VariableDeclarationNode(identifier, declarationNode, this.varAssignment(new IdentifierNode(identifier)), access, isInClass, isStatic, isFinal);
-        } else {
-            return new VariableDeclarationNode(this.getInput().actual().getValue(), declarationNode, null, access, isInClass, isStatic, isFinal);
+            this.builder.identifier(identifier, false);
+            this.varAssignment(TokenType.ASSIGN, NodeKind.VARIABLE_ASSIGNMENT, "'='");
+            this.builder.declaration(identifier, type, true, access, isInClass, isStatic, isFinal);
         }
+        else {
+            this.builder.declaration(this.getInput().actual().getSymbol(), type, false, access, isInClass, isStatic, isFinal);
+        }
+
     }
 
 
@@ -432,239 +544,218 @@ public class Parser {
     // Loops & If
 
 
-    private Node forLoop() {
+    private void forLoop() {
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.KEYWORD_FOR) throw new ParserError("Expecting for keyword");
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.LPAREN) throw new ParserError("Expecting '('");
-        Node declaration = operation();
+        optionalOperation();
         awaitSemicolon();
-        ValuedNode condition = logicalOr();
+        expression();
         awaitSemicolon();
-        Node round = operation();
+        optionalOperation();
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RPAREN) throw new ParserError("Expecting ')'");
-        Tree body = parseBodyStatement();
-        return new ForNode(body, declaration, condition, round);
+        parseBodyStatement();
+        this.builder.forLoop();
     }
 
 
-    private Node doWhileLoop() {
+    private void doWhileLoop() {
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.KEYWORD_DO) throw new ParserError("Expecting do keyword");
-        Tree body = parseBodyStatement();
+        parseBodyStatement();
         skipSeparators();
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.KEYWORD_WHILE) throw new ParserError("Expecting while keyword");
-        ValuedNode condition = parseConditionStatement();
-        return new DoWhileNode(body, condition);
+        parseConditionStatement();
+        this.builder.doWhileLoop();
     }
 
 
-    private Node whileLoop() {
+    private void whileLoop() {
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.KEYWORD_WHILE) throw new ParserError("Expecting while keyword");
-        ValuedNode condition = parseConditionStatement();
-        Tree body = parseBodyStatement();
-        return new WhileNode(body, condition);
+        parseConditionStatement();
+        parseBodyStatement();
+        this.builder.whileLoop();
     }
 
 
-    private Node ifStatement() {
+    private void ifStatement() {
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.KEYWORD_IF) throw new ParserError("Expecting if keyword");
-        ValuedNode condition = parseConditionStatement();
-        Tree body = parseBodyStatement();
+        parseConditionStatement();
+        parseBodyStatement();
         boolean separator = skipSeparators()>0;
         if(this.getInput().hasNext() && this.getInput().peek().getType() == TokenType.KEYWORD_ELSE) {
             if(!separator) throw new ParserError("Awaited separator at this point");
             this.getInput().skip();
-            Tree elseBody = parseBodyStatement();
-            return new IfNode(body, elseBody, condition);
+            parseBodyStatement();
+            this.builder.ifStatement(true);
+            return;
         }
-        return new IfNode(body, condition);
+        this.builder.ifStatement(false);
     }
 
-    private ValuedNode parseConditionStatement() {
+    protected void parseConditionStatement() {
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.LPAREN) throw new ParserError("Expecting '('", getInput().getPosition());
-        ValuedNode condition = logicalOr();
+        expression();
         if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RPAREN) throw new ParserError("Expecting ')'", getInput().getPosition());
-        return condition;
     }
 
-    private Tree parseBodyStatement() {
+    private void parseBodyStatement() {
         skipSeparators();
         if(this.getInput().peek().getType() == TokenType.LCURL) {
             this.getInput().skip();
-            Tree body = prog();
+            prog();
             if(!this.getInput().hasNext() || this.getInput().next().getType() != TokenType.RCURL) throw new ParserError("Expecting '}'", getInput().getPosition());
-            return body;
         }
         else {
-            return new Tree(new Node[] { this.operation() });
+            int mark = this.builder.mark();
+            this.optionalOperation();
+            this.builder.block(mark);
         }
     }
 
 
-
     // ****************************************************************************
     // Statements
 
-    List<TokenType> LOGICAL = Arrays.asList(TokenType.BIGGER, TokenType.BIGGER_EQUALS,
-            TokenType.SMALLER, TokenType.SMALLER_EQUALS, TokenType.EQ_EQUALS, TokenType.LOGICAL_OR,
-            TokenType.LOGICAL_AND);
+    /**
+     * The binding power of the binary operators, indexed by the ordinal of their {@link TokenType}. An operator with a
+     * higher binding power binds stronger, 0 means that the token is no binary operator (so it ends the expression).
+     */
+    protected static final int[] BINDING_POWER = new int[TokenType.values().length];
+
+    static {
+        BINDING_POWER[TokenType.LOGICAL_OR.ordinal()] = 1;
+        BINDING_POWER[TokenType.LOGICAL_AND.ordinal()] = 2;
+        BINDING_POWER[TokenType.EQ_EQUALS.ordinal()] = 3;
+        BINDING_POWER[TokenType.BIGGER_EQUALS.ordinal()] = 3;
+        BINDING_POWER[TokenType.SMALLER_EQUALS.ordinal()] = 3;
+        BINDING_POWER[TokenType.BIGGER.ordinal()] = 3;
+        BINDING_POWER[TokenType.SMALLER.ordinal()] = 3;
+        BINDING_POWER[TokenType.ADD.ordinal()] = 4;
+        BINDING_POWER[TokenType.SUB.ordinal()] = 4;
+        BINDING_POWER[TokenType.MUL.ordinal()] = 5;
+        BINDING_POWER[TokenType.DIV.ordinal()] = 5;
+        BINDING_POWER[TokenType.MOD.ordinal()] = 5;
+        BINDING_POWER[TokenType.POW.ordinal()] = 6;
+    }
+
+    protected void expression() {
+        this.expression(1);
+    }
+
+    /**
+     * Parses an expression by precedence climbing: after the first operand all following binary operators that bind
+     * at least as strong as the given binding power are added to the expression. All operators are left-associative,
+     * so the right operand of an operator only takes the operators that bind stronger than itself.
+     *
+     * @param minBindingPower the minimal binding power of the operators to add to the expression
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void expression(int minBindingPower) {
+
+        this.factor();
+
+        while(this.getInput().hasNext()) {
+            TokenType operator = this.getInput().peek().getType();
+            int bindingPower = BINDING_POWER[operator.ordinal()];
+            if(bindingPower < minBindingPower) break;
+            this.getInput().skip();
+            this.expression(bindingPower + 1);
+            this.binaryOperation(operator);
+        }
+
+    }
 
-    private ValuedNode statement() {
+    /**
+     * Emits a binary operation taking the two operands on top of the stack of the {@link TreeBuilder}
+     *
+     * @param operator the operator of the operation
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    protected void binaryOperation(TokenType operator) {
+
+        switch(operator) {
+            case LOGICAL_OR: this.builder.operation(NodeKind.LOGICAL_OR); break;
+            case LOGICAL_AND: this.builder.operation(NodeKind.LOGICAL_AND); break;
+            case EQ_EQUALS: this.builder.operation(NodeKind.EQ_EQUALS); break;
+            case BIGGER_EQUALS: this.builder.operation(NodeKind.BIGGER_EQUALS); break;
+            case SMALLER_EQUALS: this.builder.operation(NodeKind.SMALLER_EQUALS); break;
+            case BIGGER: this.builder.operation(NodeKind.BIGGER); break;
+            case SMALLER: this.builder.operation(NodeKind.SMALLER); break;
+            case ADD: this.builder.operation(NodeKind.ADD); break;
+            case SUB: this.builder.operation(NodeKind.SUB); break;
+            case MUL: this.builder.operation(NodeKind.MUL); break;
+            case DIV: this.builder.operation(NodeKind.DIV); break;
+            case MOD: this.builder.operation(NodeKind.MOD); break;
+            case POW: this.builder.operation(NodeKind.POW); break;
+            default: throw new Error("Not a binary operator: " + operator);
+        }
 
-        // TODO skip-ables
-        if(!getInput().has(2)) return factor();
-        Token peek = this.getInput().peek(2);
-        if(LOGICAL.contains(peek.getType())) return this.logicalOr();
-        return this.expr();
     }
 
 
     // (Factor)
 
-    private ValuedNode factor() {
+    protected void factor() {
 
         Token token = this.getInput().peek();
 
         if(token.getType() == TokenType.LPAREN) {
             getInput().skip();
-            ValuedNode result = this.statement();
+            this.expression();
             if(this.getInput().next().getType() != TokenType.RPAREN) throw new ParserError("Expecting ')'");
-            return result;
+            return;
         }
 
         if(token.getType() == TokenType.KEYWORD_TRUE) {
             getInput().skip();
-            return new LogicalTrueNode();
+            this.builder.bool(true);
+            return;
         }
 
         if(token.getType() == TokenType.KEYWORD_FALSE) {
             getInput().skip();
-            return new LogicalFalseNode();
+            this.builder.bool(false);
+            return;
         }
 
         if(token.getType() == TokenType.INTEGER) {
             getInput().skip();
-            return new IntegerNode(Integer.parseInt(token.getValue()));
+            this.builder.integer(Integer.parseInt(token.getValue()));
+            return;
         }
 
         if(token.getType() == TokenType.DOUBLE) {
             getInput().skip();
-            return new DoubleNode(Double.parseDouble(token.getValue()));
+            this.builder.number(Double.parseDouble(token.getValue()));
+            return;
         }
 
         if(token.getType() == TokenType.IDENTIFIER) {
-            return parseIdentifier(null);
+            parseIdentifier(false);
+            return;
         }
 
         if(token.getType() == TokenType.ADD) {
             getInput().skip();
-            return new AddNode(0, this.factor());
+            this.builder.integer(0);
+            this.factor();
+            this.builder.operation(NodeKind.ADD);
+            return;
         }
 
         if(token.getType() == TokenType.SUB) {
             getInput().skip();
-            return new SubNode(0, this.factor());
+            this.builder.integer(0);
+            this.factor();
+            this.builder.operation(NodeKind.SUB);
+            return;
         }
 
         throw new ParserError(this.getInput().toString());
     }
 
 
-    // (Calculations)
-
-    List<TokenType> EXPR = Arrays.asList(TokenType.ADD, TokenType.SUB);
-    List<TokenType> TERM = Arrays.asList(TokenType.MUL, TokenType.DIV, TokenType.MOD);
-
-    private ValuedNode expr() {
-        ValuedNode result = this.term();
-
-        while(this.getInput().hasNext() && EXPR.contains(this.getInput().peek().getType())) {
-            if(this.getInput().peek().getType() == TokenType.ADD) {
-                this.getInput().skip();
-                result = new AddNode(result, this.term());
-            }
-            else if(this.getInput().peek().getType() == TokenType.SUB) {
-                this.getInput().skip();
-                result = new SubNode(result, this.term());
-            }
-        }
-
-        return result;
-    }
-
-    private ValuedNode term() {
-        ValuedNode result = this.pow();
-
-        while(this.getInput().hasNext() && TERM.contains(this.getInput().peek().getType())) {
-            if(this.getInput().peek().getType() == TokenType.MUL) {
-                this.getInput().skip();
-                result = new MulNode(result, this.pow());
-            }
-            else if(this.getInput().peek().getType() == TokenType.DIV) {
-                this.getInput().skip();
-                result = new DivNode(result, this.pow());
-            }
-            else if(this.getInput().peek().getType() == TokenType.MOD) {
-                this.getInput().skip();
-                result = new ModNode(result, this.pow());
-            }
-        }
-        return result;
-    }
-
-    private ValuedNode pow() {
-        ValuedNode result = this.factor();
-
-        while(this.getInput().hasNext() && this.getInput().peek().getType() == TokenType.POW) {
-            this.getInput().skip();
-            result = new PowNode(result, this.factor());
-        }
-        return result;
-    }
-
-
-    // (Logical)
-
-    List<TokenType> COMPARE = Arrays.asList(TokenType.BIGGER, TokenType.BIGGER_EQUALS,
-            TokenType.SMALLER, TokenType.SMALLER_EQUALS, TokenType.EQ_EQUALS);
-
-    private ValuedNode logicalOr() {
-        ValuedNode result = this.logicalAnd();
-
-        while(this.getInput().hasNext() && this.getInput().peek().getType() == TokenType.LOGICAL_OR) {
-            this.getInput().skip();
-            result = new LogicalOrNode(result, this.logicalAnd());
-        }
-        return result;
-    }
-
-
-    private ValuedNode logicalAnd() {
-        ValuedNode result = this.compare();
-
-        while(this.getInput().hasNext() && this.getInput().peek().getType() == TokenType.LOGICAL_AND) {
-            this.getInput().skip();
-            result = new LogicalAndNode(result, this.compare());
-        }
-        return result;
-    }
-
-
-    private ValuedNode compare() {
-        ValuedNode left = this.expr();
-
-        while(this.getInput().hasNext() && COMPARE.contains(this.getInput().peek().getType())) {
-
-            Token comparer = this.getInput().next();
-            if(comparer.getType() == TokenType.EQ_EQUALS) return new LogicalEqEqualsNode(left, this.statement());
-            else if(comparer.getType() == TokenType.BIGGER_EQUALS) left = new LogicalBiggerEqualsNode(left, this.statement());
-            else if(comparer.getType() == TokenType.SMALLER_EQUALS) left = new LogicalSmallerEqualsNode(left, this.statement());
-            else if(comparer.getType() == TokenType.BIGGER) left = new LogicalBiggerNode(left, this.statement());
-            else left = new LogicalSmallerNode(left, this.statement());
-
-        }
-        return left;
-    }
-
-
 
     // ****************************************************************************
     // Errors
@@ -697,4 +788,12 @@ public class Parser {
     public TokenInputStream getInput() {
         return this.in;
     }
+
+    public NodeFactory getFactory() {
+        return this.factory;
+    }
+
+    protected TreeBuilder<?> getBuilder() {
+        return this.builder;
+    }
 }
@@ -0,0 +1,236 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.parser.node.AccessDescriber;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
+import com.github.nsc.de.compiler.parser.node.VariableType;
+import com.github.nsc.de.compiler.util.Symbol;
+
+
+/**
+ * A {@link TreeBuilder} creates the tree the {@link Parser} parses. The {@link Parser} emits the nodes bottom-up:
+ * each node is put on a stack of the builder and the nodes containing other nodes take their children from the top
+ * of that stack (the children are always put on the stack in source order). So the {@link Parser} never holds any
+ * node itself and the builder decides how the nodes are represented.
+ *
+ * @param <T> the type of the created tree
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ *
+ * @see ObjectTreeBuilder
+ * @see com.github.nsc.de.compiler.parser.flat.FlatTreeBuilder
+ */
+public interface TreeBuilder<T> {
+
+    // ****************************************************************************
+    // Literals
+
+    /**
+     * Adds an integer literal
+     *
+     * @param value the value of the literal
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void integer(int value);
+
+    /**
+     * Adds a double literal
+     *
+     * @param value the value of the literal
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void number(double value);
+
+    /**
+     * Adds a boolean literal
+     *
+     * @param value the value of the literal
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void bool(boolean value);
+
+    /**
+     * Adds a missing node (e.g. the missing declaration of a for-loop)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void nothing();
+
+
+    // ****************************************************************************
+    // Operations & Variables
+
+    /**
+     * Adds an operation taking its operands from the stack. These are the binary operations ({@link NodeKind#ADD}
+     * ... {@link NodeKind#LOGICAL_OR}: left, right), the assignments ({@link NodeKind#VARIABLE_ASSIGNMENT} ...
+     * {@link NodeKind#VARIABLE_POW_ASSIGNMENT}: variable, value), {@link NodeKind#VARIABLE_INCREASE} and
+     * {@link NodeKind#VARIABLE_DECREASE} (variable) and {@link NodeKind#VARIABLE_USAGE} (identifier).
+     *
+     * @param kind the kind of the operation
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void operation(int kind);
+
+    /**
+     * Adds an identifier
+     *
+     * @param name the name of the identifier
+     * @param hasParent is the parent of the identifier (the object it is taken from) on the stack?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void identifier(Symbol name, boolean hasParent);
+
+    /**
+     * Adds a variable declaration
+     *
+     * @param name the name of the variable
+     * @param type the type of the variable
+     * @param hasAssignment is the assignment of the declaration on the stack?
+     * @param access the access of the variable
+     * @param isInClass is the variable declared in a class?
+     * @param isStatic is the variable static?
+     * @param isFinal is the variable final?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void declaration(Symbol name, VariableType type, boolean hasAssignment, AccessDescriber access, boolean isInClass,
+                     boolean isStatic, boolean isFinal);
+
+
+    // ****************************************************************************
+    // Blocks, Loops & If
+
+    /**
+     * Returns the actual height of the stack (the nodes added after it can be put together using
+     * {@link #block(int)}, {@link #call(int)}, {@link #function(Symbol, int, AccessDescriber, boolean, boolean, boolean)}
+     * and {@link #classDeclaration(Symbol, int, AccessDescriber, boolean, boolean, boolean)})
+     *
+     * @return the actual height of the stack
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    int mark();
+
+    /**
+     * Adds a block (a {@link NodeKind#TREE}) containing all nodes added since the given mark
+     *
+     * @param mark the height of the stack in front of the first node of the block
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void block(int mark);
+
+    /**
+     * Adds a while-loop (condition, body)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void whileLoop();
+
+    /**
+     * Adds a do-while-loop (body, condition)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void doWhileLoop();
+
+    /**
+     * Adds a for-loop (declaration, condition, round, body)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void forLoop();
+
+    /**
+     * Adds an if (condition, body, else-body)
+     *
+     * @param hasElse is there an else-body on the stack?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void ifStatement(boolean hasElse);
+
+
+    // ****************************************************************************
+    // Functions & Classes
+
+    /**
+     * Adds an argument of a function declaration
+     *
+     * @param name the name of the argument
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void argument(Symbol name);
+
+    /**
+     * Adds a function declaration (the arguments added since the given mark, body)
+     *
+     * @param name the name of the function
+     * @param mark the height of the stack in front of the first argument
+     * @param access the access of the function
+     * @param isInClass is the function declared in a class?
+     * @param isStatic is the function static?
+     * @param isFinal is the function final?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void function(Symbol name, int mark, AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal);
+
+    /**
+     * Adds a function call (function, the arguments)
+     *
+     * @param mark the height of the stack in front of the function
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void call(int mark);
+
+    /**
+     * Turns the function call on top of the stack into a class construction
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void construction();
+
+    /**
+     * Adds a class declaration (the fields, methods and classes added since the given mark)
+     *
+     * @param name the name of the class
+     * @param mark the height of the stack in front of the first member
+     * @param access the access of the class
+     * @param isInClass is the class declared in a class?
+     * @param isStatic is the class static?
+     * @param isFinal is the class final?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void classDeclaration(Symbol name, int mark, AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal);
+
+
+    // ****************************************************************************
+    // Result
+
+    /**
+     * Returns the kind of the node on top of the stack
+     *
+     * @return the kind of the node on top of the stack ({@link NodeKind#NULL} for a missing node)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    int getKind();
+
+    /**
+     * Creates the tree from the block on top of the stack
+     *
+     * @return the created tree
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    T build();
+
+}
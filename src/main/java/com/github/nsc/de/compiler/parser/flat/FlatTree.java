@@ -0,0 +1,486 @@
+package com.github.nsc.de.compiler.parser.flat;
+
+import com.github.nsc.de.compiler.parser.node.*;
+import com.github.nsc.de.compiler.parser.node.expression.*;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.logical.*;
+import com.github.nsc.de.compiler.parser.node.loops.DoWhileNode;
+import com.github.nsc.de.compiler.parser.node.loops.ForNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.variables.*;
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.nsc.de.compiler.parser.node.NodeKind.*;
+
+
+/**
+ * A flat representation of a {@link Tree}: all nodes live in a single int-array (the arena), each node takes
+ * {@link #NODE_SIZE} ints (kind, first child, next sibling and payload). The kinds are the ones of the object-nodes
+ * (see {@link NodeKind}). The children of a node are linked by their next-sibling entries, a missing node is -1. Literals and names are stored in side tables: integers directly in the
+ * payload, doubles in a double-array and names in a {@link Symbol}-array (the tree keeps its {@link Symbol}s, so they
+ * are not collected by the {@link com.github.nsc.de.compiler.util.SymbolTable} while the tree exists).
+ *
+ * The children of the different kinds of nodes (optional children are left out if they do not exist):
+ * <ul>
+ *     <li>{@link NodeKind#TREE}: the nodes of the tree ({@link NodeKind#NULL} for null nodes)</li>
+ *     <li>{@link NodeKind#ADD} ... {@link NodeKind#LOGICAL_OR}: left, right</li>
+ *     <li>{@link NodeKind#IDENTIFIER}: the parent (optional)</li>
+ *     <li>{@link NodeKind#VARIABLE_USAGE}: the identifier</li>
+ *     <li>{@link NodeKind#VARIABLE_ASSIGNMENT} ... {@link NodeKind#VARIABLE_POW_ASSIGNMENT}: variable, value</li>
+ *     <li>{@link NodeKind#VARIABLE_INCREASE}, {@link NodeKind#VARIABLE_DECREASE}: variable</li>
+ *     <li>{@link NodeKind#VARIABLE_DECLARATION}: the assignment (optional)</li>
+ *     <li>{@link NodeKind#WHILE}, {@link NodeKind#DO_WHILE}: condition, body</li>
+ *     <li>{@link NodeKind#FOR}: declaration, condition, round, body</li>
+ *     <li>{@link NodeKind#IF}: condition, body, else-body (optional)</li>
+ *     <li>{@link NodeKind#FUNCTION_DECLARATION}: the arguments, body</li>
+ *     <li>{@link NodeKind#FUNCTION_CALL}, {@link NodeKind#CLASS_CONSTRUCTION}: function (or class), the arguments</li>
+ *     <li>{@link NodeKind#CLASS_DECLARATION}: the fields, methods and classes (in source order)</li>
+ * </ul>
+ *
+ * {@link FlatTree}s are created by the {@link com.github.nsc.de.compiler.parser.Parser} emitting to a
+ * {@link FlatTreeBuilder} and are read using a {@link Cursor} or the accessors taking the index of a node.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class FlatTree {
+
+    // ****************************************************************************
+    // layout
+
+    static final int KIND = 0;
+    static final int FIRST_CHILD = 1;
+    static final int NEXT_SIBLING = 2;
+    static final int PAYLOAD = 3;
+
+    /**
+     * The number of ints of a node in the arena
+     */
+    static final int NODE_SIZE = 4;
+
+    /**
+     * The kind is stored in the lowest 8 bits of the kind-entry, the bits above are flags of declarations
+     */
+    static final int KIND_MASK = 0xFF;
+    static final int ACCESS_SHIFT = 8;
+    static final int IN_CLASS = 1 << 10;
+    static final int STATIC = 1 << 11;
+    static final int FINAL = 1 << 12;
+    static final int TYPE_SHIFT = 13;
+
+    private static final AccessDescriber[] ACCESS_DESCRIBERS = AccessDescriber.values();
+
+    /**
+     * The {@link VariableType}s without subtype (indexed by the ordinal of their {@link VariableType.Type})
+     */
+    private static final VariableType[] VARIABLE_TYPES = {
+            VariableType.DYNAMIC, VariableType.BYTE, VariableType.SHORT, VariableType.INTEGER, VariableType.LONG,
+            VariableType.FLOAT, VariableType.DOUBLE, VariableType.BOOLEAN, VariableType.CHAR, VariableType.ARRAY,
+            VariableType.OBJECT
+    };
+
+    /**
+     * The arena containing all nodes
+     */
+    private final int[] nodes;
+
+    /**
+     * The number of nodes
+     */
+    private final int size;
+
+    /**
+     * The side table of the double literals
+     */
+    private final double[] doubles;
+
+    /**
+     * The side table of the names (each {@link Symbol} is only stored once)
+     */
+    private final Symbol[] symbols;
+
+    /**
+     * The index of the root node (a {@link NodeKind#TREE})
+     */
+    private final int root;
+
+    /**
+     * The object-nodes created by {@link #getNode(int)} (indexed by the index of their node)
+     */
+    private Node[] materialized;
+
+    /**
+     * Constructor for {@link FlatTree} (use a {@link FlatTreeBuilder} to create one)
+     *
+     * @param nodes the arena containing all nodes
+     * @param size the number of nodes
+     * @param doubles the side table of the double literals
+     * @param symbols the side table of the names
+     * @param root the index of the root node
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    FlatTree(int[] nodes, int size, double[] doubles, Symbol[] symbols, int root) {
+        this.nodes = nodes;
+        this.size = size;
+        this.doubles = doubles;
+        this.symbols = symbols;
+        this.root = root;
+    }
+
+
+    // ****************************************************************************
+    // Getters
+
+    public int getRoot() {
+        return root;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getKind(int node) {
+        return nodes[node * NODE_SIZE + KIND] & KIND_MASK;
+    }
+
+    public int getFirstChild(int node) {
+        return nodes[node * NODE_SIZE + FIRST_CHILD];
+    }
+
+    public int getNextSibling(int node) {
+        return nodes[node * NODE_SIZE + NEXT_SIBLING];
+    }
+
+    public int getChildCount(int node) {
+        int count = 0;
+        for(int child = getFirstChild(node); child != -1; child = getNextSibling(child)) count++;
+        return count;
+    }
+
+    /**
+     * Returns the value of an {@link NodeKind#INTEGER}
+     */
+    public int getInteger(int node) {
+        return nodes[node * NODE_SIZE + PAYLOAD];
+    }
+
+    /**
+     * Returns the value of a {@link NodeKind#DOUBLE}
+     */
+    public double getDouble(int node) {
+        return doubles[nodes[node * NODE_SIZE + PAYLOAD]];
+    }
+
+    /**
+     * Returns the name of an {@link NodeKind#IDENTIFIER}, a declaration or a {@link NodeKind#FUNCTION_ARGUMENT}
+     */
+    public Symbol getSymbol(int node) {
+        return symbols[nodes[node * NODE_SIZE + PAYLOAD]];
+    }
+
+    public AccessDescriber getAccess(int node) {
+        return ACCESS_DESCRIBERS[(nodes[node * NODE_SIZE + KIND] >> ACCESS_SHIFT) & 3];
+    }
+
+    public boolean isInClass(int node) {
+        return (nodes[node * NODE_SIZE + KIND] & IN_CLASS) != 0;
+    }
+
+    public boolean isStatic(int node) {
+        return (nodes[node * NODE_SIZE + KIND] & STATIC) != 0;
+    }
+
+    public boolean isFinal(int node) {
+        return (nodes[node * NODE_SIZE + KIND] & FINAL) != 0;
+    }
+
+    public VariableType getVariableType(int node) {
+        return VARIABLE_TYPES[nodes[node * NODE_SIZE + KIND] >>> TYPE_SHIFT];
+    }
+
+    /**
+     * Creates a {@link Cursor} positioned at the root node
+     *
+     * @return the created {@link Cursor}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Cursor cursor() {
+        return new Cursor(this, this.root);
+    }
+
+
+    // ****************************************************************************
+    // Conversion
+
+    /**
+     * Creates the {@link Tree} of object-nodes from this {@link FlatTree}
+     *
+     * @return the created {@link Tree}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Tree toTree() {
+        return (Tree) this.toNode(this.root);
+    }
+
+    /**
+     * Creates the object-node of a node (with all its children)
+     *
+     * @param node the index of the node
+     * @return the created {@link Node} (null for a {@link NodeKind#NULL})
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Node toNode(int node) {
+
+        int first = getFirstChild(node);
+        int second = first != -1 ? getNextSibling(first) : -1;
+
+        switch(getKind(node)) {
+
+            case TREE: {
+                List<Node> children = new ArrayList<>();
+                for(int child = first; child != -1; child = getNextSibling(child)) children.add(toNode(child));
+                return new Tree(children);
+            }
+            case NULL: return null;
+
+            case INTEGER: return new IntegerNode(getInteger(node));
+            case DOUBLE: return new DoubleNode(getDouble(node));
+            case TRUE: return new LogicalTrueNode();
+            case FALSE: return new LogicalFalseNode();
+
+            case ADD: return new AddNode(valued(first), valued(second));
+            case SUB: return new SubNode(valued(first), valued(second));
+            case MUL: return new MulNode(valued(first), valued(second));
+            case DIV: return new DivNode(valued(first), valued(second));
+            case MOD: return new ModNode(valued(first), valued(second));
+            case POW: return new PowNode(valued(first), valued(second));
+            case EQ_EQUALS: return new LogicalEqEqualsNode(valued(first), valued(second));
+            case BIGGER_EQUALS: return new LogicalBiggerEqualsNode(valued(first), valued(second));
+            case SMALLER_EQUALS: return new LogicalSmallerEqualsNode(valued(first), valued(second));
+            case BIGGER: return new LogicalBiggerNode(valued(first), valued(second));
+            case SMALLER: return new LogicalSmallerNode(valued(first), valued(second));
+            case LOGICAL_AND: return new LogicalAndNode(valued(first), valued(second));
+            case LOGICAL_OR: return new LogicalOrNode(valued(first), valued(second));
+
+            case IDENTIFIER: return new IdentifierNode(first != -1 ? valued(first) : null, getSymbol(node));
+            case VARIABLE_USAGE: return new VariableUsageNode((IdentifierNode) toNode(first));
+            case VARIABLE_ASSIGNMENT: return new VariableAssignmentNode(valued(first), toNode(second));
+            case VARIABLE_ADD_ASSIGNMENT: return new VariableAddAssignmentNode(valued(first), toNode(second));
+            case VARIABLE_SUB_ASSIGNMENT: return new VariableSubAssignmentNode(valued(first), toNode(second));
+            case VARIABLE_MUL_ASSIGNMENT: return new VariableMulAssignmentNode(valued(first), toNode(second));
+            case VARIABLE_DIV_ASSIGNMENT: return new VariableDivAssignmentNode(valued(first), toNode(second));
+            case VARIABLE_MOD_ASSIGNMENT: return new VariableModAssignmentNode(valued(first), toNode(second));
+            case VARIABLE_POW_ASSIGNMENT: return new VariablePowAssignmentNode(valued(first), toNode(second));
+            case VARIABLE_INCREASE: return new VariableIncreaseNode(valued(first));
+            case VARIABLE_DECREASE: return new VariableDecreaseNode(valued(first));
+            case VARIABLE_DECLARATION:
+                return new VariableDeclarationNode(getSymbol(node), getVariableType(node),
+                        first != -1 ? (VariableAssignmentNode) toNode(first) : null,
+                        getAccess(node), isInClass(node), isStatic(node), isFinal(node));
+
+            case WHILE: return new WhileNode((Tree) toNode(second), valued(first));
+            case DO_WHILE: return new DoWhileNode((Tree) toNode(second), valued(first));
+            case FOR: {
+                int round = getNextSibling(second);
+                return new ForNode((Tree) toNode(getNextSibling(round)), toNode(first), valued(second), toNode(round));
+            }
+            case IF: {
+                int elseBody = getNextSibling(second);
+                return elseBody == -1 ? new IfNode((Tree) toNode(second), valued(first))
+                        : new IfNode((Tree) toNode(second), (Tree) toNode(elseBody), valued(first));
+            }
+
+            case FUNCTION_DECLARATION: {
+                List<FunctionArgumentNode> args = new ArrayList<>();
+                int child = first;
+                for(; getKind(child) == FUNCTION_ARGUMENT; child = getNextSibling(child))
+                    args.add(new FunctionArgumentNode(getSymbol(child).getName()));
+                return new FunctionDeclarationNode(getSymbol(node).getName(), (Tree) toNode(child),
+                        args.toArray(new FunctionArgumentNode[0]), getVariableType(node), getAccess(node),
+                        isInClass(node), isStatic(node), isFinal(node));
+            }
+            case FUNCTION_CALL: return new FunctionCallNode(valued(first), arguments(second));
+            case CLASS_CONSTRUCTION: return new ClassConstructionNode(valued(first), arguments(second));
+            case CLASS_DECLARATION: {
+                List<VariableDeclarationNode> fields = new ArrayList<>();
+                List<FunctionDeclarationNode> methods = new ArrayList<>();
+                List<ClassDeclarationNode> classes = new ArrayList<>();
+                for(int child = first; child != -1; child = getNextSibling(child)) {
+                    Node member = toNode(child);
+                    if(member instanceof VariableDeclarationNode) fields.add((VariableDeclarationNode) member);
+                    else if(member instanceof FunctionDeclarationNode) methods.add((FunctionDeclarationNode) member);
+                    else classes.add((ClassDeclarationNode) member);
+                }
+                return new ClassDeclarationNode(getSymbol(node).getName(), fields, methods, classes, getAccess(node),
+                        isInClass(node), isStatic(node), isFinal(node));
+            }
+
+            default: throw new Error("Unknown kind of node: " + getKind(node));
+        }
+
+    }
+
+    /**
+     * Returns the object-node of a node like {@link #toNode(int)}, but creates it only once. Consumers of the
+     * {@link FlatTree} that need object-nodes for some kinds of nodes (e.g. the interpreter for functions and classes)
+     * use this, so a node that is visited multiple times (in a loop) is not created again on each visit.
+     *
+     * @param node the index of the node
+     * @return the object-node of the node
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Node getNode(int node) {
+        if(this.materialized == null) this.materialized = new Node[this.size];
+        if(this.materialized[node] == null) this.materialized[node] = this.toNode(node);
+        return this.materialized[node];
+    }
+
+    private ValuedNode valued(int node) {
+        return (ValuedNode) this.toNode(node);
+    }
+
+    private ValuedNode[] arguments(int first) {
+        List<ValuedNode> args = new ArrayList<>();
+        for(int child = first; child != -1; child = getNextSibling(child)) args.add(valued(child));
+        return args.toArray(new ValuedNode[0]);
+    }
+
+
+    // ****************************************************************************
+    // Cursor
+
+    /**
+     * A cursor to walk over a {@link FlatTree}. It points at one node, can move to the first child of the node
+     * ({@link #enter()}), to its next sibling ({@link #next()}) and back to the parent ({@link #exit()}). The parents
+     * are kept on a stack inside of the cursor, so walking does not allocate anything.
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static final class Cursor {
+
+        private final FlatTree tree;
+        private int node;
+        private int[] parents;
+        private int depth;
+
+        public Cursor(FlatTree tree, int node) {
+            this.tree = tree;
+            this.node = node;
+            this.parents = new int[16];
+            this.depth = 0;
+        }
+
+        public FlatTree getTree() {
+            return tree;
+        }
+
+        /**
+         * Returns the index of the node the cursor points at (-1 if it moved behind the last child)
+         */
+        public int getNode() {
+            return node;
+        }
+
+        public boolean isValid() {
+            return node != -1;
+        }
+
+        public int getKind() {
+            return tree.getKind(node);
+        }
+
+        public int getInteger() {
+            return tree.getInteger(node);
+        }
+
+        public double getDouble() {
+            return tree.getDouble(node);
+        }
+
+        public Symbol getSymbol() {
+            return tree.getSymbol(node);
+        }
+
+        public AccessDescriber getAccess() {
+            return tree.getAccess(node);
+        }
+
+        public boolean isInClass() {
+            return tree.isInClass(node);
+        }
+
+        public boolean isStatic() {
+            return tree.isStatic(node);
+        }
+
+        public boolean isFinal() {
+            return tree.isFinal(node);
+        }
+
+        public VariableType getVariableType() {
+            return tree.getVariableType(node);
+        }
+
+        public boolean hasChildren() {
+            return tree.getFirstChild(node) != -1;
+        }
+
+        /**
+         * Moves the cursor to the first child of the actual node
+         *
+         * @return false if the node has no children (the cursor is invalid then until {@link #exit()} is called)
+         *
+         * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+         */
+        public boolean enter() {
+            if(depth == parents.length) {
+                int[] parents = new int[depth * 2];
+                System.arraycopy(this.parents, 0, parents, 0, depth);
+                this.parents = parents;
+            }
+            parents[depth++] = node;
+            node = tree.getFirstChild(node);
+            return node != -1;
+        }
+
+        /**
+         * Moves the cursor to the next sibling of the actual node
+         *
+         * @return false if the node was the last child
+         *
+         * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+         */
+        public boolean next() {
+            node = tree.getNextSibling(node);
+            return node != -1;
+        }
+
+        /**
+         * Moves the cursor back to the parent of the actual node
+         *
+         * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+         */
+        public void exit() {
+            if(depth == 0) throw new Error("The cursor is at the root of the walk");
+            node = parents[--depth];
+        }
+
+        /**
+         * Creates the object-node of the actual node (see {@link FlatTree#toNode(int)})
+         */
+        public Node toNode() {
+            return tree.toNode(node);
+        }
+    }
+}
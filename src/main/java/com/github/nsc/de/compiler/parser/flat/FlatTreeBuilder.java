@@ -0,0 +1,338 @@
+package com.github.nsc.de.compiler.parser.flat;
+
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.parser.TreeBuilder;
+import com.github.nsc.de.compiler.parser.node.AccessDescriber;
+import com.github.nsc.de.compiler.parser.node.VariableType;
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.Arrays;
+
+import static com.github.nsc.de.compiler.parser.flat.FlatTree.*;
+import static com.github.nsc.de.compiler.parser.node.NodeKind.*;
+
+
+/**
+ * The {@link TreeBuilder} creating a {@link FlatTree}. The {@link com.github.nsc.de.compiler.parser.Parser} emits the
+ * nodes bottom-up, so each node is appended to the arena when it is emitted and only its index is kept on the stack
+ * of the builder until it is linked into its parent. Building does not allocate anything but the arrays of the
+ * builder, so the arena should be sized before parsing (see {@link #FlatTreeBuilder(TokenInputStream)}).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class FlatTreeBuilder implements TreeBuilder<FlatTree> {
+
+    /**
+     * The arena containing all nodes
+     */
+    private int[] nodes;
+
+    /**
+     * The number of nodes
+     */
+    private int size;
+
+    /**
+     * The side table of the double literals
+     */
+    private double[] doubles;
+
+    /**
+     * The number of double literals
+     */
+    private int doubleCount;
+
+    /**
+     * The side table of the names
+     */
+    private Symbol[] symbols;
+
+    /**
+     * The number of names
+     */
+    private int symbolCount;
+
+    /**
+     * The indices of the names in the {@link #symbols} plus 1 (indexed by the id of their {@link Symbol}, 0 if the
+     * name is not in the side table yet)
+     */
+    private int[] indices;
+
+    /**
+     * The nodes that are not linked into their parent yet
+     */
+    private int[] stack;
+
+    /**
+     * The number of nodes on the {@link #stack}
+     */
+    private int stackSize;
+
+    /**
+     * Constructor for {@link FlatTreeBuilder}
+     *
+     * @param capacity the number of nodes the arena is created for
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public FlatTreeBuilder(int capacity) {
+        this.nodes = new int[Math.max(capacity, 16) * NODE_SIZE];
+        this.size = 0;
+        this.doubles = new double[16];
+        this.doubleCount = 0;
+        this.symbols = new Symbol[16];
+        this.symbolCount = 0;
+        this.indices = new int[64];
+        this.stack = new int[64];
+        this.stackSize = 0;
+    }
+
+    /**
+     * Constructor for {@link FlatTreeBuilder} sizing the arena for the given tokens. A program has about as many nodes
+     * as tokens (the separators and brackets that have no node of their own make up for the nodes without a token:
+     * blocks, usages and missing nodes), so the arena mostly does not have to grow.
+     *
+     * @param tokens the tokens that are parsed into the tree
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public FlatTreeBuilder(TokenInputStream tokens) {
+        this(tokens.remaining() >= 0 ? tokens.remaining() + 16 : 256);
+    }
+
+    public FlatTreeBuilder() {
+        this(256);
+    }
+
+
+    // ****************************************************************************
+    // Arena
+
+    /**
+     * Appends a node to the arena
+     *
+     * @param kind the kind of the node (with flags, see {@link #flags(AccessDescriber, boolean, boolean, boolean, VariableType)})
+     * @param payload the payload of the node
+     * @param child the first child (-1 for none)
+     * @return the index of the node
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int node(int kind, int payload, int child) {
+        // grow by half of the arena, the arena is sized before, so growing should be rare
+        if(size * NODE_SIZE == nodes.length) nodes = Arrays.copyOf(nodes, (size + (size >> 1)) * NODE_SIZE);
+        int position = size * NODE_SIZE;
+        nodes[position + KIND] = kind;
+        nodes[position + FIRST_CHILD] = child;
+        nodes[position + NEXT_SIBLING] = -1;
+        nodes[position + PAYLOAD] = payload;
+        return size++;
+    }
+
+    /**
+     * Appends a node taking the nodes above the given mark from the stack as its children
+     *
+     * @param kind the kind of the node
+     * @param payload the payload of the node
+     * @param mark the height of the stack in front of the first child
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void list(int kind, int payload, int mark) {
+        int first = -1;
+        while(stackSize > mark) {
+            int child = stack[--stackSize];
+            nodes[child * NODE_SIZE + NEXT_SIBLING] = first;
+            first = child;
+        }
+        this.push(this.node(kind, payload, first));
+    }
+
+    /**
+     * Returns the index of a name in the side table of the names (adds it if it is not there yet)
+     *
+     * @param symbol the name
+     * @return the index of the name
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int symbol(Symbol symbol) {
+        int id = symbol.getId();
+        if(id >= indices.length) indices = Arrays.copyOf(indices, Math.max(id + 1, indices.length * 2));
+        if(indices[id] == 0) {
+            if(symbolCount == symbols.length) symbols = Arrays.copyOf(symbols, symbolCount * 2);
+            symbols[symbolCount] = symbol;
+            indices[id] = ++symbolCount;
+        }
+        return indices[id] - 1;
+    }
+
+    private void push(int node) {
+        if(stackSize == stack.length) stack = Arrays.copyOf(stack, stackSize * 2);
+        stack[stackSize++] = node;
+    }
+
+    private int pop() {
+        if(stackSize == 0) throw new Error("The stack of the tree builder is empty");
+        return stack[--stackSize];
+    }
+
+
+    // ****************************************************************************
+    // Literals
+
+    @Override
+    public void integer(int value) {
+        this.push(this.node(INTEGER, value, -1));
+    }
+
+    @Override
+    public void number(double value) {
+        if(doubleCount == doubles.length) doubles = Arrays.copyOf(doubles, doubleCount * 2);
+        doubles[doubleCount] = value;
+        this.push(this.node(DOUBLE, doubleCount++, -1));
+    }
+
+    @Override
+    public void bool(boolean value) {
+        this.push(this.node(value ? TRUE : FALSE, 0, -1));
+    }
+
+    @Override
+    public void nothing() {
+        this.push(this.node(NULL, 0, -1));
+    }
+
+
+    // ****************************************************************************
+    // Operations & Variables
+
+    @Override
+    public void operation(int kind) {
+        switch(kind) {
+            case VARIABLE_USAGE:
+            case VARIABLE_INCREASE:
+            case VARIABLE_DECREASE:
+                this.list(kind, 0, stackSize - 1);
+                return;
+            default:
+                this.list(kind, 0, stackSize - 2);
+        }
+    }
+
+    @Override
+    public void identifier(Symbol name, boolean hasParent) {
+        this.push(this.node(IDENTIFIER, this.symbol(name), hasParent ? this.pop() : -1));
+    }
+
+    @Override
+    public void declaration(Symbol name, VariableType type, boolean hasAssignment, AccessDescriber access,
+                            boolean isInClass, boolean isStatic, boolean isFinal) {
+        this.push(this.node(VARIABLE_DECLARATION | flags(access, isInClass, isStatic, isFinal, type), this.symbol(name),
+                hasAssignment ? this.pop() : -1));
+    }
+
+
+    // ****************************************************************************
+    // Blocks, Loops & If
+
+    @Override
+    public int mark() {
+        return stackSize;
+    }
+
+    @Override
+    public void block(int mark) {
+        this.list(TREE, 0, mark);
+    }
+
+    @Override
+    public void whileLoop() {
+        this.list(WHILE, 0, stackSize - 2);
+    }
+
+    @Override
+    public void doWhileLoop() {
+        // the condition is stored in front of the body (like the one of a while-loop)
+        int condition = this.pop();
+        int body = this.pop();
+        this.push(condition);
+        this.push(body);
+        this.list(DO_WHILE, 0, stackSize - 2);
+    }
+
+    @Override
+    public void forLoop() {
+        this.list(FOR, 0, stackSize - 4);
+    }
+
+    @Override
+    public void ifStatement(boolean hasElse) {
+        this.list(IF, 0, stackSize - (hasElse ? 3 : 2));
+    }
+
+
+    // ****************************************************************************
+    // Functions & Classes
+
+    @Override
+    public void argument(Symbol name) {
+        this.push(this.node(FUNCTION_ARGUMENT, this.symbol(name), -1));
+    }
+
+    @Override
+    public void function(Symbol name, int mark, AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+        this.list(FUNCTION_DECLARATION | flags(access, isInClass, isStatic, isFinal, VariableType.DYNAMIC), this.symbol(name), mark);
+    }
+
+    @Override
+    public void call(int mark) {
+        this.list(FUNCTION_CALL, 0, mark);
+    }
+
+    @Override
+    public void construction() {
+        // the children of a class construction are the same as the ones of the call
+        nodes[stack[stackSize - 1] * NODE_SIZE + KIND] = CLASS_CONSTRUCTION;
+    }
+
+    @Override
+    public void classDeclaration(Symbol name, int mark, AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+        this.list(CLASS_DECLARATION | flags(access, isInClass, isStatic, isFinal, VariableType.DYNAMIC), this.symbol(name), mark);
+    }
+
+
+    // ****************************************************************************
+    // Result
+
+    @Override
+    public int getKind() {
+        return nodes[stack[stackSize - 1] * NODE_SIZE + KIND] & KIND_MASK;
+    }
+
+    @Override
+    public FlatTree build() {
+        int root = this.pop();
+        return new FlatTree(nodes, size, doubles, symbols, root);
+    }
+
+
+    // ****************************************************************************
+    // Flags
+
+    /**
+     * Creates the flags of a declaration (to add to its kind)
+     *
+     * @return the flags
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static int flags(AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal, VariableType type) {
+        if(type.getSubtype() != null) throw new Error("Variable types with subtypes are not supported");
+        return access.ordinal() << ACCESS_SHIFT
+                | (isInClass ? IN_CLASS : 0)
+                | (isStatic ? STATIC : 0)
+                | (isFinal ? FINAL : 0)
+                | type.getType().ordinal() << TYPE_SHIFT;
+    }
+}
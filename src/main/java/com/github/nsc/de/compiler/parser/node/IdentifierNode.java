@@ -1,18 +1,35 @@
 package com.github.nsc.de.compiler.parser.node;
 
+import com.github.nsc.de.compiler.util.Symbol;
+
 public class IdentifierNode implements ValuedNode {
 
     private final ValuedNode parent;
-    private final String name;
+    private final Symbol name;
 
-    public IdentifierNode(ValuedNode parent, String name) {
+    /**
+     * The number of scopes to go up from the scope the identifier is used in and the slot of the variable in the
+     * frame of that scope. They are set by the {@link com.github.nsc.de.compiler.interpreter.Resolver}, -1 means that
+     * the variable is looked up by its name.
+     */
+    private int hops = -1;
+    private int slot = -1;
+
+    public IdentifierNode(ValuedNode parent, Symbol name) {
         this.parent = parent;
         this.name = name;
     }
 
+    public IdentifierNode(ValuedNode parent, String name) {
+        this(parent, Symbol.of(name));
+    }
+
+    public IdentifierNode(Symbol name) {
+        this(null, name);
+    }
+
     public IdentifierNode(String name) {
-        this.parent = null;
-        this.name = name;
+        this(null, name);
     }
 
     public ValuedNode getParent() {
@@ -20,9 +37,26 @@ public class IdentifierNode implements ValuedNode {
     }
 
     public String getName() {
+        return name.getName();
+    }
+
+    public Symbol getSymbol() {
         return name;
     }
 
+    public int getHops() {
+        return hops;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void resolve(int hops, int slot) {
+        this.hops = hops;
+        this.slot = slot;
+    }
+
     @Override
     public String toString() {
         return "IdentifierNode{" +
@@ -30,4 +64,9 @@ public class IdentifierNode implements ValuedNode {
                 ", name='" + name + '\'' +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.IDENTIFIER;
+    }
 }
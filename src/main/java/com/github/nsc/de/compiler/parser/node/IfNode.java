@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node;
 
+
 public class IfNode implements Node {
 
     private final Tree body;
@@ -33,4 +34,9 @@ public class IfNode implements Node {
                 ", condition=" + condition +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.IF;
+    }
 }
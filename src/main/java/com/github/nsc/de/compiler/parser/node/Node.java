@@ -1,4 +1,15 @@
 package com.github.nsc.de.compiler.parser.node;
 
 public interface Node {
+
+    /**
+     * Returns the kind of the node, so visitors can dispatch it using a switch instead of testing its class. The
+     * kinds are the ones of the {@link NodeKind} (e.g. {@link NodeKind#ADD} for an
+     * {@link com.github.nsc.de.compiler.parser.node.expression.AddNode}), each class of nodes has its own kind.
+     *
+     * @return the kind of the node
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    int getKind();
 }
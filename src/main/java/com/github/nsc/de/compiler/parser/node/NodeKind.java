@@ -0,0 +1,82 @@
+package com.github.nsc.de.compiler.parser.node;
+
+
+/**
+ * The kinds of {@link Node}s returned by {@link Node#getKind()}. Each class of nodes has its own kind, so visitors
+ * can dispatch the nodes using a switch instead of testing their classes. The kinds are dense (starting with 0), so
+ * they also fit into tables indexed by the kind (the {@link com.github.nsc.de.compiler.parser.flat.FlatTree} stores
+ * them in its arena).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class NodeKind {
+
+    // ****************************************************************************
+    // blocks & literals
+
+    public static final int TREE = 0;
+    public static final int NULL = 1;
+    public static final int INTEGER = 2;
+    public static final int DOUBLE = 3;
+    public static final int TRUE = 4;
+    public static final int FALSE = 5;
+
+
+    // ****************************************************************************
+    // binary operations
+
+    public static final int ADD = 6;
+    public static final int SUB = 7;
+    public static final int MUL = 8;
+    public static final int DIV = 9;
+    public static final int MOD = 10;
+    public static final int POW = 11;
+    public static final int EQ_EQUALS = 12;
+    public static final int BIGGER_EQUALS = 13;
+    public static final int SMALLER_EQUALS = 14;
+    public static final int BIGGER = 15;
+    public static final int SMALLER = 16;
+    public static final int LOGICAL_AND = 17;
+    public static final int LOGICAL_OR = 18;
+
+
+    // ****************************************************************************
+    // variables
+
+    public static final int IDENTIFIER = 19;
+    public static final int VARIABLE_USAGE = 20;
+    public static final int VARIABLE_ASSIGNMENT = 21;
+    public static final int VARIABLE_ADD_ASSIGNMENT = 22;
+    public static final int VARIABLE_SUB_ASSIGNMENT = 23;
+    public static final int VARIABLE_MUL_ASSIGNMENT = 24;
+    public static final int VARIABLE_DIV_ASSIGNMENT = 25;
+    public static final int VARIABLE_MOD_ASSIGNMENT = 26;
+    public static final int VARIABLE_POW_ASSIGNMENT = 27;
+    public static final int VARIABLE_INCREASE = 28;
+    public static final int VARIABLE_DECREASE = 29;
+    public static final int VARIABLE_DECLARATION = 30;
+
+
+    // ****************************************************************************
+    // loops & if
+
+    public static final int WHILE = 31;
+    public static final int DO_WHILE = 32;
+    public static final int FOR = 33;
+    public static final int IF = 34;
+
+
+    // ****************************************************************************
+    // functions & classes
+
+    public static final int FUNCTION_DECLARATION = 35;
+    public static final int FUNCTION_ARGUMENT = 36;
+    public static final int FUNCTION_CALL = 37;
+    public static final int CLASS_DECLARATION = 38;
+    public static final int CLASS_CONSTRUCTION = 39;
+
+    // only used by the object-nodes (the parser does not create PriorityNodes)
+    public static final int PRIORITY = 40;
+
+    private NodeKind() {}
+}
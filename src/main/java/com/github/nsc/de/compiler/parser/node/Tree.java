@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node;
 
+
 import java.util.Arrays;
 import java.util.List;
 
@@ -23,4 +24,9 @@ public class Tree implements Node {
     public String toString() {
         return "Tree{" + "children=" + Arrays.toString(children) + '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.TREE;
+    }
 }
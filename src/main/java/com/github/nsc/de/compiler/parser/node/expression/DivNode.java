@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.expression;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class DivNode extends ExpressionNode {
@@ -9,4 +10,9 @@ public class DivNode extends ExpressionNode {
     public char getOperator() {
         return '/';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.DIV;
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.expression;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class DoubleNode implements ValuedNode {
@@ -18,4 +19,9 @@ public class DoubleNode implements ValuedNode {
     public String toString() {
         return number+"";
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.DOUBLE;
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.expression;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class ModNode extends ExpressionNode {
@@ -11,4 +12,9 @@ public class ModNode extends ExpressionNode {
     public char getOperator() {
         return '%';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.MOD;
+    }
 }
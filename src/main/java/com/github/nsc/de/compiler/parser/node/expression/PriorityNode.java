@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.expression;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class PriorityNode implements ValuedNode {
@@ -20,4 +21,9 @@ public class PriorityNode implements ValuedNode {
                 "value=" + value +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.PRIORITY;
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.expression;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class SubNode extends ExpressionNode {
@@ -29,4 +30,9 @@ public class SubNode extends ExpressionNode {
     public char getOperator() {
         return '-';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.SUB;
+    }
 }
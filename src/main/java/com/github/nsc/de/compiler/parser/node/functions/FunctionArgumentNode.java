@@ -1,11 +1,25 @@
 package com.github.nsc.de.compiler.parser.node.functions;
 
 import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 
 public class FunctionArgumentNode implements Node {
 
     private final String name;
 
+    /**
+     * The slot of the declared {@link com.github.nsc.de.compiler.interpreter.Variable} in the frame of its scope (set
+     * by the {@link com.github.nsc.de.compiler.interpreter.Resolver}, -1 if it is only declared by its name)
+     */
+    private int slot = -1;
+
+    /**
+     * Can the declared {@link com.github.nsc.de.compiler.interpreter.Variable} be looked up by its name? (set by the
+     * {@link com.github.nsc.de.compiler.interpreter.Resolver}, a variable with a slot that is never looked up by its
+     * name is only put into the frame of its scope)
+     */
+    private boolean byName = true;
+
     public FunctionArgumentNode(String name) {
         this.name = name;
     }
@@ -14,10 +28,31 @@ public class FunctionArgumentNode implements Node {
         return name;
     }
 
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    public boolean isByName() {
+        return byName;
+    }
+
+    public void setByName(boolean byName) {
+        this.byName = byName;
+    }
+
     @Override
     public String toString() {
         return "FunctionArgumentNode{" +
                 "name='" + name + '\'' +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.FUNCTION_ARGUMENT;
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.functions;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 import java.util.Arrays;
@@ -30,4 +31,9 @@ public class FunctionCallNode implements ValuedNode {
                 ", args=" + Arrays.toString(args) +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.FUNCTION_CALL;
+    }
 }
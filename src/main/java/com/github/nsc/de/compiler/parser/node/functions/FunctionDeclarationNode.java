@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.functions;
 
 import com.github.nsc.de.compiler.parser.node.AccessDescriber;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.Tree;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 import com.github.nsc.de.compiler.parser.node.VariableType;
@@ -18,6 +19,19 @@ public class FunctionDeclarationNode implements ValuedNode {
     private final boolean isStatic;
     private final boolean isFinal;
 
+    /**
+     * The slot of the declared {@link com.github.nsc.de.compiler.interpreter.Variable} in the frame of its scope (set
+     * by the {@link com.github.nsc.de.compiler.interpreter.Resolver}, -1 if it is only declared by its name)
+     */
+    private int slot = -1;
+
+    /**
+     * Can the declared {@link com.github.nsc.de.compiler.interpreter.Variable} be looked up by its name? (set by the
+     * {@link com.github.nsc.de.compiler.interpreter.Resolver}, a variable with a slot that is never looked up by its
+     * name is only put into the frame of its scope)
+     */
+    private boolean byName = true;
+
     public FunctionDeclarationNode(String name, Tree body, FunctionArgumentNode[] args, VariableType type) {
         this(name, body, args, type, AccessDescriber.PACKAGE, false, false, false);
     }
@@ -58,6 +72,11 @@ public class FunctionDeclarationNode implements ValuedNode {
     public boolean isInClass() { return isInClass; }
     public boolean isFinal() { return isFinal; }
 
+    public int getSlot() { return slot; }
+    public void setSlot(int slot) { this.slot = slot; }
+    public boolean isByName() { return byName; }
+    public void setByName(boolean byName) { this.byName = byName; }
+
     @Override
     public String toString() {
         return "FunctionDeclarationNode{" +
@@ -67,4 +86,9 @@ public class FunctionDeclarationNode implements ValuedNode {
                 ", type=" + type +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.FUNCTION_DECLARATION;
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.logical;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class LogicalAndNode extends LogicalConcatenationNode {
@@ -11,4 +12,9 @@ public class LogicalAndNode extends LogicalConcatenationNode {
     public String getOperator() {
         return "&&";
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.LOGICAL_AND;
+    }
 }
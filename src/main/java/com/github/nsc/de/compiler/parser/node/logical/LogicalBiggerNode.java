@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.logical;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class LogicalBiggerNode extends LogicalCompareNode {
@@ -11,4 +12,8 @@ public class LogicalBiggerNode extends LogicalCompareNode {
         return ">";
     }
 
+    @Override
+    public int getKind() {
+        return NodeKind.BIGGER;
+    }
 }
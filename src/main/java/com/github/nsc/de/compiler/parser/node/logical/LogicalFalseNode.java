@@ -1,5 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.logical;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
+
 public class LogicalFalseNode implements LogicalNode {
 
     @Override
@@ -11,4 +13,9 @@ public class LogicalFalseNode implements LogicalNode {
     public String toString() {
         return "false";
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.FALSE;
+    }
 }
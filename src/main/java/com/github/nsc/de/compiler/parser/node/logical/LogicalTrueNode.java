@@ -1,5 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.logical;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
+
 public class LogicalTrueNode implements LogicalNode {
 
     @Override
@@ -11,4 +13,9 @@ public class LogicalTrueNode implements LogicalNode {
     public String toString() {
         return "true";
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.TRUE;
+    }
 }
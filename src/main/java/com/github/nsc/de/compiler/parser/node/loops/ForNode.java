@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.loops;
 
 import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.Tree;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
@@ -40,4 +41,9 @@ public class ForNode implements Node {
                 ", round=" + round +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.FOR;
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.loops;
 
 import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.Tree;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
@@ -30,4 +31,9 @@ public class WhileNode implements Node {
                 ", condition=" + condition +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.WHILE;
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.objects;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 import java.util.Arrays;
@@ -32,4 +33,9 @@ public class ClassConstructionNode implements ValuedNode {
                 ", args=" + Arrays.toString(getArgs()) +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.CLASS_CONSTRUCTION;
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.objects;
 
 import com.github.nsc.de.compiler.parser.node.AccessDescriber;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
 import com.github.nsc.de.compiler.parser.node.variables.VariableDeclarationNode;
@@ -19,6 +20,19 @@ public class ClassDeclarationNode implements ValuedNode {
     private final boolean isStatic;
     private final boolean isFinal;
 
+    /**
+     * The slot of the declared {@link com.github.nsc.de.compiler.interpreter.Variable} in the frame of its scope (set
+     * by the {@link com.github.nsc.de.compiler.interpreter.Resolver}, -1 if it is only declared by its name)
+     */
+    private int slot = -1;
+
+    /**
+     * Can the declared {@link com.github.nsc.de.compiler.interpreter.Variable} be looked up by its name? (set by the
+     * {@link com.github.nsc.de.compiler.interpreter.Resolver}, a variable with a slot that is never looked up by its
+     * name is only put into the frame of its scope)
+     */
+    private boolean byName = true;
+
     public ClassDeclarationNode(
             String name,
             VariableDeclarationNode[] fields,
@@ -91,6 +105,11 @@ public class ClassDeclarationNode implements ValuedNode {
     public boolean isInClass() { return isInClass; }
     public boolean isFinal() { return isFinal; }
 
+    public int getSlot() { return slot; }
+    public void setSlot(int slot) { this.slot = slot; }
+    public boolean isByName() { return byName; }
+    public void setByName(boolean byName) { this.byName = byName; }
+
     @Override
     public String toString() {
         return "ClassDeclarationNode{" +
@@ -98,4 +117,9 @@ public class ClassDeclarationNode implements ValuedNode {
                 ", methods=" + Arrays.toString(methods) +
                 '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.CLASS_DECLARATION;
+    }
 }
@@ -1,12 +1,14 @@
 package com.github.nsc.de.compiler.parser.node.variables;
 
 import com.github.nsc.de.compiler.parser.node.AccessDescriber;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 import com.github.nsc.de.compiler.parser.node.VariableType;
+import com.github.nsc.de.compiler.util.Symbol;
 
 public class VariableDeclarationNode implements ValuedNode {
 
-    private final String name;
+    private final Symbol name;
     private final VariableType type;
     private final VariableAssignmentNode assignment;
     private final AccessDescriber access;
@@ -14,11 +16,24 @@ public class VariableDeclarationNode implements ValuedNode {
     private final boolean isStatic;
     private final boolean isFinal;
 
+    /**
+     * The slot of the declared {@link com.github.nsc.de.compiler.interpreter.Variable} in the frame of its scope (set
+     * by the {@link com.github.nsc.de.compiler.interpreter.Resolver}, -1 if it is only declared by its name)
+     */
+    private int slot = -1;
+
+    /**
+     * Can the declared {@link com.github.nsc.de.compiler.interpreter.Variable} be looked up by its name? (set by the
+     * {@link com.github.nsc.de.compiler.interpreter.Resolver}, a variable with a slot that is never looked up by its
+     * name is only put into the frame of its scope)
+     */
+    private boolean byName = true;
+
     public VariableDeclarationNode(String name, VariableType type, VariableAssignmentNode assignment) {
         this(name, type, assignment, AccessDescriber.PACKAGE, false, false, false);
     }
 
-    public VariableDeclarationNode(String name, VariableType type, VariableAssignmentNode assignment,
+    public VariableDeclarationNode(Symbol name, VariableType type, VariableAssignmentNode assignment,
                                    AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
         this.name = name;
         this.type = type;
@@ -29,6 +44,11 @@ public class VariableDeclarationNode implements ValuedNode {
         this.isFinal = isFinal;
     }
 
+    public VariableDeclarationNode(String name, VariableType type, VariableAssignmentNode assignment,
+                                   AccessDescriber access, boolean isInClass, boolean isStatic, boolean isFinal) {
+        this(Symbol.of(name), type, assignment, access, isInClass, isStatic, isFinal);
+    }
+
     public VariableDeclarationNode(String name, VariableType type) { this(name, type, null); }
 
     public VariableDeclarationNode(String name, VariableAssignmentNode assignment) { this(name, VariableType.DYNAMIC, assignment); }
@@ -36,8 +56,9 @@ public class VariableDeclarationNode implements ValuedNode {
     public VariableDeclarationNode(String name) { this(name, VariableType.DYNAMIC, null); }
 
     public String getName() {
-        return name;
+        return name.getName();
     }
+    public Symbol getSymbol() { return name; }
     public VariableType getType() { return type; }
     public VariableAssignmentNode getAssignment() { return assignment; }
     public AccessDescriber getAccess() { return access; }
@@ -45,8 +66,18 @@ public class VariableDeclarationNode implements ValuedNode {
     public boolean isInClass() { return isInClass; }
     public boolean isFinal() { return isFinal; }
 
+    public int getSlot() { return slot; }
+    public void setSlot(int slot) { this.slot = slot; }
+    public boolean isByName() { return byName; }
+    public void setByName(boolean byName) { this.byName = byName; }
+
     @Override
     public String toString() {
         return this.getAssignment() != null ? "var " + this.getAssignment() : "var " + this.getName();
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.VARIABLE_DECLARATION;
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.nsc.de.compiler.parser.node.variables;
 
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class VariableDecreaseNode implements ValuedNode {
@@ -18,4 +19,9 @@ public class VariableDecreaseNode implements ValuedNode {
     public String toString() {
         return '{' + this.getVariable().toString() + "--}";
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.VARIABLE_DECREASE;
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.variables;
 
 import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class VariableDivAssignmentNode implements ValuedNode {
@@ -25,4 +26,9 @@ public class VariableDivAssignmentNode implements ValuedNode {
     public String toString() {
         return '{' + getValue().toString() + "/=" + this.getValue().toString() + '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.VARIABLE_DIV_ASSIGNMENT;
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.nsc.de.compiler.parser.node.variables;
 
 import com.github.nsc.de.compiler.parser.node.IdentifierNode;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
 import com.github.nsc.de.compiler.parser.node.ValuedNode;
 
 public class VariableUsageNode implements ValuedNode {
@@ -19,4 +20,9 @@ public class VariableUsageNode implements ValuedNode {
     public String toString() {
         return "{variable="  + this.variable + '}';
     }
+
+    @Override
+    public int getKind() {
+        return NodeKind.VARIABLE_USAGE;
+    }
 }
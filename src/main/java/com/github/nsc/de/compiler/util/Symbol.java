@@ -0,0 +1,93 @@
+package com.github.nsc.de.compiler.util;
+
+
+/**
+ * A {@link Symbol} is the canonical representation of an identifier. There is only one {@link Symbol} for each name
+ * (they are created by the {@link SymbolTable}), so {@link Symbol}s can be compared by identity and their hash is
+ * only calculated once. Each {@link Symbol} also has a small id, so it can be used as an index into arrays. The
+ * {@link SymbolTable} only references its {@link Symbol}s weakly: the id of a collected {@link Symbol} can be given to
+ * a new one, so an id only stands for its name while the {@link Symbol} is strongly reachable (whoever stores ids has
+ * to keep the {@link Symbol}s as well).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ *
+ * @see SymbolTable
+ */
+public final class Symbol {
+
+    /**
+     * The name of the {@link Symbol}
+     */
+    private final String name;
+
+    /**
+     * The id of the {@link Symbol} (a freed id of a collected symbol or the next unused one, so the ids stay small)
+     */
+    private final int id;
+
+    /**
+     * The hash of the {@link Symbol} (the same as the hash of the name)
+     */
+    private final int hash;
+
+    /**
+     * Constructor for {@link Symbol} (only used by the {@link SymbolTable})
+     *
+     * @param name the name of the {@link Symbol}
+     * @param id the id of the {@link Symbol}
+     * @param hash the hash of the name
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    Symbol(String name, int id, int hash) {
+        this.name = name;
+        this.id = id;
+        this.hash = hash;
+    }
+
+    /**
+     * Returns the {@link Symbol} for the given name (shortcut for {@link SymbolTable#intern(String)})
+     *
+     * @param name the name
+     * @return the {@link Symbol} for the name
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static Symbol of(String name) {
+        return SymbolTable.intern(name);
+    }
+
+    /**
+     * Getter for {@link Symbol#name}
+     *
+     * @return the name of the {@link Symbol}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for {@link Symbol#id}
+     *
+     * @return the id of the {@link Symbol}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public int getId() {
+        return id;
+    }
+
+    // equals() is not overridden: there is only one Symbol per name, so the identity is enough
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
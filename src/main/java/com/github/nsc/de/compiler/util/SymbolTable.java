@@ -0,0 +1,315 @@
+package com.github.nsc.de.compiler.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+
+/**
+ * The {@link SymbolTable} interns identifiers into {@link Symbol}s. It is shared by the
+ * {@link com.github.nsc.de.compiler.lexer.Lexer} (which interns the identifiers directly from its characters, so no
+ * string has to be created for identifiers that are already known), the {@link com.github.nsc.de.compiler.parser.Parser}
+ * and the {@link com.github.nsc.de.compiler.interpreter.Interpreter}.
+ *
+ * The {@link SymbolTable} is thread-safe. Looking up a known symbol doesn't need a lock, only creating a new one does.
+ *
+ * The {@link SymbolTable} only references its {@link Symbol}s weakly, so a {@link Symbol} that is not used anymore
+ * (no token, node, variable, ... refers to it) is collected and its id is given to the next new {@link Symbol}. So a
+ * long-running process (e.g. the repl) does not keep every identifier it has ever seen. Everything that stores the
+ * id of a {@link Symbol} instead of the {@link Symbol} itself (e.g. the arena of a
+ * {@link com.github.nsc.de.compiler.parser.flat.FlatTree} or the globals of the
+ * {@link com.github.nsc.de.compiler.vm.VirtualMachine}) must keep the {@link Symbol} referenced as long as it uses
+ * the id.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ *
+ * @see Symbol
+ */
+public final class SymbolTable {
+
+    /**
+     * The lock for creating new {@link Symbol}s
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * The queue the {@link Entry}s of the collected {@link Symbol}s are put into (their ids are freed with the next
+     * new {@link Symbol})
+     */
+    private static final ReferenceQueue<Symbol> QUEUE = new ReferenceQueue<>();
+
+    /**
+     * Open-addressing hash-table of the {@link Symbol}s (the size is a power of 2 and the table is at most half full).
+     * A {@link Symbol} is written into the table before it is returned, a new table is only published when it is
+     * complete, so the table can be read without a lock (a reader that misses a symbol looks it up again with the lock).
+     * The {@link Entry}s of collected {@link Symbol}s stay in the table until it is rebuilt.
+     */
+    private static volatile Entry[] table = new Entry[1024];
+
+    /**
+     * The {@link Entry}s by the ids of their {@link Symbol}s (null for a free id)
+     */
+    private static Entry[] symbols = new Entry[512];
+
+    /**
+     * The number of ids given out (all ids are smaller than this number)
+     */
+    private static int count = 0;
+
+    /**
+     * The number of {@link Entry}s in the {@link #table} (including the ones of collected {@link Symbol}s)
+     */
+    private static int used = 0;
+
+    /**
+     * The number of {@link Symbol}s that are not collected yet
+     */
+    private static int live = 0;
+
+    /**
+     * The freed ids of the collected {@link Symbol}s
+     */
+    private static int[] free = new int[16];
+
+    /**
+     * The number of {@link #free} ids
+     */
+    private static int freeCount = 0;
+
+    private SymbolTable() {}
+
+
+    // ****************************************************************************
+    // Interning
+
+    /**
+     * Returns the {@link Symbol} for the given name (creates it if it does not exist yet)
+     *
+     * @param name the name
+     * @return the {@link Symbol} for the name
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static Symbol intern(String name) {
+        int hash = name.hashCode();
+        Symbol symbol = find(table, hash, name);
+        if(symbol != null) return symbol;
+
+        synchronized (LOCK) {
+            symbol = find(table, hash, name);
+            return symbol != null ? symbol : create(name, hash);
+        }
+    }
+
+    /**
+     * Returns the {@link Symbol} for the name given as a range of characters (creates it if it does not exist yet).
+     * No string is created if the {@link Symbol} already exists.
+     *
+     * @param chars the characters containing the name
+     * @param offset the index of the first character of the name
+     * @param length the length of the name
+     * @return the {@link Symbol} for the name
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static Symbol intern(char[] chars, int offset, int length) {
+
+        // calculate the hash the same way as String#hashCode(), so the hash of the Symbol is the hash of its name
+        int hash = 0;
+        for(int i = offset; i < offset + length; i++) hash = 31 * hash + chars[i];
+
+        Symbol symbol = find(table, hash, chars, offset, length);
+        if(symbol != null) return symbol;
+
+        synchronized (LOCK) {
+            symbol = find(table, hash, chars, offset, length);
+            return symbol != null ? symbol : create(new String(chars, offset, length), hash);
+        }
+    }
+
+    /**
+     * Returns the {@link Symbol} with the given id
+     *
+     * @param id the id of the {@link Symbol}
+     * @return the {@link Symbol} with the given id
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static Symbol get(int id) {
+        synchronized (LOCK) {
+            Symbol symbol = id >= 0 && id < count && symbols[id] != null ? symbols[id].get() : null;
+            if(symbol == null) throw new Error(String.format("There is no symbol with id %d", id));
+            return symbol;
+        }
+    }
+
+    /**
+     * Returns the number of ids given out (all ids are smaller than this number)
+     *
+     * @return the number of ids given out
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public static int size() {
+        synchronized (LOCK) {
+            return count;
+        }
+    }
+
+
+    // ****************************************************************************
+    // Hash-table
+
+    /**
+     * Searches a {@link Symbol} in the given table
+     *
+     * @param table the table to search in
+     * @param hash the hash of the name
+     * @param name the name
+     * @return the {@link Symbol} or null if it is not in the table
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static Symbol find(Entry[] table, int hash, String name) {
+        int mask = table.length - 1;
+        for(int i = hash & mask; table[i] != null; i = (i + 1) & mask) {
+            if(table[i].hash != hash) continue;
+            Symbol symbol = table[i].get();
+            if(symbol != null && symbol.getName().equals(name)) return symbol;
+        }
+        return null;
+    }
+
+    /**
+     * Searches a {@link Symbol} given as a range of characters in the given table
+     *
+     * @param table the table to search in
+     * @param hash the hash of the name
+     * @param chars the characters containing the name
+     * @param offset the index of the first character of the name
+     * @param length the length of the name
+     * @return the {@link Symbol} or null if it is not in the table
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static Symbol find(Entry[] table, int hash, char[] chars, int offset, int length) {
+        int mask = table.length - 1;
+        for(int i = hash & mask; table[i] != null; i = (i + 1) & mask) {
+            if(table[i].hash != hash) continue;
+            Symbol symbol = table[i].get();
+            if(symbol != null && matches(symbol.getName(), chars, offset, length)) return symbol;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a name equals a range of characters
+     *
+     * @param name the name
+     * @param chars the characters
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return do the name and the characters match?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static boolean matches(String name, char[] chars, int offset, int length) {
+        if(name.length() != length) return false;
+        for(int i = 0; i < length; i++) if(name.charAt(i) != chars[offset + i]) return false;
+        return true;
+    }
+
+    /**
+     * Creates a new {@link Symbol} and puts it into the table (must only be called with the {@link #LOCK})
+     *
+     * @param name the name of the {@link Symbol}
+     * @param hash the hash of the name
+     * @return the created {@link Symbol}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static Symbol create(String name, int hash) {
+        expunge();
+
+        int id = freeCount > 0 ? free[--freeCount] : count++;
+        Symbol symbol = new Symbol(name, id, hash);
+        Entry entry = new Entry(symbol, id, hash);
+
+        if(id == symbols.length) symbols = Arrays.copyOf(symbols, symbols.length * 2);
+        symbols[id] = entry;
+        live++;
+
+        // keep the table at most half full (the new table is filled completely before it is published)
+        if((used + 1) * 2 > table.length) rebuild();
+        else {
+            insert(table, entry);
+            used++;
+        }
+        return symbol;
+    }
+
+    /**
+     * Frees the ids of the collected {@link Symbol}s (must only be called with the {@link #LOCK})
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static void expunge() {
+        for(Entry entry; (entry = (Entry) QUEUE.poll()) != null;) {
+            symbols[entry.id] = null;
+            if(freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+            free[freeCount++] = entry.id;
+            live--;
+        }
+    }
+
+    /**
+     * Creates a new table containing the {@link Entry}s of the {@link Symbol}s that are not collected (it is at most
+     * a quarter full, so it grows if most {@link Symbol}s are alive and shrinks if most are collected)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static void rebuild() {
+        int length = 1024;
+        while(live * 4 > length) length *= 2;
+
+        Entry[] rebuilt = new Entry[length];
+        used = 0;
+        for(int i = 0; i < count; i++) {
+            if(symbols[i] == null || symbols[i].get() == null) continue;
+            insert(rebuilt, symbols[i]);
+            used++;
+        }
+        table = rebuilt;
+    }
+
+    /**
+     * Inserts an {@link Entry} into the given table
+     *
+     * @param table the table
+     * @param entry the {@link Entry} to insert
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static void insert(Entry[] table, Entry entry) {
+        int mask = table.length - 1;
+        int i = entry.hash & mask;
+        while(table[i] != null) i = (i + 1) & mask;
+        table[i] = entry;
+    }
+
+    /**
+     * The weak reference to a {@link Symbol} in the table (it keeps the id and the hash of the {@link Symbol}, so the
+     * id can be freed and the table can be rebuilt after the {@link Symbol} is collected)
+     */
+    private static final class Entry extends WeakReference<Symbol> {
+
+        final int id;
+        final int hash;
+
+        Entry(Symbol symbol, int id, int hash) {
+            super(symbol, QUEUE);
+            this.id = id;
+            this.hash = hash;
+        }
+    }
+}
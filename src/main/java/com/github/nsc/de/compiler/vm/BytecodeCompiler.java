@@ -0,0 +1,1186 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.generators.Generator;
+import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.interpreter.Resolver;
+import com.github.nsc.de.compiler.interpreter.values.DoubleValue;
+import com.github.nsc.de.compiler.interpreter.values.IntegerValue;
+import com.github.nsc.de.compiler.parser.node.*;
+import com.github.nsc.de.compiler.parser.node.expression.*;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionArgumentNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionCallNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.logical.*;
+import com.github.nsc.de.compiler.parser.node.loops.DoWhileNode;
+import com.github.nsc.de.compiler.parser.node.loops.ForNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassConstructionNode;
+import com.github.nsc.de.compiler.parser.node.objects.ClassDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.variables.*;
+import com.github.nsc.de.compiler.util.Symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.github.nsc.de.compiler.vm.Opcodes.*;
+
+
+/**
+ * Compiles a tree into the {@link Chunk}s run by the {@link VirtualMachine}. The visit-methods of the nodes push the
+ * value of the node (the same value the {@link com.github.nsc.de.compiler.interpreter.Interpreter} returns for it),
+ * statements whose value is not used are compiled by {@link #statement(Node)}, which does not create the value.
+ *
+ * The variables are resolved by the {@link Resolver} before compiling. The {@link VirtualMachine} has one frame for
+ * each function call, so each frame of the {@link Resolver} becomes a part of the frame of its function: the
+ * declarations get the next free slot of the function and the address of an identifier (the frames to go up and the
+ * slot) is translated into the functions to go up and the slot in the frame of that function, no names are compared.
+ * The top-level declarations become globals (they are stored by the id of their name, so the chunks of multiple trees
+ * share them).
+ *
+ * The names the {@link Resolver} leaves to the lookup by name are looked up in the blocks around them: everything
+ * inside of classes and the names a function uses before they are declared in a block around it (the body of a
+ * function is compiled at the end of the block it is declared in, so these names are declared when the function is
+ * compiled). Only the declarations that can be looked up by name are added to the names of their blocks. Names that
+ * are not declared around their use are compiled as globals.
+ *
+ * Like the interpreter (which creates a new scope for each round of a loop) the body of a loop that declares functions
+ * or classes gets a new frame in each round: it is compiled into an own {@link Chunk} that is called in each round,
+ * so a function sees the variables of the round it was declared in. The bodies of the other loops use the slots of
+ * their function in all rounds (the declarations assign them again), as nothing can see the variables of an earlier
+ * round there.
+ *
+ * Loops are the hot code, so some common patterns get their own instructions: comparisons used as conditions jump
+ * directly, numbers used as right value of an operator are taken from the constant pool by the operator itself and
+ * statements like {@code i++} and {@code s += x} change the variable without using the operand stack.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class BytecodeCompiler extends Generator<Void> {
+
+    /**
+     * The function that is compiled at the moment
+     */
+    private State state;
+
+    /**
+     * Compiles a tree (the returned {@link Chunk} returns the value of the last statement)
+     *
+     * @param tree the tree to compile
+     * @return the compiled {@link Chunk}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Chunk compile(Node tree) {
+        new Resolver().resolve(tree);
+        Chunk chunk = new Chunk("<main>", 0);
+        this.state = new State(null, chunk);
+        this.state.block = new Block(null, true, false);
+        if(tree instanceof Tree) this.sequence(((Tree) tree).getChildren(), true);
+        else this.visit(tree);
+        this.closeBlock();
+        this.emit(RETURN, -1);
+        this.state.finish();
+        this.state = null;
+        return chunk;
+    }
+
+    @Override
+    public Void visit(Node n) {
+        if(n == null) this.emit(NULL, 1);
+        else super.visit(n);
+        return null;
+    }
+
+
+
+    // ****************************************************************************
+    // Statements and blocks
+
+    /**
+     * Compiles a node whose value is not used (it leaves nothing on the stack)
+     *
+     * @param n the node to compile
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void statement(Node n) {
+        if(n == null) return;
+        switch(n.getKind()) {
+            case NodeKind.TREE: this.sequence(((Tree) n).getChildren(), false); return;
+            case NodeKind.VARIABLE_DECLARATION: this.declaration((VariableDeclarationNode) n, false); return;
+            case NodeKind.VARIABLE_ASSIGNMENT: {
+                VariableAssignmentNode node = (VariableAssignmentNode) n;
+                this.assignment(node.getVariable(), node.getValue(), -1, false);
+                return;
+            }
+            case NodeKind.VARIABLE_ADD_ASSIGNMENT: this.assignment(((VariableAddAssignmentNode) n).getVariable(), ((VariableAddAssignmentNode) n).getValue(), ADD, false); return;
+            case NodeKind.VARIABLE_SUB_ASSIGNMENT: this.assignment(((VariableSubAssignmentNode) n).getVariable(), ((VariableSubAssignmentNode) n).getValue(), SUB, false); return;
+            case NodeKind.VARIABLE_MUL_ASSIGNMENT: this.assignment(((VariableMulAssignmentNode) n).getVariable(), ((VariableMulAssignmentNode) n).getValue(), MUL, false); return;
+            case NodeKind.VARIABLE_DIV_ASSIGNMENT: this.assignment(((VariableDivAssignmentNode) n).getVariable(), ((VariableDivAssignmentNode) n).getValue(), DIV, false); return;
+            case NodeKind.VARIABLE_MOD_ASSIGNMENT: this.assignment(((VariableModAssignmentNode) n).getVariable(), ((VariableModAssignmentNode) n).getValue(), MOD, false); return;
+            case NodeKind.VARIABLE_POW_ASSIGNMENT: this.assignment(((VariablePowAssignmentNode) n).getVariable(), ((VariablePowAssignmentNode) n).getValue(), POW, false); return;
+            case NodeKind.VARIABLE_INCREASE: this.step(((VariableIncreaseNode) n).getVariable(), true, false); return;
+            case NodeKind.VARIABLE_DECREASE: this.step(((VariableDecreaseNode) n).getVariable(), false, false); return;
+            case NodeKind.WHILE: this.whileLoop((WhileNode) n); return;
+            case NodeKind.DO_WHILE: this.doWhileLoop((DoWhileNode) n); return;
+            case NodeKind.FOR: this.forLoop((ForNode) n); return;
+            case NodeKind.IF: this.ifStatement((IfNode) n, false); return;
+            case NodeKind.FUNCTION_DECLARATION: this.function((FunctionDeclarationNode) n, false); return;
+            case NodeKind.CLASS_DECLARATION: this.classDeclaration((ClassDeclarationNode) n, false); return;
+            default:
+                this.visit(n);
+                this.emit(POP, -1);
+        }
+    }
+
+    /**
+     * Compiles the children of a tree (in the current block)
+     *
+     * @param children the children
+     * @param value should the value of the last child be pushed?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void sequence(Node[] children, boolean value) {
+        for(int i = 0; i < children.length - 1; i++) this.statement(children[i]);
+        if(children.length == 0) {
+            if(value) this.emit(NULL, 1);
+        }
+        else if(value) this.visit(children[children.length - 1]);
+        else this.statement(children[children.length - 1]);
+    }
+
+    /**
+     * Compiles the body of a loop or an if in a new block
+     *
+     * @param body the body (can be null)
+     * @param value should the value of the body be pushed?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void body(Tree body, boolean value) {
+        this.state.block = new Block(this.state.block, false, Interpreter.declares(body));
+        this.sequence(body != null ? body.getChildren() : new Node[0], value);
+        this.closeBlock();
+    }
+
+    /**
+     * Leaves the current block, the functions and classes declared in it are compiled now
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void closeBlock() {
+        Block block = this.state.block;
+        // the list can grow while compiling, as the declarations can be compiled in between
+        for(int i = 0; i < block.pending.size(); i++) block.pending.get(i).run();
+        this.state.block = block.parent;
+    }
+
+    @Override
+    public Void visitTree(Tree t) {
+        this.sequence(t.getChildren(), true);
+        return null;
+    }
+
+
+
+    // ****************************************************************************
+    // Values and operators
+
+    @Override
+    public Void visitIntegerNode(IntegerNode n) {
+        this.emit(CONST, this.constant(n.getNumber(), () -> new IntegerValue(n.getNumber())), 1);
+        return null;
+    }
+
+    @Override
+    public Void visitDoubleNode(DoubleNode n) {
+        this.emit(CONST, this.constant(n.getNumber(), () -> new DoubleValue(n.getNumber())), 1);
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalTrueNode(LogicalTrueNode n) {
+        this.emit(Opcodes.TRUE, 1);
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalFalseNode(LogicalFalseNode n) {
+        this.emit(Opcodes.FALSE, 1);
+        return null;
+    }
+
+    @Override
+    public Void visitPriorityNode(PriorityNode n) {
+        return this.visit(n.getValue());
+    }
+
+    @Override
+    public Void visitAddNode(AddNode n) {
+        return this.operator(n.getLeft(), n.getRight(), ADD);
+    }
+
+    @Override
+    public Void visitSubNode(SubNode n) {
+        return this.operator(n.getLeft(), n.getRight(), SUB);
+    }
+
+    @Override
+    public Void visitMulNode(MulNode n) {
+        return this.operator(n.getLeft(), n.getRight(), MUL);
+    }
+
+    @Override
+    public Void visitDivNode(DivNode n) {
+        return this.operator(n.getLeft(), n.getRight(), DIV);
+    }
+
+    @Override
+    public Void visitModNode(ModNode n) {
+        return this.operator(n.getLeft(), n.getRight(), MOD);
+    }
+
+    @Override
+    public Void visitPowNode(PowNode n) {
+        return this.operator(n.getLeft(), n.getRight(), POW);
+    }
+
+    @Override
+    public Void visitEqEqualsNode(LogicalEqEqualsNode n) {
+        return this.operator(n.getLeft(), n.getRight(), Opcodes.EQ_EQUALS);
+    }
+
+    @Override
+    public Void visitBiggerEqualsNode(LogicalBiggerEqualsNode n) {
+        return this.operator(n.getLeft(), n.getRight(), Opcodes.BIGGER_EQUALS);
+    }
+
+    @Override
+    public Void visitSmallerEqualsNode(LogicalSmallerEqualsNode n) {
+        return this.operator(n.getLeft(), n.getRight(), Opcodes.SMALLER_EQUALS);
+    }
+
+    @Override
+    public Void visitBiggerNode(LogicalBiggerNode n) {
+        return this.operator(n.getLeft(), n.getRight(), Opcodes.BIGGER);
+    }
+
+    @Override
+    public Void visitSmallerNode(LogicalSmallerNode n) {
+        return this.operator(n.getLeft(), n.getRight(), Opcodes.SMALLER);
+    }
+
+    // both sides are always evaluated, like in the interpreter
+    @Override
+    public Void visitLogicalAndNode(LogicalAndNode n) {
+        return this.operator(n.getLeft(), n.getRight(), AND);
+    }
+
+    @Override
+    public Void visitLogicalOrNode(LogicalOrNode n) {
+        return this.operator(n.getLeft(), n.getRight(), OR);
+    }
+
+    private Void operator(ValuedNode left, ValuedNode right, int opcode) {
+        int constant = this.constantOperand(right);
+        this.visit(left);
+        if(constant != 0) this.emit(opcode, constant, 0);
+        else {
+            this.visit(right);
+            this.emit(opcode, -1);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the operand for an operator with a number as right value
+     *
+     * @param right the right value of the operator
+     * @return the index of the number in the constant pool + 1 (0 if the value is not a number)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int constantOperand(ValuedNode right) {
+        int index;
+        if(right instanceof IntegerNode) {
+            int number = ((IntegerNode) right).getNumber();
+            index = this.constant(number, () -> new IntegerValue(number));
+        }
+        else if(right instanceof DoubleNode) {
+            double number = ((DoubleNode) right).getNumber();
+            index = this.constant(number, () -> new DoubleValue(number));
+        }
+        else return 0;
+        return index + 1 < IF_FALSE ? index + 1 : 0;
+    }
+
+
+
+    // ****************************************************************************
+    // Variables
+
+    @Override
+    public Void visitVariableDeclarationNode(VariableDeclarationNode n) {
+        this.declaration(n, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableAssignmentNode(VariableAssignmentNode n) {
+        this.assignment(n.getVariable(), n.getValue(), -1, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableAddAssignmentNode(VariableAddAssignmentNode n) {
+        this.assignment(n.getVariable(), n.getValue(), ADD, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableSubAssignmentNode(VariableSubAssignmentNode n) {
+        this.assignment(n.getVariable(), n.getValue(), SUB, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableMulAssignmentNode(VariableMulAssignmentNode n) {
+        this.assignment(n.getVariable(), n.getValue(), MUL, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableDivAssignmentNode(VariableDivAssignmentNode n) {
+        this.assignment(n.getVariable(), n.getValue(), DIV, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableModAssignmentNode(VariableModAssignmentNode n) {
+        this.assignment(n.getVariable(), n.getValue(), MOD, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariablePowAssignmentNode(VariablePowAssignmentNode n) {
+        this.assignment(n.getVariable(), n.getValue(), POW, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableIncreaseNode(VariableIncreaseNode n) {
+        this.step(n.getVariable(), true, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableDecreaseNode(VariableDecreaseNode n) {
+        this.step(n.getVariable(), false, true);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableUsageNode(VariableUsageNode n) {
+        return this.visit(n.getVariable());
+    }
+
+    @Override
+    public Void visitIdentifierNode(IdentifierNode n) {
+        // an identifier is compiled to the value of the variable
+        if(n.getParent() != null) {
+            this.visit(n.getParent());
+            this.emit(GET_MEMBER, this.constant(n.getName(), n::getName), 0);
+        }
+        else this.load(this.resolve(n));
+        return null;
+    }
+
+    /**
+     * Compiles a variable declaration
+     *
+     * @param n the declaration
+     * @param value should the value of the declaration be pushed?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void declaration(VariableDeclarationNode n, boolean value) {
+        // the variable is declared before its value is compiled (like in the interpreter)
+        int slot = this.declare(n.getSymbol(), n.getSlot(), n.isByName(), "Variable is already defined");
+        this.visit(n.getAssignment() != null ? n.getAssignment().getValue() : null);
+        if(value) this.emit(DUP, 1);
+        this.define(n.getSymbol(), slot);
+    }
+
+    /**
+     * Compiles an assignment
+     *
+     * @param variable the variable to assign (an {@link IdentifierNode})
+     * @param value the value to assign
+     * @param operator the opcode of the operator to apply to the old value and the value (-1 for a simple assignment)
+     * @param result should the value of the assignment (the new value of the variable) be pushed?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void assignment(ValuedNode variable, Node value, int operator, boolean result) {
+
+        IdentifierNode identifier = identifier(variable);
+
+        // The interpreter takes the old value after the value that is assigned is calculated, so it is only loaded
+        // first when the value can't change the variable
+        boolean loadFirst = operator != -1 && isPure(value);
+
+        if(identifier.getParent() != null) {
+            int name = this.constant(identifier.getName(), identifier::getName);
+            this.visit(identifier.getParent());
+            if(loadFirst) {
+                this.emit(DUP, 1);
+                this.emit(GET_MEMBER, name, 0);
+                this.visit(value);
+            }
+            else if(operator != -1) {
+                this.emit(DUP, 1);
+                this.visit(value);
+                this.emit(SWAP, 0);
+                this.emit(GET_MEMBER, name, 0);
+                this.emit(SWAP, 0);
+            }
+            else this.visit(value);
+            if(operator != -1) this.emit(operator, -1);
+            this.emit(SET_MEMBER, name, -1);
+            if(!result) this.emit(POP, -1);
+        }
+        else {
+            int address = this.resolve(identifier);
+            if(!result && (operator == ADD || operator == SUB) && (isLocal(address) || address < GLOBALS)) {
+                // the value is calculated before the variable is read, like in the interpreter
+                this.visit(value);
+                if(address < GLOBALS) this.emit(operator == ADD ? ADD_GLOBAL : SUB_GLOBAL, address, -1);
+                else this.emit(operator == ADD ? ADD_LOCAL : SUB_LOCAL, slotOf(address), -1);
+                return;
+            }
+            if(loadFirst) {
+                this.load(address);
+                this.visit(value);
+            }
+            else if(operator != -1) {
+                this.visit(value);
+                this.load(address);
+                this.emit(SWAP, 0);
+            }
+            else this.visit(value);
+            if(operator != -1) this.emit(operator, -1);
+            if(result) this.emit(DUP, 1);
+            this.store(address);
+        }
+
+    }
+
+    /**
+     * Compiles an increase or decrease of a variable (the value is the old value of the variable)
+     *
+     * @param variable the variable to change (an {@link IdentifierNode})
+     * @param increase increase or decrease it?
+     * @param result should the old value be pushed?
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void step(ValuedNode variable, boolean increase, boolean result) {
+
+        IdentifierNode identifier = identifier(variable);
+
+        if(identifier.getParent() != null) {
+            this.visit(identifier.getParent());
+            this.emit(increase ? INCREASE_MEMBER : DECREASE_MEMBER, this.constant(identifier.getName(), identifier::getName), 0);
+            if(!result) this.emit(POP, -1);
+            return;
+        }
+
+        int address = this.resolve(identifier);
+        if(!result && isLocal(address)) {
+            this.emit(increase ? INCREASE_LOCAL : DECREASE_LOCAL, slotOf(address), 0);
+            return;
+        }
+        if(!result && address < GLOBALS) {
+            this.emit(increase ? INCREASE_GLOBAL : DECREASE_GLOBAL, address, 0);
+            return;
+        }
+        this.load(address);
+        if(result) this.emit(DUP, 1);
+        this.emit(increase ? INCREASE : DECREASE, 0);
+        this.store(address);
+
+    }
+
+    private static IdentifierNode identifier(ValuedNode variable) {
+        if(!(variable instanceof IdentifierNode)) throw new Error("Only variables can be assigned: " + variable);
+        return (IdentifierNode) variable;
+    }
+
+    /**
+     * Checks if a value is calculated without changing any variable
+     */
+    private static boolean isPure(Node n) {
+        if(n == null) return true;
+        switch(n.getKind()) {
+            case NodeKind.INTEGER:
+            case NodeKind.DOUBLE:
+            case NodeKind.TRUE:
+            case NodeKind.FALSE:
+                return true;
+            case NodeKind.VARIABLE_USAGE: return isPure(((VariableUsageNode) n).getVariable());
+            case NodeKind.IDENTIFIER: return isPure(((IdentifierNode) n).getParent());
+            case NodeKind.PRIORITY: return isPure(((PriorityNode) n).getValue());
+            case NodeKind.ADD:
+            case NodeKind.SUB:
+            case NodeKind.MUL:
+            case NodeKind.DIV:
+            case NodeKind.MOD:
+            case NodeKind.POW:
+                return isPure(((ExpressionNode) n).getLeft()) && isPure(((ExpressionNode) n).getRight());
+            case NodeKind.EQ_EQUALS:
+            case NodeKind.BIGGER_EQUALS:
+            case NodeKind.SMALLER_EQUALS:
+            case NodeKind.BIGGER:
+            case NodeKind.SMALLER:
+                return isPure(((LogicalCompareNode) n).getLeft()) && isPure(((LogicalCompareNode) n).getRight());
+            case NodeKind.LOGICAL_AND:
+            case NodeKind.LOGICAL_OR:
+                return isPure(((LogicalConcatenationNode) n).getLeft()) && isPure(((LogicalConcatenationNode) n).getRight());
+            default: return false;
+        }
+    }
+
+
+
+    // ****************************************************************************
+    // Loops and ifs
+
+    // the conditions of the loops are compiled behind the body, so each round only needs one jump
+
+    private void whileLoop(WhileNode n) {
+        int jump = this.emitJump(JUMP, 0);
+        int start = this.state.size;
+        this.loopBody(n.getBody());
+        this.patch(jump);
+        this.branch(n.getCondition(), true, start);
+    }
+
+    private void doWhileLoop(DoWhileNode n) {
+        int start = this.state.size;
+        this.loopBody(n.getBody());
+        this.branch(n.getCondition(), true, start);
+    }
+
+    private void forLoop(ForNode n) {
+        // the declaration of the counter is inside of an own block (like the outer scope of the interpreter)
+        this.state.block = new Block(this.state.block, false, true);
+        this.statement(n.getDeclaration());
+        int jump = this.emitJump(JUMP, 0);
+        int start = this.state.size;
+        this.loopBody(n.getBody());
+        this.statement(n.getRound());
+        this.patch(jump);
+        this.branch(n.getCondition(), true, start);
+        this.closeBlock();
+    }
+
+    /**
+     * Compiles the body of a loop. A body that declares functions or classes is compiled into an own {@link Chunk}
+     * that is called in each round, so each round gets a new frame (the functions of a round keep its variables)
+     *
+     * @param body the body (can be null)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void loopBody(Tree body) {
+        if(!declaresClosures(body)) {
+            this.body(body, false);
+            return;
+        }
+        State outer = this.state;
+        Chunk chunk = new Chunk(outer.chunk.getName(), 0);
+        this.state = new State(outer, chunk);
+        this.state.block = new Block(null, false, Interpreter.declares(body));
+        this.sequence(body.getChildren(), false);
+        this.closeBlock();
+        this.emit(NULL, 1);
+        this.emit(RETURN, -1);
+        this.state.finish();
+        this.state = outer;
+        this.emit(CLOSURE, this.constant(chunk, () -> chunk), 1);
+        this.emit(CALL, 0, 0);
+        this.emit(POP, -1);
+    }
+
+    // does a block declare a function or a class (directly or in the blocks inside of it)?
+    private static boolean declaresClosures(Node n) {
+        if(n == null) return false;
+        switch(n.getKind()) {
+            case NodeKind.FUNCTION_DECLARATION:
+            case NodeKind.CLASS_DECLARATION: return true;
+            case NodeKind.TREE:
+                for(Node child : ((Tree) n).getChildren()) if(declaresClosures(child)) return true;
+                return false;
+            case NodeKind.WHILE: return declaresClosures(((WhileNode) n).getBody());
+            case NodeKind.DO_WHILE: return declaresClosures(((DoWhileNode) n).getBody());
+            case NodeKind.FOR: return declaresClosures(((ForNode) n).getBody());
+            case NodeKind.IF: return declaresClosures(((IfNode) n).getBody()) || declaresClosures(((IfNode) n).getElseBody());
+            default: return false;
+        }
+    }
+
+    private void ifStatement(IfNode n, boolean value) {
+        int jumpElse = this.branch(n.getCondition(), false, 0);
+        this.body(n.getBody(), value);
+        if(n.getElseBody() == null && !value) {
+            this.patch(jumpElse);
+            return;
+        }
+        int jumpEnd = this.emitJump(JUMP, 0);
+        if(value) this.state.depth--;
+        this.patch(jumpElse);
+        if(n.getElseBody() != null) this.body(n.getElseBody(), value);
+        else this.emit(NULL, 1);
+        this.patch(jumpEnd);
+    }
+
+    /**
+     * Compiles a conditional jump (comparisons are compiled to jumps that compare the values themselves)
+     *
+     * @param condition the condition
+     * @param ifTrue should the jump be taken if the condition is true (or if it is false)?
+     * @param target the target of the jump
+     * @return the index of the jump (to patch it)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int branch(ValuedNode condition, boolean ifTrue, int target) {
+        if(this.state.size >= IF_FALSE) throw new Error("Function " + this.state.chunk.getName() + " is too long");
+        while(condition instanceof PriorityNode) condition = ((PriorityNode) condition).getValue();
+        int opcode = condition != null ? compareJump(condition.getKind()) : -1;
+        if(opcode != -1) {
+            int constant = this.constantOperand(((LogicalCompareNode) condition).getRight());
+            this.visit(((LogicalCompareNode) condition).getLeft());
+            if(constant == 0) this.visit(((LogicalCompareNode) condition).getRight());
+            this.emit(opcode, ifTrue ? constant : constant | IF_FALSE, constant != 0 ? -1 : -2);
+            this.emit(target);
+            return this.state.size - 2;
+        }
+        else {
+            this.visit(condition);
+            this.emit(ifTrue ? JUMP_IF_TRUE : JUMP_IF_FALSE, target, -1);
+        }
+        return this.state.size - 1;
+    }
+
+    private static int compareJump(int kind) {
+        switch(kind) {
+            case NodeKind.EQ_EQUALS: return JUMP_IF_EQ_EQUALS;
+            case NodeKind.BIGGER_EQUALS: return JUMP_IF_BIGGER_EQUALS;
+            case NodeKind.SMALLER_EQUALS: return JUMP_IF_SMALLER_EQUALS;
+            case NodeKind.BIGGER: return JUMP_IF_BIGGER;
+            case NodeKind.SMALLER: return JUMP_IF_SMALLER;
+            default: return -1;
+        }
+    }
+
+    @Override
+    public Void visitWhileNode(WhileNode n) {
+        this.whileLoop(n);
+        this.emit(NULL, 1);
+        return null;
+    }
+
+    @Override
+    public Void visitDoWhileNode(DoWhileNode n) {
+        this.doWhileLoop(n);
+        this.emit(NULL, 1);
+        return null;
+    }
+
+    @Override
+    public Void visitForNode(ForNode n) {
+        this.forLoop(n);
+        this.emit(NULL, 1);
+        return null;
+    }
+
+    @Override
+    public Void visitIfNode(IfNode n) {
+        this.ifStatement(n, true);
+        return null;
+    }
+
+
+
+    // ****************************************************************************
+    // Functions
+
+    @Override
+    public Void visitFunctionDeclarationNode(FunctionDeclarationNode n) {
+        this.function(n, true);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionCallNode(FunctionCallNode n) {
+        this.visit(n.getFunction());
+        for(ValuedNode arg : n.getArgs()) this.visit(arg);
+        this.emit(CALL, n.getArgs().length, -n.getArgs().length);
+        return null;
+    }
+
+    private void function(FunctionDeclarationNode n, boolean value) {
+        Symbol name = Symbol.of(n.getName());
+        int slot = this.declare(name, n.getSlot(), n.isByName(), "'" + n.getName() + "' is already declared!");
+        Chunk chunk = new Chunk(n.getName(), n.getArgs().length);
+        this.state.block.pending.add(() -> this.compileFunction(n, chunk));
+        this.emit(CLOSURE, this.constant(chunk, () -> chunk), 1);
+        if(value) this.emit(DUP, 1);
+        this.define(name, slot);
+    }
+
+    /**
+     * Compiles the body of a function (the arguments are stored in the first slots of its frame)
+     *
+     * @param n the declaration of the function
+     * @param chunk the {@link Chunk} to fill in
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void compileFunction(FunctionDeclarationNode n, Chunk chunk) {
+        State outer = this.state;
+        this.state = new State(outer, chunk);
+        this.state.block = new Block(null, false, true);
+        for(FunctionArgumentNode arg : n.getArgs()) {
+            // an argument that is declared twice gets the slot of the last one (like in the interpreter)
+            int slot = this.state.slots++;
+            if(arg.getSlot() != -1) this.state.block.setSlot(arg.getSlot(), slot);
+            if(arg.getSlot() == -1 || arg.isByName()) this.state.block.names.put(Symbol.of(arg.getName()), slot);
+        }
+        this.sequence(n.getBody() != null ? n.getBody().getChildren() : new Node[0], false);
+        this.closeBlock();
+        this.emit(NULL, 1);
+        this.emit(RETURN, -1);
+        this.state.finish();
+        this.state = outer;
+    }
+
+
+
+    // ****************************************************************************
+    // Classes
+
+    @Override
+    public Void visitClassDeclarationNode(ClassDeclarationNode n) {
+        this.classDeclaration(n, true);
+        return null;
+    }
+
+    @Override
+    public Void visitClassConstruction(ClassConstructionNode n) {
+        // the arguments are not used (there are no constructors yet, like in the interpreter)
+        this.visit(n.getType());
+        this.emit(NEW, 0);
+        return null;
+    }
+
+    private void classDeclaration(ClassDeclarationNode n, boolean value) {
+        Symbol name = Symbol.of(n.getName());
+        int slot = this.declare(name, n.getSlot(), n.isByName(), "'" + n.getName() + "' is already declared!");
+        ClassTemplate template = template(n);
+        this.statics(n);
+        this.emit(CLASS, this.constant(template, () -> template), 1 - template.staticValues);
+        this.state.block.pending.add(() -> this.compileClass(n, template));
+        if(value) this.emit(DUP, 1);
+        this.define(name, slot);
+    }
+
+    /**
+     * Creates the template of a class (and of the classes declared inside of it), the code is compiled later
+     *
+     * @param n the declaration of the class
+     * @return the template
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static ClassTemplate template(ClassDeclarationNode n) {
+
+        ClassTemplate template = new ClassTemplate(n.getName(), n.isStatic());
+        template.members.put("this", 0);
+
+        List<String> statics = new ArrayList<>();
+        for(VariableDeclarationNode field : n.getFields()) {
+            if(field.isStatic()) statics.add(field.getName());
+            else template.members.put(field.getName(), template.members.size());
+        }
+        template.staticFields = statics.toArray(new String[0]);
+        template.staticValues = statics.size();
+
+        FunctionDeclarationNode[] methods = n.getMethods();
+        template.methodNames = new String[methods.length];
+        template.methodSlots = new int[methods.length];
+        template.methods = new Chunk[methods.length];
+        for(int i = 0; i < methods.length; i++) {
+            template.methodNames[i] = methods[i].getName();
+            template.methods[i] = new Chunk(n.getName() + "." + methods[i].getName(), methods[i].getArgs().length);
+            if(!n.isStatic()) template.methodSlots[i] = member(template, methods[i].getName());
+        }
+
+        ClassDeclarationNode[] classes = n.getClasses();
+        template.classNames = new String[classes.length];
+        template.classSlots = new int[classes.length];
+        template.classes = new ClassTemplate[classes.length];
+        for(int i = 0; i < classes.length; i++) {
+            template.classNames[i] = classes[i].getName();
+            template.classes[i] = template(classes[i]);
+            template.staticValues += template.classes[i].staticValues;
+            if(!n.isStatic()) template.classSlots[i] = member(template, classes[i].getName());
+        }
+
+        return template;
+
+    }
+
+    private static int member(ClassTemplate template, String name) {
+        Integer slot = template.members.get(name);
+        if(slot == null) template.members.put(name, slot = template.members.size());
+        return slot;
+    }
+
+    /**
+     * Pushes the values of the static fields of a class (in the order of {@link ClassTemplate#staticValues})
+     *
+     * @param n the declaration of the class
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void statics(ClassDeclarationNode n) {
+        for(ClassDeclarationNode cls : n.getClasses()) this.statics(cls);
+        for(VariableDeclarationNode field : n.getFields())
+            if(field.isStatic()) this.visit(field.getAssignment() != null ? field.getAssignment().getValue() : null);
+    }
+
+    /**
+     * Compiles the initializer and the methods of a class (and of the classes declared inside of it)
+     *
+     * @param n the declaration of the class
+     * @param template the template to fill in
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void compileClass(ClassDeclarationNode n, ClassTemplate template) {
+
+        State outer = this.state;
+
+        // the frame of the objects: the initializer is run in it, the methods are declared in it
+        State object = new State(outer, template.initializer = new Chunk(n.getName() + ".<init>", 0));
+        object.block = new Block(null, false, false);
+        for(Map.Entry<String, Integer> member : template.members.entrySet())
+            object.block.names.put(Symbol.of(member.getKey()), member.getValue());
+        object.slots = template.size();
+
+        this.state = object;
+        for(VariableDeclarationNode field : n.getFields()) {
+            if(field.isStatic()) continue;
+            this.visit(field.getAssignment() != null ? field.getAssignment().getValue() : null);
+            this.emit(STORE, template.members.get(field.getName()), -1);
+        }
+        Block members = object.block;
+        this.closeBlock();
+        this.emit(NULL, 1);
+        this.emit(RETURN, -1);
+        object.finish();
+        object.block = members;
+
+        // the methods and classes of a static class are declared in the frame around the class
+        this.state = n.isStatic() ? outer : object;
+        for(int i = 0; i < n.getMethods().length; i++) this.compileFunction(n.getMethods()[i], template.methods[i]);
+        for(int i = 0; i < n.getClasses().length; i++) this.compileClass(n.getClasses()[i], template.classes[i]);
+
+        this.state = outer;
+
+    }
+
+
+
+    // ****************************************************************************
+    // Resolving
+
+    // An address is either a global (the id of the name) or a slot in a frame: (hops << 16 | slot) + GLOBALS
+
+    private static final int GLOBALS = 1 << 24;
+
+    private static boolean isLocal(int address) {
+        return address >= GLOBALS && address < GLOBALS + (1 << 16);
+    }
+
+    private static int slotOf(int address) {
+        return (address - GLOBALS) & 0xFFFF;
+    }
+
+    /**
+     * Declares a name in the current block
+     *
+     * @param name the name to declare
+     * @param resolved the slot from the {@link Resolver} (-1 if the declaration is not resolved)
+     * @param byName can the name be looked up by its name?
+     * @param error the message of the error if the name is already declared in the block
+     * @return the slot for the name (-1 for a global)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int declare(Symbol name, int resolved, boolean byName, String error) {
+
+        // the declaration is put into the block of the frame the Resolver put it in (the blocks without declarations
+        // have no frame)
+        Block block = this.state.block;
+        if(resolved != -1) while(!block.frame) block = block.parent;
+        else if(block.global) return -1;
+
+        if(resolved != -1 ? block.getSlot(resolved) != -1 : block.names.containsKey(name)) throw new Error(error);
+        int slot = this.state.slots++;
+        if(slot >= 1 << 16) throw new Error("Too many variables in function " + this.state.chunk.getName());
+        if(resolved != -1) block.setSlot(resolved, slot);
+        if(resolved == -1 || byName) block.names.put(name, slot);
+        return slot;
+
+    }
+
+    /**
+     * Stores the value on the stack into a declared variable
+     *
+     * @param name the name of the variable
+     * @param slot the slot returned by {@link #declare(Symbol, String)}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void define(Symbol name, int slot) {
+        if(slot == -1) this.emit(DECLARE_GLOBAL, this.global(name), -1);
+        else this.emit(STORE, slot, -1);
+    }
+
+    /**
+     * Returns the address of the variable of an identifier (without a parent)
+     *
+     * @param n the identifier
+     * @return the address of the variable
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int resolve(IdentifierNode n) {
+
+        if(n.getSlot() == -1) return this.resolve(n.getSymbol());
+
+        // go up the frames of the Resolver, counting the functions that are left
+        int hops = n.getHops(), functions = 0;
+        State state = this.state;
+        Block block = state.block;
+        while(true) {
+            if(block == null) {
+                state = state.parent;
+                block = state.block;
+                functions++;
+            }
+            else if(block.frame && hops-- == 0) break;
+            else block = block.parent;
+        }
+
+        int slot = block.getSlot(n.getSlot());
+        if(slot == -1) throw new Error("Variable with name \"" + n.getName() + "\" is not declared");
+        if(functions > 0xFF) throw new Error("Functions are nested too deep");
+        return GLOBALS + (functions << 16 | slot);
+
+    }
+
+    /**
+     * Looks up a name in the blocks around the current one (for the identifiers the {@link Resolver} leaves to the
+     * lookup by name)
+     *
+     * @param name the name to look up
+     * @return the address of the variable
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int resolve(Symbol name) {
+        int hops = 0;
+        for(State state = this.state; state != null; state = state.parent, hops++) {
+            for(Block block = state.block; block != null; block = block.parent) {
+                Integer slot = block.names.get(name);
+                if(slot != null) {
+                    if(hops > 0xFF) throw new Error("Functions are nested too deep");
+                    return GLOBALS + (hops << 16 | slot);
+                }
+            }
+        }
+        return this.global(name);
+    }
+
+    /**
+     * Returns the address of a global (the id of its name)
+     *
+     * @param name the name of the global
+     * @return the address of the global
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private int global(Symbol name) {
+        this.state.globals.add(name);
+        return name.getId();
+    }
+
+    private void load(int address) {
+        if(address < GLOBALS) this.emit(LOAD_GLOBAL, address, 1);
+        else if(isLocal(address)) this.emit(LOAD, slotOf(address), 1);
+        else this.emit(LOAD_OUTER, outer(address), 1);
+    }
+
+    private void store(int address) {
+        if(address < GLOBALS) this.emit(STORE_GLOBAL, address, -1);
+        else if(isLocal(address)) this.emit(STORE, slotOf(address), -1);
+        else this.emit(STORE_OUTER, outer(address), -1);
+    }
+
+    // converts an address to the operand of LOAD_OUTER and STORE_OUTER
+    private static int outer(int address) {
+        int value = address - GLOBALS;
+        return (value >>> 16) | (value & 0xFFFF) << 8;
+    }
+
+
+
+    // ****************************************************************************
+    // Emitting
+
+    private void emit(int opcode, int effect) {
+        this.emit(opcode, 0, effect);
+    }
+
+    private void emit(int opcode, int operand, int effect) {
+        if(operand < 0 || operand >= GLOBALS) throw new Error("Operand out of range: " + operand);
+        State state = this.state;
+        if(state.size == state.code.length) state.code = Arrays.copyOf(state.code, state.size * 2);
+        state.code[state.size++] = opcode | operand << 8;
+        state.depth += effect;
+        if(state.depth > state.maxDepth) state.maxDepth = state.depth;
+    }
+
+    private int emitJump(int opcode, int effect) {
+        this.emit(opcode, 0, effect);
+        return this.state.size - 1;
+    }
+
+    // adds a word that is not an instruction (the target of the comparing jumps)
+    private void emit(int word) {
+        State state = this.state;
+        if(state.size == state.code.length) state.code = Arrays.copyOf(state.code, state.size * 2);
+        state.code[state.size++] = word;
+    }
+
+    // lets a jump go to the next instruction
+    private void patch(int jump) {
+        int opcode = this.state.code[jump] & 0xFF;
+        if(opcode >= JUMP_IF_EQ_EQUALS && opcode <= JUMP_IF_SMALLER) this.state.code[jump + 1] = this.state.size;
+        else this.state.code[jump] = opcode | this.state.size << 8;
+    }
+
+    private int constant(Object key, Supplier<Object> value) {
+        Integer index = this.state.constantIndices.get(key);
+        if(index == null) {
+            index = this.state.constants.size();
+            this.state.constants.add(value.get());
+            this.state.constantIndices.put(key, index);
+        }
+        return index;
+    }
+
+
+
+    // ****************************************************************************
+    // States
+
+    /**
+     * The state of a {@link Chunk} that is compiled (one for each frame around the current node)
+     */
+    private static final class State {
+
+        final State parent;
+        final Chunk chunk;
+        Block block;
+        int slots;
+
+        int[] code = new int[16];
+        int size;
+        int depth;
+        int maxDepth;
+
+        final List<Object> constants = new ArrayList<>();
+        final Map<Object, Integer> constantIndices = new HashMap<>();
+        final Set<Symbol> globals = new LinkedHashSet<>();
+
+        State(State parent, Chunk chunk) {
+            this.parent = parent;
+            this.chunk = chunk;
+        }
+
+        void finish() {
+            this.chunk.finish(Arrays.copyOf(this.code, this.size), this.constants.toArray(),
+                    this.globals.toArray(new Symbol[0]), this.slots, this.maxDepth);
+        }
+    }
+
+    /**
+     * A block (the names declared in it and the declarations to compile at its end)
+     */
+    private static final class Block {
+
+        final Block parent;
+
+        /**
+         * Is this the top-level block? (its declarations are globals)
+         */
+        final boolean global;
+
+        /**
+         * Does the {@link Resolver} create a frame for this block?
+         */
+        final boolean frame;
+
+        /**
+         * The declarations that can be looked up by their names
+         */
+        final Map<Symbol, Integer> names = new HashMap<>();
+
+        /**
+         * The slots of the declarations in the frame of the function plus 1 (indexed by their slots from the
+         * {@link Resolver}, 0 if the slot is not declared yet)
+         */
+        int[] slots;
+
+        final List<Runnable> pending = new ArrayList<>();
+
+        Block(Block parent, boolean global, boolean frame) {
+            this.parent = parent;
+            this.global = global;
+            this.frame = frame;
+        }
+
+        int getSlot(int resolved) {
+            return this.slots != null && resolved < this.slots.length ? this.slots[resolved] - 1 : -1;
+        }
+
+        void setSlot(int resolved, int slot) {
+            if(this.slots == null) this.slots = new int[Math.max(8, resolved + 1)];
+            else if(resolved >= this.slots.length) this.slots = Arrays.copyOf(this.slots, Math.max(this.slots.length * 2, resolved + 1));
+            this.slots[resolved] = slot + 1;
+        }
+    }
+
+}
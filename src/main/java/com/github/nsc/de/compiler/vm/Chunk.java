@@ -0,0 +1,166 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.util.Symbol;
+import com.github.nsc.de.compiler.util.SymbolTable;
+
+
+/**
+ * The compiled code of a function (or of the top-level statements or the field initialisation of a class). A
+ * {@link Chunk} contains its instructions (see {@link Opcodes}), the constant pool the instructions refer to and the
+ * sizes the {@link VirtualMachine} needs to run it: the number of slots of its frame (the arguments are stored in the
+ * first slots) and the maximal size of the operand stack.
+ *
+ * The {@link Chunk} of a function is created by the {@link BytecodeCompiler} when the function is declared, but its
+ * code is only filled in at the end of the block containing the declaration.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class Chunk {
+
+    /**
+     * The name of the {@link Chunk} (the name of the function)
+     */
+    final String name;
+
+    /**
+     * The number of arguments
+     */
+    final int arity;
+
+    /**
+     * The instructions
+     */
+    int[] code;
+
+    /**
+     * The constant pool
+     */
+    Object[] constants;
+
+    /**
+     * The names of the globals the instructions refer to (the instructions only contain the ids of the names, so the
+     * {@link Chunk} keeps the {@link Symbol}s to keep their ids valid)
+     */
+    Symbol[] globals;
+
+    /**
+     * The number of slots of the frame
+     */
+    int slots;
+
+    /**
+     * The maximal size of the operand stack
+     */
+    int maxStack;
+
+    Chunk(String name, int arity) {
+        this.name = name;
+        this.arity = arity;
+    }
+
+    void finish(int[] code, Object[] constants, Symbol[] globals, int slots, int maxStack) {
+        this.code = code;
+        this.constants = constants;
+        this.globals = globals;
+        this.slots = slots;
+        this.maxStack = maxStack;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getArity() {
+        return this.arity;
+    }
+
+    public int getSlots() {
+        return this.slots;
+    }
+
+    public int getMaxStack() {
+        return this.maxStack;
+    }
+
+    /**
+     * @return the number of instructions
+     */
+    public int size() {
+        return this.code.length;
+    }
+
+    /**
+     * Returns a listing of the instructions of the {@link Chunk}
+     *
+     * @return the listing
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(String.format("chunk %s (arity=%d, slots=%d, stack=%d)%n",
+                this.name, this.arity, this.slots, this.maxStack));
+        for(int pc = 0; pc < this.code.length; pc++) {
+            int opcode = this.code[pc] & 0xFF;
+            int operand = this.code[pc] >>> 8;
+            out.append(String.format("%5d  %-16s", pc, Opcodes.NAMES[opcode]));
+            if(opcode >= Opcodes.ADD && opcode <= Opcodes.OR && operand != 0)
+                out.append(operand - 1).append(" (").append(describe(this.constants[operand - 1])).append(')');
+            switch(opcode) {
+                case Opcodes.CONST:
+                case Opcodes.GET_MEMBER:
+                case Opcodes.SET_MEMBER:
+                case Opcodes.INCREASE_MEMBER:
+                case Opcodes.DECREASE_MEMBER:
+                case Opcodes.CLOSURE:
+                case Opcodes.CLASS:
+                    out.append(operand).append(" (").append(describe(this.constants[operand])).append(')');
+                    break;
+                case Opcodes.LOAD_OUTER:
+                case Opcodes.STORE_OUTER:
+                    out.append(operand & 0xFF).append(' ').append(operand >>> 8);
+                    break;
+                case Opcodes.LOAD_GLOBAL:
+                case Opcodes.STORE_GLOBAL:
+                case Opcodes.DECLARE_GLOBAL:
+                case Opcodes.INCREASE_GLOBAL:
+                case Opcodes.DECREASE_GLOBAL:
+                case Opcodes.ADD_GLOBAL:
+                case Opcodes.SUB_GLOBAL:
+                    out.append(operand).append(" (").append(SymbolTable.get(operand).getName()).append(')');
+                    break;
+                case Opcodes.LOAD:
+                case Opcodes.STORE:
+                case Opcodes.INCREASE_LOCAL:
+                case Opcodes.DECREASE_LOCAL:
+                case Opcodes.JUMP:
+                case Opcodes.JUMP_IF_FALSE:
+                case Opcodes.JUMP_IF_TRUE:
+                case Opcodes.CALL:
+                case Opcodes.ADD_LOCAL:
+                case Opcodes.SUB_LOCAL:
+                    out.append(operand);
+                    break;
+                case Opcodes.JUMP_IF_EQ_EQUALS:
+                case Opcodes.JUMP_IF_BIGGER_EQUALS:
+                case Opcodes.JUMP_IF_SMALLER_EQUALS:
+                case Opcodes.JUMP_IF_BIGGER:
+                case Opcodes.JUMP_IF_SMALLER:
+                    out.append(this.code[++pc]).append((operand & Opcodes.IF_FALSE) != 0 ? " if false" : "");
+                    operand &= ~Opcodes.IF_FALSE;
+                    if(operand != 0)
+                        out.append(", ").append(operand - 1).append(" (").append(describe(this.constants[operand - 1])).append(')');
+                    break;
+            }
+            out.append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    private static String describe(Object constant) {
+        if(constant instanceof Chunk) return "chunk " + ((Chunk) constant).name;
+        if(constant instanceof ClassTemplate) return "class " + ((ClassTemplate) constant).name;
+        return String.valueOf(constant);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.nsc.de.compiler.vm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * The compiled declaration of a class. The {@link BytecodeCompiler} creates the template when the class is declared
+ * and fills in the code of the initializer and the methods at the end of the block containing the declaration.
+ *
+ * The objects of the class are {@link Frame}s (see {@link Instance}): their slots contain "this", the fields, the
+ * methods and the classes of the prototype, so the methods use the fields like variables of an outer function. The
+ * static fields (and the methods and classes of a static class) are stored by their names in the {@link ClassValue}.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+final class ClassTemplate {
+
+    /**
+     * The name of the class
+     */
+    final String name;
+
+    /**
+     * Is the class static? (its methods and classes are static then, like in the interpreter)
+     */
+    final boolean isStatic;
+
+    /**
+     * The slots of the members in the objects of the class (by their names)
+     */
+    final Map<String, Integer> members = new HashMap<>();
+
+    /**
+     * The code initializing the fields of an object (it is run in the frame of the object)
+     */
+    Chunk initializer;
+
+    /**
+     * The names, the slots (if they are part of the objects) and the code of the methods
+     */
+    String[] methodNames;
+    int[] methodSlots;
+    Chunk[] methods;
+
+    /**
+     * The names, the slots (if they are part of the objects) and the templates of the classes declared in the class
+     */
+    String[] classNames;
+    int[] classSlots;
+    ClassTemplate[] classes;
+
+    /**
+     * The names of the static fields
+     */
+    String[] staticFields;
+
+    /**
+     * The number of values the {@link Opcodes#CLASS} instruction takes from the stack: the values of the static fields
+     * of the classes declared in this class (in the order of the classes) followed by the values of the own static
+     * fields
+     */
+    int staticValues;
+
+    ClassTemplate(String name, boolean isStatic) {
+        this.name = name;
+        this.isStatic = isStatic;
+    }
+
+    /**
+     * @return the number of slots of the objects
+     */
+    int size() {
+        return this.members.size();
+    }
+
+}
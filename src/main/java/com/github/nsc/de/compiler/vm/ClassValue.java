@@ -0,0 +1,96 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+
+import java.util.Map;
+
+
+/**
+ * A class of the {@link VirtualMachine}
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class ClassValue implements InterpreterValue {
+
+    /**
+     * The compiled declaration of the class
+     */
+    final ClassTemplate template;
+
+    /**
+     * The frame the class was declared in (the parent of the frames of its objects)
+     */
+    final Frame frame;
+
+    /**
+     * The values of the static members
+     */
+    final Map<String, InterpreterValue> statics;
+
+    /**
+     * The classes of the prototype (the objects get a copy using their own frame)
+     */
+    final ClassValue[] classes;
+
+    ClassValue(ClassTemplate template, Frame frame, Map<String, InterpreterValue> statics, ClassValue[] classes) {
+        this.template = template;
+        this.frame = frame;
+        this.statics = statics;
+        this.classes = classes;
+    }
+
+    /**
+     * Creates a copy of the class declared in another frame (sharing the static members)
+     *
+     * @param frame the frame of the copy
+     * @return the copy
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    ClassValue withFrame(Frame frame) {
+        return new ClassValue(this.template, frame, this.statics, this.classes);
+    }
+
+    /**
+     * Returns a static member
+     *
+     * @param name the name of the member
+     * @return the value of the member
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    InterpreterValue get(String name) {
+        InterpreterValue value = this.statics.get(name);
+        if(value == null) throw new Error(String.format("Class \"%s\" has no property called %s", getClassName(), name));
+        return value;
+    }
+
+    /**
+     * Sets a static member
+     *
+     * @param name the name of the member
+     * @param value the new value of the member
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void set(String name, InterpreterValue value) {
+        if(!this.statics.containsKey(name))
+            throw new Error(String.format("Class \"%s\" has no property called %s", getClassName(), name));
+        this.statics.put(name, value);
+    }
+
+    public String getClassName() {
+        return this.template.name;
+    }
+
+    @Override
+    public String getName() {
+        return "class";
+    }
+
+    @Override
+    public String toString() {
+        return "ClassValue{name=" + this.template.name + ", statics=" + this.statics.keySet() + '}';
+    }
+
+}
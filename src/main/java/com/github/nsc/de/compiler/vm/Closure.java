@@ -0,0 +1,43 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+
+
+/**
+ * A function of the {@link VirtualMachine}: the {@link Chunk} of the function together with the {@link Frame} it was
+ * declared in
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class Closure implements InterpreterValue {
+
+    /**
+     * The code of the function
+     */
+    final Chunk chunk;
+
+    /**
+     * The frame the function was declared in
+     */
+    final Frame frame;
+
+    Closure(Chunk chunk, Frame frame) {
+        this.chunk = chunk;
+        this.frame = frame;
+    }
+
+    public Chunk getChunk() {
+        return this.chunk;
+    }
+
+    @Override
+    public String getName() {
+        return "function";
+    }
+
+    @Override
+    public String toString() {
+        return "Closure{name=" + this.chunk.getName() + ", arity=" + this.chunk.getArity() + '}';
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+
+
+/**
+ * The slots of a call of a {@link Chunk} (the arguments and the local variables). A {@link Frame} stays alive as long
+ * as a {@link Closure} declared inside of it exists, the frames of the enclosing functions are reached through the
+ * {@link #parent}.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+class Frame {
+
+    /**
+     * The slots of the frame (a slot that was never written is null)
+     */
+    final InterpreterValue[] slots;
+
+    /**
+     * The frame the function was declared in (null for the frame of the top-level statements)
+     */
+    final Frame parent;
+
+    Frame(InterpreterValue[] slots, Frame parent) {
+        this.slots = slots;
+        this.parent = parent;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+import com.github.nsc.de.compiler.interpreter.values.NullValue;
+
+
+/**
+ * An object of the {@link VirtualMachine}. The object is the frame its methods are declared in, so the slots of the
+ * frame are the members of the object (see {@link ClassTemplate#members}).
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class Instance extends Frame implements InterpreterValue {
+
+    /**
+     * The class of the object
+     */
+    final ClassValue type;
+
+    Instance(ClassValue type) {
+        super(new InterpreterValue[type.template.size()], type.frame);
+        this.type = type;
+    }
+
+    /**
+     * Returns a member
+     *
+     * @param name the name of the member
+     * @return the value of the member
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    InterpreterValue get(String name) {
+        InterpreterValue value = this.slots[slot(name)];
+        return value != null ? value : NullValue.NULL;
+    }
+
+    /**
+     * Sets a member
+     *
+     * @param name the name of the member
+     * @param value the new value of the member
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    void set(String name, InterpreterValue value) {
+        this.slots[slot(name)] = value;
+    }
+
+    private int slot(String name) {
+        Integer slot = this.type.template.members.get(name);
+        if(slot == null) throw new Error(String.format("Object has no property called \"%s\"", name));
+        return slot;
+    }
+
+    public ClassValue getType() {
+        return this.type;
+    }
+
+    @Override
+    public String getName() {
+        return "object";
+    }
+
+    @Override
+    public String toString() {
+        return "Instance{class=" + this.type.getClassName() + '}';
+    }
+
+}
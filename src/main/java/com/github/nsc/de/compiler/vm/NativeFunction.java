@@ -0,0 +1,52 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+
+import java.util.function.Consumer;
+
+
+/**
+ * A function of the {@link VirtualMachine} that is implemented in java (like the
+ * {@link com.github.nsc.de.compiler.interpreter.DefaultFunctions} of the interpreter)
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public final class NativeFunction implements InterpreterValue {
+
+    /**
+     * The name of the function
+     */
+    private final String name;
+
+    /**
+     * The implementation (it gets the values of the arguments)
+     */
+    private final Consumer<InterpreterValue[]> body;
+
+    public NativeFunction(String name, Consumer<InterpreterValue[]> body) {
+        this.name = name;
+        this.body = body;
+    }
+
+    /**
+     * Calls the function
+     *
+     * @param args the values of the arguments
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public void call(InterpreterValue[] args) {
+        this.body.accept(args);
+    }
+
+    @Override
+    public String getName() {
+        return "function";
+    }
+
+    @Override
+    public String toString() {
+        return "NativeFunction{name=" + this.name + '}';
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.github.nsc.de.compiler.vm;
+
+
+/**
+ * The instruction set of the {@link VirtualMachine}, the instructions are created by the {@link BytecodeCompiler}.
+ *
+ * Each instruction is one int: the opcode is stored in the lowest 8 bits and the operand in the upper 24 bits
+ * (instructions without operand leave them 0). The operand is a slot in the frame, an index into the constant pool of
+ * the {@link Chunk}, the id of a {@link com.github.nsc.de.compiler.util.Symbol} (for globals), an absolute jump target
+ * or the number of arguments of a call. The instructions accessing a slot of an outer frame store the number of frames
+ * to go up in the bits 8 to 15 and the slot in the bits 16 to 31.
+ *
+ * The instructions work on the operand stack of the current call, the comments give the values they take from the
+ * stack and the values they push onto it.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+final class Opcodes {
+
+    // constants
+    static final int CONST = 0;             // -> constant[operand]
+    static final int NULL = 1;              // -> null
+    static final int TRUE = 2;              // -> true
+    static final int FALSE = 3;             // -> false
+
+    // stack
+    static final int POP = 4;               // value ->
+    static final int DUP = 5;               // value -> value, value
+    static final int SWAP = 6;              // a, b -> b, a
+
+    // arithmetic, comparison and logical operators (left, right -> result), if the operand is not 0 the right value is
+    // the constant with the index operand - 1 (left -> result)
+    static final int ADD = 7;
+    static final int SUB = 8;
+    static final int MUL = 9;
+    static final int DIV = 10;
+    static final int MOD = 11;
+    static final int POW = 12;
+    static final int EQ_EQUALS = 13;
+    static final int BIGGER_EQUALS = 14;
+    static final int SMALLER_EQUALS = 15;
+    static final int BIGGER = 16;
+    static final int SMALLER = 17;
+    static final int AND = 18;
+    static final int OR = 19;
+    static final int INCREASE = 20;         // value -> value + 1
+    static final int DECREASE = 21;         // value -> value - 1
+
+    // variables
+    static final int LOAD = 22;             // -> slot[operand]
+    static final int STORE = 23;            // value ->
+    static final int LOAD_OUTER = 24;       // -> slot of an outer frame
+    static final int STORE_OUTER = 25;      // value ->
+    static final int LOAD_GLOBAL = 26;      // -> global[operand]
+    static final int STORE_GLOBAL = 27;     // value ->
+    static final int DECLARE_GLOBAL = 28;   // value -> (fails if the global is declared already)
+    static final int INCREASE_LOCAL = 29;   // (slot[operand]++ as statement)
+    static final int DECREASE_LOCAL = 30;   // (slot[operand]-- as statement)
+
+    // members (the operand is the index of the name in the constant pool)
+    static final int GET_MEMBER = 31;       // object -> member
+    static final int SET_MEMBER = 32;       // object, value -> value
+    static final int INCREASE_MEMBER = 33;  // object -> old value of the member
+    static final int DECREASE_MEMBER = 34;  // object -> old value of the member
+
+    // jumps (the operand is the index of the target instruction)
+    static final int JUMP = 35;
+    static final int JUMP_IF_FALSE = 36;    // condition ->
+    static final int JUMP_IF_TRUE = 37;     // condition ->
+
+    // functions and classes
+    static final int CLOSURE = 38;          // -> function (the operand is the index of the chunk)
+    static final int CLASS = 39;            // static values -> class (the operand is the index of the template)
+    static final int NEW = 40;              // class -> object
+    static final int CALL = 41;             // function, arguments -> null (the operand is the number of arguments)
+    static final int RETURN = 42;           // value -> (returns the value to the caller of the chunk)
+
+    // superinstructions for loops: the comparisons jump directly (left, right ->), they take two words: the operand
+    // is the constant of the right value (like for the operators) and the bit 23 of it inverts the jump, the next word
+    // is the jump target
+    static final int JUMP_IF_EQ_EQUALS = 43;
+    static final int JUMP_IF_BIGGER_EQUALS = 44;
+    static final int JUMP_IF_SMALLER_EQUALS = 45;
+    static final int JUMP_IF_BIGGER = 46;
+    static final int JUMP_IF_SMALLER = 47;
+    static final int ADD_LOCAL = 48;        // value -> (slot[operand] += value as statement)
+    static final int SUB_LOCAL = 49;        // value -> (slot[operand] -= value as statement)
+    static final int INCREASE_GLOBAL = 50;  // (global[operand]++ as statement)
+    static final int DECREASE_GLOBAL = 51;  // (global[operand]-- as statement)
+    static final int ADD_GLOBAL = 52;       // value -> (global[operand] += value as statement)
+    static final int SUB_GLOBAL = 53;       // value -> (global[operand] -= value as statement)
+
+    /**
+     * The bit of the operand of the comparing jumps that lets them jump when the comparison is false
+     */
+    static final int IF_FALSE = 1 << 23;
+
+    /**
+     * The names of the opcodes (for {@link Chunk#toString()})
+     */
+    static final String[] NAMES = {
+            "CONST", "NULL", "TRUE", "FALSE", "POP", "DUP", "SWAP", "ADD", "SUB", "MUL", "DIV", "MOD", "POW",
+            "EQ_EQUALS", "BIGGER_EQUALS", "SMALLER_EQUALS", "BIGGER", "SMALLER", "AND", "OR", "INCREASE", "DECREASE",
+            "LOAD", "STORE", "LOAD_OUTER", "STORE_OUTER", "LOAD_GLOBAL", "STORE_GLOBAL", "DECLARE_GLOBAL",
+            "INCREASE_LOCAL", "DECREASE_LOCAL", "GET_MEMBER", "SET_MEMBER", "INCREASE_MEMBER", "DECREASE_MEMBER",
+            "JUMP", "JUMP_IF_FALSE", "JUMP_IF_TRUE", "CLOSURE", "CLASS", "NEW", "CALL", "RETURN",
+            "JUMP_IF_EQ_EQUALS", "JUMP_IF_BIGGER_EQUALS", "JUMP_IF_SMALLER_EQUALS", "JUMP_IF_BIGGER", "JUMP_IF_SMALLER",
+            "ADD_LOCAL", "SUB_LOCAL", "INCREASE_GLOBAL", "DECREASE_GLOBAL", "ADD_GLOBAL", "SUB_GLOBAL"
+    };
+
+    private Opcodes() {}
+}
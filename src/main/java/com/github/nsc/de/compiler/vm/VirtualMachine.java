@@ -0,0 +1,586 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.interpreter.values.*;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.util.Symbol;
+import com.github.nsc.de.compiler.util.SymbolTable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.nsc.de.compiler.vm.Opcodes.*;
+
+
+/**
+ * Runs the {@link Chunk}s created by the {@link BytecodeCompiler}. The results are the same values the
+ * {@link com.github.nsc.de.compiler.interpreter.Interpreter} creates (except for functions, classes and objects, they
+ * are represented by {@link Closure}s, {@link ClassValue}s and {@link Instance}s).
+ *
+ * Each call of a {@link Chunk} gets its own {@link Frame} (the slots of its variables) and its own operand stack, the
+ * frames of the functions around it are reached over {@link Frame#parent}. The globals (the variables declared on the
+ * top-level) are stored by the id of their name, so they stay available for the next {@link Chunk} run by the same
+ * {@link VirtualMachine}.
+ *
+ * On loop-heavy code the {@link VirtualMachine} runs about 2.5 times as fast as the
+ * {@link com.github.nsc.de.compiler.interpreter.Interpreter} (which uses frame slots and dispatches by node kind as
+ * well). It is not meant to go further: the values stay boxed {@link InterpreterValue}s, so each operation on
+ * integers still creates a new value. Unboxed integers would need typed slots and operand stacks and are not part of
+ * this package.
+ *
+ * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+ */
+public class VirtualMachine {
+
+    /**
+     * The values of the globals (indexed by the id of their {@link Symbol}, null if they are not declared)
+     */
+    private InterpreterValue[] globals = new InterpreterValue[64];
+
+    /**
+     * The names of the declared globals (indexed like the {@link #globals}, the {@link VirtualMachine} keeps the
+     * {@link Symbol}s, so their ids stay valid while the globals exist)
+     */
+    private Symbol[] names = new Symbol[64];
+
+    /**
+     * Constructor for {@link VirtualMachine} (declares the default functions)
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public VirtualMachine() {
+        this.declare("print", new NativeFunction("print", args -> System.out.print(format(args))));
+        this.declare("println", new NativeFunction("println", args -> System.out.println(format(args))));
+        this.declare("exit", new NativeFunction("exit", VirtualMachine::exit));
+    }
+
+    /**
+     * Compiles a tree for this {@link VirtualMachine}
+     *
+     * @param tree the tree to compile
+     * @return the compiled {@link Chunk}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public Chunk compile(Node tree) {
+        return new BytecodeCompiler().compile(tree);
+    }
+
+    /**
+     * Compiles and runs a tree
+     *
+     * @param tree the tree to run
+     * @return the value of the last statement of the tree
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public InterpreterValue run(Node tree) {
+        return this.run(this.compile(tree));
+    }
+
+    /**
+     * Runs a {@link Chunk} that is returned by {@link BytecodeCompiler#compile(Node)}
+     *
+     * @param chunk the {@link Chunk} to run
+     * @return the value of the last statement of the {@link Chunk}
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public InterpreterValue run(Chunk chunk) {
+        return this.execute(chunk, new Frame(new InterpreterValue[chunk.slots], null));
+    }
+
+    /**
+     * Declares a global
+     *
+     * @param name the name of the global
+     * @param value the value of the global
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    public void declare(String name, InterpreterValue value) {
+        this.declareGlobal(Symbol.of(name).getId(), value);
+    }
+
+
+
+    // ****************************************************************************
+    // Execution
+
+    /**
+     * Runs a {@link Chunk} in a {@link Frame}
+     *
+     * @param chunk the {@link Chunk} to run
+     * @param frame the {@link Frame} to run it in
+     * @return the returned value
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private InterpreterValue execute(Chunk chunk, Frame frame) {
+
+        final int[] code = chunk.code;
+        final Object[] constants = chunk.constants;
+        final InterpreterValue[] slots = frame.slots;
+        final InterpreterValue[] stack = new InterpreterValue[chunk.maxStack];
+        int sp = 0;
+        int pc = 0;
+
+        while(true) {
+
+            int instruction = code[pc++];
+            switch(instruction & 0xFF) {
+
+                case CONST: stack[sp++] = (InterpreterValue) constants[instruction >>> 8]; break;
+                case Opcodes.NULL: stack[sp++] = NullValue.NULL; break;
+                case Opcodes.TRUE: stack[sp++] = BooleanValue.TRUE; break;
+                case Opcodes.FALSE: stack[sp++] = BooleanValue.FALSE; break;
+
+                case POP: sp--; break;
+                case DUP: stack[sp] = stack[sp - 1]; sp++; break;
+                case SWAP: {
+                    InterpreterValue top = stack[sp - 1];
+                    stack[sp - 1] = stack[sp - 2];
+                    stack[sp - 2] = top;
+                    break;
+                }
+
+                // the operations of two integers are calculated here, everything else is delegated to the values
+                case ADD: {
+                    InterpreterValue right = instruction == ADD ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? new IntegerValue(((IntegerValue) left).getValue() + ((IntegerValue) right).getValue())
+                            : left.add(right);
+                    break;
+                }
+                case SUB: {
+                    InterpreterValue right = instruction == SUB ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? new IntegerValue(((IntegerValue) left).getValue() - ((IntegerValue) right).getValue())
+                            : left.sub(right);
+                    break;
+                }
+                case MUL: {
+                    InterpreterValue right = instruction == MUL ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? new IntegerValue(((IntegerValue) left).getValue() * ((IntegerValue) right).getValue())
+                            : left.mul(right);
+                    break;
+                }
+                case DIV: {
+                    InterpreterValue right = instruction == DIV ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    stack[sp - 1] = stack[sp - 1].div(right);
+                    break;
+                }
+                case MOD: {
+                    InterpreterValue right = instruction == MOD ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    stack[sp - 1] = stack[sp - 1].mod(right);
+                    break;
+                }
+                case POW: {
+                    InterpreterValue right = instruction == POW ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    stack[sp - 1] = stack[sp - 1].pow(right);
+                    break;
+                }
+                case Opcodes.EQ_EQUALS: {
+                    InterpreterValue right = instruction == Opcodes.EQ_EQUALS ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? BooleanValue.from(((IntegerValue) left).getValue() == ((IntegerValue) right).getValue())
+                            : left.equals(right);
+                    break;
+                }
+                case Opcodes.BIGGER_EQUALS: {
+                    InterpreterValue right = instruction == Opcodes.BIGGER_EQUALS ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? BooleanValue.from(((IntegerValue) left).getValue() >= ((IntegerValue) right).getValue())
+                            : left.bigger_equals(right);
+                    break;
+                }
+                case Opcodes.SMALLER_EQUALS: {
+                    InterpreterValue right = instruction == Opcodes.SMALLER_EQUALS ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? BooleanValue.from(((IntegerValue) left).getValue() <= ((IntegerValue) right).getValue())
+                            : left.smaller_equals(right);
+                    break;
+                }
+                case Opcodes.BIGGER: {
+                    InterpreterValue right = instruction == Opcodes.BIGGER ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? BooleanValue.from(((IntegerValue) left).getValue() > ((IntegerValue) right).getValue())
+                            : left.bigger(right);
+                    break;
+                }
+                case Opcodes.SMALLER: {
+                    InterpreterValue right = instruction == Opcodes.SMALLER ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    InterpreterValue left = stack[sp - 1];
+                    stack[sp - 1] = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? BooleanValue.from(((IntegerValue) left).getValue() < ((IntegerValue) right).getValue())
+                            : left.smaller(right);
+                    break;
+                }
+                case AND: {
+                    InterpreterValue right = instruction == AND ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    stack[sp - 1] = stack[sp - 1].and(right);
+                    break;
+                }
+                case OR: {
+                    InterpreterValue right = instruction == OR ? stack[--sp] : (InterpreterValue) constants[(instruction >>> 8) - 1];
+                    stack[sp - 1] = stack[sp - 1].or(right);
+                    break;
+                }
+                case INCREASE: stack[sp - 1] = increase(stack[sp - 1]); break;
+                case DECREASE: stack[sp - 1] = decrease(stack[sp - 1]); break;
+
+                case LOAD: {
+                    InterpreterValue value = slots[instruction >>> 8];
+                    stack[sp++] = value != null ? value : NullValue.NULL;
+                    break;
+                }
+                case STORE: slots[instruction >>> 8] = stack[--sp]; break;
+                case LOAD_OUTER: {
+                    InterpreterValue value = outer(frame, instruction).slots[instruction >>> 16];
+                    stack[sp++] = value != null ? value : NullValue.NULL;
+                    break;
+                }
+                case STORE_OUTER: outer(frame, instruction).slots[instruction >>> 16] = stack[--sp]; break;
+                case LOAD_GLOBAL: stack[sp++] = this.loadGlobal(instruction >>> 8); break;
+                case STORE_GLOBAL: this.storeGlobal(instruction >>> 8, stack[--sp]); break;
+                case DECLARE_GLOBAL: this.declareGlobal(instruction >>> 8, stack[--sp]); break;
+                case INCREASE_LOCAL: {
+                    int slot = instruction >>> 8;
+                    slots[slot] = increase(slots[slot] != null ? slots[slot] : NullValue.NULL);
+                    break;
+                }
+                case DECREASE_LOCAL: {
+                    int slot = instruction >>> 8;
+                    slots[slot] = decrease(slots[slot] != null ? slots[slot] : NullValue.NULL);
+                    break;
+                }
+
+                case GET_MEMBER:
+                    stack[sp - 1] = getMember(stack[sp - 1], (String) constants[instruction >>> 8]);
+                    break;
+                case SET_MEMBER: {
+                    InterpreterValue value = stack[--sp];
+                    setMember(stack[sp - 1], (String) constants[instruction >>> 8], value);
+                    stack[sp - 1] = value;
+                    break;
+                }
+                case INCREASE_MEMBER:
+                case DECREASE_MEMBER: {
+                    String name = (String) constants[instruction >>> 8];
+                    InterpreterValue object = stack[sp - 1], value = getMember(object, name);
+                    setMember(object, name, (instruction & 0xFF) == INCREASE_MEMBER ? increase(value) : decrease(value));
+                    stack[sp - 1] = value;
+                    break;
+                }
+
+                case JUMP: pc = instruction >>> 8; break;
+                case JUMP_IF_FALSE: {
+                    InterpreterValue condition = stack[--sp];
+                    if(condition != BooleanValue.TRUE && (condition == BooleanValue.FALSE || !truthy(condition)))
+                        pc = instruction >>> 8;
+                    break;
+                }
+                case JUMP_IF_TRUE: {
+                    InterpreterValue condition = stack[--sp];
+                    if(condition == BooleanValue.TRUE || (condition != BooleanValue.FALSE && truthy(condition)))
+                        pc = instruction >>> 8;
+                    break;
+                }
+
+                case CLOSURE: stack[sp++] = new Closure((Chunk) constants[instruction >>> 8], frame); break;
+                case CLASS: {
+                    ClassTemplate template = (ClassTemplate) constants[instruction >>> 8];
+                    sp -= template.staticValues;
+                    stack[sp] = createClass(template, frame, stack, new int[] { sp });
+                    sp++;
+                    break;
+                }
+                case NEW: stack[sp - 1] = this.construct(stack[sp - 1]); break;
+                case CALL: {
+                    int count = instruction >>> 8;
+                    sp -= count;
+                    this.call(stack[sp - 1], stack, sp, count);
+                    stack[sp - 1] = NullValue.NULL;
+                    break;
+                }
+                case RETURN: return stack[sp - 1];
+
+                case JUMP_IF_EQ_EQUALS:
+                case JUMP_IF_BIGGER_EQUALS:
+                case JUMP_IF_SMALLER_EQUALS:
+                case JUMP_IF_BIGGER:
+                case JUMP_IF_SMALLER: {
+                    int constant = (instruction >>> 8) & ~IF_FALSE;
+                    InterpreterValue right = constant == 0 ? stack[--sp] : (InterpreterValue) constants[constant - 1];
+                    InterpreterValue left = stack[--sp];
+                    boolean result = left instanceof IntegerValue && right instanceof IntegerValue
+                            ? compare(instruction & 0xFF, ((IntegerValue) left).getValue(), ((IntegerValue) right).getValue())
+                            : truthy(compare(instruction & 0xFF, left, right));
+                    if(result == ((instruction & IF_FALSE << 8) == 0)) pc = code[pc];
+                    else pc++;
+                    break;
+                }
+                case ADD_LOCAL: {
+                    int slot = instruction >>> 8;
+                    InterpreterValue value = stack[--sp];
+                    slots[slot] = add(slots[slot] != null ? slots[slot] : NullValue.NULL, value);
+                    break;
+                }
+                case SUB_LOCAL: {
+                    int slot = instruction >>> 8;
+                    InterpreterValue value = stack[--sp];
+                    slots[slot] = sub(slots[slot] != null ? slots[slot] : NullValue.NULL, value);
+                    break;
+                }
+                // the globals are read with loadGlobal, so they are declared when they are written
+                case INCREASE_GLOBAL: {
+                    int id = instruction >>> 8;
+                    InterpreterValue value = this.loadGlobal(id);
+                    this.globals[id] = increase(value);
+                    break;
+                }
+                case DECREASE_GLOBAL: {
+                    int id = instruction >>> 8;
+                    InterpreterValue value = this.loadGlobal(id);
+                    this.globals[id] = decrease(value);
+                    break;
+                }
+                case ADD_GLOBAL: {
+                    int id = instruction >>> 8;
+                    InterpreterValue value = stack[--sp];
+                    this.globals[id] = add(this.loadGlobal(id), value);
+                    break;
+                }
+                case SUB_GLOBAL: {
+                    int id = instruction >>> 8;
+                    InterpreterValue value = stack[--sp];
+                    this.globals[id] = sub(this.loadGlobal(id), value);
+                    break;
+                }
+
+                default: throw new Error("Unknown opcode: " + (instruction & 0xFF));
+
+            }
+        }
+
+    }
+
+    private static Frame outer(Frame frame, int instruction) {
+        for(int hops = (instruction >>> 8) & 0xFF; hops > 0; hops--) frame = frame.parent;
+        return frame;
+    }
+
+    private static boolean compare(int opcode, int left, int right) {
+        switch(opcode) {
+            case JUMP_IF_EQ_EQUALS: return left == right;
+            case JUMP_IF_BIGGER_EQUALS: return left >= right;
+            case JUMP_IF_SMALLER_EQUALS: return left <= right;
+            case JUMP_IF_BIGGER: return left > right;
+            default: return left < right;
+        }
+    }
+
+    private static InterpreterValue compare(int opcode, InterpreterValue left, InterpreterValue right) {
+        switch(opcode) {
+            case JUMP_IF_EQ_EQUALS: return left.equals(right);
+            case JUMP_IF_BIGGER_EQUALS: return left.bigger_equals(right);
+            case JUMP_IF_SMALLER_EQUALS: return left.smaller_equals(right);
+            case JUMP_IF_BIGGER: return left.bigger(right);
+            default: return left.smaller(right);
+        }
+    }
+
+    private static InterpreterValue add(InterpreterValue left, InterpreterValue right) {
+        if(left instanceof IntegerValue && right instanceof IntegerValue)
+            return new IntegerValue(((IntegerValue) left).getValue() + ((IntegerValue) right).getValue());
+        return left.add(right);
+    }
+
+    private static InterpreterValue sub(InterpreterValue left, InterpreterValue right) {
+        if(left instanceof IntegerValue && right instanceof IntegerValue)
+            return new IntegerValue(((IntegerValue) left).getValue() - ((IntegerValue) right).getValue());
+        return left.sub(right);
+    }
+
+    private static InterpreterValue increase(InterpreterValue value) {
+        if(value instanceof IntegerValue) return new IntegerValue(((IntegerValue) value).getValue() + 1);
+        return value.add(IntegerValue.ONE);
+    }
+
+    private static InterpreterValue decrease(InterpreterValue value) {
+        if(value instanceof IntegerValue) return new IntegerValue(((IntegerValue) value).getValue() - 1);
+        return value.sub(IntegerValue.ONE);
+    }
+
+    private static boolean truthy(InterpreterValue value) {
+        if(value instanceof Closure || value instanceof NativeFunction || value instanceof ClassValue
+                || value instanceof Instance) return true;
+        return BooleanValue.from(value).getValue();
+    }
+
+
+
+    // ****************************************************************************
+    // Globals
+
+    private InterpreterValue loadGlobal(int id) {
+        InterpreterValue value = id < this.globals.length ? this.globals[id] : null;
+        if(value == null)
+            throw new Error(String.format("Variable with name \"%s\" is not declared", SymbolTable.get(id).getName()));
+        return value;
+    }
+
+    private void storeGlobal(int id, InterpreterValue value) {
+        // throws if the global is not declared
+        this.loadGlobal(id);
+        this.globals[id] = value;
+    }
+
+    private void declareGlobal(int id, InterpreterValue value) {
+        if(id >= this.globals.length) {
+            this.globals = Arrays.copyOf(this.globals, Math.max(id + 1, this.globals.length * 2));
+            this.names = Arrays.copyOf(this.names, this.globals.length);
+        }
+        if(this.globals[id] != null) throw new Error("Variable is already defined");
+        this.globals[id] = value;
+        this.names[id] = SymbolTable.get(id);
+    }
+
+
+
+    // ****************************************************************************
+    // Functions
+
+    /**
+     * Calls a function (the arguments are taken from the stack of the caller)
+     *
+     * @param function the function to call
+     * @param stack the stack of the caller
+     * @param first the position of the first argument in the stack
+     * @param count the number of arguments
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private void call(InterpreterValue function, InterpreterValue[] stack, int first, int count) {
+        if(function instanceof Closure) {
+            Closure closure = (Closure) function;
+            Chunk chunk = closure.chunk;
+            if(count < chunk.arity) throw new Error(String.format(
+                    "Function %s expects %d arguments, but got %d", chunk.name, chunk.arity, count));
+            InterpreterValue[] slots = new InterpreterValue[chunk.slots];
+            System.arraycopy(stack, first, slots, 0, chunk.arity);
+            this.execute(chunk, new Frame(slots, closure.frame));
+        }
+        else if(function instanceof NativeFunction)
+            ((NativeFunction) function).call(Arrays.copyOfRange(stack, first, first + count));
+        else throw new Error("Wrong function call");
+    }
+
+    private static String format(InterpreterValue[] args) {
+        StringBuilder out = new StringBuilder();
+        for(int i = 0; i < args.length; i++) {
+            if(i > 0) out.append(", ");
+            out.append(args[i].toString());
+        }
+        return out.toString();
+    }
+
+    private static void exit(InterpreterValue[] args) {
+        if(args.length > 1) throw new Error("Expecting 0-1 args for the exit function");
+        else if(args.length == 0) System.exit(0);
+        else if(args[0] instanceof IntegerValue) System.exit(((IntegerValue) args[0]).getValue());
+        else if(args[0] instanceof DoubleValue) System.exit((int) ((DoubleValue) args[0]).getValue());
+        else throw new Error("Expecting an integer as argument for the exit function");
+    }
+
+
+
+    // ****************************************************************************
+    // Classes and objects
+
+    /**
+     * Creates a class (and the classes declared inside of it) from its template
+     *
+     * @param template the template of the class
+     * @param frame the {@link Frame} the class is declared in
+     * @param values the stack containing the values of the static fields
+     * @param position the position of the next static value (it is increased for each value that is taken)
+     * @return the created class
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private static ClassValue createClass(ClassTemplate template, Frame frame, InterpreterValue[] values, int[] position) {
+
+        Map<String, InterpreterValue> statics = new HashMap<>();
+        ClassValue[] classes = new ClassValue[template.classes.length];
+
+        // the static values of the classes inside of the class come first
+        for(int i = 0; i < template.classes.length; i++) {
+            ClassValue cls = createClass(template.classes[i], frame, values, position);
+            if(template.isStatic) statics.put(template.classNames[i], cls);
+            else classes[i] = cls;
+        }
+
+        for(String field : template.staticFields) statics.put(field, values[position[0]++]);
+
+        // the methods of a static class are static, too (they are declared in the frame around the class)
+        if(template.isStatic)
+            for(int i = 0; i < template.methods.length; i++)
+                statics.put(template.methodNames[i], new Closure(template.methods[i], frame));
+
+        return new ClassValue(template, frame, statics, classes);
+
+    }
+
+    /**
+     * Creates a new object of a class
+     *
+     * @param type the class
+     * @return the created object
+     *
+     * @author <a href="https://github.com/nsc-de">Nicolas Schmidt &lt;@nsc-de&gt;</a>
+     */
+    private Instance construct(InterpreterValue type) {
+
+        if(!(type instanceof ClassValue)) throw new Error("Seems not to be a class");
+        ClassValue cls = (ClassValue) type;
+        ClassTemplate template = cls.template;
+
+        Instance object = new Instance(cls);
+        object.slots[0] = object;
+        if(!template.isStatic) {
+            for(int i = 0; i < template.methods.length; i++)
+                object.slots[template.methodSlots[i]] = new Closure(template.methods[i], object);
+            for(int i = 0; i < cls.classes.length; i++)
+                object.slots[template.classSlots[i]] = cls.classes[i].withFrame(object);
+        }
+
+        // initialise the fields
+        this.execute(template.initializer, object);
+        return object;
+
+    }
+
+    private static InterpreterValue getMember(InterpreterValue object, String name) {
+        if(object instanceof Instance) return ((Instance) object).get(name);
+        if(object instanceof ClassValue) return ((ClassValue) object).get(name);
+        return object.getChild(name).getValue();
+    }
+
+    // getChild returns a raw Variable, the interpreter stores any value in the members of its objects as well
+    @SuppressWarnings("unchecked")
+    private static void setMember(InterpreterValue object, String name, InterpreterValue value) {
+        if(object instanceof Instance) ((Instance) object).set(name, value);
+        else if(object instanceof ClassValue) ((ClassValue) object).set(name, value);
+        else object.getChild(name).setValue(value);
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.github.nsc.de.compiler.cache;
+
+import com.github.nsc.de.compiler.generators.binary.BinaryGenerator;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TreeCacheTests {
+
+    private static final String CODE = "var a = 10\nwhile(a > 0) { a -= 1 }\nfunction f(x, y) { return_value = 1 % x }\n" +
+            "class C { var b = 1 }\nif(a == 0 && true) a = 1 + a * 2; else a++";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSameTree() throws IOException {
+
+        // all the files of the interpreter tests must give the same trees when loaded from the cache
+        TreeCache cache = new TreeCache(directory, 1 << 20);
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            assertFalse(shakeFiles.isEmpty());
+            for(Path file : shakeFiles) {
+                String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                Tree expected = parse(content);
+                assertArrayEquals(bytes(expected), bytes(cache.get("<tests>", content)));
+                assertArrayEquals(bytes(expected), bytes(cache.get("<tests>", content)));
+                assertEquals(expected.toString(), cache.get("<tests>", content).toString());
+            }
+        }
+
+    }
+
+    @Test
+    public void testHitsAndMisses() throws IOException {
+
+        TreeCache cache = new TreeCache(directory, 1 << 20);
+        cache.get("<tests>", CODE);
+        cache.get("<tests>", CODE);
+        cache.get("<tests>", CODE + "\na");
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getEntryCount());
+
+        // the entries are used by later runs as well
+        TreeCache later = new TreeCache(directory, 1 << 20);
+        assertEquals(2, later.getEntryCount());
+        assertEquals(cache.getSize(), later.getSize());
+        later.get("<tests>", CODE);
+        assertEquals(1, later.getHits());
+        assertEquals(0, later.getMisses());
+
+        // errors are thrown and not cached
+        assertThrows(CompilerError.class, () -> later.get("<tests>", "a ! b"));
+        assertEquals(2, later.getEntryCount());
+
+    }
+
+    @Test
+    public void testVersionMismatch() throws IOException {
+
+        TreeCache cache = new TreeCache(directory, 1 << 20);
+        cache.get("<tests>", CODE);
+        Path entry = entry();
+        byte[] valid = Files.readAllBytes(entry);
+
+        // an entry of another version is parsed and written again
+        byte[] otherVersion = valid.clone();
+        ByteBuffer header = ByteBuffer.wrap(otherVersion);
+        header.putInt(4, header.getInt(4) + 1);
+        Files.write(entry, otherVersion);
+        assertArrayEquals(bytes(parse(CODE)), bytes(new TreeCache(directory, 1 << 20).get("<tests>", CODE)));
+        assertArrayEquals(valid, Files.readAllBytes(entry));
+
+        // a broken entry as well
+        Files.write(entry, new byte[] { valid[0], valid[1], valid[2], valid[3], valid[4], valid[5], valid[6], valid[7], 100 });
+        TreeCache broken = new TreeCache(directory, 1 << 20);
+        assertArrayEquals(bytes(parse(CODE)), bytes(broken.get("<tests>", CODE)));
+        assertEquals(0, broken.getHits());
+        assertEquals(1, broken.getMisses());
+        assertArrayEquals(valid, Files.readAllBytes(entry));
+
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+
+        TreeCache cache = new TreeCache(directory, 1 << 20);
+        cache.get("<tests>", "a = 1");
+        long size = cache.getSize();
+
+        // the cache can hold 3 entries of the same size, the least recently used one is removed
+        cache = new TreeCache(directory, size * 3);
+        cache.get("<tests>", "a = 2");
+        cache.get("<tests>", "a = 3");
+        cache.get("<tests>", "a = 1");
+        cache.get("<tests>", "a = 4");
+        assertEquals(3, cache.getEntryCount());
+        assertEquals(size * 3, cache.getSize());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+
+        cache.get("<tests>", "a = 1");
+        cache.get("<tests>", "a = 3");
+        cache.get("<tests>", "a = 4");
+        assertEquals(4, cache.getHits());
+        cache.get("<tests>", "a = 2");
+        assertEquals(4, cache.getHits());
+        assertEquals(4, cache.getMisses());
+
+        // a smaller maximum size removes entries directly
+        assertEquals(1, new TreeCache(directory, size).getEntryCount());
+
+    }
+
+    private Path entry() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.toString().endsWith(BinaryGenerator.EXTENSION)).findFirst().orElseThrow(() -> new Error("No entry"));
+        }
+    }
+
+    private Tree parse(String content) {
+        return new Parser(Lexer.create(new StringCharacterInputStream("<tests>", content)).makeTokens()).parse();
+    }
+
+    private byte[] bytes(Tree tree) {
+        return new BinaryGenerator().generate(tree);
+    }
+
+}
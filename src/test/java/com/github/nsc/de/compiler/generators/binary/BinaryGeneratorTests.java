@@ -0,0 +1,151 @@
+package com.github.nsc.de.compiler.generators.binary;
+
+import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.parser.node.expression.ModNode;
+import com.github.nsc.de.compiler.parser.node.expression.PriorityNode;
+import com.github.nsc.de.compiler.parser.node.expression.IntegerNode;
+import com.github.nsc.de.compiler.parser.node.Node;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class BinaryGeneratorTests {
+
+    private static final String CODE = "var a = 10\nwhile(a > 0) { a -= 1 }\nfunction f(x, y) { return_value = 1 % x }\n" +
+            "class C { public static final int b = 1\nprivate function g() {}\nclass D {} }\nvar c = new C()\n" +
+            "if(a == 0 && true) a = 1 + a * 2; else a++\nint i = -123456; double d = 2.5; i %= 3; i ^= 2; c.b; a";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSameTree() throws IOException {
+
+        assertEquals(parse(CODE).toString(), load(new BinaryGenerator().generate(parse(CODE))).toString());
+
+        // all the files of the interpreter tests must give the same trees
+        for(Path file : shakeFiles()) {
+            Tree expected = parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            Tree actual = load(new BinaryGenerator().generate(expected));
+            assertEquals(expected.toString(), actual.toString(), file.toString());
+            assertArrayEquals(new BinaryGenerator().generate(expected), new BinaryGenerator().generate(actual));
+        }
+
+        // nodes the parser doesn't create (and null nodes)
+        Tree tree = new Tree(new Node[] { new PriorityNode(new ModNode(new IntegerNode(5), new IntegerNode(3))), null });
+        assertEquals(tree.toString(), load(new BinaryGenerator().generate(tree)).toString());
+
+    }
+
+    @Test
+    public void testSymbolTable() throws IOException {
+
+        // each name is contained once
+        byte[] bytes = new BinaryGenerator().generate(parse("var abcdef = 1; abcdef = abcdef + abcdef; abcdef++"));
+        String content = new String(bytes, StandardCharsets.ISO_8859_1);
+        assertEquals(content.indexOf("abcdef"), content.lastIndexOf("abcdef"));
+        assertEquals(1, ByteBuffer.wrap(bytes).getInt(8));
+
+        // a generator can only be used once
+        BinaryGenerator generator = new BinaryGenerator();
+        generator.generate(parse(CODE));
+        assertThrows(Error.class, () -> generator.generate(parse(CODE)));
+
+    }
+
+    @Test
+    public void testFile() throws IOException {
+
+        Path file = directory.resolve("test" + BinaryGenerator.EXTENSION);
+        new BinaryGenerator().write(parse(CODE), file);
+        assertEquals(parse(CODE).toString(), BinaryLoader.open(file).load().toString());
+
+        // running the file gives the same results as interpreting the tree
+        for(Path shakeFile : shakeFiles()) {
+            Tree tree = parse(new String(Files.readAllBytes(shakeFile), StandardCharsets.UTF_8));
+            new BinaryGenerator().write(tree, file);
+            assertEquals(new Interpreter().visit(tree).toString(), BinaryLoader.open(file).run(new Interpreter()).toString(), shakeFile.toString());
+        }
+
+    }
+
+    @Test
+    public void testConcurrentWrites() throws Exception {
+
+        // writers of the same file don't share their temporary files, so the file is always a complete one
+        Path file = directory.resolve("test" + BinaryGenerator.EXTENSION);
+        Thread[] threads = new Thread[4];
+        Throwable[] errors = new Throwable[threads.length];
+        for(int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    for(int j = 0; j < 20; j++) new BinaryGenerator().write(parse(CODE), file);
+                } catch (Throwable e) {
+                    errors[index] = e;
+                }
+            });
+            threads[i].start();
+        }
+        for(Thread thread : threads) thread.join();
+        for(Throwable error : errors) assertNull(error);
+
+        assertArrayEquals(new BinaryGenerator().generate(parse(CODE)), Files.readAllBytes(file));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+
+    }
+
+    @Test
+    public void testInvalidFiles() throws IOException {
+
+        byte[] bytes = new BinaryGenerator().generate(parse(CODE));
+
+        // other versions, other files and truncated or corrupted files can't be loaded
+        byte[] version = bytes.clone();
+        version[7]++;
+        assertThrows(IOException.class, () -> load(version));
+        assertThrows(IOException.class, () -> load("var a = 1".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IOException.class, () -> load(new byte[0]));
+        for(int length : new int[] { 12, 20, bytes.length / 2, bytes.length - 1 })
+            assertThrows(IOException.class, () -> load(Arrays.copyOf(bytes, length)), "length " + length);
+
+        byte[] tag = bytes.clone();
+        tag[tag.length - 3] = (byte) 200;
+        assertThrows(IOException.class, () -> load(tag));
+
+    }
+
+    private List<Path> shakeFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            return files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+        }
+    }
+
+    private Tree load(byte[] bytes) throws IOException {
+        return new BinaryLoader(ByteBuffer.wrap(bytes)).load();
+    }
+
+    private Tree parse(String input) {
+        return Parser.create(Lexer.create(new StringCharacterInputStream("<tests>", input)).makeTokens()).parse();
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.github.nsc.de.compiler.interpreter;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.node.IdentifierNode;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.parser.node.expression.SubNode;
+import com.github.nsc.de.compiler.parser.node.functions.FunctionDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.parser.node.variables.VariableAssignmentNode;
+import com.github.nsc.de.compiler.parser.node.variables.VariableDeclarationNode;
+import com.github.nsc.de.compiler.parser.node.variables.VariableUsageNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ResolverTests {
+
+    private static final String[] PROGRAMS = {
+            // locals, arguments and blocks
+            "var r = 0\nfunction f(a, b) { var c = a * b\nwhile(c > 0) { var d = c\nc = d - 1\nr += d } }\nf(2, 3); r",
+            "var r = 0\nfunction f(n) { for(var i = 0; i < n; i++) { for(var j = 0; j < i; j++) { var k = i * j\nr += k } } }\nf(5); r",
+            "var r = 0\nfunction f(n) { if(n > 0) { var m = n - 1\nr += n\nf(m) } }\nf(10); r",
+            "var r = 0\nfunction f() { var a = 1\ndo { var b = a\na = b * 2 } while(a < 100)\nr = a }\nf(); r",
+            // closures and shadowing
+            "var r = 0\nfunction f(x) { function g(y) { r = x * 10 + y }\ng(x + 1) }\nf(3); r",
+            "var r = 0\nfunction f() { var x = 1\nif(true) { var x = 2\nr = x }\nr = r * 10 + x }\nf(); r",
+            "var x = 5\nvar r = 0\nfunction f() { r = x\nvar x = 7\nr = r * 10 + x }\nf(); r",
+            // a declaration after a function that uses the name
+            "var r = 0\nfunction h() { var x = 1\nfunction f() { function g() { r = x }\nvar x = 2\ng() }\nf() }\nh(); r",
+            "var r = 0\nfunction h() { var x = 1\nfunction f() { function g() { r = x }\ng()\nvar x = 2 }\nf() }\nh(); r",
+            // globals, classes and members
+            "var r = 0\nfunction f() { r += 1 }\nvar i = 0\nwhile(i < 3) { f()\ni++ }\nr",
+            "var r = 0\nfunction f() { class C { int a = 4 }\nvar c = new C()\nr = c.a }\nf(); r",
+            "var r = 0\nwhile(r < 5) { var a = r\nfunction g() { r = a + 1 }\ng() }\nr",
+    };
+
+    @Test
+    public void testSameResults() throws IOException {
+
+        List<String> programs = new ArrayList<>();
+        for(String program : PROGRAMS) programs.add(program);
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            for(Path file : files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList()))
+                programs.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+
+        for(String program : programs) {
+            String expected = new Interpreter().visit(parse(program)).toString();
+            assertEquals(expected, new Interpreter().visit(new Resolver().resolve(parse(program))).toString(), program);
+
+            // resolving each statement on its own gives the same results
+            Iterator<Node> statements = new Resolver().resolve(Parser.create(lex(program)).statements());
+            assertEquals(expected, new Interpreter().run(statements).toString(), program);
+        }
+
+    }
+
+    @Test
+    public void testAddresses() {
+
+        Tree tree = new Resolver().resolve(parse("var g = 1\nfunction f(a, b) { var c = a\nwhile(c > 0) { var d = c\nc = d - g } }"));
+        FunctionDeclarationNode function = (FunctionDeclarationNode) tree.getChildren()[1];
+        Node[] body = function.getBody().getChildren();
+
+        // globals are looked up by their names
+        assertEquals(-1, ((VariableDeclarationNode) tree.getChildren()[0]).getSlot());
+        assertEquals(0, function.getArgs()[0].getSlot());
+        assertEquals(1, function.getArgs()[1].getSlot());
+
+        // the declaration in the function has the slot after the arguments
+        VariableDeclarationNode c = (VariableDeclarationNode) body[0];
+        assertEquals(2, c.getSlot());
+        assertAddress(0, 2, (IdentifierNode) c.getAssignment().getVariable());
+        assertAddress(0, 0, ((VariableUsageNode) c.getAssignment().getValue()).getVariable());
+
+        // the body of the loop declares something, so it has an own frame
+        Node[] loop = ((WhileNode) body[1]).getBody().getChildren();
+        VariableDeclarationNode d = (VariableDeclarationNode) loop[0];
+        assertEquals(0, d.getSlot());
+        assertAddress(0, 0, (IdentifierNode) d.getAssignment().getVariable());
+        assertAddress(1, 2, ((VariableUsageNode) d.getAssignment().getValue()).getVariable());
+        VariableAssignmentNode assignment = (VariableAssignmentNode) loop[1];
+        assertAddress(1, 2, (IdentifierNode) assignment.getVariable());
+        assertAddress(-1, -1, ((VariableUsageNode) ((SubNode) assignment.getValue()).getRight()).getVariable());
+
+    }
+
+    @Test
+    public void testByName() {
+
+        // nothing is looked up by its name, so the declarations are only put into the frames
+        Tree tree = new Resolver().resolve(parse("var g = 1\nfunction f(a) { var c = a\nwhile(c > 0) { var d = c\nc = d - g } }"));
+        FunctionDeclarationNode function = (FunctionDeclarationNode) tree.getChildren()[1];
+        Node[] body = function.getBody().getChildren();
+        assertTrue(((VariableDeclarationNode) tree.getChildren()[0]).isByName());
+        assertFalse(function.getArgs()[0].isByName());
+        assertFalse(((VariableDeclarationNode) body[0]).isByName());
+        assertFalse(((VariableDeclarationNode) ((WhileNode) body[1]).getBody().getChildren()[0]).isByName());
+
+        // g looks up x by its name (f declares x after g), so the x of h has to be found by its name as well
+        tree = new Resolver().resolve(parse("function h() { var x = 1\nvar y = 2\nfunction f() { function g() { r = x }\nvar x = 2 } }"));
+        body = ((FunctionDeclarationNode) tree.getChildren()[0]).getBody().getChildren();
+        assertTrue(((VariableDeclarationNode) body[0]).isByName());
+        assertFalse(((VariableDeclarationNode) body[1]).isByName());
+
+        // the methods of a class can look up all names around the class
+        tree = new Resolver().resolve(parse("function f(a) { var b = 1\nclass C { int c = 4 } }"));
+        function = (FunctionDeclarationNode) tree.getChildren()[0];
+        assertTrue(function.getArgs()[0].isByName());
+        assertTrue(((VariableDeclarationNode) function.getBody().getChildren()[0]).isByName());
+
+    }
+
+    @Test
+    public void testDeclaredTwice() {
+        String program = "function f() { var a = 1\nvar a = 2 }\nf()";
+        assertThrows(Error.class, () -> new Interpreter().visit(parse(program)));
+        assertThrows(Error.class, () -> new Interpreter().visit(new Resolver().resolve(parse(program))));
+    }
+
+    @Test
+    public void testFrames() {
+
+        Scope outer = new Scope(null);
+        Scope inner = new Scope(outer);
+        Variable<?> a = new Variable<>("a");
+        Variable<?> b = new Variable<>("b");
+        outer.setSlot(0, a);
+        inner.setSlot(7, b);
+        assertSame(a, inner.get(1, 0));
+        assertSame(b, inner.get(0, 7));
+        assertNull(inner.get(0, 1));
+
+    }
+
+    private void assertAddress(int hops, int slot, IdentifierNode identifier) {
+        assertEquals(hops, identifier.getHops(), identifier.getName());
+        assertEquals(slot, identifier.getSlot(), identifier.getName());
+    }
+
+    private Tree parse(String code) {
+        return Parser.create(lex(code)).parse();
+    }
+
+    private TokenInputStream lex(String code) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", code)).makeTokens();
+    }
+
+}
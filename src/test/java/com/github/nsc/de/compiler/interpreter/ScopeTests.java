@@ -0,0 +1,138 @@
+package com.github.nsc.de.compiler.interpreter;
+
+import com.github.nsc.de.compiler.interpreter.values.IntegerValue;
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.flat.FlatTreeBuilder;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.util.Symbol;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ScopeTests {
+
+    @Test
+    public void testLookup() {
+
+        Scope global = new Scope(null);
+        Scope inner = new Scope(new Scope(global));
+        global.getScopeVariables().declare(new Variable<>("a", new IntegerValue(1)));
+        global.getScopeVariables().declare(new Variable<>("b", new IntegerValue(2)));
+        inner.getScopeVariables().declare(new Variable<>("b", new IntegerValue(3)));
+
+        // the nearest declaration is found, variables declared later are visible
+        assertEquals("1", inner.get("a").getValue().toString());
+        assertEquals("3", inner.get("b").getValue().toString());
+        assertEquals("2", global.get("b").getValue().toString());
+        assertNull(inner.get("c"));
+        global.getScopeVariables().declare(new Variable<>("c", new IntegerValue(4)));
+        assertSame(global.get("c"), inner.get(Symbol.of("c")));
+
+        // the same results as the copied variables
+        for(String name : new String[] { "a", "b", "c", "d" })
+            assertSame(inner.getVariables().get(name), inner.get(name), name);
+
+        // the parent-list of the scope's variables is searched last
+        VariableList parentList = new VariableList();
+        parentList.declare(new Variable<>("d", new IntegerValue(5)));
+        parentList.declare(new Variable<>("a", new IntegerValue(6)));
+        Scope withParentList = new Scope(global, new VariableList(parentList));
+        assertEquals("5", withParentList.get("d").getValue().toString());
+        assertEquals("1", withParentList.get("a").getValue().toString());
+
+    }
+
+    @Test
+    public void testDeclarations() {
+
+        // functions and classes can be declared inside of other scopes (and hide the outer declarations)
+        assertEquals("5", run("int i = 0\nfunction f() { i += 1 }\nfunction g() { function f() { i += 2 }\nclass C {}\nf() }\n" +
+                "g(); g(); f(); i").toString());
+        assertThrows(Error.class, () -> run("function f() {}\nfunction f() {}"));
+
+    }
+
+    @Test
+    public void testBlocks() {
+
+        for(boolean flat : new boolean[] { false, true }) {
+
+            // the variables around the blocks can be changed inside of them
+            assertEquals("10", run("var a = 0; while(a < 10) { a += 1 }; a", flat).toString());
+            assertEquals("10", run("var a = 0; do { a += 2 } while(a < 10); a", flat).toString());
+            assertEquals("10", run("var a = 0; for(var i = 0; i < 5; i++) { a += i }; a", flat).toString());
+            assertEquals("5", run("var a = 1; if(a == 1) { a = 5 }; a", flat).toString());
+            assertEquals("5", run("var a = 1; if(a == 2) { a = 4 }\nelse { a = 5 }; a", flat).toString());
+
+            // variables can be declared in each round, but they don't exist outside of the blocks
+            assertEquals("3", run("var a = 0; while(a < 3) { var b = a\na = b + 1 }; a", flat).toString());
+            assertEquals("12", run("var a = 0; for(var i = 0; i < 4; i++) { var b = i\nfor(var j = 0; j < 2; j++) { a += b } }; a", flat).toString());
+            assertThrows(Error.class, () -> run("var a = 0; while(a < 1) { var b = 1\na++ }; b", flat));
+            assertThrows(Error.class, () -> run("for(var i = 0; i < 2; i++) { }; i", flat));
+            assertThrows(Error.class, () -> run("if(true) { var b = 1 }; b", flat));
+
+        }
+
+    }
+
+    @Test
+    public void testLookupCopiesNothing() {
+
+        // a lot of globals, every access of them would copy them when the lookup went through getVariables()
+        CountingVariableList globals = new CountingVariableList();
+        StringBuilder code = new StringBuilder();
+        for(int i = 0; i < 20000; i++) code.append("var g").append(i).append(" = ").append(i).append('\n');
+        code.append("int i = 0\nfunction f(n) { i += n + g7\nif(n > 0) { f(n - 1) } }\n");
+
+        Interpreter interpreter = new Interpreter(new Scope(null, globals));
+        interpreter.visit(parse(code.toString()));
+        assertEquals("107535", interpreter.visit(parse("f(200); f(200); f(200); f(200); f(200); i")).toString());
+        assertEquals(0, globals.copies, "the variables were copied for a lookup");
+
+        // the counter itself works
+        new Scope(new Scope(null, globals)).getVariables();
+        assertEquals(1, globals.copies);
+
+    }
+
+    private InterpreterValue run(String code) {
+        return new Interpreter().visit(parse(code));
+    }
+
+    private InterpreterValue run(String code, boolean flat) {
+        if(!flat) return run(code);
+        TokenInputStream tokens = Lexer.create(new StringCharacterInputStream("<tests>", code)).makeTokens();
+        return new Interpreter().visit(new Parser(tokens).parse(new FlatTreeBuilder(tokens)));
+    }
+
+    /**
+     * A {@link VariableList} that counts how often its variables are copied into another one
+     */
+    private static class CountingVariableList extends VariableList {
+
+        private int copies;
+
+        @Override
+        VariableList concat(VariableList list) {
+            copies++;
+            return super.concat(list);
+        }
+
+        @Override
+        public VariableList copy() {
+            copies++;
+            return super.copy();
+        }
+
+    }
+
+    private Tree parse(String code) {
+        return Parser.create(Lexer.create(new StringCharacterInputStream("<tests>", code)).makeTokens()).parse();
+    }
+
+}
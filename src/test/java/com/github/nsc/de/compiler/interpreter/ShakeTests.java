@@ -28,6 +28,14 @@ public class ShakeTests {
         assertEquals(test.getResult(), run(test.getSourceFile(), test.getCode()).toString());
     }
 
+    @ParameterizedTest
+    @MethodSource("testStream")
+    public void lazyTokenTests(ShakeTest test) {
+        // the lazily lexed tokens must give the same result as the tokens lexed in advance
+        assertEquals(run(test.getSourceFile(), test.getCode()).toString(),
+                runLazy(test.getSourceFile(), test.getCode()).toString());
+    }
+
     static Stream<ShakeTest> testStream() throws FileNotFoundException {
         List<ShakeTest> list = new ArrayList<>();
         Scanner reader = new Scanner(new File("src/test/resources/shake-tests/tests.txt"));
@@ -53,6 +61,12 @@ public class ShakeTests {
 
     }
 
+    public InterpreterValue runLazy(String source, String code) {
+        CharacterInputStream in = new StringCharacterInputStream(source, code);
+        Node tree = new Parser(Lexer.create(in).makeLazyTokens()).parse();
+        return new Interpreter().visit(tree);
+    }
+
     public static class ShakeTest {
 
         private final String name;
@@ -0,0 +1,152 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.PackedTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.Token;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class IncrementalLexerTests {
+
+    private static final String CODE = "var a = 10\nwhile(a > 0) { a -= 1; b **= 2 }\n/* comment */ c = \"string\" // comment\n";
+
+    @Test
+    public void testEdits() {
+
+        IncrementalLexer lexer = new IncrementalLexer("<tests>", CODE);
+        assertSameTokens(CODE, lexer.getTokens());
+
+        // merge tokens
+        edit(lexer, 4, 1, "");             // "var  = 10" -> "var = 10"
+        edit(lexer, 5, 0, "=");            // "var == 10"
+        edit(lexer, 0, 3, "variable");     // keyword to identifier
+        edit(lexer, lexer.getContent().indexOf("**"), 1, "");
+        edit(lexer, lexer.getContent().indexOf("*="), 0, "*");
+
+        // open and close strings and comments (changes all the following tokens)
+        edit(lexer, lexer.getContent().indexOf("while"), 0, "\"");
+        edit(lexer, lexer.getContent().indexOf("\"while"), 1, "/*");
+        edit(lexer, lexer.getContent().indexOf("/*while"), 2, "");
+
+        // edits at the start and the end
+        edit(lexer, 0, 0, "x\r\n");
+        edit(lexer, lexer.getContent().length(), 0, "d");
+        edit(lexer, lexer.getContent().length(), 0, "e");
+        edit(lexer, lexer.getContent().length() - 2, 2, "");
+        edit(lexer, 0, lexer.getContent().length(), "");
+        edit(lexer, 0, 0, CODE);
+
+    }
+
+    @Test
+    public void testRandomEdits() throws IOException {
+
+        // random edits on the files of the interpreter tests (compared with lexing the whole content)
+        String[] inserts = { "a", "1", ".", " ", "\n", "\"", "/", "*", "=", "+", "(", "//", "/*", "*/", "var", "true" };
+        Random random = new Random(42);
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            for(Path file : shakeFiles) {
+                String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                IncrementalLexer lexer = new IncrementalLexer("<tests>", content);
+                for(int i = 0; i < 50; i++) {
+                    int length = lexer.getContent().length();
+                    int offset = random.nextInt(length + 1);
+                    int removed = random.nextInt(Math.min(4, length - offset + 1));
+                    edit(lexer, offset, removed, inserts[random.nextInt(inserts.length)]);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testLocalEdit() {
+
+        // an edit in a big input only lexes the tokens around the edit
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < 10000; i++) builder.append(CODE);
+        IncrementalLexer lexer = new IncrementalLexer("<tests>", builder.toString());
+        int size = lexer.getTokens().size();
+
+        int offset = CODE.length() * 5000 + CODE.indexOf("10");
+        PackedTokenInputStream tokens = lexer.edit(offset, 2, "1000");
+        assertTrue(lexer.getLexedTokens() <= 4, "lexed " + lexer.getLexedTokens() + " tokens");
+        assertEquals(size, tokens.size());
+        int position = 0;
+        while(tokens.getStart(position) < offset) position++;
+        assertEquals("1000", tokens.getValue(position));
+        assertEquals(lexer.getContent().length(), tokens.getEnd(tokens.size() - 1) + 1);
+
+        // the tokens after the edit are shifted
+        Token last = tokens.get(tokens.size() - 2);
+        assertEquals(builder.length() + 2 - CODE.length() + CODE.indexOf("\"string"), last.getStart().getIndex());
+        assertEquals(30000, last.getStart().getLine());
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        IncrementalLexer lexer = new IncrementalLexer("<tests>", CODE);
+
+        // the edit is applied, even if the new content can't be lexed
+        assertThrows(CompilerError.class, () -> lexer.edit(0, 0, "!"));
+        assertNull(lexer.getTokens());
+        assertEquals("!" + CODE, lexer.getContent());
+
+        // the next edit lexes the whole content again
+        edit(lexer, 0, 1, "");
+        assertEquals(lexer.getTokens().size(), lexer.getLexedTokens());
+
+    }
+
+    private void edit(IncrementalLexer lexer, int offset, int removed, String inserted) {
+        String content = lexer.getContent();
+        String expected = content.substring(0, offset) + inserted.replace("\r\n", "\n") + content.substring(offset + removed);
+
+        PackedTokenInputStream tokens;
+        try {
+            tokens = lexer.edit(offset, removed, inserted);
+        } catch (CompilerError e) {
+            // the whole content must not be lexable as well
+            assertEquals(expected, lexer.getContent());
+            CompilerError error = assertThrows(CompilerError.class, () -> lex(expected));
+            assertEquals(error.getMessage(), e.getMessage());
+            return;
+        }
+        assertEquals(expected, lexer.getContent());
+        assertSameTokens(expected, tokens);
+    }
+
+    private void assertSameTokens(String content, PackedTokenInputStream actual) {
+        Token[] expected = lex(content);
+        assertEquals(expected.length, actual.size(), content);
+        for(int i = 0; i < expected.length; i++) {
+            Token token = actual.get(i);
+            assertEquals(expected[i], token);
+            assertEquals(expected[i].getStart().getIndex(), token.getStart().getIndex());
+            assertEquals(expected[i].getEnd().getIndex(), token.getEnd().getIndex());
+            assertSame(expected[i].getSymbol(), token.getSymbol());
+            assertEquals(content, token.getStart().getContent());
+        }
+    }
+
+    private Token[] lex(String content) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", content)).makeTokens().getTokens();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class KeywordsTests {
+
+    @Test
+    public void testAllKeywordTypes() {
+
+        // every KEYWORD_* token-type must be recognized by its lowercase name
+        int keywords = 0;
+        for(TokenType type : TokenType.values()) {
+            if(!type.name().startsWith("KEYWORD_")) continue;
+            String keyword = type.name().substring("KEYWORD_".length()).toLowerCase(Locale.ROOT);
+            assertEquals(type, Keywords.lookup(keyword), keyword);
+            assertEquals(type, Keywords.lookup(("  " + keyword + "  ").toCharArray(), 2, keyword.length()), keyword);
+
+            for(Lexer.Implementation implementation : Lexer.Implementation.values()) {
+                TokenInputStream tokens = Lexer.create(new StringCharacterInputStream("<tests>", keyword), implementation).makeTokens();
+                assertEquals(type, tokens.next().getType());
+                assertFalse(tokens.hasNext());
+            }
+            keywords++;
+        }
+        assertEquals(28, keywords);
+
+    }
+
+    @Test
+    public void testAlias() {
+
+        assertEquals(TokenType.KEYWORD_VAR, Keywords.lookup("let"));
+
+    }
+
+    @Test
+    public void testNoKeywords() {
+
+        assertNull(Keywords.lookup("whil"));
+        assertNull(Keywords.lookup("whiles"));
+        assertNull(Keywords.lookup("While"));
+        assertNull(Keywords.lookup("dx"));
+        assertNull(Keywords.lookup("x"));
+        assertNull(Keywords.lookup("implementsx"));
+        assertNull(Keywords.lookup("\u00e4hnlich"));
+        assertNull(Keywords.lookup(""));
+        assertNull(Keywords.lookup("xwhilex".toCharArray(), 0, 5));
+
+        for(Lexer.Implementation implementation : Lexer.Implementation.values()) {
+            TokenInputStream tokens = Lexer.create(new StringCharacterInputStream("<tests>", "whiles"), implementation).makeTokens();
+            assertEquals(TokenType.IDENTIFIER, tokens.next().getType());
+            assertEquals("whiles", tokens.actual().getValue());
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.CharacterInputStream;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+
+public class LexerScalingTests {
+
+    // a small piece of code containing all kinds of multi-character operators and comments
+    private static final String CHUNK =
+            "var i = 10; // comment\n" +
+            "while (i >= 0 && i <= 3 || i == 5) { i -= 1; i **= 2; i++ }\n" +
+            "/* multi\n line */ x += 1.5 * y / 2 ^ 3\n";
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    public static void setUp() {
+        // the bytes allocated by a thread are only counted by some virtual machines
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // load the classes before measuring
+        new Lexer(new StringCharacterInputStream("<tests>", generate(1 << 12))).makeTokens();
+    }
+
+    @Test
+    public void testLookaheadDoesNotCopy() {
+
+        // the lookahead must not depend on the size of the input (copying the 4M characters would allocate 8MB)
+        CharacterInputStream in = new StringCharacterInputStream("<tests>", generate(1 << 22));
+        long allocated = allocated(() -> {
+            for(int i = 0; i < 1000; i++) {
+                assertTrue(in.matches(1, "var"));
+                assertEquals("var", in.peek(1, 3));
+            }
+        });
+        assertTrue(allocated < 1000 * 256, allocated + " bytes allocated for 1000 lookaheads");
+
+    }
+
+    @Test
+    public void testLinearScaling() {
+
+        // 16 KB up to 4 MB (the memory allocated per character of input must not grow with the size of the input)
+        double smallest = allocatedPerChar(generate(1 << 14));
+        double biggest = allocatedPerChar(generate(1 << 22));
+        assertTrue(biggest <= smallest * 2,
+                String.format("Lexing is not linear: %.2f bytes/char for 16KB, %.2f bytes/char for 4MB", smallest, biggest));
+
+    }
+
+    private static double allocatedPerChar(String input) {
+        CharacterInputStream in = new StringCharacterInputStream("<tests>", input);
+        return (double) allocated(() -> new Lexer(in).makeTokens()) / input.length();
+    }
+
+    private static long allocated(Runnable runnable) {
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        runnable.run();
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+    private static String generate(int size) {
+        StringBuilder builder = new StringBuilder(size + CHUNK.length());
+        while(builder.length() < size) builder.append(CHUNK);
+        return builder.toString();
+    }
+
+}
@@ -18,6 +18,7 @@ public class LexerTests {
         assertEquals("", generateToken("\"\"", TokenType.STRING).getValue());
         assertEquals("afvne9214 ro", generateToken("\"afvne9214 ro\"", TokenType.STRING).getValue());
         generateToken("\"\\t\\b\\n\\r\\f\\'\\\"\\\\a\"", TokenType.STRING);
+        assertEquals("A\u00e4", generateToken("\"\\u0041\\u00E4\"", TokenType.STRING).getValue());
 
     }
 
@@ -168,6 +169,11 @@ public class LexerTests {
     public void testSingleLineComments() {
 
         generateToken("// test\n", TokenType.LINE_SEPARATOR);
+        generateToken("//\n", TokenType.LINE_SEPARATOR);
+
+        // a comment at the end of the input
+        for(Lexer.Implementation implementation : Lexer.Implementation.values())
+            assertEquals(1, Lexer.create(new StringCharacterInputStream("<tests>", "a //"), implementation).makeTokens().getTokens().length);
 
     }
 
@@ -175,15 +181,22 @@ public class LexerTests {
     public void testMultiLineComments() {
 
         generateToken("/* test */\n", TokenType.LINE_SEPARATOR);
+        generateToken("/**/\n", TokenType.LINE_SEPARATOR);
+        generateToken("/** test **/\n", TokenType.LINE_SEPARATOR);
 
     }
 
     private Token generateToken(String input, TokenType tt) {
-        CharacterInputStream in = new StringCharacterInputStream("<tests>", input);
-        Lexer lexer = new Lexer(in);
-        Token t = lexer.makeTokens().next();
-        assertSame(tt, t.getType());
-        assertFalse(in.hasNext());
+        Token t = null;
+
+        // all lexer implementations must produce the same token
+        for(Lexer.Implementation implementation : Lexer.Implementation.values()) {
+            CharacterInputStream in = new StringCharacterInputStream("<tests>", input);
+            Lexer lexer = Lexer.create(in, implementation);
+            t = lexer.makeTokens().next();
+            assertSame(tt, t.getType());
+            assertFalse(in.hasNext());
+        }
         return t;
     }
 
@@ -0,0 +1,118 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.Token;
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ParallelLexerTests {
+
+    // strings and comments containing line-separators and comment / string characters
+    private static final String TRICKY = "a = \"line\n// no comment\n/* no comment\"\n" +
+            "b = \"escaped \\\" quote\n\" // comment \"\n" +
+            "/* multi\n\"line\"\n// comment */ c /**/ d /*/\n**/ e\n" +
+            "f = \"\\\\\"\n// \"\n";
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSplit() {
+
+        // the input must only be split after line-separator tokens
+        String input = repeat(TRICKY, 50);
+        Set<Integer> separators = new HashSet<>();
+        for(Token token : lex(input, Lexer.Implementation.TABLE_DRIVEN))
+            if(token.getType() == TokenType.LINE_SEPARATOR) separators.add(token.getStart().getIndex());
+
+        int[] splits = ParallelLexer.split(input.toCharArray(), 0, input.length(), 100);
+        assertTrue(splits.length > 50);
+        assertEquals(0, splits[0]);
+        assertEquals(input.length(), splits[splits.length - 1]);
+        for(int i = 1; i < splits.length - 1; i++) {
+            assertTrue(splits[i] > splits[i - 1]);
+            assertTrue(separators.contains(splits[i] - 1), "split at " + splits[i]);
+        }
+
+    }
+
+    @Test
+    public void testSameTokens() throws IOException {
+
+        // put all the files of the interpreter tests together into a big input
+        StringBuilder builder = new StringBuilder(TRICKY);
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            for(Path file : shakeFiles) builder.append(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).append('\n');
+        }
+        builder.append(TRICKY);
+        String input = repeat(builder.toString(), 1 + (1 << 20) / builder.length());
+
+        for(Lexer.Implementation implementation : Lexer.Implementation.values()) {
+            Token[] expected = lex(input, implementation);
+            Token[] actual = new ParallelLexer(new StringCharacterInputStream("<tests>", input), implementation, pool)
+                    .makeTokens().getTokens();
+
+            assertEquals(expected.length, actual.length);
+            for(int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], actual[i]);
+                assertEquals(expected[i].getStart().getIndex(), actual[i].getStart().getIndex());
+                assertEquals(expected[i].getEnd().getIndex(), actual[i].getEnd().getIndex());
+                assertSame(expected[i].getSymbol(), actual[i].getSymbol());
+            }
+        }
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        // the errors must be the same as the errors of the sequential lexer
+        String valid = repeat("var a = 10\nwhile(a > 0) { a -= 1 }\n", 20000);
+        for(String input : new String[] { valid + "a ! b", "a ! b\n" + valid, valid + "\"test", valid + "/* test\n" + valid }) {
+            CompilerError expected = assertThrows(CompilerError.class, () -> lex(input, Lexer.Implementation.TABLE_DRIVEN));
+            CompilerError actual = assertThrows(CompilerError.class, () ->
+                    new ParallelLexer(new StringCharacterInputStream("<tests>", input), Lexer.Implementation.TABLE_DRIVEN, pool).makeTokens());
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+
+    }
+
+    private Token[] lex(String input, Lexer.Implementation implementation) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", input), implementation).makeTokens().getTokens();
+    }
+
+    private String repeat(String string, int times) {
+        StringBuilder builder = new StringBuilder(string.length() * times);
+        for(int i = 0; i < times; i++) builder.append(string);
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.github.nsc.de.compiler.lexer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class SourceFileTests {
+
+    @Test
+    public void testLinesAndColumns() {
+
+        String content = "var a = 10\n\nwhile(a > 0) {\n  a -= 1\n}\n\n";
+        SourceFile file = new SourceFile("<tests>", content);
+
+        // the lines and columns must be the same as when counting them character by character
+        // (a line-separator is the first column of the line it starts)
+        int line = 1;
+        int column = 0;
+        assertEquals(line, file.getLine(-1));
+        assertEquals(column, file.getColumn(-1));
+        for(int i = 0; i < content.length(); i++) {
+            if(content.charAt(i) == '\n') {
+                line++;
+                column = 1;
+            }
+            else column++;
+            assertEquals(line, file.getLine(i), "line of index " + i);
+            assertEquals(column, file.getColumn(i), "column of index " + i);
+            assertEquals("<tests>:" + line + ":" + column, new Position(file, i).toString());
+        }
+
+    }
+
+    @Test
+    public void testExplicitPosition() {
+
+        // explicitly given lines and columns are not calculated
+        Position position = new Position("<tests>", "0123456789", 5, 11, 3);
+        assertEquals(3, position.getLine());
+        assertEquals(11, position.getColumn());
+
+    }
+
+    @Test
+    public void testLazyContent() {
+
+        int[] created = { 0 };
+        SourceFile file = new SourceFile("<tests>", () -> {
+            created[0]++;
+            return "a\nb";
+        });
+        assertEquals(0, created[0]);
+        assertEquals(2, file.getLine(2));
+        assertEquals("a\nb", file.getContent());
+        assertEquals(1, created[0]);
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.nsc.de.compiler.lexer;
+
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.Token;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class TableLexerTests {
+
+    @Test
+    public void testOperators() {
+
+        // longest match and the positions of the operator tokens
+        assertSameTokens("a**=b^=c%=d/=e*=f-=g+=h");
+        assertSameTokens("i++ + i-- - i ** 2 ^ 3 % 4 / 5 * 6");
+        assertSameTokens("a***b+++c---d*==e<==f===g>>=h");
+        assertSameTokens("true || false && a == b >= c <= d > e < f = g");
+        assertSameTokens("a; b, c.d(e) { f }\n");
+
+    }
+
+    @Test
+    public void testComments() {
+
+        assertSameTokens("a // comment\nb /* comment */ c /**/ d /*/ **/ e /*=*/ f //=\n");
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        // both lexers must fail at the same position
+        for(String input : new String[] { "a | b", "a & b", "a ! b", "\"test", "/* test", "\u00e4" }) {
+            Lexer.LexerError expected = assertThrows(Lexer.LexerError.class, () -> lex(input, Lexer.Implementation.LIST_BASED));
+            Lexer.LexerError actual = assertThrows(Lexer.LexerError.class, () -> lex(input, Lexer.Implementation.TABLE_DRIVEN));
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+
+    }
+
+    @Test
+    public void testShakeTests() throws IOException {
+
+        // all the files of the interpreter tests must give the same tokens
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            assertFalse(shakeFiles.isEmpty());
+            for(Path file : shakeFiles) assertSameTokens(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+
+    }
+
+    private void assertSameTokens(String input) {
+        Token[] expected = lex(input, Lexer.Implementation.LIST_BASED);
+        Token[] actual = lex(input, Lexer.Implementation.TABLE_DRIVEN);
+        assertEquals(expected.length, actual.length);
+        for(int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i]);
+            assertEquals(expected[i].getValue(), actual[i].getValue());
+            assertEquals(expected[i].getStart().getIndex(), actual[i].getStart().getIndex());
+            assertEquals(expected[i].getEnd().getIndex(), actual[i].getEnd().getIndex());
+        }
+    }
+
+    private Token[] lex(String input, Lexer.Implementation implementation) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", input), implementation).makeTokens().getTokens();
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.nsc.de.compiler.lexer.characterinputstream;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.token.Token;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ByteBufferCharacterInputStreamTests {
+
+    @Test
+    public void testCharacters() {
+
+        byte[][] inputs = {
+                "var a = 10\nwhile(a > 0) { a -= 1 }".getBytes(StandardCharsets.UTF_8),
+                "a\r\nb\rc\r\n\r\n\r".getBytes(StandardCharsets.UTF_8),
+                "\"\u00e4\u20ac\ud83d\ude00\" // \u00fc\u00f6\r\n\u00e4".getBytes(StandardCharsets.UTF_8),
+                // malformed and incomplete sequences
+                { 'a', (byte) 0xc3, 'b', (byte) 0xe2, (byte) 0x82, '"', (byte) 0xff, (byte) 0x80, '\r', '\n', (byte) 0xf0, (byte) 0x9f },
+        };
+
+        for(byte[] input : inputs) {
+            String expected = StringCharacterInputStream.normalizeLineSeparators(new String(input, StandardCharsets.UTF_8));
+            for(ByteBuffer buffer : buffers(input)) {
+                CharacterInputStream in = new ByteBufferCharacterInputStream("<tests>", buffer);
+                for(int i = 0; i < expected.length(); i++) {
+                    assertTrue(in.hasNext());
+                    assertEquals(expected.charAt(i), in.next(), "character " + i);
+                    assertEquals(i, in.getPosition().getIndex());
+                }
+                assertFalse(in.hasNext());
+                assertEquals(expected, new String(in.getContent()));
+            }
+        }
+
+    }
+
+    @Test
+    public void testPeek() {
+
+        String code = "abc\u00e4\u00f6\u00fc\r\ndef";
+        CharacterInputStream in = new ByteBufferCharacterInputStream("<tests>", ByteBuffer.wrap(code.getBytes(StandardCharsets.UTF_8)));
+        assertEquals('a', in.next());
+        assertEquals('\u00e4', in.peek(3));
+        assertEquals("bc\u00e4\u00f6", in.peek(1, 4));
+        assertTrue(in.matches(0, "abc\u00e4\u00f6\u00fc\nd"));
+        assertTrue(in.matches(7, "def"));
+        assertFalse(in.matches(8, "efg"));
+        assertTrue(in.has(9));
+        assertFalse(in.has(10));
+        assertEquals("", in.peek(8, 10));
+
+    }
+
+    @Test
+    public void testBufferPosition() {
+
+        // only the bytes from the position to the limit are read, the given buffer is not changed
+        ByteBuffer buffer = ByteBuffer.wrap("xxa + bxx".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2).limit(7);
+        CharacterInputStream in = new ByteBufferCharacterInputStream("<tests>", buffer);
+        StringBuilder read = new StringBuilder();
+        while(in.hasNext()) read.append(in.next());
+        assertEquals("a + b", read.toString());
+        assertEquals(2, buffer.position());
+        assertEquals(7, buffer.limit());
+
+    }
+
+    @Test
+    public void testShakeTests() throws IOException {
+
+        // all the files of the interpreter tests must give the same tokens
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            assertFalse(shakeFiles.isEmpty());
+            for(Path file : shakeFiles) {
+                byte[] content = Files.readAllBytes(file);
+                for(ByteBuffer buffer : buffers(content)) {
+                    Token[] expected = Lexer.create(new StringCharacterInputStream("<tests>", new String(content, StandardCharsets.UTF_8))).makeTokens().getTokens();
+                    Token[] actual = Lexer.create(new ByteBufferCharacterInputStream("<tests>", buffer)).makeTokens().getTokens();
+                    assertEquals(expected.length, actual.length);
+                    for(int i = 0; i < expected.length; i++) {
+                        assertEquals(expected[i], actual[i]);
+                        assertEquals(expected[i].getStart().toString(), actual[i].getStart().toString());
+                        assertEquals(expected[i].getEnd().getIndex(), actual[i].getEnd().getIndex());
+                    }
+                }
+            }
+        }
+
+    }
+
+    private ByteBuffer[] buffers(byte[] content) {
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+        return new ByteBuffer[] { ByteBuffer.wrap(content), direct };
+    }
+
+}
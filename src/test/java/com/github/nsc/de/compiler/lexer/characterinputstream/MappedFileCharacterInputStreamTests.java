@@ -0,0 +1,111 @@
+package com.github.nsc.de.compiler.lexer.characterinputstream;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.token.Token;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class MappedFileCharacterInputStreamTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testShakeTests() throws IOException {
+
+        // all the files of the interpreter tests must give the same tokens
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            assertFalse(shakeFiles.isEmpty());
+            for(Path file : shakeFiles) assertSameTokens(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), file);
+        }
+
+    }
+
+    @Test
+    public void testLineSeparators() throws IOException {
+
+        // "\r\n" at the end of the first decoded chunk
+        StringBuilder code = new StringBuilder();
+        for(int i = 0; i < 8191; i++) code.append(' ');
+        code.append("\r\na\r\nb\r\n");
+        assertSameTokens(code.toString(), write(code.toString()));
+
+        for(int i = 0; i < 5000; i++) code.append("var a").append(i).append(" = 10\r\n");
+        assertSameTokens(code.toString(), write(code.toString()));
+
+    }
+
+    @Test
+    public void testUTF8() throws IOException {
+
+        StringBuilder code = new StringBuilder();
+        for(int i = 0; i < 5000; i++) code.append("a = \"\u00e4\u20ac\ud83d\ude00\"\r\n");
+        assertSameTokens(code.toString(), write(code.toString()));
+
+    }
+
+    @Test
+    public void testPeek() throws IOException {
+
+        StringBuilder code = new StringBuilder();
+        for(int i = 0; i < 40000; i++) code.append((char) ('a' + i % 26));
+        CharacterInputStream in = new MappedFileCharacterInputStream(write(code.toString()));
+
+        // looking ahead further than one decoded chunk
+        assertEquals(code.charAt(30000), in.peek(30001));
+        assertTrue(in.matches(1, code.substring(0, 20000)));
+        assertEquals(code.substring(10, 20), in.peek(11, 20));
+        assertTrue(in.has(40000));
+        assertFalse(in.has(40001));
+        assertEquals(code.charAt(0), in.next());
+
+    }
+
+    @Test
+    public void testErrorMarker() throws IOException {
+
+        // the content is created for the marker
+        Lexer.LexerError expected = assertThrows(Lexer.LexerError.class,
+                () -> Lexer.create(new StringCharacterInputStream("<tests>", "a\r\n\"test")).makeTokens());
+        Lexer.LexerError actual = assertThrows(Lexer.LexerError.class,
+                () -> Lexer.create(new MappedFileCharacterInputStream("<tests>", write("a\r\n\"test"))).makeTokens());
+
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(expected.getMarker().getPreview(), actual.getMarker().getPreview());
+        assertEquals(expected.getMarker().getMarker(), actual.getMarker().getMarker());
+
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(directory, "test", ".shake");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private void assertSameTokens(String content, Path file) throws IOException {
+        Token[] expected = Lexer.create(new StringCharacterInputStream(file.toString(), content)).makeTokens().getTokens();
+        Token[] actual = Lexer.create(new MappedFileCharacterInputStream(file)).makeTokens().getTokens();
+        assertEquals(expected.length, actual.length);
+        for(int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i]);
+            assertEquals(expected[i].getValue(), actual[i].getValue());
+            assertEquals(expected[i].getStart().toString(), actual[i].getStart().toString());
+            assertEquals(expected[i].getStart().getIndex(), actual[i].getStart().getIndex());
+            assertEquals(expected[i].getEnd().getIndex(), actual[i].getEnd().getIndex());
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.nsc.de.compiler.lexer.token;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class LazyTokenInputStreamTests {
+
+    private static final String CODE = "var a = 10\n\n\nwhile(a > 0) {\n  a -= 1; print(a)\n}\na = 2 * a";
+
+    @Test
+    public void testSameTokens() {
+
+        ArrayTokenInputStream expected = lexer(CODE).makeTokens();
+        LazyTokenInputStream actual = lexer(CODE).makeLazyTokens();
+
+        for(Token token : expected.getTokens()) {
+            assertTrue(actual.hasNext());
+            Token next = actual.next();
+            assertEquals(token, next);
+            assertEquals(token.getStart().getIndex(), next.getStart().getIndex());
+        }
+        assertFalse(actual.hasNext());
+        assertThrows(Error.class, actual::next);
+
+    }
+
+    @Test
+    public void testLookahead() {
+
+        Token[] expected = lexer(CODE).makeTokens().getTokens();
+        LazyTokenInputStream actual = lexer(CODE).makeLazyTokens();
+
+        // looking ahead further than the buffer size must not lose any tokens
+        assertEquals(expected[expected.length - 1], actual.peek(expected.length));
+        assertTrue(actual.has(expected.length));
+        assertFalse(actual.has(expected.length + 1));
+        for(int i = 0; i < expected.length; i++) assertEquals(expected[i], actual.next());
+
+    }
+
+    @Test
+    public void testSkipIgnorable() {
+
+        LazyTokenInputStream in = lexer("\n\n\na").makeLazyTokens();
+        assertSame(TokenType.IDENTIFIER, in.skipIgnorable().next().getType());
+
+    }
+
+    @Test
+    public void testSetPosition() {
+
+        StringBuilder code = new StringBuilder();
+        for(int i = 0; i < 100; i++) code.append("a").append(i).append(' ');
+        LazyTokenInputStream in = lexer(code.toString()).makeLazyTokens();
+
+        in.setPosition(50);
+        assertEquals("a50", in.actual().getValue());
+        in.setPosition(45);
+        assertEquals("a46", in.next().getValue());
+        assertEquals("a47", in.get(47).getValue());
+
+        // tokens far behind the actual position are dropped
+        in.setPosition(99);
+        assertThrows(Error.class, () -> in.get(0));
+        assertThrows(Error.class, () -> in.setPosition(100));
+
+    }
+
+    @Test
+    public void testParser() {
+
+        // the parser must give the same tree using both streams
+        assertEquals(
+                new Parser(lexer(CODE).makeTokens()).parse().toString(),
+                new Parser(lexer(CODE).makeLazyTokens()).parse().toString());
+
+    }
+
+    private Lexer lexer(String code) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", code));
+    }
+
+}
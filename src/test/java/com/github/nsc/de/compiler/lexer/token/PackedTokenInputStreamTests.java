@@ -0,0 +1,80 @@
+package com.github.nsc.de.compiler.lexer.token;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PackedTokenInputStreamTests {
+
+    private static final String CODE = "var a = 10\n\n\nwhile(a > 0) {\n  a -= 1; print(a)\n}\na = 2 * a";
+
+    @Test
+    public void testSameTokens() {
+
+        Token[] expected = lexer(CODE).makeTokens().getTokens();
+        PackedTokenInputStream actual = lexer(CODE).makePackedTokens();
+
+        assertEquals(expected.length, actual.size());
+        for(Token token : expected) {
+            Token next = actual.next();
+            assertEquals(token, next);
+            assertEquals(token.getValue(), next.getValue());
+            assertEquals(token.getStart().toString(), next.getStart().toString());
+            assertEquals(token.getStart().getIndex(), next.getStart().getIndex());
+            assertEquals(token.getEnd().toString(), next.getEnd().toString());
+            assertEquals(token.getEnd().getIndex(), next.getEnd().getIndex());
+            assertSame(token.getType(), actual.getType(actual.getPosition()));
+            assertEquals(token.getValue(), actual.getValue(actual.getPosition()));
+        }
+        assertFalse(actual.hasNext());
+
+    }
+
+    @Test
+    public void testNavigation() {
+
+        PackedTokenInputStream in = lexer("\n\n\na b c").makePackedTokens();
+        assertSame(TokenType.IDENTIFIER, in.skipIgnorable().next().getType());
+        assertEquals("c", in.peek(2).getValue());
+        in.setPosition(4);
+        assertEquals("b", in.actual().getValue());
+        assertThrows(Error.class, () -> in.setPosition(6));
+        assertThrows(Error.class, () -> in.peek(2));
+
+    }
+
+    @Test
+    public void testShakeTests() throws IOException {
+
+        // the parser must give the same trees for all the files of the interpreter tests
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            assertFalse(shakeFiles.isEmpty());
+            for(Path file : shakeFiles) {
+                String code = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                assertEquals(
+                        new Parser(lexer(code).makeTokens()).parse().toString(),
+                        new Parser(lexer(code).makePackedTokens()).parse().toString());
+            }
+        }
+
+    }
+
+    private Lexer lexer(String code) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", code));
+    }
+
+}
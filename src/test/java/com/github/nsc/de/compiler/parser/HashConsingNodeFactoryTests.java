@@ -0,0 +1,92 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.parser.node.ValuedNode;
+import com.github.nsc.de.compiler.parser.node.expression.AddNode;
+import com.github.nsc.de.compiler.parser.node.variables.VariableAssignmentNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class HashConsingNodeFactoryTests {
+
+    @Test
+    public void testSameTrees() throws IOException {
+
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            for(Path file : files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList())) {
+                String input = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                for(Parser.Implementation implementation : Parser.Implementation.values()) {
+                    Tree expected = parse(input, implementation, new NodeFactory());
+                    Tree actual = parse(input, implementation, new HashConsingNodeFactory());
+                    assertEquals(expected.toString(), actual.toString(), file.toString());
+                    assertEquals(new Interpreter().visit(expected).toString(), new Interpreter().visit(actual).toString(), file.toString());
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testSharing() {
+
+        for(Parser.Implementation implementation : Parser.Implementation.values()) {
+
+            HashConsingNodeFactory factory = new HashConsingNodeFactory();
+            Node[] nodes = parse("a = 2 * (1 + 1)\nb = 2 * (1 + 1)\nc = x + 1\nd = x + 1\ne = -1\nf = -1\ng = true\nh = true", implementation, factory).getChildren();
+
+            // constants are shared
+            for(int i = 0; i < nodes.length; i += 2) {
+                ValuedNode first = (ValuedNode) ((VariableAssignmentNode) nodes[i]).getValue();
+                ValuedNode second = (ValuedNode) ((VariableAssignmentNode) nodes[i + 1]).getValue();
+                if(i == 2) {
+                    // expressions using variables are not, only their constant operands
+                    assertNotSame(first, second);
+                    assertFalse(factory.isConstant(first));
+                    assertSame(((AddNode) first).getRight(), ((AddNode) second).getRight());
+                }
+                else {
+                    assertSame(first, second);
+                    assertTrue(factory.isConstant(first));
+                }
+            }
+
+            // the same structure of different factories gives the same hash
+            HashConsingNodeFactory other = new HashConsingNodeFactory();
+            ValuedNode node = (ValuedNode) ((VariableAssignmentNode) parse("a = 2 * (1 + 1)", implementation, other).getChildren()[0]).getValue();
+            assertEquals(factory.getStructuralHash((ValuedNode) ((VariableAssignmentNode) nodes[0]).getValue()), other.getStructuralHash(node));
+
+        }
+
+        // different literals are not shared
+        HashConsingNodeFactory factory = new HashConsingNodeFactory();
+        assertNotSame(factory.createInteger(1), factory.createDouble(1));
+        assertNotSame(factory.createDouble(0.0), factory.createDouble(-0.0));
+        assertNotSame(factory.createTrue(), factory.createFalse());
+        assertNotSame(factory.createAdd(factory.createInteger(1), factory.createInteger(2)),
+                factory.createAdd(factory.createInteger(2), factory.createInteger(1)));
+        assertNotSame(factory.createAdd(factory.createInteger(1), factory.createInteger(2)),
+                factory.createSub(factory.createInteger(1), factory.createInteger(2)));
+        assertSame(factory.createDouble(Double.NaN), factory.createDouble(Double.NaN));
+        assertThrows(Error.class, () -> factory.getStructuralHash(new NodeFactory().createInteger(1)));
+
+    }
+
+    private Tree parse(String input, Parser.Implementation implementation, NodeFactory factory) {
+        return Parser.create(Lexer.create(new StringCharacterInputStream("<tests>", input)).makeTokens(), implementation, factory).parse();
+    }
+
+}
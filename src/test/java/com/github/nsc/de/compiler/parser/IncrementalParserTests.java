@@ -0,0 +1,216 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.lexer.IncrementalLexer;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.TokenChange;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.PackedTokenInputStream;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class IncrementalParserTests {
+
+    private static final String CODE = "var a = 10\nfunction f(x) {\n  if(x > 0) {\n    a = x * 2\n  }\n  else a = 0\n}\n" +
+            "while(a > 0) { a -= 1 }\nclass C { var b = 1 }\n";
+
+    @Test
+    public void testEdits() {
+
+        IncrementalLexer lexer = new IncrementalLexer("<tests>", CODE + "0");
+        IncrementalParser parser = new IncrementalParser();
+        Tree tree = parser.parse(lexer.getTokens());
+        assertEquals(parse(lexer.getContent()).toString(), tree.toString());
+
+        // an edit inside of the function only parses the function again
+        Node[] before = tree.getChildren();
+        tree = edit(lexer, parser, lexer.getContent().indexOf("x * 2"), 1, "a");
+        assertEquals(1, parser.getParsedStatements());
+        assertSame(before[0], tree.getChildren()[0]);
+        assertNotSame(before[1], tree.getChildren()[1]);
+        for(int i = 2; i < before.length; i++) assertSame(before[i], tree.getChildren()[i]);
+
+        // edits changing the number of statements
+        edit(lexer, parser, lexer.getContent().indexOf("while"), 0, "a++\n");
+        edit(lexer, parser, lexer.getContent().indexOf("a++\n"), 4, "");
+        edit(lexer, parser, lexer.getContent().indexOf("\nwhile"), 1, "; ");
+        edit(lexer, parser, lexer.getContent().indexOf("class"), 0, "function g() {}\n");
+
+        // edits looking at the token behind a statement (the else of the if, an operator continuing an expression)
+        edit(lexer, parser, lexer.getContent().indexOf("else"), 4, "");
+        edit(lexer, parser, lexer.getContent().indexOf(" a = 0"), 0, "else");
+        edit(lexer, parser, lexer.getContent().indexOf("\nfunction"), 0, " + 5");
+        edit(lexer, parser, lexer.getContent().indexOf("\nfunction"), 0, "\n+ 5");
+
+        // edits at the start and the end
+        edit(lexer, parser, 0, 0, "var z = 1\n");
+        edit(lexer, parser, lexer.getContent().length(), 0, " + 1");
+        edit(lexer, parser, lexer.getContent().length() - 1, 1, "");
+        edit(lexer, parser, 0, lexer.getContent().length(), "0");
+        edit(lexer, parser, 0, 1, CODE + "0");
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        IncrementalLexer lexer = new IncrementalLexer("<tests>", CODE + "0");
+        IncrementalParser parser = new IncrementalParser();
+        parser.parse(lexer.getTokens());
+
+        // the tree is removed if the new tokens can't be parsed
+        lexer.edit(lexer.getContent().indexOf("{"), 1, "");
+        assertThrows(CompilerError.class, () -> parser.update(lexer.getTokens(), Collections.singletonList(lexer.getLastChange())));
+        assertNull(parser.getTree());
+
+        // the next update parses all tokens again
+        lexer.edit(lexer.getContent().indexOf("x)") + 2, 0, "{");
+        Tree tree = parser.update(lexer.getTokens(), Collections.singletonList(lexer.getLastChange()));
+        assertEquals(parse(lexer.getContent()).toString(), tree.toString());
+        assertEquals(tree.getChildren().length, parser.getParsedStatements());
+
+    }
+
+    @Test
+    public void testMultipleChanges() {
+
+        IncrementalLexer lexer = new IncrementalLexer("<tests>", CODE + "0");
+        IncrementalParser parser = new IncrementalParser();
+        Tree before = parser.parse(lexer.getTokens());
+
+        // three edits before updating the tree (the class is not touched)
+        List<TokenChange> changes = new ArrayList<>();
+        lexer.edit(lexer.getContent().indexOf("while"), 0, "b = 1\n");
+        changes.add(lexer.getLastChange());
+        lexer.edit(lexer.getContent().indexOf("10"), 2, "20");
+        changes.add(lexer.getLastChange());
+        lexer.edit(lexer.getContent().indexOf("a -= 1"), 6, "a -= 2; a++");
+        changes.add(lexer.getLastChange());
+
+        Tree tree = parser.update(lexer.getTokens(), changes);
+        assertEquals(parse(lexer.getContent()).toString(), tree.toString());
+        assertSame(before.getChildren()[3], tree.getChildren()[4]);
+        assertSame(before.getChildren()[4], tree.getChildren()[5]);
+
+        // no changes
+        assertSame(tree, parser.update(lexer.getTokens(), Collections.<TokenChange>emptyList()));
+        assertEquals(0, parser.getParsedStatements());
+
+    }
+
+    @Test
+    public void testRandomEdits() throws IOException {
+
+        // random edits on the files of the interpreter tests (compared with parsing all tokens)
+        String[] inserts = { "a", "1", " ", "\n", ";", "{", "}", "(", ")", "+", "=", "else", "if(a) ", "while(b) ", "var c" };
+        Random random = new Random(16);
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            for(Path file : shakeFiles) {
+                String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+                IncrementalLexer lexer = new IncrementalLexer("<tests>", content);
+                IncrementalParser parser = new IncrementalParser();
+                List<TokenChange> changes = new ArrayList<>();
+                for(int i = 0; i < 100; i++) {
+                    int length = lexer.getContent().length();
+                    int offset = random.nextInt(length + 1);
+                    int removed = random.nextInt(Math.min(4, length - offset + 1));
+                    try {
+                        lexer.edit(offset, removed, inserts[random.nextInt(inserts.length)]);
+                    } catch (CompilerError e) {
+                        changes.add(null);
+                        continue;
+                    }
+                    changes.add(lexer.getLastChange());
+                    update(lexer, parser, changes);
+                    changes.clear();
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testLocalEdit() {
+
+        // an edit inside of one function of a big input only parses that function again
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < 5000; i++) builder.append(CODE.replace("function f", "function f" + i));
+        builder.append("0");
+        IncrementalLexer lexer = new IncrementalLexer("<tests>", builder.toString());
+        IncrementalParser parser = new IncrementalParser();
+        Tree before = parser.parse(lexer.getTokens());
+
+        lexer.edit(lexer.getContent().indexOf("function f2500(") + 20, 0, "\n    a = a + 1\n");
+        Tree tree = parser.update(lexer.getTokens(), Collections.singletonList(lexer.getLastChange()));
+        assertEquals(1, parser.getParsedStatements());
+        assertEquals(before.getChildren().length, tree.getChildren().length);
+        int changed = 0;
+        for(int i = 0; i < tree.getChildren().length; i++) if(before.getChildren()[i] != tree.getChildren()[i]) changed++;
+        assertEquals(1, changed);
+        assertEquals(parse(lexer.getContent()).toString(), tree.toString());
+
+    }
+
+    private Tree edit(IncrementalLexer lexer, IncrementalParser parser, int offset, int removed, String inserted) {
+        lexer.edit(offset, removed, inserted);
+        return update(lexer, parser, Collections.singletonList(lexer.getLastChange()));
+    }
+
+    private Tree update(IncrementalLexer lexer, IncrementalParser parser, List<TokenChange> changes) {
+
+        // input without tokens (e.g. only a comment) results in an empty tree
+        if(lexer.getTokens().size() == 0) {
+            assertEquals(0, parser.update(lexer.getTokens(), changes).getChildren().length);
+            return parser.getTree();
+        }
+
+        Tree expected;
+        try {
+            expected = parse(lexer.getContent());
+        } catch (Error e) {
+            // the incremental parser must fail as well
+            assertThrows(Error.class, () -> parser.update(lexer.getTokens(), changes), lexer.getContent());
+            assertNull(parser.getTree());
+            return null;
+        }
+
+        Tree tree = parser.update(lexer.getTokens(), changes);
+        assertEquals(expected.getChildren().length, tree.getChildren().length, lexer.getContent());
+        for(int i = 0; i < tree.getChildren().length; i++)
+            assertEquals(describe(expected.getChildren()[i]), describe(tree.getChildren()[i]), lexer.getContent());
+        return tree;
+
+    }
+
+    private String describe(Node node) {
+        // some incomplete statements (e.g. "a =" at the end of the input) have null children that toString() fails on
+        try {
+            return String.valueOf(node);
+        } catch (NullPointerException e) {
+            return node.getClass().getName();
+        }
+    }
+
+    private Tree parse(String content) {
+        PackedTokenInputStream tokens = Lexer.create(new StringCharacterInputStream("<tests>", content)).makePackedTokens();
+        return Parser.create(tokens).parse();
+    }
+
+}
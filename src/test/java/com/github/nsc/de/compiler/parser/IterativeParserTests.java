@@ -0,0 +1,155 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.node.IfNode;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.parser.node.expression.AddNode;
+import com.github.nsc.de.compiler.parser.node.expression.IntegerNode;
+import com.github.nsc.de.compiler.parser.node.expression.SubNode;
+import com.github.nsc.de.compiler.parser.node.loops.WhileNode;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.github.nsc.de.compiler.TestUtil.*;
+
+
+public class IterativeParserTests {
+
+    private static final int DEPTH = 100000;
+
+    @Test
+    public void testSameTrees() throws IOException {
+
+        String[] inputs = {
+                "1 + 2 * 3 ^ 4 - -(5 - 6) % 7", "10 >= 5 + 9 * 2 && (true || 1 < 2) == false", "x = a + b * 2; y += -x",
+                "while(a < 10) a++", "do { a-- } while(a > 0)", "for(var i = 0; i < 10; i++) { a += i }",
+                "if(a == 0) a = 1; else if(a == 1) a = 2; else { a = 3 }", "function f(x, y) { return_value = x * y }",
+                "class C { var b = 1\nfunction g() { if(b > 0) { b-- } } }", "public function h() {}"
+        };
+        for(String input : inputs) assertEquals(parse(input, Parser.Implementation.RECURSIVE).toString(),
+                parse(input, Parser.Implementation.ITERATIVE).toString(), input);
+
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            List<Path> shakeFiles = files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+            for(Path file : shakeFiles) {
+                String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                assertEquals(parse(content, Parser.Implementation.RECURSIVE).toString(),
+                        parse(content, Parser.Implementation.ITERATIVE).toString(), file.toString());
+            }
+        }
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        for(String input : new String[] { "(1 + 2", "1 + (2 * 3", "while(true) { a", "if(true) a else b" })
+            assertThrows(CompilerError.class, () -> parse(input, Parser.Implementation.ITERATIVE), input);
+
+    }
+
+    @Test
+    public void testDeepParentheses() {
+
+        Tree tree = parse(repeat("(", DEPTH) + "1" + repeat(" + 1)", DEPTH), Parser.Implementation.ITERATIVE);
+        Node node = tree.getChildren()[0];
+        for(int i = 0; i < DEPTH; i++) {
+            assertType(AddNode.class, node);
+            assertType(IntegerNode.class, ((AddNode) node).getRight());
+            node = ((AddNode) node).getLeft();
+        }
+        assertType(IntegerNode.class, node);
+
+        tree = parse(repeat("-(", DEPTH) + "1" + repeat(")", DEPTH), Parser.Implementation.ITERATIVE);
+        node = tree.getChildren()[0];
+        for(int i = 0; i < DEPTH; i++) {
+            assertType(SubNode.class, node);
+            node = ((SubNode) node).getRight();
+        }
+        assertType(IntegerNode.class, node);
+
+    }
+
+    @Test
+    public void testDeepBlocks() {
+
+        Tree tree = parse(repeat("while(true) {\n", DEPTH) + "a" + repeat("\n}", DEPTH), Parser.Implementation.ITERATIVE);
+        for(int i = 0; i < DEPTH; i++) {
+            assertEquals(1, tree.getChildren().length);
+            assertType(WhileNode.class, tree.getChildren()[0]);
+            tree = ((WhileNode) tree.getChildren()[0]).getBody();
+        }
+        assertEquals(1, tree.getChildren().length);
+
+        tree = parse(repeat("if(true) ", DEPTH) + "a; else b", Parser.Implementation.ITERATIVE);
+        for(int i = 0; i < DEPTH - 1; i++) {
+            IfNode node = (IfNode) tree.getChildren()[0];
+            assertNull(node.getElseBody());
+            tree = node.getBody();
+        }
+        assertNotNull(((IfNode) tree.getChildren()[0]).getElseBody());
+
+    }
+
+    @Test
+    public void testLinearDepth() {
+
+        // each loop and its body are pushed once (plus the program) and each parenthesis is pushed once, so the work on
+        // the stacks grows linearly with the depth
+        for(int depth : new int[] { DEPTH / 8, DEPTH }) {
+            IterativeParser parser = new IterativeParser(Lexer.create(new StringCharacterInputStream("<tests>", nested(depth))).makeTokens());
+            parser.parse();
+            assertEquals(2 * depth + 1, parser.framePushes);
+            assertEquals(2 * depth + 1, parser.maxFrames);
+            assertEquals(depth, parser.operatorPushes);
+            assertEquals(depth, parser.maxOperators);
+        }
+
+    }
+
+    @Test
+    public void testSmallStack() throws InterruptedException {
+
+        // the nesting is kept on the heap, so a deep input does not need a big stack
+        String input = nested(DEPTH);
+        Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                parse(input, Parser.Implementation.ITERATIVE);
+            } catch(Throwable t) {
+                error[0] = t;
+            }
+        }, "small-stack", 256 * 1024);
+        thread.start();
+        thread.join();
+        assertNull(error[0], () -> "parsing failed with " + error[0]);
+
+    }
+
+    private Tree parse(String input, Parser.Implementation implementation) {
+        return Parser.create(Lexer.create(new StringCharacterInputStream("<tests>", input)).makeTokens(), implementation).parse();
+    }
+
+    private String nested(int depth) {
+        return repeat("while(true) {\n", depth) + repeat("(", depth) + "1" + repeat(")", depth) + repeat("\n}", depth);
+    }
+
+    private String repeat(String string, int times) {
+        StringBuilder builder = new StringBuilder(string.length() * times);
+        for(int i = 0; i < times; i++) builder.append(string);
+        return builder.toString();
+    }
+
+}
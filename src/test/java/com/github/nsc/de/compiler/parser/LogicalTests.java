@@ -117,6 +117,26 @@ public class LogicalTests {
 
 
 
+    @Test
+    public void testPrecedence() {
+
+        LogicalOrNode or = parseSingle("<LogicalPrecedenceTest>", "1 + 2 > 3 && true || 4 == 2 * 2", LogicalOrNode.class);
+        assertType(LogicalAndNode.class, or.getLeft());
+        assertType(LogicalEqEqualsNode.class, or.getRight());
+
+        LogicalAndNode and = (LogicalAndNode) or.getLeft();
+        assertType(LogicalBiggerNode.class, and.getLeft());
+        assertType(AddNode.class, ((LogicalBiggerNode) and.getLeft()).getLeft());
+        assertType(LogicalTrueNode.class, and.getRight());
+
+        LogicalEqEqualsNode eq = (LogicalEqEqualsNode) or.getRight();
+        assertType(IntegerNode.class, eq.getLeft());
+        assertType(MulNode.class, eq.getRight());
+
+    }
+
+
+
     private <T extends LogicalCompareNode> void testBasic(String input, double left, double right, Class<T> type) {
 
         T node = parseSingle('<'+type.getSimpleName().substring(type.getSimpleName().length() - 4)+"Test>", input, type);
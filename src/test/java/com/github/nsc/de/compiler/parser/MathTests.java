@@ -1,6 +1,8 @@
 package com.github.nsc.de.compiler.parser;
 
 import com.github.nsc.de.compiler.parser.node.expression.*;
+import com.github.nsc.de.compiler.parser.node.variables.VariableAssignmentNode;
+import com.github.nsc.de.compiler.parser.node.variables.VariableUsageNode;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -87,6 +89,33 @@ public class MathTests {
 
     }
 
+    @Test
+    public void testLeftAssociative() {
+
+        SubNode sub = parseSingle("<LeftAssociativeTest>", "10 - 3 - 2", SubNode.class);
+        assertType(SubNode.class, sub.getLeft());
+        assertType(IntegerNode.class, sub.getRight());
+        assertEquals(2, ((IntegerNode) sub.getRight()).getNumber());
+
+        PowNode pow = parseSingle("<LeftAssociativeTest>", "2 ^ 3 ^ 2", PowNode.class);
+        assertType(PowNode.class, pow.getLeft());
+        assertType(IntegerNode.class, pow.getRight());
+
+    }
+
+    @Test
+    public void testIdentifierOperand() {
+
+        MulNode mul = parseSingle("<IdentifierOperandTest>", "a * (b + 1)", MulNode.class);
+        assertType(VariableUsageNode.class, mul.getLeft());
+        assertType(AddNode.class, mul.getRight());
+
+        VariableAssignmentNode assignment = parseSingle("<IdentifierOperandTest>", "x = a + b * 2", VariableAssignmentNode.class);
+        assertType(AddNode.class, assignment.getValue());
+        assertType(MulNode.class, ((AddNode) assignment.getValue()).getRight());
+
+    }
+
     private <T extends ExpressionNode> void testBasic(String input, double left, double right, Class<T> type) {
 
         T node = parseSingle('<'+type.getSimpleName().substring(type.getSimpleName().length() - 4)+"Test>", input, type);
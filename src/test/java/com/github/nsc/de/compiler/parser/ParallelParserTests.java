@@ -0,0 +1,114 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.PackedTokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class ParallelParserTests {
+
+    // top-level declarations between other top-level statements (also statements that look behind a closing brace)
+    private static final String CODE = "var a = 10\nclass C { var b = 1\nfunction g() { b-- } }\n" +
+            "function f(x) {\n  if(x > 0) {\n    a = x * 2\n  }\n  else a = 0\n}\n" +
+            "if(a > 0) { a = 1 }\nelse { a = 2 }\npublic function h() { a = 3 }\n" +
+            "while(a > 0) { a -= 1 }\nfunction k() {}; final class D {}; a = 5\n";
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSplit() {
+
+        // the tokens must only be split in front of top-level declarations behind a closing brace
+        PackedTokenInputStream tokens = lex(repeat(CODE, 100));
+        int[] splits = ParallelParser.split(tokens::getType, tokens.size(), 50);
+        assertTrue(splits.length > 25);
+        assertEquals(0, splits[0]);
+        assertEquals(tokens.size(), splits[splits.length - 1]);
+        for(int i = 1; i < splits.length - 1; i++) {
+            assertTrue(splits[i] > splits[i - 1]);
+            TokenType type = tokens.getType(splits[i]);
+            assertTrue(type == TokenType.KEYWORD_CLASS || type == TokenType.KEYWORD_FUNCTION
+                    || type == TokenType.KEYWORD_PUBLIC || type == TokenType.KEYWORD_FINAL, type.toString());
+            int previous = splits[i] - 1;
+            assertTrue(tokens.getType(previous) == TokenType.LINE_SEPARATOR || tokens.getType(previous) == TokenType.SEMICOLON);
+            while(tokens.getType(previous) == TokenType.LINE_SEPARATOR || tokens.getType(previous) == TokenType.SEMICOLON) previous--;
+            assertEquals(TokenType.RCURL, tokens.getType(previous));
+        }
+
+        // a declaration used as a value or as a body is no top-level declaration
+        tokens = lex(repeat("var a = {}\nfunction f() {}\nif(a) {}\nelse\nfunction g() {}\n", 100));
+        splits = ParallelParser.split(tokens::getType, tokens.size(), 50);
+        for(int i = 1; i < splits.length - 1; i++) assertNotEquals(TokenType.KEYWORD_ELSE, tokens.getType(splits[i] - 2));
+
+    }
+
+    @Test
+    public void testSameTree() {
+
+        String input = repeat(CODE, 1000);
+        for(Parser.Implementation implementation : Parser.Implementation.values()) {
+            String expected = Parser.create(lex(input), implementation).parse().toString();
+            assertEquals(expected, new ParallelParser(lex(input), implementation, pool).parse().toString());
+            assertEquals(expected, new ParallelParser(Lexer.create(new StringCharacterInputStream("<tests>", input)).makeTokens(),
+                    implementation, pool).parse().toString());
+        }
+
+        // small inputs and inputs that can't be split are parsed sequentially
+        assertEquals(Parser.create(lex(CODE)).parse().toString(), new ParallelParser(lex(CODE), Parser.Implementation.RECURSIVE, pool).parse().toString());
+        String statements = repeat("a = a + 1\n", 10000);
+        assertEquals(Parser.create(lex(statements)).parse().toString(), new ParallelParser(lex(statements), Parser.Implementation.RECURSIVE, pool).parse().toString());
+
+        // the input is read completely like by the sequential parser
+        TokenInputStream tokens = lex(input);
+        Tree tree = new ParallelParser(tokens, Parser.Implementation.RECURSIVE, pool).parse();
+        assertFalse(tokens.hasNext());
+        assertEquals(9 * 1000, tree.getChildren().length);
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        // the errors must be the same as the errors of the sequential parser
+        String valid = repeat(CODE, 500);
+        for(String input : new String[] { valid + "class E { a }\n" + valid, valid + "function f( {}\n" + valid,
+                "var b = )\n" + valid, valid + "}\n" + valid }) {
+            CompilerError expected = assertThrows(CompilerError.class, () -> Parser.create(lex(input)).parse(), input);
+            CompilerError actual = assertThrows(CompilerError.class, () -> new ParallelParser(lex(input), Parser.Implementation.RECURSIVE, pool).parse());
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+
+    }
+
+    private PackedTokenInputStream lex(String input) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", input)).makePackedTokens();
+    }
+
+    private String repeat(String string, int times) {
+        StringBuilder builder = new StringBuilder(string.length() * times);
+        for(int i = 0; i < times; i++) builder.append(string);
+        return builder.toString();
+    }
+
+}
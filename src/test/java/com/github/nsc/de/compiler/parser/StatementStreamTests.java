@@ -0,0 +1,86 @@
+package com.github.nsc.de.compiler.parser;
+
+import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.parser.node.Node;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class StatementStreamTests {
+
+    @Test
+    public void testSameStatements() throws IOException {
+
+        List<String> inputs = new ArrayList<>();
+        inputs.add("var a = 10\n\n;;while(a > 0) { a -= 1 }\nif(a == 0) { a = 1 }\nelse a = 2;\nclass C {}\n");
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            for(Path file : files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList()))
+                inputs.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+
+        for(Parser.Implementation implementation : Parser.Implementation.values()) {
+            for(String input : inputs) {
+                Tree expected = Parser.create(lex(input), implementation).parse();
+                List<Node> statements = new ArrayList<>();
+                Parser.create(lex(input), implementation).statements().forEachRemaining(statements::add);
+                assertEquals(expected.toString(), new Tree(statements).toString(), input);
+            }
+        }
+
+    }
+
+    @Test
+    public void testLazy() {
+
+        // the statements in front of an error are returned before the error is found (even by the lexer)
+        for(String input : new String[] { "var a = 1\na = 2\na ! b", "var a = 1\na = 2\n} a = 3" }) {
+            Iterator<Node> statements = Parser.create(lex(input)).statements();
+            assertTrue(statements.hasNext());
+            statements.next();
+            assertTrue(statements.hasNext());
+            statements.next();
+            assertThrows(CompilerError.class, statements::hasNext, input);
+        }
+
+        // no statements
+        Iterator<Node> statements = Parser.create(lex("\n;\n")).statements();
+        assertFalse(statements.hasNext());
+        assertThrows(NoSuchElementException.class, statements::next);
+
+    }
+
+    @Test
+    public void testInterpreter() {
+
+        Interpreter interpreter = new Interpreter();
+        assertEquals("6", interpreter.run(Parser.create(lex("var a = 1\nvar b = a + 2\nb * 2")).statements()).toString());
+
+        // the statements in front of an error are executed
+        assertThrows(CompilerError.class, () -> interpreter.run(Parser.create(lex("a = 5\nb = a ! 1")).statements()));
+        assertEquals("5", interpreter.visit(Parser.create(lex("a")).parse()).toString());
+
+    }
+
+    private TokenInputStream lex(String input) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", input)).makeLazyTokens();
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.github.nsc.de.compiler.parser.flat;
+
+import com.github.nsc.de.compiler.generators.json.JsonGenerator;
+import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.node.NodeKind;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import com.github.nsc.de.compiler.parser.node.expression.IntegerNode;
+import com.github.nsc.de.compiler.parser.node.expression.PriorityNode;
+import com.github.nsc.de.compiler.util.CompilerError;
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class FlatTreeTests {
+
+    private static final String[] INPUTS = {
+            "1 + 2 * 3 ^ 4 - -(5 - 6) / 7", "10 >= 5 + 9 * 2 && (true || 1 < 2) == false", "x = a + b * 2; y += -x",
+            "while(a < 10) a++", "do { a-- } while(a > 0)", "for(var i = 0; i < 10; i++) { a += i }",
+            "if(a == 0) a = 1; else { a = 3 }", "function f(x, y) { return_value = x * y }",
+            "class C { var b = 1\nfunction g() { b-- } }", "public function h() {}", "a.b.c(1, 2.5)",
+            "var c = new C()", "int i = 2; double d; i *= 3; i /= 2; i ^= 2; i -= 1"
+    };
+
+    @Test
+    public void testSameTrees() throws IOException {
+
+        for(String input : INPUTS) assertEquals(parse(input).toString(), parseFlat(input).toTree().toString(), input);
+        for(String input : new String[] { "5 % 2", "if(true) { a = 1 }", "x %= 3", "class C { class D {} }" })
+            assertEquals(parse(input).toString(), parseFlat(input).toTree().toString(), input);
+
+        for(Path file : shakeFiles()) {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertEquals(parse(content).toString(), parseFlat(content).toTree().toString(), file.toString());
+        }
+
+    }
+
+    @Test
+    public void testIterativeParser() throws IOException {
+
+        for(String input : INPUTS)
+            assertEquals(parse(input).toString(), parseFlat(input, Parser.Implementation.ITERATIVE).toTree().toString(), input);
+
+        for(Path file : shakeFiles()) {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertEquals(parse(content).toString(), parseFlat(content, Parser.Implementation.ITERATIVE).toTree().toString(), file.toString());
+        }
+
+    }
+
+    @Test
+    public void testArenaSize() throws IOException {
+
+        // the arena is sized from the number of tokens, so it does not grow while parsing
+        for(Path file : shakeFiles()) {
+            TokenInputStream tokens = lex(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            int remaining = tokens.remaining();
+            FlatTree tree = new Parser(tokens).parse(new FlatTreeBuilder(tokens));
+            assertTrue(tree.getSize() <= remaining + 16, file + ": " + tree.getSize() + " nodes for " + remaining + " tokens");
+        }
+
+    }
+
+    @Test
+    public void testCursor() {
+
+        FlatTree tree = parseFlat("while(a < 10) a += 2.5");
+        FlatTree.Cursor c = tree.cursor();
+        assertEquals(NodeKind.TREE, c.getKind());
+
+        assertTrue(c.enter());
+        assertEquals(NodeKind.WHILE, c.getKind());
+        assertTrue(c.enter());
+        assertEquals(NodeKind.SMALLER, c.getKind());
+        assertTrue(c.next());
+        assertEquals(NodeKind.TREE, c.getKind());
+        assertFalse(c.next());
+        c.exit();
+        assertEquals(NodeKind.WHILE, c.getKind());
+
+        int body = tree.getNextSibling(tree.getFirstChild(c.getNode()));
+        int assignment = tree.getFirstChild(body);
+        assertEquals(NodeKind.VARIABLE_ADD_ASSIGNMENT, tree.getKind(assignment));
+        assertEquals("a", tree.getSymbol(tree.getFirstChild(assignment)).getName());
+        assertEquals(2.5, tree.getDouble(tree.getNextSibling(tree.getFirstChild(assignment))));
+        assertEquals(2, tree.getChildCount(assignment));
+
+        c.exit();
+        assertEquals(tree.getRoot(), c.getNode());
+        assertThrows(Error.class, c::exit);
+
+    }
+
+    @Test
+    public void testDeclarationFlags() {
+
+        FlatTree tree = parseFlat("class C { public static final int a = 1 }");
+        int member = tree.getFirstChild(tree.getFirstChild(tree.getRoot()));
+        assertEquals(NodeKind.VARIABLE_DECLARATION, tree.getKind(member));
+        assertEquals("PUBLIC", tree.getAccess(member).toString());
+        assertTrue(tree.isInClass(member));
+        assertTrue(tree.isStatic(member));
+        assertTrue(tree.isFinal(member));
+        assertEquals("INTEGER", tree.getVariableType(member).getType().toString());
+
+    }
+
+    @Test
+    public void testKinds() {
+
+        // every object-node reports the kind of the flat node it is created from (the arguments are only created
+        // together with their function)
+        for(String input : INPUTS) {
+            FlatTree tree = parseFlat(input);
+            for(int node = 0; node < tree.getSize(); node++) {
+                int kind = tree.getKind(node);
+                if(kind == NodeKind.NULL || kind == NodeKind.FUNCTION_ARGUMENT) continue;
+                assertEquals(kind, tree.toNode(node).getKind(), input);
+            }
+        }
+
+        assertEquals(NodeKind.PRIORITY, new PriorityNode(new IntegerNode(1)).getKind());
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        for(String input : new String[] { "while(true) { a", "if(true) a else b", "new C", "static var a" })
+            assertThrows(CompilerError.class, () -> parseFlat(input), input);
+
+    }
+
+    @Test
+    public void testJson() {
+
+        for(String input : INPUTS) {
+            JSONArray expected = (JSONArray) new JsonGenerator().visit(parse(input));
+            JSONArray actual = (JSONArray) new JsonGenerator().visit(parseFlat(input));
+            assertTrue(expected.similar(actual), input + ": " + expected + " != " + actual);
+        }
+
+    }
+
+    @Test
+    public void testInterpreter() throws IOException {
+
+        for(Path file : shakeFiles()) {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertEquals(new Interpreter().visit(parse(content)).toString(),
+                    new Interpreter().visit(parseFlat(content)).toString(), file.toString());
+        }
+
+        for(String input : new String[] { "var a = 0; for(var i = 0; i < 10; i++) { a += i }; a",
+                "var a = 0; while(a > 0) { a++ }; a", "var a = 0; do { var b = a } while(a > 0); a",
+                "var a = 1; if(a == 1) { a = 5 }; a", "var a = 0; function f() { a = 2 }; f(); a", "2.5 * 2 ^ 2 % 3" })
+            assertEquals(new Interpreter().visit(parse(input)).toString(), new Interpreter().visit(parseFlat(input)).toString(), input);
+
+    }
+
+    private List<Path> shakeFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources/shake-tests/tests"))) {
+            return files.filter(f -> f.toString().endsWith(".shake")).collect(Collectors.toList());
+        }
+    }
+
+    private TokenInputStream lex(String input) {
+        return Lexer.create(new StringCharacterInputStream("<tests>", input)).makeTokens();
+    }
+
+    private Tree parse(String input) {
+        return new Parser(lex(input)).parse();
+    }
+
+    private FlatTree parseFlat(String input) {
+        return parseFlat(input, Parser.Implementation.RECURSIVE);
+    }
+
+    private FlatTree parseFlat(String input, Parser.Implementation implementation) {
+        TokenInputStream tokens = lex(input);
+        return Parser.create(tokens, implementation).parse(new FlatTreeBuilder(tokens));
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.github.nsc.de.compiler.util;
+
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.lexer.token.Token;
+import com.github.nsc.de.compiler.lexer.token.TokenInputStream;
+import com.github.nsc.de.compiler.lexer.token.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+
+public class SymbolTableTests {
+
+    @Test
+    public void testIntern() {
+
+        Symbol symbol = SymbolTable.intern("symbolTableTest");
+        assertSame(symbol, SymbolTable.intern(new String("symbolTableTest".toCharArray())));
+        assertSame(symbol, Symbol.of("symbolTableTest"));
+        assertSame(symbol, SymbolTable.intern("xxsymbolTableTestxx".toCharArray(), 2, 15));
+        assertNotSame(symbol, SymbolTable.intern("symbolTableTest2"));
+
+        assertEquals("symbolTableTest", symbol.getName());
+        assertEquals("symbolTableTest".hashCode(), symbol.hashCode());
+        assertSame(symbol, SymbolTable.get(symbol.getId()));
+
+    }
+
+    @Test
+    public void testManySymbols() {
+
+        // create enough symbols to grow the table a few times
+        Symbol[] symbols = new Symbol[5000];
+        for(int i = 0; i < symbols.length; i++) symbols[i] = Symbol.of("manySymbolsTest" + i);
+
+        // the ids of collected symbols are given out again, so the ids are only distinct (not consecutive)
+        Set<Integer> ids = new HashSet<>();
+        for(int i = 0; i < symbols.length; i++) {
+            assertSame(symbols[i], Symbol.of("manySymbolsTest" + i));
+            assertSame(symbols[i], SymbolTable.get(symbols[i].getId()));
+            assertTrue(symbols[i].getId() < SymbolTable.size());
+            assertTrue(ids.add(symbols[i].getId()));
+        }
+
+    }
+
+    @Test
+    public void testCollectedSymbols() {
+
+        WeakReference<Symbol> collected = new WeakReference<>(Symbol.of("collectedSymbolTest"));
+        int id = collected.get().getId();
+
+        // the table does not keep the symbol (skipped if the jvm does not collect it)
+        for(int i = 0; i < 10 && collected.get() != null; i++) System.gc();
+        assumeTrue(collected.get() == null);
+        assertThrows(Error.class, () -> SymbolTable.get(id));
+
+        // the name gets a new symbol, the table keeps working with the collected entries in it
+        Symbol symbol = Symbol.of("collectedSymbolTest");
+        assertSame(symbol, SymbolTable.get(symbol.getId()));
+        assertSame(symbol, Symbol.of("collectedSymbolTest"));
+        for(int i = 0; i < 3000; i++) assertEquals("collectedSymbolTest" + i, Symbol.of("collectedSymbolTest" + i).getName());
+        assertSame(symbol, Symbol.of("collectedSymbolTest"));
+
+    }
+
+    @Test
+    public void testConcurrentIntern() throws Exception {
+
+        // all threads must get the same symbols for the same names
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Symbol[]>> results = new ArrayList<>();
+            for(int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    Symbol[] symbols = new Symbol[2000];
+                    for(int i = 0; i < symbols.length; i++) symbols[i] = Symbol.of("concurrentTest" + i);
+                    return symbols;
+                }));
+            }
+            Symbol[] expected = results.get(0).get();
+            for(Future<Symbol[]> result : results) assertArrayEquals(expected, result.get());
+        } finally {
+            executor.shutdown();
+        }
+
+    }
+
+    @Test
+    public void testLexerSymbols() {
+
+        for(Lexer.Implementation implementation : Lexer.Implementation.values()) {
+
+            TokenInputStream tokens = Lexer.create(new StringCharacterInputStream("<tests>",
+                    "var lexerSymbol = 10\nlexerSymbol = 2 * lexerSymbol"), implementation).makeTokens();
+
+            // all occurrences of the identifier are the same symbol
+            Symbol symbol = Symbol.of("lexerSymbol");
+            int found = 0;
+            while(tokens.hasNext()) {
+                Token token = tokens.next();
+                if(token.getType() == TokenType.IDENTIFIER) {
+                    assertSame(symbol, token.getSymbol());
+                    found++;
+                }
+            }
+            assertEquals(3, found);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.github.nsc.de.compiler.vm;
+
+import com.github.nsc.de.compiler.interpreter.Interpreter;
+import com.github.nsc.de.compiler.interpreter.values.InterpreterValue;
+import com.github.nsc.de.compiler.lexer.Lexer;
+import com.github.nsc.de.compiler.lexer.characterinputstream.StringCharacterInputStream;
+import com.github.nsc.de.compiler.parser.Parser;
+import com.github.nsc.de.compiler.parser.node.Tree;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class VirtualMachineTests {
+
+    private static final String[] PROGRAMS = {
+            "1 + 2 * 3 ^ 2 - 10 / 4 % 3", "2.5 * 4 - 1 / 2.0", "1 < 2 && 3 >= 3 || false", "(1 == 1) == (2 <= 1)",
+            "var a = 1; var b = (a += 2) * 3; b + a", "var i = 5; var j = i++; j * 10 + i",
+            "var i = 5; var j = i--; i--; j * 10 + i", "var d = 1.5; d *= 2; d ^= 2; d /= 3; d -= 0.5",
+            "var s = 0; for(var i = 0; i < 100; i++) { if(i % 3 == 0) { s += i }\nelse { s -= 1 } }; s",
+            "var n = 10; var s = 0; while(n > 0) { s += n * n; n-- }; s",
+            "var n = 0; do { n += 3 } while(n < 20); n", "var n = 0; do { n++ } while(false); n",
+            "var a = 0; if(a == 0) { 7 }", "var a = 0; if(a > 0) { 7 }", "var a = 1; if(a) { 2 }\nelse { 3 }",
+            "var a = 0; for(var i = 0; i < 3; i++) { for(var j = 0; j < 4; j++) { var k = i * j; a += k } }; a",
+            "var a = 1; function f(x) { var b = x * 2; function g() { a += b }; g() }; f(5); f(1); a",
+            "var n = 0; function r(k) { if(k > 0) { n += k; r(k - 1) } }; r(10); n",
+            "var r = 0\nvar h = 0\nvar i = 0\nwhile(i < 2) { var x = i * 10 + 1\nfunction g() { r = x }\nif(i == 0) h = g\ni++ }\nh()\nr",
+            "var r = 0\nvar h = 0\nfor(var i = 0; i < 2; i++) { var x = i * 10 + 1\nfunction g() { r = x }\nif(i == 0) h = g }\nh()\nr",
+            "var r = 0\nvar h = 0\nvar i = 0\ndo { if(i < 5) { var x = i\nfunction g() { r += x + i }\nh = g }\ni++ } while(i < 3)\nh()\nr",
+            "var r = 0; function f() { var s = 0; var h = 0; for(var i = 0; i < 3; i++) { var x = i\nfunction g() { s += x; r = s }\nif(i == 1) h = g }\nh(); s += 10; h() }; f(); r",
+            "var x = 0; function f(a, b) { x = a - b }; f(10, 3); x", "var f = 0; function g() { f = 1 }; g(); f",
+            "class C { var n = 1 }\nvar c = new C(); c.n++; c.n += 4; c.n",
+            "class C { var n = 1\nfunction inc(k) { n += k; this.n *= 2 } }\nvar c = new C(); c.inc(2); c.inc(1); c.n",
+            "class C { static var k = 2\nvar v = 1 }\nC.k *= 5; var c = new C(); c.v + C.k",
+            "class O { var a = 3\nclass I { var b = a * 2 } }\nvar o = new O(); var i = new o.I(); i.b",
+            "var t = 1; class C { var v = t }\nt = 5; var c = new C(); c.v",
+            "var a = 0; if(true) { var a = 2; a++ }; a",
+            // names the Resolver leaves to the lookup by name
+            "var r = 0; function h() { var x = 1; function f() { function g() { r = x }; var x = 2; g() }; f() }; h(); r",
+            "var r = 0; function f(a) { var b = 3\nclass C { var c = a * b }\nvar o = new C(); r = o.c }; f(2); r"
+    };
+
+    @Test
+    public void testShakeFiles() throws IOException {
+
+        for(String name : Files.readAllLines(Paths.get("src/test/resources/shake-tests/tests.txt"))) {
+            if(name.trim().isEmpty()) continue;
+            String code = new String(Files.readAllBytes(Paths.get(
+                    String.format("src/test/resources/shake-tests/tests/%s.shake", name))), StandardCharsets.UTF_8);
+            assertEquals(interpret(code), run(code), name);
+        }
+
+    }
+
+    @Test
+    public void testPrograms() {
+        for(String program : PROGRAMS) assertEquals(interpret(program), run(program), program);
+    }
+
+    @Test
+    public void testGlobals() {
+
+        VirtualMachine vm = new VirtualMachine();
+        vm.run(parse("var a = 2; function f() { a *= 3 }"));
+        assertEquals("6", vm.run(parse("f(); a")).toString());
+
+        assertThrows(Error.class, () -> vm.run(parse("var a = 1")));
+        assertThrows(Error.class, () -> vm.run(parse("b + 1")));
+
+    }
+
+    @Test
+    public void testErrors() {
+
+        for(String program : new String[] { "var a = 1; a()", "var a = 1; new a()", "class C {}\nC.x",
+                "class C {}\nvar c = new C(); c.x", "function f(a) {}\nf()", "true + 1" })
+            assertThrows(Error.class, () -> run(program), program);
+
+        assertThrows(Error.class, () -> new BytecodeCompiler().compile(parse("function f() { var a = 1; var a = 2 }")));
+
+    }
+
+    @Test
+    public void testChunk() {
+
+        Chunk chunk = new BytecodeCompiler().compile(parse("function f() { for(var i = 0; i < 10; i++) {} }"));
+        assertEquals("<main>", chunk.getName());
+        assertTrue(chunk.toString().contains("DECLARE_GLOBAL"), chunk.toString());
+
+        // the counter of the loop is a local slot of the function
+        Chunk function = (Chunk) chunk.constants[0];
+        String listing = function.toString();
+        assertEquals("f", function.getName());
+        assertTrue(listing.contains("INCREASE_LOCAL") && listing.contains("JUMP_IF_SMALLER"), listing);
+        assertFalse(listing.contains("GLOBAL"), listing);
+
+    }
+
+    private static String interpret(String code) {
+        InterpreterValue value = new Interpreter().visit(parse(code));
+        return value.toString();
+    }
+
+    private static String run(String code) {
+        return new VirtualMachine().run(parse(code)).toString();
+    }
+
+    private static Tree parse(String code) {
+        return new Parser(Lexer.create(new StringCharacterInputStream("<tests>", code)).makeTokens()).parse();
+    }
+
+}